@@ -2,6 +2,7 @@ package com.mr486.safetynet.configuration;
 
 import com.mr486.safetynet.exeption.EntityAlreadyExistsException;
 import com.mr486.safetynet.exeption.EntityNotFoundException;
+import com.mr486.safetynet.exeption.InvalidPageException;
 import com.mr486.safetynet.exeption.WrongDateFormatException;
 import com.mr486.safetynet.tools.ResponseUtil;
 import org.springframework.http.HttpStatus;
@@ -94,6 +95,20 @@ public class GlobalExceptionHandler {
     );
   }
 
+  /**
+   * Handles InvalidPageException.
+   * Returns an HTTP 400 (Bad Request) response with an error message.
+   *
+   * @param ex the thrown exception
+   * @return ResponseEntity containing an ApiResponse with error details
+   */
+  @ExceptionHandler(InvalidPageException.class)
+  public ResponseEntity<String> handleInvalidPageException(InvalidPageException ex) {
+    return ResponseUtil.badRequest(
+            "❌ Invalid page: " + ex.getMessage()
+    );
+  }
+
   /**
    * Handles generic exceptions (Exception).
    * Returns an HTTP 500 (Internal Server Error) response with an error message.
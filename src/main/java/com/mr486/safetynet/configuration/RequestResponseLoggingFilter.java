@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -13,15 +14,32 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.Set;
 
 /**
  * A filter that logs the details of incoming HTTP requests and outgoing HTTP responses.
  * It wraps the request and response to capture their content for logging purposes.
+ * The body of a bulk request is streamed to the controller and not kept, so it is not logged;
+ * likewise the body of a streamed response goes straight to the client.
+ * These handlers are listed by their exact path in the configuration, since the filter decides
+ * before the request reaches a handler.
  */
 @Slf4j
 @Configuration
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
+  /**
+   * Paths of the handlers reading their request body as a stream, whose body is not kept.
+   */
+  @Value("${logging.http.streamed-request-paths:}")
+  Set<String> streamedRequestPaths = Set.of();
+
+  /**
+   * Paths of the handlers streaming their response body, whose body is not kept.
+   */
+  @Value("${logging.http.streamed-response-paths:}")
+  Set<String> streamedResponsePaths = Set.of();
+
   /**
    * Filters the request and response, logging their details.
    *
@@ -37,9 +55,9 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
                                   FilterChain filterChain)
           throws ServletException, IOException {
 
-    // Wrap the request and response to enable content caching
-    ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-    ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+    // Wrap the request and response to enable content caching, except for bulk bodies
+    HttpServletRequest wrappedRequest = isBulk(request) ? request : new ContentCachingRequestWrapper(request);
+    HttpServletResponse wrappedResponse = isStreamed(request) ? response : new ContentCachingResponseWrapper(response);
 
     // Proceed with the filter chain
     filterChain.doFilter(wrappedRequest, wrappedResponse);
@@ -49,20 +67,24 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
     logResponse(wrappedResponse);
 
     // Copy the cached response body back to the original response
-    wrappedResponse.copyBodyToResponse();
+    if (wrappedResponse instanceof ContentCachingResponseWrapper cachingResponse) {
+      cachingResponse.copyBodyToResponse();
+    }
   }
 
   /**
    * Logs the details of the incoming HTTP request.
    *
-   * @param request the wrapped HTTP request
+   * @param request the HTTP request, wrapped unless its body is streamed
    */
-  private void logRequest(ContentCachingRequestWrapper request) {
+  private void logRequest(HttpServletRequest request) {
     String method = request.getMethod();
     String uri = request.getRequestURI();
     String query = request.getQueryString();
     String headers = getHeadersAsString(request);
-    String body = new String(request.getContentAsByteArray(), StandardCharsets.UTF_8);
+    String body = request instanceof ContentCachingRequestWrapper cachingRequest
+            ? new String(cachingRequest.getContentAsByteArray(), StandardCharsets.UTF_8)
+            : "[streamed, not logged]";
 
     log.info("==== Incoming request ====");
     log.info("Method: {}", method);
@@ -74,10 +96,12 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
   /**
    * Logs the details of the outgoing HTTP response.
    *
-   * @param response the wrapped HTTP response
+   * @param response the HTTP response, wrapped unless its body is streamed
    */
-  private void logResponse(ContentCachingResponseWrapper response) {
-    String body = new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+  private void logResponse(HttpServletResponse response) {
+    String body = response instanceof ContentCachingResponseWrapper cachingResponse
+            ? new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)
+            : "[streamed, not logged]";
 
     log.info("==== Outgoing request ====");
     log.info("Status: {}", response.getStatus());
@@ -100,4 +124,34 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
     }
     return headers.toString();
   }
+
+  /**
+   * Checks whether the request is a bulk request, whose body may be too large to be kept for logging.
+   *
+   * @param request the HTTP request
+   * @return true if the path of the request is one of the configured streamed request paths
+   */
+  private boolean isBulk(HttpServletRequest request) {
+    return streamedRequestPaths.contains(pathOf(request));
+  }
+
+  /**
+   * Checks whether the response is streamed, its body possibly too large to be kept for logging.
+   *
+   * @param request the HTTP request
+   * @return true if the path of the request is one of the configured streamed response paths
+   */
+  private boolean isStreamed(HttpServletRequest request) {
+    return streamedResponsePaths.contains(pathOf(request));
+  }
+
+  /**
+   * Returns the path of a request within the application.
+   *
+   * @param request the HTTP request
+   * @return the request URI without the context path
+   */
+  private String pathOf(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
 }
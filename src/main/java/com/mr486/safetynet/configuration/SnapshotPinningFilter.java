@@ -0,0 +1,58 @@
+package com.mr486.safetynet.configuration;
+
+import com.mr486.safetynet.repository.DataStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * A filter pinning the current {@link com.mr486.safetynet.repository.DataSnapshot} for the whole of a read request.
+ * A GET or HEAD request reading several repositories then sees a single version of the data,
+ * even if a mutation is published while it is handled.
+ * Other requests are not pinned, so their checks always see the last published data.
+ */
+@Component
+@RequiredArgsConstructor
+public class SnapshotPinningFilter extends OncePerRequestFilter {
+
+  private final DataStore dataStore;
+
+  /**
+   * Handles the request with the current snapshot pinned.
+   *
+   * @param request     the incoming HTTP request
+   * @param response    the outgoing HTTP response
+   * @param filterChain the filter chain to pass the request and response to the next filter
+   * @throws ServletException if an error occurs during filtering
+   * @throws IOException      if an I/O error occurs during filtering
+   */
+  @Override
+  protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+          throws ServletException, IOException {
+    DataStore.Pin pin = dataStore.pin();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      pin.close();
+    }
+  }
+
+  /**
+   * Leaves the requests that may mutate the data unpinned.
+   *
+   * @param request the incoming HTTP request
+   * @return true unless the request is a GET or a HEAD
+   */
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+  }
+}
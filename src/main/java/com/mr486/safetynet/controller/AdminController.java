@@ -0,0 +1,37 @@
+package com.mr486.safetynet.controller;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.tools.DataLoader;
+import com.mr486.safetynet.tools.ResponseUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for administration operations on the data store.
+ * Provides an endpoint to write a binary snapshot of the current data on demand.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminController {
+
+  private final DataLoader dataLoader;
+
+  /**
+   * Writes a binary snapshot of the current content of the repositories.
+   *
+   * @return ResponseEntity containing a success message with the number of records written.
+   */
+  @PostMapping(path = "/snapshot", produces = "application/json")
+  public ResponseEntity<String> writeSnapshot() {
+    DataBinding data = dataLoader.writeSnapshot();
+    return ResponseUtil.created(
+            "Snapshot written successfully: " + data.getPersons().size() + " persons, "
+                    + data.getFirestations().size() + " fire stations, "
+                    + data.getMedicalrecords().size() + " medical records"
+    );
+  }
+}
@@ -0,0 +1,35 @@
+package com.mr486.safetynet.controller;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import com.mr486.safetynet.service.ChildAlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for handling child alert requests.
+ * Provides an endpoint to retrieve the children living at an address and the other members of their household.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/childAlert")
+public class ChildAlertController {
+
+  private final ChildAlertService childAlertService;
+
+  /**
+   * Retrieves the children living at an address and the other members of their household.
+   *
+   * @param address the address to search for children
+   * @return ResponseEntity containing ChildAlertResponse, or no content if no child lives at the address
+   */
+  @GetMapping
+  public ResponseEntity<ChildAlertResponse> getChildAlert(@RequestParam String address) {
+    return childAlertService.getChildrenAtAddress(address)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.noContent().build());
+  }
+}
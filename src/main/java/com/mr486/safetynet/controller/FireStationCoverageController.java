@@ -1,13 +1,21 @@
 package com.mr486.safetynet.controller;
 
 import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
 import com.mr486.safetynet.service.FireStationCoverageService;
+import com.mr486.safetynet.tools.CoverageStreamWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 
 /**
  * Controller for handling requests related to fire station coverage.
@@ -19,23 +27,93 @@ import org.springframework.web.bind.annotation.RestController;
 public class FireStationCoverageController {
 
   private final FireStationCoverageService fireStationCoverageService;
+  private final CoverageStreamWriter coverageStreamWriter;
 
   /**
    * Retrieves the coverage information for a specific fire station.
+   * The response carries the tag of the coverage as its ETag; a request whose If-None-Match
+   * holds the current tag is answered with 304 Not Modified, without reading the coverage.
    *
    * @param stationNumber the number of the fire station to retrieve coverage for
-   * @return ResponseEntity containing FireStationCoverage with coverage details
+   * @param request       the request, checked against the tag of the coverage
+   * @return ResponseEntity containing FireStationCoverage with coverage details, or null if not modified
    */
   @GetMapping
-  public ResponseEntity<FireStationCoverage> getCoverageByStation(@RequestParam Integer stationNumber) {
+  public ResponseEntity<FireStationCoverage> getCoverageByStation(@RequestParam Integer stationNumber,
+                                                                  WebRequest request) {
+    String eTag = eTag(stationNumber);
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+
     FireStationCoverage coverage = fireStationCoverageService.getCoverageByStationNumber(stationNumber);
 
     if (coverage.getPersons().isEmpty()) {
+      return ResponseEntity.noContent().eTag(eTag).build();
+    }
+
+    return ResponseEntity.ok().eTag(eTag).body(coverage);
+  }
+
+  /**
+   * Retrieves a page of the coverage information for a specific fire station.
+   * The first page is asked without cursor, each next one with the cursor returned by the previous page.
+   *
+   * @param stationNumber the number of the fire station to retrieve coverage for
+   * @param limit         the largest number of persons of the page
+   * @param cursor        the cursor returned with the previous page, absent for the first page
+   * @return ResponseEntity containing FireStationCoveragePage, or no content if the page is empty
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<FireStationCoveragePage> getCoveragePageByStation(@RequestParam Integer stationNumber,
+                                                                          @RequestParam int limit,
+                                                                          @RequestParam(required = false) String cursor) {
+    FireStationCoveragePage page = fireStationCoverageService.getCoveragePageByStationNumber(stationNumber, cursor, limit);
+
+    if (page.getPersons().isEmpty()) {
       return ResponseEntity.noContent().build();
     }
 
-    return ResponseEntity.ok(coverage);
+    return ResponseEntity.ok(page);
   }
 
+  /**
+   * Retrieves the coverage information for a specific fire station, written to the response as it is produced.
+   * The body is the same as the one of {@link #getCoverageByStation(Integer, WebRequest)}, with the adult and
+   * child counts after the persons; it is meant for stations covering many persons. The tag of the coverage
+   * is checked and returned as ETag the same way.
+   *
+   * @param stationNumber the number of the fire station to retrieve coverage for
+   * @param request       the request, checked against the tag of the coverage
+   * @param response      the response the coverage is written to
+   * @throws IOException if the response cannot be written
+   */
+  @GetMapping("/stream")
+  public void streamCoverageByStation(@RequestParam Integer stationNumber, WebRequest request,
+                                      HttpServletResponse response) throws IOException {
+    if (request.checkNotModified(eTag(stationNumber))) {
+      return;
+    }
+
+    FireStationCoverage coverage = fireStationCoverageService.getCoverageByStationNumber(stationNumber);
+
+    if (coverage.getPersons().isEmpty()) {
+      response.setStatus(HttpStatus.NO_CONTENT.value());
+      return;
+    }
+
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    coverageStreamWriter.write(coverage, response.getOutputStream());
+  }
+
+  /**
+   * Builds the ETag of the coverage of a fire station from its tag.
+   *
+   * @param stationNumber the number of the fire station
+   * @return the quoted tag of the coverage
+   */
+  private String eTag(Integer stationNumber) {
+    return "\"" + fireStationCoverageService.getCoverageTag(stationNumber) + "\"";
+  }
 
 }
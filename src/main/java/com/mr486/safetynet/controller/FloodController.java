@@ -0,0 +1,65 @@
+package com.mr486.safetynet.controller;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.service.FloodService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for handling flood alert requests.
+ * Provides an endpoint to retrieve the households covered by several fire stations at once.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/flood")
+public class FloodController {
+
+  private final FloodService floodService;
+
+  /**
+   * Retrieves the households covered by some fire stations, grouped by address,
+   * with the age, medications and allergies of each resident.
+   *
+   * @param stations the station numbers, comma separated
+   * @return ResponseEntity containing the households, or no content if no one lives in the area of the stations
+   */
+  @GetMapping("/stations")
+  public ResponseEntity<List<FloodHouseholdDto>> getHouseholdsByStations(@RequestParam List<Integer> stations) {
+    List<FloodHouseholdDto> households = floodService.getHouseholdsByStations(stations);
+
+    if (households.isEmpty()) {
+      return ResponseEntity.noContent().build();
+    }
+
+    return ResponseEntity.ok(households);
+  }
+
+  /**
+   * Retrieves a page of the households covered by some fire stations.
+   * The first page is asked without cursor, each next one with the cursor returned by the previous page.
+   *
+   * @param stations the station numbers, comma separated
+   * @param limit    the largest number of households of the page
+   * @param cursor   the cursor returned with the previous page, absent for the first page
+   * @return ResponseEntity containing the page, or no content if the page is empty
+   */
+  @GetMapping(path = "/stations", params = "limit")
+  public ResponseEntity<Page<FloodHouseholdDto>> getHouseholdPageByStations(@RequestParam List<Integer> stations,
+                                                                             @RequestParam int limit,
+                                                                             @RequestParam(required = false) String cursor) {
+    Page<FloodHouseholdDto> page = floodService.getHouseholdsByStations(stations, cursor, limit);
+
+    if (page.getItems().isEmpty()) {
+      return ResponseEntity.noContent().build();
+    }
+
+    return ResponseEntity.ok(page);
+  }
+}
@@ -1,5 +1,6 @@
 package com.mr486.safetynet.controller;
 
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.model.MedicalRecord;
 import com.mr486.safetynet.service.MedicalRecordService;
@@ -9,6 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Controller for managing MedicalRecord-related operations.
  * Provides endpoints for CRUD operations on MedicalRecord entities.
@@ -61,4 +65,28 @@ public class MedicalRecordController {
             "Medical record deleted successfully"
     );
   }
+
+  /**
+   * Adds or replaces many medical records at once, from a JSON array or NDJSON body read as a stream.
+   *
+   * @param body The request body, one medical record per array element or per line.
+   * @return ResponseEntity containing the counts of inserted, updated and rejected records and the reason of each rejection.
+   * @throws IOException if the body cannot be read
+   */
+  @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "application/json"}, produces = "application/json")
+  public ResponseEntity<BulkImportResponse> upsertMedicalRecords(InputStream body) throws IOException {
+    return ResponseUtil.success(medicalRecordService.upsertMedicalRecords(body));
+  }
+
+  /**
+   * Deletes many medical records at once, from a JSON array or NDJSON body of first and last names read as a stream.
+   *
+   * @param body The request body, one first and last name per array element or per line.
+   * @return ResponseEntity containing the counts of deleted and rejected records and the reason of each rejection.
+   * @throws IOException if the body cannot be read
+   */
+  @DeleteMapping(path = "/bulk", consumes = {"application/x-ndjson", "application/json"}, produces = "application/json")
+  public ResponseEntity<BulkImportResponse> deleteMedicalRecords(InputStream body) throws IOException {
+    return ResponseUtil.success(medicalRecordService.deleteMedicalRecords(body));
+  }
 }
@@ -1,5 +1,6 @@
 package com.mr486.safetynet.controller;
 
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.PersonSearch;
 import com.mr486.safetynet.model.Person;
 import com.mr486.safetynet.service.PersonService;
@@ -9,6 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Controller for managing Person-related operations.
  * Provides endpoints for CRUD operations on Person entities.
@@ -34,6 +38,18 @@ public class PersonController {
     );
   }
 
+  /**
+   * Adds many persons at once, from a JSON array or NDJSON body read as a stream.
+   *
+   * @param body The request body, one person per array element or per line.
+   * @return ResponseEntity containing the counts of the import and the reason of each rejection.
+   * @throws IOException if the body cannot be read
+   */
+  @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "application/json"}, produces = "application/json")
+  public ResponseEntity<BulkImportResponse> addPersons(InputStream body) throws IOException {
+    return ResponseUtil.success(personService.importPersons(body));
+  }
+
   /**
    * Updates an existing person.
    *
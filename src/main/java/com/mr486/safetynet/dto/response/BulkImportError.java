@@ -0,0 +1,22 @@
+package com.mr486.safetynet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object describing a record rejected by a bulk import.
+ */
+@Data
+@AllArgsConstructor
+public class BulkImportError {
+
+  /**
+   * Position of the record in the request body, starting at 0.
+   */
+  private int index;
+
+  /**
+   * Reason why the record was rejected.
+   */
+  private String message;
+}
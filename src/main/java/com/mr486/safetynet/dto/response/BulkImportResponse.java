@@ -0,0 +1,59 @@
+package com.mr486.safetynet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO summarizing a bulk import.
+ * It counts the records received, inserted, updated, deleted and rejected, and lists the reason of each rejection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+
+  /**
+   * Number of records read from the request body.
+   */
+  private int received;
+
+  /**
+   * Number of records inserted.
+   */
+  private int inserted;
+
+  /**
+   * Number of records replacing an existing one.
+   */
+  private int updated;
+
+  /**
+   * Number of records deleted.
+   */
+  private int deleted;
+
+  /**
+   * Number of records rejected.
+   */
+  private int rejected;
+
+  /**
+   * The rejected records, in the order of the request body.
+   */
+  private List<BulkImportError> errors = new ArrayList<>();
+
+  /**
+   * Records the rejection of a record.
+   *
+   * @param index   the position of the record in the request body
+   * @param message the reason of the rejection
+   */
+  public void reject(int index, String message) {
+    rejected++;
+    errors.add(new BulkImportError(index, message));
+  }
+}
@@ -0,0 +1,20 @@
+package com.mr486.safetynet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of a Fire Station Coverage.
+ * Contains a page of the persons covered by a fire station, the counts of adults and children
+ * of the whole station, and the cursor of the next page.
+ */
+@Data
+@AllArgsConstructor
+public class FireStationCoveragePage {
+  private List<PersonInfo> persons;
+  private long adultCount;
+  private long childCount;
+  private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.mr486.safetynet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing a household reached by a flood alert.
+ * An address covered by several of the requested stations is listed once, with all of them.
+ */
+@Data
+@AllArgsConstructor
+public class FloodHouseholdDto {
+
+  /**
+   * The address of the household.
+   */
+  private String address;
+
+  /**
+   * The requested stations covering the address.
+   */
+  private List<Integer> stations;
+
+  /**
+   * The residents of the household.
+   */
+  private List<FloodResidentDto> residents;
+}
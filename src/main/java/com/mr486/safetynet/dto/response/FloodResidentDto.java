@@ -0,0 +1,46 @@
+package com.mr486.safetynet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing a resident of a household reached by a flood alert.
+ * It carries the contact and medical history of the resident; the age is null when the resident
+ * has no medical record or an invalid birthdate.
+ */
+@Data
+@AllArgsConstructor
+public class FloodResidentDto {
+
+  /**
+   * The first name of the resident.
+   */
+  private String firstName;
+
+  /**
+   * The last name of the resident.
+   */
+  private String lastName;
+
+  /**
+   * The phone number of the resident.
+   */
+  private String phone;
+
+  /**
+   * The age of the resident, or null if unknown.
+   */
+  private Integer age;
+
+  /**
+   * The medications of the resident.
+   */
+  private List<String> medications;
+
+  /**
+   * The allergies of the resident.
+   */
+  private List<String> allergies;
+}
@@ -0,0 +1,26 @@
+package com.mr486.safetynet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Response DTO for a page of a paginated query.
+ *
+ * @param <T> the type of the elements
+ */
+@Data
+@AllArgsConstructor
+public class Page<T> {
+
+  /**
+   * The elements of the page.
+   */
+  private List<T> items;
+
+  /**
+   * The cursor to pass to get the next page, null on the last page.
+   */
+  private String nextCursor;
+}
@@ -0,0 +1,72 @@
+package com.mr486.safetynet.dto.search;
+
+import com.mr486.safetynet.exeption.InvalidPageException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * The position of the next page of a paginated query, handed to the client as an opaque string.
+ * <p>
+ * A cursor holds the version of the snapshot the first page was read from and the index of the next element,
+ * so the next page is read from the same data, however many writes happened since, and starts
+ * with a direct access rather than by skipping the elements already returned.
+ * </p>
+ *
+ * @param version  the version of the snapshot the pages are read from
+ * @param position the index of the first element of the next page, its meaning depends on the query
+ */
+public record PageCursor(long version, long position) {
+
+  /**
+   * Largest number of elements of a page.
+   */
+  public static final int MAX_LIMIT = 1000;
+
+  /**
+   * Encodes the cursor for the client.
+   *
+   * @return the cursor as a URL-safe string
+   */
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(ByteBuffer.allocate(16).putLong(version).putLong(position).array());
+  }
+
+  /**
+   * Decodes a cursor received from the client.
+   *
+   * @param cursor the cursor returned with the previous page
+   * @return the cursor
+   * @throws InvalidPageException if the cursor was not produced by {@link #encode()}
+   */
+  public static PageCursor decode(String cursor) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidPageException("malformed cursor [" + cursor + "]");
+    }
+    if (bytes.length != 16) {
+      throw new InvalidPageException("malformed cursor [" + cursor + "]");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    PageCursor pageCursor = new PageCursor(buffer.getLong(), buffer.getLong());
+    if (pageCursor.position() < 0) {
+      throw new InvalidPageException("malformed cursor [" + cursor + "]");
+    }
+    return pageCursor;
+  }
+
+  /**
+   * Checks the number of elements asked for a page.
+   *
+   * @param limit the number of elements
+   * @throws InvalidPageException if the limit is not between 1 and {@value #MAX_LIMIT}
+   */
+  public static void checkLimit(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new InvalidPageException("limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+    }
+  }
+}
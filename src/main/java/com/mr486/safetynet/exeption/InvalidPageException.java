@@ -0,0 +1,17 @@
+package com.mr486.safetynet.exeption;
+
+/**
+ * Exception thrown when a page of results cannot be served.
+ * This custom exception is used to indicate a malformed or expired cursor, or an invalid page size.
+ */
+public class InvalidPageException extends RuntimeException {
+
+  /**
+   * Constructs a new InvalidPageException with the specified detail message.
+   *
+   * @param message the detail message explaining the reason for the exception
+   */
+  public InvalidPageException(String message) {
+    super(message);
+  }
+}
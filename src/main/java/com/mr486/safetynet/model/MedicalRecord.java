@@ -1,18 +1,37 @@
 package com.mr486.safetynet.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mr486.safetynet.configuration.AppConfiguration;
 import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 
 /**
  * Represents a medical record containing personal and medical information.
+ * The birthdate is parsed into an epoch day whenever it is set, and kept alongside the record,
+ * so reading it never parses anything.
  */
 @Data
-@AllArgsConstructor
 public class MedicalRecord {
 
+  /**
+   * Epoch day returned for a birthdate that is missing or not in the "MM/dd/yyyy" format.
+   */
+  public static final int INVALID_BIRTHDATE = Integer.MIN_VALUE;
+
+  /**
+   * Formatter of the birthdates, shared as it is immutable and thread-safe.
+   */
+  private static final DateTimeFormatter BIRTHDATE_FORMATTER = DateTimeFormatter.ofPattern(AppConfiguration.DATE_FORMAT);
+
   /**
    * The first name of the person.
    */
@@ -41,6 +60,14 @@ public class MedicalRecord {
    */
   private ArrayList<String> allergies;
 
+  /**
+   * The birthdate as a number of days since 1970-01-01, parsed when the birthdate is set.
+   */
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private int birthEpochDay = INVALID_BIRTHDATE;
+
   /**
    * Default constructor for MedicalRecord.
    * Initializes an empty MedicalRecord with empty lists for medications and allergies.
@@ -62,7 +89,64 @@ public class MedicalRecord {
     this.firstName = firstName;
     this.lastName = lastName;
     this.birthdate = birthdate;
+    this.birthEpochDay = parseBirthdate(birthdate);
     this.medications = new ArrayList<>();
     this.allergies = new ArrayList<>();
   }
+
+  /**
+   * Constructor for MedicalRecord with all its information.
+   *
+   * @param firstName   The first name of the person.
+   * @param lastName    The last name of the person.
+   * @param birthdate   The birthdate of the person in the format "MM/dd/yyyy".
+   * @param medications The medications the person is taking.
+   * @param allergies   The allergies the person has.
+   */
+  public MedicalRecord(String firstName, String lastName, String birthdate,
+                       ArrayList<String> medications, ArrayList<String> allergies) {
+    this.firstName = firstName;
+    this.lastName = lastName;
+    this.birthdate = birthdate;
+    this.birthEpochDay = parseBirthdate(birthdate);
+    this.medications = medications;
+    this.allergies = allergies;
+  }
+
+  /**
+   * Sets the birthdate and parses its epoch day.
+   *
+   * @param birthdate The birthdate of the person in the format "MM/dd/yyyy".
+   */
+  public void setBirthdate(String birthdate) {
+    this.birthdate = birthdate;
+    this.birthEpochDay = parseBirthdate(birthdate);
+  }
+
+  /**
+   * Returns the birthdate as a number of days since 1970-01-01, parsed when the birthdate was set.
+   *
+   * @return the epoch day of the birthdate, or {@link #INVALID_BIRTHDATE} if it cannot be parsed
+   */
+  @JsonIgnore
+  public int getBirthEpochDay() {
+    return birthEpochDay;
+  }
+
+  /**
+   * Parses a birthdate in the "MM/dd/yyyy" format.
+   *
+   * @param birthdate the birthdate, may be null
+   * @return the epoch day of the birthdate, or {@link #INVALID_BIRTHDATE} if it cannot be parsed
+   */
+  public static int parseBirthdate(String birthdate) {
+    if (birthdate == null) {
+      return INVALID_BIRTHDATE;
+    }
+    try {
+      return (int) LocalDate.parse(birthdate, BIRTHDATE_FORMATTER).toEpochDay();
+    } catch (DateTimeParseException e) {
+      return INVALID_BIRTHDATE;
+    }
+  }
 }
\ No newline at end of file
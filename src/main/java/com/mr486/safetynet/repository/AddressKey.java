@@ -0,0 +1,40 @@
+package com.mr486.safetynet.repository;
+
+import java.util.Locale;
+
+/**
+ * Key of the indexes on addresses.
+ * Addresses are compared case-insensitively and regardless of extra whitespace,
+ * so "1509 Culver St" and " 1509  culver st" designate the same household.
+ *
+ * @param value the normalized address
+ */
+public record AddressKey(String value) {
+
+  /**
+   * Builds the key of an address: trimmed, runs of whitespace collapsed to one space, lower-cased.
+   *
+   * @param address the address, may be null
+   * @return the key of the address, an empty key for null
+   */
+  public static AddressKey of(String address) {
+    if (address == null) {
+      return new AddressKey("");
+    }
+    StringBuilder normalized = new StringBuilder(address.length());
+    boolean pendingSpace = false;
+    for (int i = 0; i < address.length(); i++) {
+      char c = address.charAt(i);
+      if (Character.isWhitespace(c)) {
+        pendingSpace = !normalized.isEmpty();
+        continue;
+      }
+      if (pendingSpace) {
+        normalized.append(' ');
+        pendingSpace = false;
+      }
+      normalized.append(c);
+    }
+    return new AddressKey(normalized.toString().toLowerCase(Locale.ROOT));
+  }
+}
@@ -0,0 +1,20 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the child alerts of the households.
+ * The alerts are maintained as the persons and medical records change.
+ */
+public interface ChildAlertRepository {
+
+  /**
+   * Retrieves the child alert of an address.
+   *
+   * @param address the address
+   * @return the children and other members of the household, or empty if no child lives there
+   */
+  Optional<ChildAlertResponse> findChildAlertByAddress(String address);
+}
@@ -0,0 +1,33 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Implementation of {@link ChildAlertRepository} reading the {@link ChildAlertView} of the current snapshot.
+ * A read is a lookup without lock in the snapshot pinned by the request, which it never replaces:
+ * the views are moved to the new day by the {@link com.mr486.safetynet.tools.DayRollover}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChildAlertRepositoryImplJson implements ChildAlertRepository {
+
+  /**
+   * The data store holding the current snapshot.
+   */
+  private final DataStore dataStore;
+
+  /**
+   * Retrieves the child alert of an address from the view of the current snapshot.
+   *
+   * @param address the address
+   * @return the children and other members of the household, or empty if no child lives there
+   */
+  @Override
+  public Optional<ChildAlertResponse> findChildAlertByAddress(String address) {
+    return dataStore.current().getChildAlerts().find(address);
+  }
+}
@@ -0,0 +1,301 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.configuration.AppConfiguration;
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import com.mr486.safetynet.dto.response.ChildDto;
+import com.mr486.safetynet.dto.response.OtherHouseholdMemberDto;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The child alert of every household, materialized from the persons and medical records of a {@link DataSnapshot}.
+ * <p>
+ * Each address with residents keeps a ready-made {@link ChildAlertResponse}, so answering a child alert
+ * is a lookup. A mutation only rebuilds the households at the addresses it touches, with {@link #refresh}.
+ * </p>
+ * <p>
+ * Residents are classified against the day of the view: a resident aged {@value AppConfiguration#AGE_ADULT}
+ * or less is a child, residents without medical record are left out. A household keeps the next day the age
+ * of one of its children changes, and the households are listed by that day, so {@link #rollOver(int)} only
+ * rebuilds the alerts of the households where a child has a birthday.
+ * A child with an invalid birthdate is listed without age.
+ * </p>
+ * A view never changes: a refresh or a roll over returns a new view sharing the untouched households
+ * with this one, so readers need no lock.
+ */
+public class ChildAlertView {
+
+  /**
+   * Largest number of days a roll over walks through day by day, beyond it every household is rebuilt.
+   */
+  private static final int MAX_ROLL_OVER_DAYS = 366;
+
+  private final PersistentMap<AddressKey, Household> households;
+  private final PersistentMap<Integer, List<AddressKey>> changes;
+  private final int day;
+
+  /**
+   * Builds the child alert of every household from the tables of a snapshot, for a day.
+   *
+   * @param persons        the persons
+   * @param medicalRecords the medical records
+   * @param day            the day the residents are classified against, as a number of days since 1970-01-01
+   */
+  public ChildAlertView(PersonTable persons, MedicalRecordTable medicalRecords, int day) {
+    Editor editor = new Editor(PersistentMap.empty(), PersistentMap.empty(), day);
+    persons.forEachHousehold(residents -> editor.refresh(
+            AddressKey.of(residents.get(0).getAddress()), residents, medicalRecords));
+    ChildAlertView view = editor.build();
+    this.households = view.households;
+    this.changes = view.changes;
+    this.day = view.day;
+  }
+
+  /**
+   * Creates a view from its households.
+   *
+   * @param households the households by address
+   * @param changes    the addresses of the households to rebuild, by day
+   * @param day        the day the residents are classified against
+   */
+  private ChildAlertView(PersistentMap<AddressKey, Household> households,
+                         PersistentMap<Integer, List<AddressKey>> changes, int day) {
+    this.households = households;
+    this.changes = changes;
+    this.day = day;
+  }
+
+  /**
+   * Returns the day the residents are classified against.
+   *
+   * @return the day of the view as a number of days since 1970-01-01
+   */
+  public int getDay() {
+    return day;
+  }
+
+  /**
+   * Returns the child alert of an address, compared with {@link AddressKey}.
+   *
+   * @param address the address
+   * @return the children and other members of the household, or empty if no child lives there
+   */
+  public Optional<ChildAlertResponse> find(String address) {
+    Household household = households.get(AddressKey.of(address));
+    return household == null ? Optional.empty() : Optional.ofNullable(household.alert());
+  }
+
+  /**
+   * Rebuilds the households at some addresses from the tables after a mutation.
+   *
+   * @param persons        the persons after the mutation
+   * @param medicalRecords the medical records after the mutation
+   * @param addresses      the addresses whose residents or their medical records changed
+   * @return the refreshed view
+   */
+  public ChildAlertView refresh(PersonTable persons, MedicalRecordTable medicalRecords, Collection<String> addresses) {
+    Editor editor = new Editor(households, changes, day);
+    Set<AddressKey> refreshed = new HashSet<>();
+    for (String address : addresses) {
+      AddressKey key = AddressKey.of(address);
+      if (refreshed.add(key)) {
+        editor.refresh(key, persons.findByAddress(address), medicalRecords);
+      }
+    }
+    return editor.build();
+  }
+
+  /**
+   * Moves the view to another day. Going forward, only the households where the age of a child
+   * changes are rebuilt; going back or far ahead, every household is.
+   *
+   * @param today the new day as a number of days since 1970-01-01
+   * @return the view of the new day, this view if it is already on that day
+   */
+  public ChildAlertView rollOver(int today) {
+    if (today == day) {
+      return this;
+    }
+    if (today < day || today - day > MAX_ROLL_OVER_DAYS) {
+      Editor editor = new Editor(households, PersistentMap.empty(), today);
+      households.forEach((address, household) -> editor.publish(household.address(), household.residents()));
+      return editor.build();
+    }
+    Editor editor = new Editor(households, changes, today);
+    for (int due = day + 1; due <= today; due++) {
+      List<AddressKey> addresses = changes.get(due);
+      if (addresses != null) {
+        editor.clear(due);
+        addresses.forEach(address -> editor.publish(address, households.get(address).residents()));
+      }
+    }
+    return editor.build();
+  }
+
+  /**
+   * Computes the age of a person born on a day, on another day.
+   *
+   * @param birthEpochDay the birthdate as a number of days since 1970-01-01
+   * @param day           the day as a number of days since 1970-01-01
+   * @return the age in years, negative for a birthdate after the day
+   */
+  private static int age(int birthEpochDay, int day) {
+    return Period.between(LocalDate.ofEpochDay(birthEpochDay), LocalDate.ofEpochDay(day)).getYears();
+  }
+
+  /**
+   * A resident with a medical record.
+   *
+   * @param firstName     the first name
+   * @param lastName      the last name
+   * @param birthEpochDay the birthdate as a number of days since 1970-01-01
+   */
+  private record Resident(String firstName, String lastName, int birthEpochDay) {
+  }
+
+  /**
+   * The residents at an address and their published alert.
+   *
+   * @param address       the key of the address
+   * @param residents     the residents with a medical record
+   * @param alert         the alert on the day of the view, null if no child lives there
+   * @param nextChangeDay the next day the age of a child changes, {@link Integer#MAX_VALUE} if none
+   */
+  private record Household(AddressKey address, List<Resident> residents, ChildAlertResponse alert, int nextChangeDay) {
+  }
+
+  /**
+   * Applies changes to the households of a view. The day lists touched are copied once and frozen by {@link #build()}.
+   */
+  private static final class Editor {
+
+    private final PersistentMap.Builder<AddressKey, Household> households;
+    private final PersistentMap.Builder<Integer, List<AddressKey>> changes;
+    private final Map<Integer, List<AddressKey>> days = new HashMap<>();
+    private final int day;
+
+    /**
+     * Creates an editor.
+     *
+     * @param households the households by address
+     * @param changes    the addresses of the households to rebuild, by day
+     * @param day        the day the residents are classified against
+     */
+    Editor(PersistentMap<AddressKey, Household> households, PersistentMap<Integer, List<AddressKey>> changes, int day) {
+      this.households = households.toBuilder();
+      this.changes = changes.toBuilder();
+      this.day = day;
+    }
+
+    /**
+     * Rebuilds the household at an address, removing it if nobody lives there anymore.
+     *
+     * @param address        the key of the address
+     * @param residents      the persons living at the address
+     * @param medicalRecords the medical records
+     */
+    void refresh(AddressKey address, List<Person> residents, MedicalRecordTable medicalRecords) {
+      Household previous = households.get(address);
+      if (previous != null) {
+        households.remove(address);
+        if (previous.nextChangeDay() != Integer.MAX_VALUE) {
+          day(previous.nextChangeDay()).remove(address);
+        }
+      }
+      if (residents.isEmpty()) {
+        return;
+      }
+      List<Resident> known = new ArrayList<>(residents.size());
+      for (Person person : residents) {
+        medicalRecords.find(person.getFirstName(), person.getLastName())
+                .ifPresent(medicalRecord -> known.add(new Resident(person.getFirstName(), person.getLastName(),
+                        medicalRecord.getBirthEpochDay())));
+      }
+      publish(address, List.copyOf(known));
+    }
+
+    /**
+     * Classifies the residents of a household, publishes its alert and lists it
+     * under the next day the age of one of its children changes.
+     *
+     * @param address   the key of the address
+     * @param residents the residents with a medical record
+     */
+    void publish(AddressKey address, List<Resident> residents) {
+      List<ChildDto> children = new ArrayList<>();
+      List<OtherHouseholdMemberDto> otherMembers = new ArrayList<>();
+      int next = Integer.MAX_VALUE;
+      for (Resident resident : residents) {
+        if (resident.birthEpochDay() == MedicalRecord.INVALID_BIRTHDATE) {
+          children.add(new ChildDto(resident.firstName(), resident.lastName(), null));
+          continue;
+        }
+        int age = age(resident.birthEpochDay(), day);
+        if (age <= AppConfiguration.AGE_ADULT) {
+          children.add(new ChildDto(resident.firstName(), resident.lastName(), age));
+          next = Math.min(next, AgeCalculator.epochDayReachingAge(resident.birthEpochDay(), Math.max(age + 1, 0)));
+        } else {
+          otherMembers.add(new OtherHouseholdMemberDto(resident.firstName(), resident.lastName()));
+        }
+      }
+      ChildAlertResponse alert = children.isEmpty()
+              ? null
+              : new ChildAlertResponse(List.copyOf(children), List.copyOf(otherMembers));
+      households.put(address, new Household(address, residents, alert, next));
+      if (next != Integer.MAX_VALUE) {
+        day(next).add(address);
+      }
+    }
+
+    /**
+     * Empties the list of a day, whose households are being rebuilt.
+     *
+     * @param due the day as a number of days since 1970-01-01
+     */
+    void clear(int due) {
+      days.put(due, new ArrayList<>());
+    }
+
+    /**
+     * Returns the view holding the changes applied so far.
+     *
+     * @return the new view
+     */
+    ChildAlertView build() {
+      days.forEach((due, addresses) -> {
+        if (addresses.isEmpty()) {
+          changes.remove(due);
+        } else {
+          changes.put(due, List.copyOf(addresses));
+        }
+      });
+      days.clear();
+      return new ChildAlertView(households.build(), changes.build(), day);
+    }
+
+    /**
+     * Returns the copy of the list of a day being modified, making it on first use.
+     *
+     * @param due the day as a number of days since 1970-01-01
+     * @return the modifiable addresses listed under the day
+     */
+    private List<AddressKey> day(int due) {
+      return days.computeIfAbsent(due, key -> {
+        List<AddressKey> addresses = changes.get(key);
+        return addresses == null ? new ArrayList<>() : new ArrayList<>(addresses);
+      });
+    }
+  }
+}
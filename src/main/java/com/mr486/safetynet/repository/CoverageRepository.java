@@ -0,0 +1,49 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
+import com.mr486.safetynet.dto.search.PageCursor;
+
+/**
+ * Repository interface for the coverage of the fire stations.
+ * The coverage is maintained as the persons, fire stations and medical records change.
+ */
+public interface CoverageRepository {
+
+  /**
+   * Retrieves the coverage of a fire station.
+   *
+   * @param stationNumber the station number
+   * @return the persons covered by the station with the counts of adults and children
+   */
+  FireStationCoverage getCoverageByStationNumber(Integer stationNumber);
+
+  /**
+   * Retrieves the version of the coverage of a fire station, changed by every mutation touching
+   * the addresses of the station, their residents or their medical records.
+   *
+   * @param stationNumber the station number
+   * @return the version of the coverage, increasing each time it changes
+   */
+  long getCoverageVersion(Integer stationNumber);
+
+  /**
+   * Retrieves the tag of the coverage of a fire station, made of its version and of the epoch of the data.
+   * Unlike the version, a tag is never reused by another content of the coverage, even after a reload
+   * or a restart.
+   *
+   * @param stationNumber the station number
+   * @return the tag of the coverage, changed each time it may have changed
+   */
+  String getCoverageTag(Integer stationNumber);
+
+  /**
+   * Retrieves a page of the coverage of a fire station.
+   *
+   * @param stationNumber the station number
+   * @param cursor        the cursor returned with the previous page, null for the first page
+   * @param limit         the largest number of persons of the page
+   * @return the persons of the page with the counts of adults and children of the whole station
+   */
+  FireStationCoveragePage getCoveragePageByStationNumber(Integer stationNumber, PageCursor cursor, int limit);
+}
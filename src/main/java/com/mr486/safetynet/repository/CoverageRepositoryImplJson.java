@@ -0,0 +1,85 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.exeption.InvalidPageException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link CoverageRepository} reading the {@link CoverageView} of the current snapshot.
+ * A read is a lookup without lock in the snapshot pinned by the request, which it never replaces:
+ * the views are moved to the new day by the {@link com.mr486.safetynet.tools.DayRollover}, so the version and
+ * the coverage of a station read by one request always come from the same snapshot.
+ * The pages after the first one are read from the snapshot of the first page, found by the version of the cursor.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CoverageRepositoryImplJson implements CoverageRepository {
+
+  /**
+   * The data store holding the current snapshot.
+   */
+  private final DataStore dataStore;
+
+  /**
+   * Retrieves the coverage of a fire station from the view of the current snapshot.
+   *
+   * @param stationNumber the station number
+   * @return the persons covered by the station with the counts of adults and children
+   */
+  @Override
+  public FireStationCoverage getCoverageByStationNumber(Integer stationNumber) {
+    return dataStore.current().getCoverage().find(stationNumber);
+  }
+
+  /**
+   * Retrieves the version of the coverage of a fire station from the view of the current snapshot.
+   *
+   * @param stationNumber the station number
+   * @return the version of the snapshot the coverage of the station was last rebuilt in
+   */
+  @Override
+  public long getCoverageVersion(Integer stationNumber) {
+    return dataStore.current().getCoverage().findVersion(stationNumber);
+  }
+
+  /**
+   * Retrieves the tag of the coverage of a fire station from the current snapshot.
+   *
+   * @param stationNumber the station number
+   * @return the epoch of the snapshot in hexadecimal and the version of the coverage, separated by a dash
+   */
+  @Override
+  public String getCoverageTag(Integer stationNumber) {
+    DataSnapshot snapshot = dataStore.current();
+    return Long.toHexString(snapshot.getEpoch()) + "-" + snapshot.getCoverage().findVersion(stationNumber);
+  }
+
+  /**
+   * Retrieves a page of the coverage of a fire station. The page is a view of the persons of the coverage,
+   * so its cost only depends on its size.
+   *
+   * @param stationNumber the station number
+   * @param cursor        the cursor returned with the previous page, null for the first page
+   * @param limit         the largest number of persons of the page
+   * @return the persons of the page with the counts of adults and children of the whole station
+   * @throws InvalidPageException if the snapshot of the cursor is no longer retained
+   */
+  @Override
+  public FireStationCoveragePage getCoveragePageByStationNumber(Integer stationNumber, PageCursor cursor, int limit) {
+    DataSnapshot snapshot = cursor == null ? dataStore.current() : dataStore.find(cursor.version())
+            .orElseThrow(() -> new InvalidPageException("cursor expired, restart from the first page"));
+    FireStationCoverage coverage = snapshot.getCoverage().find(stationNumber);
+    List<PersonInfo> persons = coverage.getPersons();
+    int from = cursor == null ? 0 : (int) Math.min(cursor.position(), persons.size());
+    int to = Math.min(from + limit, persons.size());
+    String nextCursor = to < persons.size() ? new PageCursor(snapshot.getVersion(), to).encode() : null;
+    return new FireStationCoveragePage(persons.subList(from, to), coverage.getAdultCount(), coverage.getChildCount(),
+            nextCursor);
+  }
+}
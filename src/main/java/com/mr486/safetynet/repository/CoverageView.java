@@ -0,0 +1,438 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.configuration.AppConfiguration;
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The coverage of every fire station, materialized from the tables of a {@link DataSnapshot}.
+ * <p>
+ * Each station keeps its households by {@link AddressKey} with their counts of adults and residents,
+ * and the totals of these counts. A mutation only rebuilds the households at the addresses it touches,
+ * with {@link #refresh}, and applies the difference of their counts to the totals of the stations covering
+ * them, so its cost does not depend on the number of residents of these stations. The list of the persons
+ * of a station is only built by the first read of its {@link FireStationCoverage}, then kept with the station.
+ * </p>
+ * <p>
+ * Residents are classified against the day of the view. Each resident keeps the first day they count
+ * as an adult, so {@link #rollOver(int, long)} only recounts the stations where a child may have come of age.
+ * A resident without medical record counts as an adult, one with an invalid birthdate as a child.
+ * </p>
+ * <p>
+ * Each station keeps the version of the snapshot its coverage was last changed in. A refresh only gives
+ * the new version to the stations it changes, and a roll over to the stations whose counts changed, so the
+ * version of a station changes exactly when its coverage may have.
+ * </p>
+ * A view never changes: a refresh or a roll over returns a new view sharing the untouched stations
+ * with this one, so readers need no lock.
+ */
+public class CoverageView {
+
+  private static final FireStationCoverage EMPTY = new FireStationCoverage(List.of(), 0, 0);
+
+  private final IntMap<Station> stations;
+  private final PersistentMap<AddressKey, List<Integer>> stationsByAddress;
+  private final int day;
+
+  /**
+   * Builds the coverage of every station from the tables of a snapshot, for a day.
+   * The households of a station are listed in the order of its mappings.
+   *
+   * @param persons        the persons
+   * @param fireStations   the fire stations
+   * @param medicalRecords the medical records
+   * @param day            the day the residents are classified against, as a number of days since 1970-01-01
+   * @param version        the version of the snapshot the view is built for
+   */
+  public CoverageView(PersonTable persons, FireStationTable fireStations, MedicalRecordTable medicalRecords,
+                      int day, long version) {
+    this.day = day;
+
+    Map<AddressKey, Household> households = new HashMap<>();
+    Map<AddressKey, List<Integer>> byAddress = new HashMap<>();
+    IntMap<Station> built = new IntMap<>();
+    for (FireStation mapping : fireStations.findAll()) {
+      if (mapping.getStation() == null || built.get(mapping.getStation()) != null) {
+        continue;
+      }
+      int stationNumber = mapping.getStation();
+      Map<AddressKey, Household> covered = new LinkedHashMap<>();
+      for (FireStation fireStation : fireStations.findByStation(stationNumber)) {
+        AddressKey address = AddressKey.of(fireStation.getAddress());
+        if (covered.containsKey(address)) {
+          continue;
+        }
+        covered.put(address, households.computeIfAbsent(address,
+                ignored -> household(persons, medicalRecords, fireStation.getAddress(), day)));
+        byAddress.computeIfAbsent(address, ignored -> new ArrayList<>(1)).add(stationNumber);
+      }
+      built = built.plus(stationNumber, Station.empty(stationNumber).apply(covered, version));
+    }
+    PersistentMap.Builder<AddressKey, List<Integer>> stationsByAddress = PersistentMap.<AddressKey, List<Integer>>empty().toBuilder();
+    byAddress.forEach((address, stationNumbers) -> stationsByAddress.put(address, List.copyOf(stationNumbers)));
+    this.stations = built;
+    this.stationsByAddress = stationsByAddress.build();
+  }
+
+  /**
+   * Creates a view from its stations.
+   *
+   * @param stations          the stations by number
+   * @param stationsByAddress the numbers of the stations covering each address
+   * @param day               the day the residents are classified against
+   */
+  private CoverageView(IntMap<Station> stations, PersistentMap<AddressKey, List<Integer>> stationsByAddress, int day) {
+    this.stations = stations;
+    this.stationsByAddress = stationsByAddress;
+    this.day = day;
+  }
+
+  /**
+   * Returns the day the residents are classified against.
+   *
+   * @return the day of the view as a number of days since 1970-01-01
+   */
+  public int getDay() {
+    return day;
+  }
+
+  /**
+   * Returns the coverage of a station.
+   *
+   * @param stationNumber the station number, may be null
+   * @return the coverage of the station, empty if the station covers no address
+   */
+  public FireStationCoverage find(Integer stationNumber) {
+    if (stationNumber == null) {
+      return EMPTY;
+    }
+    Station station = stations.get(stationNumber);
+    return station == null ? EMPTY : station.coverage();
+  }
+
+  /**
+   * Returns the version of the coverage of a station.
+   *
+   * @param stationNumber the station number, may be null
+   * @return the version of the snapshot the coverage of the station was last rebuilt in,
+   * 0 if the station never covered any address
+   */
+  public long findVersion(Integer stationNumber) {
+    Station station = stationNumber == null ? null : stations.get(stationNumber);
+    return station == null ? 0 : station.version();
+  }
+
+  /**
+   * Rebuilds the households at some addresses from the tables after a mutation, and republishes once
+   * each station covering them, or having covered them before the mutation, with the difference of its counts.
+   *
+   * @param persons        the persons after the mutation
+   * @param fireStations   the fire stations after the mutation
+   * @param medicalRecords the medical records after the mutation
+   * @param addresses      the addresses whose residents, medical records or stations changed
+   * @param version        the version of the snapshot the view is refreshed for, given to the republished stations
+   * @return the refreshed view
+   */
+  public CoverageView refresh(PersonTable persons, FireStationTable fireStations, MedicalRecordTable medicalRecords,
+                              Collection<String> addresses, long version) {
+    Map<Integer, Map<AddressKey, Household>> edited = new HashMap<>();
+    PersistentMap.Builder<AddressKey, List<Integer>> byAddress = stationsByAddress.toBuilder();
+    Set<AddressKey> refreshed = new HashSet<>();
+    for (String address : addresses) {
+      AddressKey key = AddressKey.of(address);
+      if (!refreshed.add(key)) {
+        continue;
+      }
+      List<Integer> previous = Optional.ofNullable(byAddress.get(key)).orElse(List.of());
+      List<Integer> current = new ArrayList<>(1);
+      for (FireStation fireStation : fireStations.findAllByAddress(address)) {
+        if (fireStation.getStation() != null && !current.contains(fireStation.getStation())) {
+          current.add(fireStation.getStation());
+        }
+      }
+
+      for (Integer stationNumber : previous) {
+        if (!current.contains(stationNumber)) {
+          edited.computeIfAbsent(stationNumber, number -> new LinkedHashMap<>()).put(key, null);
+        }
+      }
+      if (current.isEmpty()) {
+        byAddress.remove(key);
+        continue;
+      }
+      Household household = household(persons, medicalRecords, address, day);
+      for (Integer stationNumber : current) {
+        edited.computeIfAbsent(stationNumber, number -> new LinkedHashMap<>()).put(key, household);
+      }
+      byAddress.put(key, List.copyOf(current));
+    }
+
+    IntMap<Station> updated = stations;
+    for (Map.Entry<Integer, Map<AddressKey, Household>> changes : edited.entrySet()) {
+      Station station = stations.get(changes.getKey());
+      updated = updated.plus(changes.getKey(),
+              (station == null ? Station.empty(changes.getKey()) : station).apply(changes.getValue(), version));
+    }
+    return new CoverageView(updated, byAddress.build(), day);
+  }
+
+  /**
+   * Moves the view to another day. Going forward, only the stations where a child may come of age
+   * are recounted; going back, every station is. A recounted station whose counts did not change
+   * keeps its version.
+   *
+   * @param today   the new day as a number of days since 1970-01-01
+   * @param version the version of the snapshot the view is moved for, given to the recounted stations
+   * @return the view of the new day, this view if it is already on that day
+   */
+  public CoverageView rollOver(int today, long version) {
+    if (today == day) {
+      return this;
+    }
+    boolean backwards = today < day;
+    List<Station> due = new ArrayList<>();
+    stations.forEachValue(station -> {
+      if (backwards || station.nextAdultDay() <= today) {
+        due.add(station);
+      }
+    });
+    IntMap<Station> updated = stations;
+    for (Station station : due) {
+      updated = updated.plus(station.number(), station.recount(today, version));
+    }
+    return new CoverageView(updated, stationsByAddress, today);
+  }
+
+  /**
+   * Builds the household at an address from the persons and medical records, counted on a day.
+   *
+   * @param persons        the persons
+   * @param medicalRecords the medical records
+   * @param address        the address
+   * @param day            the day as a number of days since 1970-01-01
+   * @return the household
+   */
+  private static Household household(PersonTable persons, MedicalRecordTable medicalRecords, String address, int day) {
+    List<Person> residents = persons.findByAddress(address);
+    List<PersonInfo> infos = new ArrayList<>(residents.size());
+    int[] adultDays = new int[residents.size()];
+    for (int i = 0; i < residents.size(); i++) {
+      Person person = residents.get(i);
+      infos.add(new PersonInfo(person.getFirstName(), person.getLastName(), person.getAddress(), person.getPhone()));
+      Optional<MedicalRecord> medicalRecord = medicalRecords.find(person.getFirstName(), person.getLastName());
+      adultDays[i] = medicalRecord.map(CoverageView::adultDay).orElse(Integer.MIN_VALUE);
+    }
+    return Household.of(List.copyOf(infos), adultDays, day);
+  }
+
+  /**
+   * Returns the first day the person of a medical record counts as an adult.
+   *
+   * @param medicalRecord the medical record
+   * @return the epoch day, {@link Integer#MAX_VALUE} if the birthdate is invalid
+   */
+  private static int adultDay(MedicalRecord medicalRecord) {
+    int birthEpochDay = medicalRecord.getBirthEpochDay();
+    return birthEpochDay == MedicalRecord.INVALID_BIRTHDATE
+            ? Integer.MAX_VALUE
+            : AgeCalculator.epochDayReachingAge(birthEpochDay, AppConfiguration.AGE_ADULT);
+  }
+
+  /**
+   * The residents at an address, counted on a day.
+   *
+   * @param persons      the residents
+   * @param adultDays    the first day each resident counts as an adult, in the same order
+   * @param adults       the number of adults on the day
+   * @param nextAdultDay the next day after the day a resident comes of age, {@link Integer#MAX_VALUE} if none
+   */
+  private record Household(List<PersonInfo> persons, int[] adultDays, int adults, int nextAdultDay) {
+
+    /**
+     * Counts the adults of a household on a day.
+     *
+     * @param persons   the residents
+     * @param adultDays the first day each resident counts as an adult, in the same order
+     * @param day       the day as a number of days since 1970-01-01
+     * @return the household counted on the day
+     */
+    static Household of(List<PersonInfo> persons, int[] adultDays, int day) {
+      int adults = 0;
+      int next = Integer.MAX_VALUE;
+      for (int adultDay : adultDays) {
+        if (adultDay <= day) {
+          adults++;
+        } else if (adultDay < next) {
+          next = adultDay;
+        }
+      }
+      return new Household(persons, adultDays, adults, next);
+    }
+  }
+
+  /**
+   * The households covered by a station and the totals of their counts.
+   * <p>
+   * The next day a child comes of age is a lower bound: a household replaced or removed may have held it,
+   * then the station is only recounted earlier than needed, which makes it exact again.
+   * </p>
+   */
+  private static final class Station {
+
+    private final int number;
+    private final PersistentMap<AddressKey, Ordered<Household>> households;
+    private final long nextOrder;
+    private final long adults;
+    private final long residents;
+    private final int nextAdultDay;
+    private final long version;
+    private volatile FireStationCoverage coverage;
+
+    /**
+     * Creates a station.
+     *
+     * @param number       the station number
+     * @param households   the households, tagged with the order of the mappings of the station
+     * @param nextOrder    the order given to the next household added
+     * @param adults       the number of adults of the households
+     * @param residents    the number of residents of the households
+     * @param nextAdultDay a day on or before the next day a child of the households comes of age
+     * @param version      the version of the snapshot the coverage of the station was last changed in
+     * @param coverage     the coverage of the households if already built, null otherwise
+     */
+    private Station(int number, PersistentMap<AddressKey, Ordered<Household>> households, long nextOrder, long adults,
+                    long residents, int nextAdultDay, long version, FireStationCoverage coverage) {
+      this.number = number;
+      this.households = households;
+      this.nextOrder = nextOrder;
+      this.adults = adults;
+      this.residents = residents;
+      this.nextAdultDay = nextAdultDay;
+      this.version = version;
+      this.coverage = coverage;
+    }
+
+    /**
+     * Creates a station covering no household.
+     *
+     * @param number the station number
+     * @return the station
+     */
+    static Station empty(int number) {
+      return new Station(number, PersistentMap.empty(), 0, 0, 0, Integer.MAX_VALUE, 0, EMPTY);
+    }
+
+    /**
+     * Returns the station number.
+     *
+     * @return the station number
+     */
+    int number() {
+      return number;
+    }
+
+    /**
+     * Returns a day on or before the next day a child of the households comes of age.
+     *
+     * @return the day as a number of days since 1970-01-01
+     */
+    int nextAdultDay() {
+      return nextAdultDay;
+    }
+
+    /**
+     * Returns the version of the snapshot the coverage of the station was last changed in.
+     *
+     * @return the version
+     */
+    long version() {
+      return version;
+    }
+
+    /**
+     * Adds, replaces or removes households and applies the difference of their counts to the totals.
+     * A replaced household keeps its place, an added one comes after the others.
+     *
+     * @param changes the households by address in the order to add them, null for the addresses to remove
+     * @param version the version of the snapshot the station is changed in
+     * @return the changed station
+     */
+    Station apply(Map<AddressKey, Household> changes, long version) {
+      PersistentMap.Builder<AddressKey, Ordered<Household>> edited = households.toBuilder();
+      long order = nextOrder;
+      long adultTotal = adults;
+      long residentTotal = residents;
+      int next = nextAdultDay;
+      for (Map.Entry<AddressKey, Household> change : changes.entrySet()) {
+        Ordered<Household> previous = edited.get(change.getKey());
+        if (previous != null) {
+          adultTotal -= previous.value().adults();
+          residentTotal -= previous.value().persons().size();
+        }
+        Household household = change.getValue();
+        if (household == null) {
+          edited.remove(change.getKey());
+          continue;
+        }
+        edited.put(change.getKey(), new Ordered<>(previous != null ? previous.order() : order++, household));
+        adultTotal += household.adults();
+        residentTotal += household.persons().size();
+        next = Math.min(next, household.nextAdultDay());
+      }
+      return new Station(number, edited.build(), order, adultTotal, residentTotal, next, version, null);
+    }
+
+    /**
+     * Counts the households on another day. The station keeps its version and coverage if its counts are unchanged.
+     *
+     * @param day     the day as a number of days since 1970-01-01
+     * @param version the version of the snapshot the station is recounted in
+     * @return the recounted station
+     */
+    Station recount(int day, long version) {
+      PersistentMap.Builder<AddressKey, Ordered<Household>> recounted = households.toBuilder();
+      long[] adultTotal = {0};
+      int[] next = {Integer.MAX_VALUE};
+      households.forEach((address, entry) -> {
+        Household household = Household.of(entry.value().persons(), entry.value().adultDays(), day);
+        recounted.put(address, new Ordered<>(entry.order(), household));
+        adultTotal[0] += household.adults();
+        next[0] = Math.min(next[0], household.nextAdultDay());
+      });
+      return adultTotal[0] == adults
+              ? new Station(number, recounted.build(), nextOrder, adults, residents, next[0], this.version, coverage)
+              : new Station(number, recounted.build(), nextOrder, adultTotal[0], residents, next[0], version, null);
+    }
+
+    /**
+     * Returns the coverage of the households, listing their persons in the order of the mappings of the station.
+     * The list is built by the first call and kept; concurrent first calls may each build it.
+     *
+     * @return the coverage
+     */
+    FireStationCoverage coverage() {
+      FireStationCoverage built = coverage;
+      if (built == null) {
+        List<PersonInfo> persons = new ArrayList<>((int) residents);
+        Ordered.values(households).forEach(household -> persons.addAll(household.persons()));
+        built = new FireStationCoverage(List.copyOf(persons), adults, residents - adults);
+        coverage = built;
+      }
+      return built;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.mr486.safetynet.repository;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The persons, fire stations and medical records published together by the {@link DataStore},
+ * with the coverage of the fire stations and the child alerts built from them.
+ * A reload builds a new snapshot off to the side, so readers holding the previous one never see
+ * a mix of old and new sections.
+ * <p>
+ * A snapshot never changes. A mutation returns the next snapshot, whose tables and views share
+ * their untouched parts with this one: only the addresses named by the mutation are rebuilt.
+ * </p>
+ */
+@Getter
+public class DataSnapshot {
+
+  /**
+   * Identity of the data the snapshot descends from, drawn at random when the store is created and each time
+   * the data is loaded, and kept by the mutations. Versions restart with the application and a reload replays
+   * its own mutations, so only the epoch and the version together identify the content of a snapshot.
+   */
+  private final long epoch;
+
+  /**
+   * Version of the snapshot, incremented on every publication.
+   */
+  private final long version;
+
+  /**
+   * The persons of the snapshot, with their indexes.
+   */
+  private final PersonTable persons;
+
+  /**
+   * The fire stations of the snapshot, with their indexes.
+   */
+  private final FireStationTable fireStations;
+
+  /**
+   * The medical records of the snapshot, with their index.
+   */
+  private final MedicalRecordTable medicalRecords;
+
+  /**
+   * The coverage of every fire station, built from the three tables.
+   */
+  private final CoverageView coverage;
+
+  /**
+   * The child alert of every household, built from the persons and medical records.
+   */
+  private final ChildAlertView childAlerts;
+
+  /**
+   * Creates a snapshot and builds the coverage of its fire stations and its child alerts for a day.
+   *
+   * @param epoch          the identity of the loaded data
+   * @param version        the version of the snapshot
+   * @param day            the day the views classify the residents against, as a number of days since 1970-01-01
+   * @param persons        the persons
+   * @param fireStations   the fire stations
+   * @param medicalRecords the medical records
+   */
+  public DataSnapshot(long epoch, long version, int day, PersonTable persons, FireStationTable fireStations,
+                      MedicalRecordTable medicalRecords) {
+    this.epoch = epoch;
+    this.version = version;
+    this.persons = persons;
+    this.fireStations = fireStations;
+    this.medicalRecords = medicalRecords;
+    this.coverage = new CoverageView(persons, fireStations, medicalRecords, day, version);
+    this.childAlerts = new ChildAlertView(persons, medicalRecords, day);
+  }
+
+  /**
+   * Creates a snapshot from its tables and views.
+   *
+   * @param epoch          the identity of the loaded data
+   * @param version        the version of the snapshot
+   * @param persons        the persons
+   * @param fireStations   the fire stations
+   * @param medicalRecords the medical records
+   * @param coverage       the coverage of the fire stations, built from the three tables
+   * @param childAlerts    the child alerts, built from the persons and medical records
+   */
+  private DataSnapshot(long epoch, long version, PersonTable persons, FireStationTable fireStations,
+                       MedicalRecordTable medicalRecords, CoverageView coverage, ChildAlertView childAlerts) {
+    this.epoch = epoch;
+    this.version = version;
+    this.persons = persons;
+    this.fireStations = fireStations;
+    this.medicalRecords = medicalRecords;
+    this.coverage = coverage;
+    this.childAlerts = childAlerts;
+  }
+
+  /**
+   * Creates the initial, empty snapshot.
+   *
+   * @param epoch the identity of the store
+   * @param day   the day of its views as a number of days since 1970-01-01
+   * @return a snapshot at version 0 with no data
+   */
+  public static DataSnapshot empty(long epoch, int day) {
+    return new DataSnapshot(epoch, 0, day, new PersonTable(List.of()), new FireStationTable(List.of()),
+            new MedicalRecordTable(List.of()));
+  }
+
+  /**
+   * Returns the next version of this snapshot with the persons replaced after a mutation,
+   * rebuilding the coverage and child alerts at the given addresses only.
+   *
+   * @param persons   the new persons
+   * @param addresses the addresses whose residents changed, before and after the mutation
+   * @return a new snapshot sharing the other sections
+   */
+  public DataSnapshot withPersons(PersonTable persons, Collection<String> addresses) {
+    return new DataSnapshot(epoch, version + 1, persons, fireStations, medicalRecords,
+            coverage.refresh(persons, fireStations, medicalRecords, addresses, version + 1),
+            childAlerts.refresh(persons, medicalRecords, addresses));
+  }
+
+  /**
+   * Returns the next version of this snapshot with the fire stations replaced after a mutation,
+   * rebuilding the coverage at the given addresses only.
+   *
+   * @param fireStations the new fire stations
+   * @param addresses    the addresses whose mappings changed
+   * @return a new snapshot sharing the other sections
+   */
+  public DataSnapshot withFireStations(FireStationTable fireStations, Collection<String> addresses) {
+    return new DataSnapshot(epoch, version + 1, persons, fireStations, medicalRecords,
+            coverage.refresh(persons, fireStations, medicalRecords, addresses, version + 1), childAlerts);
+  }
+
+  /**
+   * Returns the next version of this snapshot with the medical records replaced after a mutation,
+   * rebuilding the coverage and child alerts at the given addresses only.
+   *
+   * @param medicalRecords the new medical records
+   * @param addresses      the addresses of the persons whose medical record changed
+   * @return a new snapshot sharing the other sections
+   */
+  public DataSnapshot withMedicalRecords(MedicalRecordTable medicalRecords, Collection<String> addresses) {
+    return new DataSnapshot(epoch, version + 1, persons, fireStations, medicalRecords,
+            coverage.refresh(persons, fireStations, medicalRecords, addresses, version + 1),
+            childAlerts.refresh(persons, medicalRecords, addresses));
+  }
+
+  /**
+   * Returns the next version of this snapshot with its views moved to another day. The tables are unchanged,
+   * but the counts of adults and children may not be, so the recounted stations take the new version.
+   *
+   * @param today the day as a number of days since 1970-01-01
+   * @return a snapshot classifying the residents against that day, this snapshot if it already does
+   */
+  public DataSnapshot withDay(int today) {
+    CoverageView rolledCoverage = coverage.rollOver(today, version + 1);
+    ChildAlertView rolledChildAlerts = childAlerts.rollOver(today);
+    if (rolledCoverage == coverage && rolledChildAlerts == childAlerts) {
+      return this;
+    }
+    return new DataSnapshot(epoch, version + 1, persons, fireStations, medicalRecords, rolledCoverage, rolledChildAlerts);
+  }
+}
@@ -0,0 +1,235 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link DataSnapshot} shared by the repositories.
+ * Publishing a snapshot swaps the three sections at once, so a request never sees persons
+ * from one load and medical records from another.
+ * <p>
+ * A thread can also pin the current snapshot with {@link #pin()} or {@link #read(Supplier)}: until the pin
+ * is closed, {@link #current()} returns the pinned snapshot on that thread, so several reads through
+ * different repositories all see the same version even if a mutation is published in between.
+ * Pinning costs one volatile read and a thread-local write.
+ * </p>
+ * A version replaced by a write stays retained for a while, so a paginated query can read its next pages
+ * from the version of its first one with {@link #find(long)}, however many writes happen in between.
+ * The tables and views of successive versions share most of their content, so retaining them mostly costs
+ * what the writes changed. A {@link #publish publication} replaces the whole data, so it drops the versions
+ * of the previous data rather than keeping it reachable.
+ * <p>
+ * The views of a published snapshot are built for the day of the {@link AgeCalculator}, and only a write
+ * moves them to another day, so a reader never publishes anything.
+ * </p>
+ */
+@Component
+public class DataStore {
+
+  private final AgeCalculator ageCalculator;
+  private final AtomicReference<DataSnapshot> current;
+  private final ThreadLocal<DataSnapshot> pinned = new ThreadLocal<>();
+  private final ConcurrentSkipListMap<Long, Replaced> retained = new ConcurrentSkipListMap<>();
+
+  /**
+   * Time in milliseconds a version replaced by a write stays retained for {@link #find(long)},
+   * bounding how long a paginated query can take between two pages.
+   */
+  @Value("${pagination.retention-ms:300000}")
+  long retentionMs = 300_000;
+
+  /**
+   * Creates a store whose views are built for the current day of the system clock.
+   */
+  public DataStore() {
+    this(new AgeCalculator());
+  }
+
+  /**
+   * Creates a store whose views are built for the current day of a calculator.
+   *
+   * @param ageCalculator the calculator giving the current day
+   */
+  @Autowired
+  public DataStore(AgeCalculator ageCalculator) {
+    this.ageCalculator = ageCalculator;
+    this.current = new AtomicReference<>(DataSnapshot.empty(newEpoch(), ageCalculator.todayEpochDay()));
+  }
+
+  /**
+   * Returns the current snapshot, the one pinned by the calling thread if any.
+   *
+   * @return the snapshot pinned by the thread, or else the snapshot currently published
+   */
+  public DataSnapshot current() {
+    DataSnapshot snapshot = pinned.get();
+    return snapshot != null ? snapshot : current.get();
+  }
+
+  /**
+   * Returns a recently published snapshot by version.
+   *
+   * @param version the version of the snapshot
+   * @return the snapshot, or empty if the version was never published or is no longer retained
+   */
+  public Optional<DataSnapshot> find(long version) {
+    DataSnapshot snapshot = current();
+    if (snapshot.getVersion() == version) {
+      return Optional.of(snapshot);
+    }
+    return Optional.ofNullable(retained.get(version)).map(Replaced::snapshot);
+  }
+
+  /**
+   * Pins the current snapshot on the calling thread until the returned pin is closed.
+   * A thread already holding a pin keeps its snapshot, and only closing the outermost pin releases it.
+   *
+   * @return the pin, to close in the same thread
+   */
+  public Pin pin() {
+    if (pinned.get() != null) {
+      return () -> {
+      };
+    }
+    pinned.set(current.get());
+    return pinned::remove;
+  }
+
+  /**
+   * Runs reads against a single snapshot, pinned for their duration.
+   *
+   * @param reads the reads to run
+   * @param <T>   the type of the result
+   * @return the result of the reads
+   */
+  public <T> T read(Supplier<T> reads) {
+    Pin pin = pin();
+    try {
+      return reads.get();
+    } finally {
+      pin.close();
+    }
+  }
+
+  /**
+   * Atomically replaces the three sections with the given data, building the views for the current day.
+   * The published snapshot starts a new epoch, so nothing derived from the previous data matches it.
+   *
+   * @param persons        the new persons
+   * @param fireStations   the new fire stations
+   * @param medicalRecords the new medical records
+   * @return the published snapshot
+   */
+  public DataSnapshot publish(List<Person> persons, List<FireStation> fireStations, List<MedicalRecord> medicalRecords) {
+    long epoch = newEpoch();
+    return swap(snapshot -> new DataSnapshot(
+            epoch,
+            snapshot.getVersion() + 1,
+            ageCalculator.todayEpochDay(),
+            new PersonTable(persons),
+            new FireStationTable(fireStations),
+            new MedicalRecordTable(medicalRecords)), false);
+  }
+
+  /**
+   * Moves the views of the published snapshot to the current day, if they are still on another day.
+   * Only the stations whose counts may change take the new version.
+   *
+   * @return the published snapshot
+   */
+  public DataSnapshot rollOver() {
+    int today = ageCalculator.todayEpochDay();
+    DataSnapshot snapshot = current.get();
+    if (snapshot.getCoverage().getDay() == today && snapshot.getChildAlerts().getDay() == today) {
+      return snapshot;
+    }
+    return update(published -> published.withDay(today));
+  }
+
+  /**
+   * Atomically replaces the current snapshot with the result of the given function,
+   * retaining the replaced one for {@link #find(long)}.
+   *
+   * @param update the function computing the next snapshot from the current one
+   * @return the published snapshot
+   */
+  public DataSnapshot update(UnaryOperator<DataSnapshot> update) {
+    return swap(update, true);
+  }
+
+  /**
+   * Replaces the current snapshot with the result of the given function. The replaced snapshot is retained
+   * before the new one is visible, so the version of any snapshot a reader saw current can always be found
+   * until it expires. The versions replaced longer than the retention ago are dropped.
+   *
+   * @param update the function computing the next snapshot from the current one
+   * @param retain whether the replaced versions stay retained, false to drop all of them
+   * @return the published snapshot
+   */
+  private synchronized DataSnapshot swap(UnaryOperator<DataSnapshot> update, boolean retain) {
+    DataSnapshot previous = current.get();
+    DataSnapshot snapshot = update.apply(previous);
+    if (snapshot == previous) {
+      return snapshot;
+    }
+    long now = System.nanoTime();
+    if (retain) {
+      retained.put(previous.getVersion(), new Replaced(previous, now));
+    } else {
+      retained.clear();
+    }
+    current.set(snapshot);
+    long retention = TimeUnit.MILLISECONDS.toNanos(retentionMs);
+    Map.Entry<Long, Replaced> oldest;
+    while ((oldest = retained.firstEntry()) != null && now - oldest.getValue().replacedAt() >= retention) {
+      retained.remove(oldest.getKey());
+    }
+    return snapshot;
+  }
+
+  /**
+   * Draws the epoch of newly loaded data.
+   *
+   * @return a random epoch
+   */
+  private static long newEpoch() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  /**
+   * A snapshot replaced by a write.
+   *
+   * @param snapshot   the replaced snapshot
+   * @param replacedAt when it was replaced, in {@link System#nanoTime()} units
+   */
+  private record Replaced(DataSnapshot snapshot, long replacedAt) {
+  }
+
+  /**
+   * A snapshot pinned on a thread, released by {@link #close()}.
+   */
+  @FunctionalInterface
+  public interface Pin extends AutoCloseable {
+
+    /**
+     * Releases the pinned snapshot.
+     */
+    @Override
+    void close();
+  }
+}
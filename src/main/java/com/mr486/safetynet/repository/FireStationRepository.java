@@ -55,4 +55,10 @@ public interface FireStationRepository {
    */
   Boolean existsByAddress(String address);
 
+  /**
+   * Retrieves all fire stations of the repository.
+   *
+   * @return an unmodifiable copy of all fire stations
+   */
+  List<FireStation> findAll();
 }
@@ -1,77 +1,66 @@
 package com.mr486.safetynet.repository;
 
-import com.mr486.safetynet.dto.DataBinding;
 import com.mr486.safetynet.model.FireStation;
-import com.mr486.safetynet.tools.JsonDataReader;
-import jakarta.annotation.PostConstruct;
+import com.mr486.safetynet.tools.Journal;
+import com.mr486.safetynet.tools.JournalEntry;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
- * Implementation of {@link FireStationRepository} that loads and manages fire station data from a JSON file.
- * This repository uses a {@link JsonDataReader} to read fire station data and provides methods to
- * retrieve, save, update, and delete fire station records.
+ * Implementation of {@link FireStationRepository} that manages fire station data loaded from a JSON file.
+ * The data is handed over by the {@link com.mr486.safetynet.tools.DataLoader} and this repository provides
+ * methods to retrieve, save, update, and delete fire station records.
  */
 @Repository
 @RequiredArgsConstructor
-@Slf4j
 public class FireStationRepositoryImplJson implements FireStationRepository {
 
   /**
-   * The JSON data reader used to load fire station data.
+   * The data store holding the current snapshot.
    */
-  private final JsonDataReader jsonDataReader;
+  private final DataStore dataStore;
 
   /**
-   * The list of fire stations loaded from the JSON file.
+   * The journal recording every mutation.
    */
-  private List<FireStation> fireStations = Collections.emptyList();
+  private final Journal journal;
 
   /**
-   * Initializes the repository by loading fire station data from a JSON file.
-   * This method is called automatically after the bean is constructed.
+   * Retrieves all fire stations of the repository.
+   *
+   * @return an unmodifiable copy of all fire stations
    */
-  @PostConstruct
-  void init() {
-    log.warn("Fire stations data loading from json file");
-    try {
-      DataBinding dataBinding = jsonDataReader.loadData();
-      fireStations = new java.util.ArrayList<>(dataBinding.getFirestations());
-      log.warn("✅ Fire stations data loaded successfully, count: {}", fireStations.size());
-    } catch (Exception e) {
-      log.error("❌ {}", e.getMessage());
-    }
+  @Override
+  public List<FireStation> findAll() {
+    return fireStations().findAll();
   }
 
   /**
    * Retrieves all fire stations with the specified station number.
+   * The station number index is used, no other mapping is examined.
    *
    * @param stationNumber the station number to filter by
    * @return a list of fire stations with the given station number
    */
   @Override
   public List<FireStation> getAllFireStationsByStationNumber(Integer stationNumber) {
-    return fireStations.stream()
-            .filter(fireStation -> fireStation.getStation().equals(stationNumber))
-            .toList();
+    return fireStations().findByStation(stationNumber);
   }
 
   /**
    * Retrieves a fire station by its address.
+   * Addresses are compared case-insensitively and regardless of extra whitespace.
    *
    * @param address the address of the fire station
    * @return an {@link Optional} containing the fire station if found, or empty otherwise
    */
   @Override
   public Optional<FireStation> getFireStationByAddress(String address) {
-    return fireStations.stream()
-            .filter(fireStation -> fireStation.getAddress().equalsIgnoreCase(address))
-            .findFirst();
+    return fireStations().findByAddress(address);
   }
 
   /**
@@ -81,23 +70,18 @@ public class FireStationRepositoryImplJson implements FireStationRepository {
    */
   @Override
   public void saveFireStation(FireStation fireStation) {
-    fireStations.add(fireStation);
+    journal.record(JournalEntry.saveFireStation(fireStation), () -> mutate(fireStation.getAddress(), fireStations -> fireStations.withSaved(fireStation)));
   }
 
   /**
    * Updates an existing fire station in the repository.
-   * The fire station is identified by its address.
+   * The fire station is identified by its address and moved to its new station number.
    *
    * @param fireStation the fire station with updated information
    */
   @Override
   public void updateFireStation(FireStation fireStation) {
-    fireStations.stream()
-            .filter(fs -> fs.getAddress().equalsIgnoreCase(fireStation.getAddress()))
-            .findFirst()
-            .ifPresent(existingFireStation -> {
-              existingFireStation.setStation(fireStation.getStation());
-            });
+    journal.record(JournalEntry.updateFireStation(fireStation), () -> mutate(fireStation.getAddress(), fireStations -> fireStations.withUpdated(fireStation)));
   }
 
   /**
@@ -107,8 +91,7 @@ public class FireStationRepositoryImplJson implements FireStationRepository {
    */
   @Override
   public void deleteFireStationByAddress(String address) {
-    String addressLowerCase = address.toLowerCase();
-    fireStations.removeIf(fireStation -> fireStation.getAddress().equalsIgnoreCase(addressLowerCase));
+    journal.record(JournalEntry.deleteFireStation(address), () -> mutate(address, fireStations -> fireStations.withDeleted(address)));
   }
 
   /**
@@ -119,8 +102,26 @@ public class FireStationRepositoryImplJson implements FireStationRepository {
    */
   @Override
   public Boolean existsByAddress(String address) {
-    String addressLowerCase = address.toLowerCase();
-    return fireStations.stream()
-            .anyMatch(fireStation -> fireStation.getAddress().equalsIgnoreCase(addressLowerCase));
+    return fireStations().contains(address);
+  }
+
+  /**
+   * Publishes the next snapshot with a mutation applied to the fire stations, refreshing the coverage
+   * of the address. The mutation may be applied more than once if another snapshot is published meanwhile.
+   *
+   * @param address  the address of the mapping
+   * @param mutation the mutation to apply
+   */
+  private void mutate(String address, UnaryOperator<FireStationTable> mutation) {
+    dataStore.update(snapshot -> snapshot.withFireStations(mutation.apply(snapshot.getFireStations()), List.of(address)));
+  }
+
+  /**
+   * Returns the fire stations of the current snapshot.
+   *
+   * @return the fire stations currently published
+   */
+  private FireStationTable fireStations() {
+    return dataStore.current().getFireStations();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,313 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.FireStation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The fire stations of a {@link DataSnapshot}, indexed on their address and on their station number.
+ * <p>
+ * The mappings are grouped by {@link AddressKey} in a {@link PersistentMap}, listed in the order the
+ * addresses first appear. The data file can map an address to several stations, so an address holds
+ * a list of mappings, the first one being the mapping returned by a lookup and modified by an update.
+ * </p>
+ * <p>
+ * A second index, keyed on the primitive station number, lists the mappings of each station, so the
+ * coverage of a station is found in time proportional to its number of addresses.
+ * Mappings without a station number are not in this index.
+ * </p>
+ * A table never changes: a mutation returns a new table sharing most of its structure with this one,
+ * so readers holding this table need no lock. Mappings are never modified in place either, an update
+ * replaces the mapping.
+ */
+public class FireStationTable {
+
+  private final PersistentMap<AddressKey, Ordered<List<FireStation>>> byAddress;
+  private final IntMap<List<FireStation>> byStation;
+  private final int size;
+  private final long nextOrder;
+
+  /**
+   * Creates a table holding the given fire stations.
+   *
+   * @param fireStations the fire stations
+   */
+  public FireStationTable(List<FireStation> fireStations) {
+    Builder builder = new Builder(PersistentMap.empty(), new IntMap<>(), 0, 0);
+    fireStations.forEach(builder::save);
+    FireStationTable table = builder.build();
+    this.byAddress = table.byAddress;
+    this.byStation = table.byStation;
+    this.size = table.size;
+    this.nextOrder = table.nextOrder;
+  }
+
+  /**
+   * Creates a table from its indexes.
+   *
+   * @param byAddress the mappings by address
+   * @param byStation the mappings by station number
+   * @param size      the number of mappings
+   * @param nextOrder the order of the next address added
+   */
+  private FireStationTable(PersistentMap<AddressKey, Ordered<List<FireStation>>> byAddress,
+                           IntMap<List<FireStation>> byStation, int size, long nextOrder) {
+    this.byAddress = byAddress;
+    this.byStation = byStation;
+    this.size = size;
+    this.nextOrder = nextOrder;
+  }
+
+  /**
+   * Returns the number of mappings.
+   *
+   * @return the number of mappings
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns all the mappings, grouped by address.
+   *
+   * @return an unmodifiable list of the mappings
+   */
+  public List<FireStation> findAll() {
+    List<FireStation> fireStations = new ArrayList<>(size);
+    Ordered.values(byAddress).forEach(fireStations::addAll);
+    return List.copyOf(fireStations);
+  }
+
+  /**
+   * Finds the mappings of a station.
+   *
+   * @param stationNumber the station number, may be null
+   * @return the mappings of the station, in the order they were added
+   */
+  public List<FireStation> findByStation(Integer stationNumber) {
+    if (stationNumber == null) {
+      return List.of();
+    }
+    List<FireStation> fireStations = byStation.get(stationNumber);
+    return fireStations == null ? List.of() : fireStations;
+  }
+
+  /**
+   * Finds the first mapping of an address, compared with {@link AddressKey}.
+   *
+   * @param address the address
+   * @return the mapping, or empty if the address is not covered
+   */
+  public Optional<FireStation> findByAddress(String address) {
+    List<FireStation> fireStations = findAllByAddress(address);
+    return fireStations.isEmpty() ? Optional.empty() : Optional.of(fireStations.get(0));
+  }
+
+  /**
+   * Finds all the mappings of an address, compared with {@link AddressKey}.
+   *
+   * @param address the address
+   * @return the mappings of the address, in the order they were added
+   */
+  public List<FireStation> findAllByAddress(String address) {
+    Ordered<List<FireStation>> entry = byAddress.get(AddressKey.of(address));
+    return entry == null ? List.of() : entry.value();
+  }
+
+  /**
+   * Checks whether an address is covered, compared with {@link AddressKey}.
+   *
+   * @param address the address
+   * @return true if the address has a mapping, false otherwise
+   */
+  public boolean contains(String address) {
+    return byAddress.containsKey(AddressKey.of(address));
+  }
+
+  /**
+   * Returns a table with a mapping added.
+   *
+   * @param fireStation the mapping to add
+   * @return the new table
+   */
+  public FireStationTable withSaved(FireStation fireStation) {
+    return toBuilder().save(fireStation).build();
+  }
+
+  /**
+   * Returns a table where the first mapping of the address is moved to the station of the given mapping.
+   * The table is unchanged if the address is not covered.
+   *
+   * @param fireStation the address and its new station
+   * @return the new table
+   */
+  public FireStationTable withUpdated(FireStation fireStation) {
+    return toBuilder().update(fireStation).build();
+  }
+
+  /**
+   * Returns a table without the mappings of an address. The table is unchanged if the address is not covered.
+   *
+   * @param address the address
+   * @return the new table
+   */
+  public FireStationTable withDeleted(String address) {
+    return toBuilder().delete(address).build();
+  }
+
+  /**
+   * Returns a builder applying several mutations to this table at once.
+   *
+   * @return a new builder
+   */
+  Builder toBuilder() {
+    return new Builder(byAddress, byStation, size, nextOrder);
+  }
+
+  /**
+   * Applies mutations to a table. The station lists touched are copied once and frozen by {@link #build()}.
+   * A builder is meant to be used by a single thread.
+   */
+  static final class Builder {
+
+    private final PersistentMap.Builder<AddressKey, Ordered<List<FireStation>>> byAddress;
+    private IntMap<List<FireStation>> byStation;
+    private final Map<Integer, List<FireStation>> stations = new HashMap<>();
+    private int size;
+    private long nextOrder;
+
+    /**
+     * Creates a builder.
+     *
+     * @param byAddress the mappings by address
+     * @param byStation the mappings by station number
+     * @param size      the number of mappings
+     * @param nextOrder the order of the next address added
+     */
+    private Builder(PersistentMap<AddressKey, Ordered<List<FireStation>>> byAddress,
+                    IntMap<List<FireStation>> byStation, int size, long nextOrder) {
+      this.byAddress = byAddress.toBuilder();
+      this.byStation = byStation;
+      this.size = size;
+      this.nextOrder = nextOrder;
+    }
+
+    /**
+     * Adds a mapping.
+     *
+     * @param fireStation the mapping to add
+     * @return this builder
+     */
+    Builder save(FireStation fireStation) {
+      AddressKey key = AddressKey.of(fireStation.getAddress());
+      Ordered<List<FireStation>> previous = byAddress.get(key);
+      List<FireStation> fireStations = new ArrayList<>(previous == null ? 1 : previous.value().size() + 1);
+      if (previous != null) {
+        fireStations.addAll(previous.value());
+      }
+      fireStations.add(fireStation);
+      byAddress.put(key, new Ordered<>(previous == null ? nextOrder++ : previous.order(), List.copyOf(fireStations)));
+      index(fireStation);
+      size++;
+      return this;
+    }
+
+    /**
+     * Moves the first mapping of the address to the station of the given mapping.
+     * Does nothing if the address is not covered.
+     *
+     * @param fireStation the address and its new station
+     * @return this builder
+     */
+    Builder update(FireStation fireStation) {
+      AddressKey key = AddressKey.of(fireStation.getAddress());
+      Ordered<List<FireStation>> previous = byAddress.get(key);
+      if (previous == null) {
+        return this;
+      }
+      List<FireStation> fireStations = new ArrayList<>(previous.value());
+      FireStation replaced = fireStations.get(0);
+      FireStation updated = new FireStation(replaced.getAddress(), fireStation.getStation());
+      fireStations.set(0, updated);
+      byAddress.put(key, new Ordered<>(previous.order(), List.copyOf(fireStations)));
+      unindex(replaced);
+      index(updated);
+      return this;
+    }
+
+    /**
+     * Removes all the mappings of an address. Does nothing if the address is not covered.
+     *
+     * @param address the address
+     * @return this builder
+     */
+    Builder delete(String address) {
+      AddressKey key = AddressKey.of(address);
+      Ordered<List<FireStation>> previous = byAddress.get(key);
+      if (previous != null) {
+        byAddress.remove(key);
+        previous.value().forEach(this::unindex);
+        size -= previous.value().size();
+      }
+      return this;
+    }
+
+    /**
+     * Returns the table holding the mutations applied so far.
+     *
+     * @return the new table
+     */
+    FireStationTable build() {
+      stations.forEach((stationNumber, fireStations) -> byStation = byStation.plus(stationNumber, List.copyOf(fireStations)));
+      stations.clear();
+      return new FireStationTable(byAddress.build(), byStation, size, nextOrder);
+    }
+
+    /**
+     * Adds a mapping to the list of its station.
+     *
+     * @param fireStation the mapping
+     */
+    private void index(FireStation fireStation) {
+      if (fireStation.getStation() != null) {
+        station(fireStation.getStation()).add(fireStation);
+      }
+    }
+
+    /**
+     * Removes a mapping from the list of its station.
+     * Mappings are compared by identity, two mappings of the same address and station being distinct entries.
+     *
+     * @param fireStation the mapping
+     */
+    private void unindex(FireStation fireStation) {
+      if (fireStation.getStation() == null) {
+        return;
+      }
+      List<FireStation> fireStations = station(fireStation.getStation());
+      for (int i = 0; i < fireStations.size(); i++) {
+        if (fireStations.get(i) == fireStation) {
+          fireStations.remove(i);
+          return;
+        }
+      }
+    }
+
+    /**
+     * Returns the copy of the list of a station being modified, making it on the first mutation.
+     *
+     * @param stationNumber the station number
+     * @return the modifiable mappings of the station
+     */
+    private List<FireStation> station(int stationNumber) {
+      return stations.computeIfAbsent(stationNumber, number -> {
+        List<FireStation> fireStations = byStation.get(number);
+        return fireStations == null ? new ArrayList<>() : new ArrayList<>(fireStations);
+      });
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.dto.search.PageCursor;
+
+import java.util.List;
+
+/**
+ * Repository interface for the flood alert, listing the households covered by several fire stations.
+ */
+public interface FloodRepository {
+
+  /**
+   * Retrieves the households covered by some fire stations, all read from the same data.
+   *
+   * @param stationNumbers the station numbers
+   * @return the households by address, each address listed once, in the order of the stations
+   */
+  List<FloodHouseholdDto> findHouseholdsByStations(List<Integer> stationNumbers);
+
+  /**
+   * Retrieves a page of the households covered by some fire stations, all pages read from the same data.
+   *
+   * @param stationNumbers the station numbers
+   * @param cursor         the cursor returned with the previous page, null for the first page
+   * @param limit          the largest number of households of the page
+   * @return the households of the page and the cursor of the next one
+   */
+  Page<FloodHouseholdDto> findHouseholdsByStations(List<Integer> stationNumbers, PageCursor cursor, int limit);
+}
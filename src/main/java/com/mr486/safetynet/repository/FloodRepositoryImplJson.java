@@ -0,0 +1,254 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.FloodResidentDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.exeption.InvalidPageException;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Implementation of {@link FloodRepository} reading the tables of the current snapshot.
+ * <p>
+ * The addresses of the requested stations are first collected and deduplicated, each address being
+ * owned by the first station covering it. The households of each station are then built in parallel, one
+ * fork-join task per station forked to the common pool, from the snapshot read by the request: the tasks run on
+ * other threads, where the snapshot pinned for the request is not visible, so it is handed to them.
+ * </p>
+ * The households are returned in the order of the stations, then of the addresses of each station.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FloodRepositoryImplJson implements FloodRepository {
+
+  /**
+   * The data store holding the current snapshot.
+   */
+  private final DataStore dataStore;
+
+  /**
+   * The calculator giving the ages.
+   */
+  private final AgeCalculator ageCalculator;
+
+  /**
+   * Retrieves the households covered by some fire stations from the current snapshot.
+   *
+   * @param stationNumbers the station numbers
+   * @return the households by address, each address listed once, in the order of the stations
+   */
+  @Override
+  public List<FloodHouseholdDto> findHouseholdsByStations(List<Integer> stationNumbers) {
+    DataSnapshot snapshot = dataStore.current();
+    Map<AddressKey, Address> addresses = new LinkedHashMap<>();
+    Map<Integer, List<Address>> owned = new LinkedHashMap<>();
+    for (Integer stationNumber : stationNumbers) {
+      if (owned.containsKey(stationNumber)) {
+        continue;
+      }
+      List<Address> stationAddresses = new ArrayList<>();
+      owned.put(stationNumber, stationAddresses);
+      for (FireStation fireStation : snapshot.getFireStations().findByStation(stationNumber)) {
+        Address address = addresses.get(AddressKey.of(fireStation.getAddress()));
+        if (address == null) {
+          address = new Address(fireStation.getAddress(), new ArrayList<>());
+          addresses.put(AddressKey.of(fireStation.getAddress()), address);
+          stationAddresses.add(address);
+        }
+        if (!address.stations().contains(stationNumber)) {
+          address.stations().add(stationNumber);
+        }
+      }
+    }
+
+    List<HouseholdsTask> tasks = owned.values().stream()
+            .filter(stationAddresses -> !stationAddresses.isEmpty())
+            .map(stationAddresses -> new HouseholdsTask(snapshot, stationAddresses))
+            .toList();
+    ForkJoinTask.invokeAll(tasks);
+    List<FloodHouseholdDto> households = new ArrayList<>(addresses.size());
+    for (HouseholdsTask task : tasks) {
+      households.addAll(task.join());
+    }
+    return households;
+  }
+
+  /**
+   * Retrieves a page of the households covered by some fire stations.
+   * <p>
+   * The position of the cursor is the index of a requested station in the high 32 bits and the index of a
+   * mapping of that station in the low 32 bits. A page resumes there and walks the mappings; an address is
+   * listed at the first mapping of the first requested station covering it, which is checked with the
+   * mappings of the address alone, so a page costs its own size whatever its position.
+   * </p>
+   * The pages list the same households, in the same order, as {@link #findHouseholdsByStations(List)}.
+   *
+   * @param stationNumbers the station numbers
+   * @param cursor         the cursor returned with the previous page, null for the first page
+   * @param limit          the largest number of households of the page
+   * @return the households of the page and the cursor of the next one
+   * @throws InvalidPageException if the snapshot of the cursor is no longer retained
+   */
+  @Override
+  public Page<FloodHouseholdDto> findHouseholdsByStations(List<Integer> stationNumbers, PageCursor cursor, int limit) {
+    DataSnapshot snapshot = cursor == null ? dataStore.current() : dataStore.find(cursor.version())
+            .orElseThrow(() -> new InvalidPageException("cursor expired, restart from the first page"));
+    List<Integer> stations = new ArrayList<>(new LinkedHashSet<>(stationNumbers));
+    Map<Integer, Integer> stationIndexes = new HashMap<>();
+    for (int i = 0; i < stations.size(); i++) {
+      stationIndexes.put(stations.get(i), i);
+    }
+
+    int station = cursor == null ? 0 : (int) (cursor.position() >>> 32);
+    int mapping = cursor == null ? 0 : Math.max(0, (int) cursor.position());
+    List<FloodHouseholdDto> households = new ArrayList<>(limit);
+    while (station < stations.size() && households.size() < limit) {
+      List<FireStation> mappings = snapshot.getFireStations().findByStation(stations.get(station));
+      while (mapping < mappings.size() && households.size() < limit) {
+        FireStation fireStation = mappings.get(mapping++);
+        List<FireStation> covering = snapshot.getFireStations().findAllByAddress(fireStation.getAddress());
+        if (owner(covering, stationIndexes) != fireStation) {
+          continue;
+        }
+        List<Integer> coveringStations = new ArrayList<>(1);
+        for (Integer stationNumber : stations) {
+          if (covering.stream().anyMatch(other -> stationNumber.equals(other.getStation()))) {
+            coveringStations.add(stationNumber);
+          }
+        }
+        FloodHouseholdDto household = household(snapshot, fireStation.getAddress(), coveringStations);
+        if (household != null) {
+          households.add(household);
+        }
+      }
+      if (mapping >= mappings.size()) {
+        station++;
+        mapping = 0;
+      }
+    }
+    String nextCursor = station < stations.size()
+            ? new PageCursor(snapshot.getVersion(), ((long) station << 32) | mapping).encode()
+            : null;
+    return new Page<>(households, nextCursor);
+  }
+
+  /**
+   * Returns the mapping under which an address is listed: the first mapping of the first requested station
+   * covering it.
+   *
+   * @param covering       the mappings of the address
+   * @param stationIndexes the index of each requested station
+   * @return the mapping under which the address is listed
+   */
+  private static FireStation owner(List<FireStation> covering, Map<Integer, Integer> stationIndexes) {
+    FireStation owner = null;
+    int ownerIndex = Integer.MAX_VALUE;
+    for (FireStation fireStation : covering) {
+      Integer index = stationIndexes.get(fireStation.getStation());
+      if (index != null && index < ownerIndex) {
+        owner = fireStation;
+        ownerIndex = index;
+      }
+    }
+    return owner;
+  }
+
+  /**
+   * Builds the household at an address.
+   *
+   * @param snapshot the snapshot read by the request
+   * @param address  the address
+   * @param stations the requested stations covering the address
+   * @return the household, or null if nobody lives at the address
+   */
+  private FloodHouseholdDto household(DataSnapshot snapshot, String address, List<Integer> stations) {
+    List<Person> persons = snapshot.getPersons().findByAddress(address);
+    if (persons.isEmpty()) {
+      return null;
+    }
+    List<FloodResidentDto> residents = new ArrayList<>(persons.size());
+    for (Person person : persons) {
+      residents.add(resident(person, snapshot.getMedicalRecords().find(person.getFirstName(), person.getLastName())));
+    }
+    return new FloodHouseholdDto(address, List.copyOf(stations), residents);
+  }
+
+  /**
+   * Describes a resident from their medical record.
+   *
+   * @param person        the resident
+   * @param medicalRecord the medical record of the resident, if any
+   * @return the resident, without age nor medical history if they have no medical record
+   */
+  private FloodResidentDto resident(Person person, Optional<MedicalRecord> medicalRecord) {
+    if (medicalRecord.isEmpty()) {
+      return new FloodResidentDto(person.getFirstName(), person.getLastName(), person.getPhone(), null,
+              List.of(), List.of());
+    }
+    int birthEpochDay = medicalRecord.get().getBirthEpochDay();
+    Integer age = birthEpochDay == MedicalRecord.INVALID_BIRTHDATE ? null : ageCalculator.age(birthEpochDay);
+    return new FloodResidentDto(person.getFirstName(), person.getLastName(), person.getPhone(), age,
+            medicalRecord.get().getMedications(), medicalRecord.get().getAllergies());
+  }
+
+  /**
+   * An address to list and the requested stations covering it.
+   *
+   * @param address  the address as written in the first mapping found
+   * @param stations the requested stations covering the address
+   */
+  private record Address(String address, List<Integer> stations) {
+  }
+
+  /**
+   * Builds the households of the addresses owned by a station.
+   */
+  private final class HouseholdsTask extends RecursiveTask<List<FloodHouseholdDto>> {
+
+    private final DataSnapshot snapshot;
+    private final List<Address> addresses;
+
+    /**
+     * Creates the task.
+     *
+     * @param snapshot  the snapshot read by the request
+     * @param addresses the addresses owned by the station
+     */
+    HouseholdsTask(DataSnapshot snapshot, List<Address> addresses) {
+      this.snapshot = snapshot;
+      this.addresses = addresses;
+    }
+
+    /**
+     * Builds the households, leaving out the addresses where nobody lives.
+     *
+     * @return the households in the order of the addresses
+     */
+    @Override
+    protected List<FloodHouseholdDto> compute() {
+      List<FloodHouseholdDto> households = new ArrayList<>(addresses.size());
+      for (Address address : addresses) {
+        FloodHouseholdDto household = household(snapshot, address.address(), address.stations());
+        if (household != null) {
+          households.add(household);
+        }
+      }
+      return households;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.mr486.safetynet.repository;
+
+import java.util.function.Consumer;
+
+/**
+ * A map keyed on primitive ints, so lookups do not box the key.
+ * <p>
+ * Open addressing with linear probing, the table is doubled once it is half full.
+ * Null values are not supported, a null slot marks a free one. Entries cannot be removed:
+ * the keys are station numbers, which are few and reused.
+ * </p>
+ * <p>
+ * The map is immutable: {@link #plus(int, Object)} copies the table, which only holds a few
+ * dozen slots, and leaves this map unchanged for the readers still using it.
+ * </p>
+ *
+ * @param <V> the type of the values
+ */
+class IntMap<V> {
+
+  private final int[] keys;
+  private final Object[] values;
+  private final int size;
+
+  /**
+   * Creates an empty map.
+   */
+  IntMap() {
+    this(new int[16], new Object[16], 0);
+  }
+
+  /**
+   * Creates a map.
+   *
+   * @param keys   the keys of the table
+   * @param values the values of the table
+   * @param size   the number of keys
+   */
+  private IntMap(int[] keys, Object[] values, int size) {
+    this.keys = keys;
+    this.values = values;
+    this.size = size;
+  }
+
+  /**
+   * Returns the number of keys.
+   *
+   * @return the number of keys
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key the key
+   * @return the value, or null if the key is absent
+   */
+  @SuppressWarnings("unchecked")
+  V get(int key) {
+    int slot = slot(keys, values, key);
+    return (V) values[slot];
+  }
+
+  /**
+   * Returns a map with the given value for a key, this map being left unchanged.
+   *
+   * @param key   the key
+   * @param value the value, must not be null
+   * @return the new map
+   */
+  IntMap<V> plus(int key, V value) {
+    int slot = slot(keys, values, key);
+    if (values[slot] != null) {
+      Object[] copy = values.clone();
+      copy[slot] = value;
+      return new IntMap<>(keys, copy, size);
+    }
+    int capacity = (size + 1) * 2 > keys.length ? keys.length * 2 : keys.length;
+    int[] newKeys = new int[capacity];
+    Object[] newValues = new Object[capacity];
+    for (int i = 0; i < keys.length; i++) {
+      if (values[i] != null) {
+        int copySlot = slot(newKeys, newValues, keys[i]);
+        newKeys[copySlot] = keys[i];
+        newValues[copySlot] = values[i];
+      }
+    }
+    slot = slot(newKeys, newValues, key);
+    newKeys[slot] = key;
+    newValues[slot] = value;
+    return new IntMap<>(newKeys, newValues, size + 1);
+  }
+
+  /**
+   * Performs an action on every value, in no particular order.
+   *
+   * @param action the action to perform
+   */
+  @SuppressWarnings("unchecked")
+  void forEachValue(Consumer<V> action) {
+    for (Object value : values) {
+      if (value != null) {
+        action.accept((V) value);
+      }
+    }
+  }
+
+  /**
+   * Finds the slot holding a key, or the free slot where it would be inserted.
+   *
+   * @param keys   the keys of the table
+   * @param values the values of the table
+   * @param key    the key
+   * @return the index of the slot
+   */
+  private static int slot(int[] keys, Object[] values, int key) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (values[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Spreads the bits of a key, so consecutive station numbers do not cluster.
+   *
+   * @param key the key
+   * @return the hash of the key
+   */
+  private static int mix(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
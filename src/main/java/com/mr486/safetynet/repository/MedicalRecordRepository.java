@@ -3,6 +3,8 @@ package com.mr486.safetynet.repository;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.model.MedicalRecord;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,6 +27,15 @@ public interface MedicalRecordRepository {
    */
   void update(MedicalRecord medicalRecord);
 
+  /**
+   * Saves several medical records at once, inserting the new ones and replacing the existing ones.
+   * The whole batch is applied atomically.
+   *
+   * @param medicalRecords the medical records to save
+   * @return for each medical record, true if it was inserted, false if it replaced an existing one
+   */
+  List<Boolean> upsertAll(List<MedicalRecord> medicalRecords);
+
   /**
    * Finds a medical record by first and last name.
    *
@@ -33,6 +44,14 @@ public interface MedicalRecordRepository {
    */
   Optional<MedicalRecord> findByFirstNameAndLastName(MedicalRecordSearch medicalRecordSearch);
 
+  /**
+   * Finds the medical records of several persons at once, all read from the same data.
+   *
+   * @param medicalRecordSearches the DTOs containing the first and last name of each person
+   * @return the medical records found, keyed by search; persons without a record are absent
+   */
+  Map<MedicalRecordSearch, MedicalRecord> findAllByFirstNameAndLastName(List<MedicalRecordSearch> medicalRecordSearches);
+
   /**
    * Deletes a medical record from the repository.
    *
@@ -40,6 +59,14 @@ public interface MedicalRecordRepository {
    */
   void delete(MedicalRecordSearch medicalRecordSearch);
 
+  /**
+   * Deletes several medical records at once. The whole batch is applied atomically.
+   *
+   * @param medicalRecordSearches the DTOs containing the first and last name of each person whose record is to be deleted
+   * @return for each DTO, true if a medical record was deleted, false if there was none
+   */
+  List<Boolean> deleteAll(List<MedicalRecordSearch> medicalRecordSearches);
+
   /**
    * Checks if a medical record exists for a given person.
    *
@@ -47,4 +74,11 @@ public interface MedicalRecordRepository {
    * @return true if the medical record exists, false otherwise
    */
   boolean exists(MedicalRecordSearch medicalRecordSearch);
+
+  /**
+   * Retrieves all medical records of the repository.
+   *
+   * @return an unmodifiable copy of all medical records
+   */
+  List<MedicalRecord> findAll();
 }
@@ -1,17 +1,18 @@
 package com.mr486.safetynet.repository;
 
-import com.mr486.safetynet.dto.DataBinding;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.model.MedicalRecord;
-import com.mr486.safetynet.tools.JsonDataReader;
-import jakarta.annotation.PostConstruct;
+import com.mr486.safetynet.tools.Journal;
+import com.mr486.safetynet.tools.JournalEntry;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * Implementation of the MedicalRecordRepository that uses JSON data storage.
@@ -19,30 +20,26 @@ import java.util.Optional;
  */
 @Repository
 @RequiredArgsConstructor
-@Slf4j
 public class MedicalRecordRepositoryImplJson implements MedicalRecordRepository {
 
   /**
-   * The JSON data reader used to load fire station data.
+   * The data store holding the current snapshot.
    */
-  private final JsonDataReader jsonDataReader;
+  private final DataStore dataStore;
 
-  private List<MedicalRecord> medicalRecords = Collections.emptyList();
+  /**
+   * The journal recording every mutation.
+   */
+  private final Journal journal;
 
   /**
-   * Initializes the repository by loading medical records data from a JSON file.
-   * This method is called automatically after the bean is constructed.
+   * Retrieves all medical records of the repository.
+   *
+   * @return an unmodifiable copy of all medical records
    */
-  @PostConstruct
-  void init() {
-    log.warn("MedicalRecords data loading from json file");
-    try {
-      DataBinding dataBinding = jsonDataReader.loadData();
-      medicalRecords = new java.util.ArrayList<>(dataBinding.getMedicalrecords());
-      log.warn("✅ \"MedicalRecords data loaded successfully, count: {}", medicalRecords.size());
-    } catch (Exception e) {
-      log.error("❌ {}", e.getMessage());
-    }
+  @Override
+  public List<MedicalRecord> findAll() {
+    return medicalRecords().findAll();
   }
 
   /**
@@ -52,7 +49,8 @@ public class MedicalRecordRepositoryImplJson implements MedicalRecordRepository
    */
   @Override
   public void save(MedicalRecord medicalRecord) {
-    medicalRecords.add(medicalRecord);
+    journal.record(JournalEntry.saveMedicalRecord(medicalRecord), () -> mutate(medicalRecord.getFirstName(),
+            medicalRecord.getLastName(), medicalRecords -> medicalRecords.withSaved(medicalRecord)));
   }
 
   /**
@@ -62,14 +60,39 @@ public class MedicalRecordRepositoryImplJson implements MedicalRecordRepository
    */
   @Override
   public void update(MedicalRecord medicalRecord) {
-    medicalRecords.replaceAll(existingMedicalRecord ->
-            isMedicRecordDtoEqualMedicalRecord(
-                    existingMedicalRecord,
-                    new MedicalRecordSearch(
-                            medicalRecord.getFirstName(),
-                            medicalRecord.getLastName()))
-                    ? medicalRecord : existingMedicalRecord
-    );
+    journal.record(JournalEntry.updateMedicalRecord(medicalRecord), () -> mutate(medicalRecord.getFirstName(),
+            medicalRecord.getLastName(), medicalRecords -> medicalRecords.withUpdated(medicalRecord)));
+  }
+
+  /**
+   * Saves several medical records at once, journaled together and published with a single update
+   * of the views. Whether each record is inserted or updated is decided under the journal lock,
+   * with one lookup per record, so the journal replays exactly what was applied.
+   *
+   * @param medicalRecords the medical records to save
+   * @return for each medical record, true if it was inserted, false if it replaced an existing one
+   */
+  @Override
+  public List<Boolean> upsertAll(List<MedicalRecord> medicalRecords) {
+    List<Boolean> inserted = new ArrayList<>(medicalRecords.size());
+    journal.recordAll(() -> {
+      MedicalRecordTable.Builder plan = medicalRecords().toBuilder();
+      List<JournalEntry> entries = new ArrayList<>(medicalRecords.size());
+      for (MedicalRecord medicalRecord : medicalRecords) {
+        boolean isNew = plan.find(medicalRecord.getFirstName(), medicalRecord.getLastName()).isEmpty();
+        plan.save(medicalRecord);
+        inserted.add(isNew);
+        entries.add(isNew ? JournalEntry.saveMedicalRecord(medicalRecord) : JournalEntry.updateMedicalRecord(medicalRecord));
+      }
+      return entries;
+    }, () -> dataStore.update(snapshot -> {
+      MedicalRecordTable.Builder builder = snapshot.getMedicalRecords().toBuilder();
+      medicalRecords.forEach(builder::save);
+      return snapshot.withMedicalRecords(builder.build(), addressesOf(snapshot.getPersons(), medicalRecords.stream()
+              .map(medicalRecord -> new MedicalRecordSearch(medicalRecord.getFirstName(), medicalRecord.getLastName()))
+              .toList()));
+    }));
+    return inserted;
   }
 
   /**
@@ -80,9 +103,25 @@ public class MedicalRecordRepositoryImplJson implements MedicalRecordRepository
    */
   @Override
   public Optional<MedicalRecord> findByFirstNameAndLastName(MedicalRecordSearch medicalRecordSearch) {
-    return medicalRecords.stream()
-            .filter(medicalRecord -> isMedicRecordDtoEqualMedicalRecord(medicalRecord, medicalRecordSearch))
-            .findFirst();
+    return medicalRecords().find(medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName());
+  }
+
+  /**
+   * Finds the medical records of several persons at once.
+   * The current snapshot is read once, so all the records come from the same data.
+   *
+   * @param medicalRecordSearches the DTOs containing the first and last name of each person
+   * @return the medical records found, keyed by search; persons without a record are absent
+   */
+  @Override
+  public Map<MedicalRecordSearch, MedicalRecord> findAllByFirstNameAndLastName(List<MedicalRecordSearch> medicalRecordSearches) {
+    MedicalRecordTable medicalRecords = medicalRecords();
+    Map<MedicalRecordSearch, MedicalRecord> found = new HashMap<>(Math.max(16, medicalRecordSearches.size() * 4 / 3 + 1));
+    for (MedicalRecordSearch medicalRecordSearch : medicalRecordSearches) {
+      medicalRecords.find(medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName())
+              .ifPresent(medicalRecord -> found.put(medicalRecordSearch, medicalRecord));
+    }
+    return found;
   }
 
   /**
@@ -92,8 +131,40 @@ public class MedicalRecordRepositoryImplJson implements MedicalRecordRepository
    */
   @Override
   public void delete(MedicalRecordSearch medicalRecord) {
-    medicalRecords.removeIf(existingMedicalRecord ->
-            isMedicRecordDtoEqualMedicalRecord(existingMedicalRecord, medicalRecord));
+    journal.record(JournalEntry.deleteMedicalRecord(medicalRecord), () -> mutate(medicalRecord.getFirstName(),
+            medicalRecord.getLastName(), medicalRecords -> medicalRecords.withDeleted(medicalRecord.getFirstName(),
+                    medicalRecord.getLastName())));
+  }
+
+  /**
+   * Deletes several medical records at once, journaled together and published with a single update
+   * of the views. Only the records found under the journal lock are journaled and deleted.
+   *
+   * @param medicalRecordSearches the DTOs containing first name and last name of the medical records to delete
+   * @return for each DTO, true if a medical record was deleted, false if there was none
+   */
+  @Override
+  public List<Boolean> deleteAll(List<MedicalRecordSearch> medicalRecordSearches) {
+    List<Boolean> deleted = new ArrayList<>(medicalRecordSearches.size());
+    List<MedicalRecordSearch> found = new ArrayList<>(medicalRecordSearches.size());
+    journal.recordAll(() -> {
+      MedicalRecordTable.Builder plan = medicalRecords().toBuilder();
+      for (MedicalRecordSearch medicalRecordSearch : medicalRecordSearches) {
+        boolean exists = plan.find(medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName()).isPresent();
+        if (exists) {
+          plan.delete(medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName());
+          found.add(medicalRecordSearch);
+        }
+        deleted.add(exists);
+      }
+      return found.stream().map(JournalEntry::deleteMedicalRecord).toList();
+    }, () -> dataStore.update(snapshot -> {
+      MedicalRecordTable.Builder builder = snapshot.getMedicalRecords().toBuilder();
+      found.forEach(medicalRecordSearch -> builder.delete(medicalRecordSearch.getFirstName(),
+              medicalRecordSearch.getLastName()));
+      return snapshot.withMedicalRecords(builder.build(), addressesOf(snapshot.getPersons(), found));
+    }));
+    return deleted;
   }
 
   /**
@@ -104,19 +175,45 @@ public class MedicalRecordRepositoryImplJson implements MedicalRecordRepository
    */
   @Override
   public boolean exists(MedicalRecordSearch medicalRecordSearch) {
-    return medicalRecords.stream()
-            .anyMatch(medicalRecord -> isMedicRecordDtoEqualMedicalRecord(medicalRecord, medicalRecordSearch));
+    return medicalRecords().contains(medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName());
+  }
+
+  /**
+   * Publishes the next snapshot with a mutation applied to the medical records, refreshing the coverage
+   * and child alert of the household of the person. The mutation may be applied more than once if
+   * another snapshot is published meanwhile.
+   *
+   * @param firstName the first name of the person
+   * @param lastName  the last name of the person
+   * @param mutation  the mutation to apply
+   */
+  private void mutate(String firstName, String lastName, UnaryOperator<MedicalRecordTable> mutation) {
+    dataStore.update(snapshot -> snapshot.withMedicalRecords(mutation.apply(snapshot.getMedicalRecords()),
+            snapshot.getPersons().find(firstName, lastName).map(person -> List.of(person.getAddress())).orElse(List.of())));
+  }
+
+  /**
+   * Returns the addresses of the persons whose medical records change, to refresh their households.
+   *
+   * @param persons               the persons of the snapshot
+   * @param medicalRecordSearches the names of the persons
+   * @return the address of each person found
+   */
+  private static List<String> addressesOf(PersonTable persons, List<MedicalRecordSearch> medicalRecordSearches) {
+    List<String> addresses = new ArrayList<>(medicalRecordSearches.size());
+    for (MedicalRecordSearch medicalRecordSearch : medicalRecordSearches) {
+      persons.find(medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName())
+              .ifPresent(person -> addresses.add(person.getAddress()));
+    }
+    return addresses;
   }
 
   /**
-   * Checks if a medical record DTO is equal to a medical record.
+   * Returns the medical records of the current snapshot.
    *
-   * @param medicalRecord       the medical record to compare
-   * @param medicalRecordSearch the DTO to compare
-   * @return true if they are equal, false otherwise
+   * @return the medical records currently published
    */
-  private boolean isMedicRecordDtoEqualMedicalRecord(MedicalRecord medicalRecord, MedicalRecordSearch medicalRecordSearch) {
-    return medicalRecord.getFirstName().equals(medicalRecordSearch.getFirstName())
-            && medicalRecord.getLastName().equals(medicalRecordSearch.getLastName());
+  private MedicalRecordTable medicalRecords() {
+    return dataStore.current().getMedicalRecords();
   }
 }
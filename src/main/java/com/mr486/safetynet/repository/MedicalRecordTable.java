@@ -0,0 +1,224 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.MedicalRecord;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The medical records of a {@link DataSnapshot}, indexed on the first and last name of the person.
+ * <p>
+ * The records are kept in a {@link PersistentMap} keyed on the name pair, so lookups, updates and
+ * deletes by name take a few node reads whatever the size of the data. Each record keeps its
+ * insertion order, so the listing order is the order of the data file. A record saved with the
+ * name of an existing one replaces it, keeping its position.
+ * </p>
+ * <p>
+ * The birthdate of a record is parsed when the record is stored, so age checks never parse dates.
+ * </p>
+ * A table never changes: a mutation returns a new table sharing most of its structure with this one,
+ * so readers holding this table need no lock.
+ */
+public class MedicalRecordTable {
+
+  private final PersistentMap<NameKey, Ordered<MedicalRecord>> byName;
+  private final long nextOrder;
+
+  /**
+   * Creates a table holding the given medical records.
+   *
+   * @param medicalRecords the medical records, a later record replaces an earlier one with the same name
+   */
+  public MedicalRecordTable(List<MedicalRecord> medicalRecords) {
+    Builder builder = new Builder(PersistentMap.empty(), 0);
+    medicalRecords.forEach(builder::save);
+    MedicalRecordTable table = builder.build();
+    this.byName = table.byName;
+    this.nextOrder = table.nextOrder;
+  }
+
+  /**
+   * Creates a table from its index.
+   *
+   * @param byName    the medical records by name
+   * @param nextOrder the order of the next record added
+   */
+  private MedicalRecordTable(PersistentMap<NameKey, Ordered<MedicalRecord>> byName, long nextOrder) {
+    this.byName = byName;
+    this.nextOrder = nextOrder;
+  }
+
+  /**
+   * Returns the number of medical records.
+   *
+   * @return the number of medical records
+   */
+  public int size() {
+    return byName.size();
+  }
+
+  /**
+   * Returns all the medical records, in insertion order.
+   *
+   * @return an unmodifiable list of the medical records
+   */
+  public List<MedicalRecord> findAll() {
+    return List.copyOf(Ordered.values(byName));
+  }
+
+  /**
+   * Finds the medical record of a person.
+   *
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return the medical record, or empty if the person has none
+   */
+  public Optional<MedicalRecord> find(String firstName, String lastName) {
+    Ordered<MedicalRecord> entry = byName.get(new NameKey(firstName, lastName));
+    return entry == null ? Optional.empty() : Optional.of(entry.value());
+  }
+
+  /**
+   * Checks whether a person has a medical record.
+   *
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return true if the person has a medical record, false otherwise
+   */
+  public boolean contains(String firstName, String lastName) {
+    return byName.containsKey(new NameKey(firstName, lastName));
+  }
+
+  /**
+   * Returns a table with a medical record added, replacing the one with the same name if any.
+   *
+   * @param medicalRecord the medical record to add
+   * @return the new table
+   */
+  public MedicalRecordTable withSaved(MedicalRecord medicalRecord) {
+    return toBuilder().save(medicalRecord).build();
+  }
+
+  /**
+   * Returns a table with the medical record of the same name replaced. The table is unchanged if there is none.
+   *
+   * @param medicalRecord the updated medical record
+   * @return the new table
+   */
+  public MedicalRecordTable withUpdated(MedicalRecord medicalRecord) {
+    return toBuilder().update(medicalRecord).build();
+  }
+
+  /**
+   * Returns a table without the medical record of a person. The table is unchanged if there is none.
+   *
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return the new table
+   */
+  public MedicalRecordTable withDeleted(String firstName, String lastName) {
+    return toBuilder().delete(firstName, lastName).build();
+  }
+
+  /**
+   * Returns a builder applying several mutations to this table at once.
+   *
+   * @return a new builder
+   */
+  Builder toBuilder() {
+    return new Builder(byName, nextOrder);
+  }
+
+  /**
+   * Builds the index key of a medical record.
+   *
+   * @param medicalRecord the medical record
+   * @return the key of the medical record
+   */
+  private static NameKey key(MedicalRecord medicalRecord) {
+    return new NameKey(medicalRecord.getFirstName(), medicalRecord.getLastName());
+  }
+
+  /**
+   * Applies mutations to a table. A builder is meant to be used by a single thread.
+   */
+  static final class Builder {
+
+    private final PersistentMap.Builder<NameKey, Ordered<MedicalRecord>> byName;
+    private long nextOrder;
+
+    /**
+     * Creates a builder.
+     *
+     * @param byName    the medical records by name
+     * @param nextOrder the order of the next record added
+     */
+    private Builder(PersistentMap<NameKey, Ordered<MedicalRecord>> byName, long nextOrder) {
+      this.byName = byName.toBuilder();
+      this.nextOrder = nextOrder;
+    }
+
+    /**
+     * Finds the medical record of a person, including the mutations applied so far.
+     *
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @return the medical record, or empty if the person has none
+     */
+    Optional<MedicalRecord> find(String firstName, String lastName) {
+      Ordered<MedicalRecord> entry = byName.get(new NameKey(firstName, lastName));
+      return entry == null ? Optional.empty() : Optional.of(entry.value());
+    }
+
+    /**
+     * Adds a medical record, replacing the one with the same name if any.
+     *
+     * @param medicalRecord the medical record to add
+     * @return this builder
+     */
+    Builder save(MedicalRecord medicalRecord) {
+      medicalRecord.getBirthEpochDay(); // parses the birthdate now rather than on the first age check
+      NameKey key = key(medicalRecord);
+      Ordered<MedicalRecord> previous = byName.get(key);
+      byName.put(key, new Ordered<>(previous == null ? nextOrder++ : previous.order(), medicalRecord));
+      return this;
+    }
+
+    /**
+     * Replaces the medical record with the same name. Does nothing if there is none.
+     *
+     * @param medicalRecord the updated medical record
+     * @return this builder
+     */
+    Builder update(MedicalRecord medicalRecord) {
+      medicalRecord.getBirthEpochDay(); // parses the birthdate now rather than on the first age check
+      NameKey key = key(medicalRecord);
+      Ordered<MedicalRecord> previous = byName.get(key);
+      if (previous != null) {
+        byName.put(key, new Ordered<>(previous.order(), medicalRecord));
+      }
+      return this;
+    }
+
+    /**
+     * Removes the medical record of a person. Does nothing if there is none.
+     *
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @return this builder
+     */
+    Builder delete(String firstName, String lastName) {
+      byName.remove(new NameKey(firstName, lastName));
+      return this;
+    }
+
+    /**
+     * Returns the table holding the mutations applied so far.
+     *
+     * @return the new table
+     */
+    MedicalRecordTable build() {
+      return new MedicalRecordTable(byName.build(), nextOrder);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.mr486.safetynet.repository;
+
+/**
+ * Key of the indexes on the first and last name of a person.
+ * Names are compared exactly, as the repositories always did.
+ *
+ * @param firstName the first name
+ * @param lastName  the last name
+ */
+public record NameKey(String firstName, String lastName) {
+}
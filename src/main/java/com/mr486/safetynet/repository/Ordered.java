@@ -0,0 +1,32 @@
+package com.mr486.safetynet.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A value of a {@link PersistentMap} tagged with its insertion order, since the map itself has none.
+ * A replaced value keeps the order of the value it replaces.
+ *
+ * @param order the rank of the first insertion of the key
+ * @param value the value
+ * @param <V>   the type of the value
+ */
+record Ordered<V>(long order, V value) {
+
+  /**
+   * Lists the values of a map in insertion order.
+   *
+   * @param map the map
+   * @param <V> the type of the values
+   * @return the values, sorted by order
+   */
+  static <V> List<V> values(PersistentMap<?, Ordered<V>> map) {
+    List<Ordered<V>> entries = new ArrayList<>(map.size());
+    map.forEach((key, entry) -> entries.add(entry));
+    entries.sort(Comparator.comparingLong(Ordered::order));
+    List<V> values = new ArrayList<>(entries.size());
+    entries.forEach(entry -> values.add(entry.value()));
+    return values;
+  }
+}
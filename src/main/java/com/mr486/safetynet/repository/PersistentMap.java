@@ -0,0 +1,560 @@
+package com.mr486.safetynet.repository;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map sharing its structure with the versions it was derived from.
+ * <p>
+ * The entries are held in a hash array mapped trie: each node dispatches on 5 bits of the hash,
+ * so a lookup reads at most 7 nodes and usually 3 or 4. Adding or removing an entry copies the
+ * nodes on the path to it and shares every other node with the previous version, which stays
+ * valid and unchanged. Readers therefore need no lock: a published map never changes.
+ * </p>
+ * <p>
+ * A {@link Builder} applies many changes at once. The nodes it creates belong to it and are
+ * modified in place by the following changes, so a batch only copies each shared node once.
+ * The nodes are frozen when the map is built.
+ * </p>
+ * Keys and values must not be null. Iteration order is unspecified.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class PersistentMap<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+  private final Node root;
+  private final int size;
+
+  /**
+   * Creates a map.
+   *
+   * @param root the root node, null for an empty map
+   * @param size the number of entries
+   */
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns the empty map.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the number of entries
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key the key
+   * @return the value, or null if the key is absent
+   */
+  @SuppressWarnings("unchecked")
+  V get(Object key) {
+    return root == null ? null : (V) root.get(0, hash(key), key);
+  }
+
+  /**
+   * Checks whether a key is present.
+   *
+   * @param key the key
+   * @return true if the key has a value, false otherwise
+   */
+  boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Returns a map with the given value for a key, this map being left unchanged.
+   *
+   * @param key   the key
+   * @param value the value
+   * @return the new map, or this map if the key already has this value
+   */
+  PersistentMap<K, V> plus(K key, V value) {
+    Builder<K, V> builder = toBuilder().put(key, value);
+    return builder.root == root ? this : builder.build();
+  }
+
+  /**
+   * Returns a map without a key, this map being left unchanged.
+   *
+   * @param key the key
+   * @return the new map, or this map if the key is absent
+   */
+  PersistentMap<K, V> minus(K key) {
+    Builder<K, V> builder = toBuilder().remove(key);
+    return builder.root == root ? this : builder.build();
+  }
+
+  /**
+   * Performs an action on every entry, in no particular order.
+   *
+   * @param action the action to perform
+   */
+  @SuppressWarnings("unchecked")
+  void forEach(BiConsumer<? super K, ? super V> action) {
+    if (root != null) {
+      root.forEach((BiConsumer<Object, Object>) action);
+    }
+  }
+
+  /**
+   * Returns a builder starting from the entries of this map.
+   *
+   * @return a new builder
+   */
+  Builder<K, V> toBuilder() {
+    return new Builder<>(root, size);
+  }
+
+  /**
+   * Spreads the bits of the hash code of a key.
+   *
+   * @param key the key
+   * @return the hash of the key
+   */
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Applies changes to a map. The nodes created by the builder are modified in place until
+   * {@link #build()} is called. A builder is meant to be used by a single thread.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   */
+  static final class Builder<K, V> {
+
+    private Object owner = new Object();
+    private Node root;
+    private int size;
+
+    /**
+     * Creates a builder.
+     *
+     * @param root the root node of the starting map
+     * @param size the number of entries of the starting map
+     */
+    private Builder(Node root, int size) {
+      this.root = root;
+      this.size = size;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    int size() {
+      return size;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+      return root == null ? null : (V) root.get(0, hash(key), key);
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return this builder
+     */
+    Builder<K, V> put(K key, V value) {
+      Objects.requireNonNull(key);
+      Objects.requireNonNull(value);
+      int hash = hash(key);
+      if (root == null) {
+        root = new BitmapNode(owner, 0, new Object[0]);
+      }
+      if (root.get(0, hash, key) == null) {
+        size++;
+      }
+      root = root.put(owner, 0, hash, key, value);
+      return this;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return this builder
+     */
+    Builder<K, V> remove(Object key) {
+      if (root == null) {
+        return this;
+      }
+      int hash = hash(key);
+      if (root.get(0, hash, key) != null) {
+        size--;
+        root = root.remove(owner, 0, hash, key);
+      }
+      return this;
+    }
+
+    /**
+     * Returns the map holding the entries. The nodes created so far are frozen,
+     * the next changes copy them again.
+     *
+     * @return the map
+     */
+    PersistentMap<K, V> build() {
+      owner = new Object();
+      return size == 0 ? empty() : new PersistentMap<>(root, size);
+    }
+  }
+
+  /**
+   * A node of the trie.
+   */
+  private abstract static class Node {
+
+    /**
+     * The token of the builder allowed to modify this node in place, which changes when the map is built.
+     */
+    final Object owner;
+
+    /**
+     * Creates a node.
+     *
+     * @param owner the builder allowed to modify the node in place
+     */
+    Node(Object owner) {
+      this.owner = owner;
+    }
+
+    /**
+     * Finds the value of a key.
+     *
+     * @param shift the number of hash bits consumed by the parents
+     * @param hash  the hash of the key
+     * @param key   the key
+     * @return the value, or null if the key is absent
+     */
+    abstract Object get(int shift, int hash, Object key);
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param owner the builder making the change
+     * @param shift the number of hash bits consumed by the parents
+     * @param hash  the hash of the key
+     * @param key   the key
+     * @param value the value
+     * @return the node holding the entry, this node if modified in place
+     */
+    abstract Node put(Object owner, int shift, int hash, Object key, Object value);
+
+    /**
+     * Removes a key, which must be present.
+     *
+     * @param owner the builder making the change
+     * @param shift the number of hash bits consumed by the parents
+     * @param hash  the hash of the key
+     * @param key   the key
+     * @return the node without the key, null if it became empty
+     */
+    abstract Node remove(Object owner, int shift, int hash, Object key);
+
+    /**
+     * Returns the only entry of the node, so a parent can hold it directly.
+     *
+     * @return the key and the value, or null if the node holds more than one entry or a child
+     */
+    abstract Object[] single();
+
+    /**
+     * Performs an action on every entry of the node and its children.
+     *
+     * @param action the action to perform
+     */
+    abstract void forEach(BiConsumer<Object, Object> action);
+  }
+
+  /**
+   * A node holding up to 32 slots, one per value of its 5 bits of hash.
+   * A slot is a key followed by its value, or null followed by a child node.
+   */
+  private static final class BitmapNode extends Node {
+
+    private int bitmap;
+    private Object[] array;
+
+    /**
+     * Creates a node.
+     *
+     * @param owner  the builder allowed to modify the node in place
+     * @param bitmap the bits of the occupied slots
+     * @param array  the slots, two cells each
+     */
+    BitmapNode(Object owner, int bitmap, Object[] array) {
+      super(owner);
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    Object get(int shift, int hash, Object key) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+      Object slotKey = array[index];
+      Object slotValue = array[index + 1];
+      if (slotKey == null) {
+        return ((Node) slotValue).get(shift + BITS, hash, key);
+      }
+      return key.equals(slotKey) ? slotValue : null;
+    }
+
+    @Override
+    Node put(Object owner, int shift, int hash, Object key, Object value) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+      if ((bitmap & bit) == 0) {
+        Object[] grown = new Object[array.length + 2];
+        System.arraycopy(array, 0, grown, 0, index);
+        grown[index] = key;
+        grown[index + 1] = value;
+        System.arraycopy(array, index, grown, index + 2, array.length - index);
+        return editable(owner, bitmap | bit, grown);
+      }
+      Object slotKey = array[index];
+      Object slotValue = array[index + 1];
+      if (slotKey == null) {
+        Node child = ((Node) slotValue).put(owner, shift + BITS, hash, key, value);
+        return child == slotValue ? this : withSlot(owner, index, null, child);
+      }
+      if (key.equals(slotKey)) {
+        return slotValue == value ? this : withSlot(owner, index, slotKey, value);
+      }
+      Node child = pair(owner, shift + BITS, hash(slotKey), slotKey, slotValue, hash, key, value);
+      return withSlot(owner, index, null, child);
+    }
+
+    @Override
+    Node remove(Object owner, int shift, int hash, Object key) {
+      int bit = 1 << ((hash >>> shift) & MASK);
+      int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+      Object slotKey = array[index];
+      if (slotKey != null) {
+        return without(owner, bit, index);
+      }
+      Node child = ((Node) array[index + 1]).remove(owner, shift + BITS, hash, key);
+      if (child == null) {
+        return without(owner, bit, index);
+      }
+      Object[] single = child.single();
+      return single == null ? withSlot(owner, index, null, child) : withSlot(owner, index, single[0], single[1]);
+    }
+
+    @Override
+    Object[] single() {
+      return array.length == 2 && array[0] != null ? array : null;
+    }
+
+    @Override
+    void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == null) {
+          ((Node) array[i + 1]).forEach(action);
+        } else {
+          action.accept(array[i], array[i + 1]);
+        }
+      }
+    }
+
+    /**
+     * Removes a slot.
+     *
+     * @param owner the builder making the change
+     * @param bit   the bit of the slot
+     * @param index the index of the slot in the array
+     * @return the node without the slot, null if it became empty
+     */
+    private Node without(Object owner, int bit, int index) {
+      if (bitmap == bit) {
+        return null;
+      }
+      Object[] shrunk = new Object[array.length - 2];
+      System.arraycopy(array, 0, shrunk, 0, index);
+      System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+      return editable(owner, bitmap & ~bit, shrunk);
+    }
+
+    /**
+     * Replaces the content of a slot.
+     *
+     * @param owner the builder making the change
+     * @param index the index of the slot in the array
+     * @param key   the key, null for a child node
+     * @param value the value or the child node
+     * @return the node with the new slot, this node if modified in place
+     */
+    private Node withSlot(Object owner, int index, Object key, Object value) {
+      Object[] slots = this.owner == owner ? array : array.clone();
+      slots[index] = key;
+      slots[index + 1] = value;
+      return editable(owner, bitmap, slots);
+    }
+
+    /**
+     * Gives this node the new content if it belongs to the builder, or creates a node belonging to it.
+     *
+     * @param owner  the builder making the change
+     * @param bitmap the bits of the occupied slots
+     * @param array  the slots
+     * @return the node holding the content
+     */
+    private Node editable(Object owner, int bitmap, Object[] array) {
+      if (this.owner == owner) {
+        this.bitmap = bitmap;
+        this.array = array;
+        return this;
+      }
+      return new BitmapNode(owner, bitmap, array);
+    }
+
+    /**
+     * Creates the node holding two entries whose hashes agree on the bits consumed so far.
+     *
+     * @param owner  the builder making the change
+     * @param shift  the number of hash bits consumed by the parents
+     * @param hash1  the hash of the first key
+     * @param key1   the first key
+     * @param value1 the first value
+     * @param hash2  the hash of the second key
+     * @param key2   the second key
+     * @param value2 the second value
+     * @return the node holding both entries
+     */
+    private static Node pair(Object owner, int shift, int hash1, Object key1, Object value1,
+                             int hash2, Object key2, Object value2) {
+      if (shift >= Integer.SIZE) {
+        return new CollisionNode(owner, new Object[]{key1, value1, key2, value2});
+      }
+      int bit1 = (hash1 >>> shift) & MASK;
+      int bit2 = (hash2 >>> shift) & MASK;
+      if (bit1 == bit2) {
+        return new BitmapNode(owner, 1 << bit1,
+                new Object[]{null, pair(owner, shift + BITS, hash1, key1, value1, hash2, key2, value2)});
+      }
+      Object[] array = bit1 < bit2
+              ? new Object[]{key1, value1, key2, value2}
+              : new Object[]{key2, value2, key1, value1};
+      return new BitmapNode(owner, (1 << bit1) | (1 << bit2), array);
+    }
+  }
+
+  /**
+   * A node holding the entries whose keys have the same 32-bit hash, compared with equals.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final Object[] array;
+
+    /**
+     * Creates a node.
+     *
+     * @param owner the builder allowed to modify the node in place
+     * @param array the keys followed by their value
+     */
+    CollisionNode(Object owner, Object[] array) {
+      super(owner);
+      this.array = array;
+    }
+
+    @Override
+    Object get(int shift, int hash, Object key) {
+      int index = indexOf(key);
+      return index < 0 ? null : array[index + 1];
+    }
+
+    @Override
+    Node put(Object owner, int shift, int hash, Object key, Object value) {
+      int index = indexOf(key);
+      if (index < 0) {
+        Object[] grown = Arrays.copyOf(array, array.length + 2);
+        grown[array.length] = key;
+        grown[array.length + 1] = value;
+        return new CollisionNode(owner, grown);
+      }
+      if (array[index + 1] == value) {
+        return this;
+      }
+      Object[] copy = this.owner == owner ? array : array.clone();
+      copy[index + 1] = value;
+      return copy == array ? this : new CollisionNode(owner, copy);
+    }
+
+    @Override
+    Node remove(Object owner, int shift, int hash, Object key) {
+      int index = indexOf(key);
+      if (array.length == 2) {
+        return null;
+      }
+      Object[] shrunk = new Object[array.length - 2];
+      System.arraycopy(array, 0, shrunk, 0, index);
+      System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+      return new CollisionNode(owner, shrunk);
+    }
+
+    @Override
+    Object[] single() {
+      return array.length == 2 ? array : null;
+    }
+
+    @Override
+    void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        action.accept(array[i], array[i + 1]);
+      }
+    }
+
+    /**
+     * Finds the cell of a key.
+     *
+     * @param key the key
+     * @return the index of the key in the array, -1 if absent
+     */
+    private int indexOf(Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+}
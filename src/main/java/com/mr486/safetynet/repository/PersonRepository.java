@@ -18,6 +18,16 @@ public interface PersonRepository {
    */
   void save(Person person);
 
+  /**
+   * Inserts several persons at once, skipping the ones whose name already exists or comes earlier in the list.
+   * Whether a person exists is decided while no other mutation can be applied, and the inserted persons
+   * are journaled together and published in a single snapshot.
+   *
+   * @param persons the persons to insert
+   * @return for each person, true if it was inserted, false if a person with the same name already exists
+   */
+  List<Boolean> insertAll(List<Person> persons);
+
   /**
    * Updates an existing person in the repository.
    *
@@ -56,4 +66,11 @@ public interface PersonRepository {
    * @return a list of persons living at the specified address
    */
   List<Person> findPersonsByAddress(String address);
+
+  /**
+   * Retrieves all persons of the repository.
+   *
+   * @return an unmodifiable copy of all persons
+   */
+  List<Person> findAll();
 }
@@ -1,52 +1,46 @@
 package com.mr486.safetynet.repository;
 
-import com.mr486.safetynet.dto.DataBinding;
 import com.mr486.safetynet.dto.search.PersonSearch;
 import com.mr486.safetynet.model.Person;
-import com.mr486.safetynet.tools.JsonDataReader;
-import jakarta.annotation.PostConstruct;
+import com.mr486.safetynet.tools.Journal;
+import com.mr486.safetynet.tools.JournalEntry;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * Implementation of the PersonRepository that uses JSON data.
- * This repository loads person data from a JSON file and provides methods
+ * This repository holds the person data read from the JSON file and provides methods
  * to save, update, find, delete, and check existence of persons.
  */
 @Repository
 @RequiredArgsConstructor
-@Slf4j
 public class PersonRepositoryImplJson implements PersonRepository {
 
   /**
-   * The JSON data reader used to load fire station data.
+   * The data store holding the current snapshot.
    */
-  private final JsonDataReader jsonDataReader;
+  private final DataStore dataStore;
 
-  private List<Person> persons = Collections.emptyList();
+  /**
+   * The journal recording every mutation.
+   */
+  private final Journal journal;
 
   /**
-   * Initializes the repository by loading people data from a JSON file.
-   * This method is called automatically after the bean is constructed.
+   * Retrieves all persons of the repository.
+   *
+   * @return an unmodifiable copy of all persons
    */
-  @PostConstruct
-  void init() {
-    log.warn("Persons data loading from json file");
-    try {
-      DataBinding dataBinding = jsonDataReader.loadData();
-      persons = new java.util.ArrayList<>(dataBinding.getPersons());
-      log.warn("✅ Persons data loaded successfully, count: {}", persons.size());
-    } catch (Exception e) {
-      log.error("❌ {}", e.getMessage());
-    }
+  @Override
+  public List<Person> findAll() {
+    return persons().findAll();
   }
 
-
   /**
    * Saves a person to the repository.
    *
@@ -54,7 +48,44 @@ public class PersonRepositoryImplJson implements PersonRepository {
    */
   @Override
   public void save(Person person) {
-    persons.add(person);
+    journal.record(JournalEntry.savePerson(person),
+            () -> mutate(person.getFirstName(), person.getLastName(), persons -> persons.withSaved(person)));
+  }
+
+  /**
+   * Inserts several persons to the repository, journaled together and published with a single update
+   * of the indexes and views. The persons to insert are planned under the lock of the journal, so no
+   * other mutation can save a person with the same name between the check and the insertion.
+   *
+   * @param persons the persons to insert
+   * @return for each person, true if it was inserted, false if a person with the same name already exists
+   */
+  @Override
+  public List<Boolean> insertAll(List<Person> persons) {
+    List<Boolean> inserted = new ArrayList<>(persons.size());
+    List<Person> accepted = new ArrayList<>(persons.size());
+    journal.recordAll(() -> {
+      PersonTable.Builder plan = persons().toBuilder();
+      for (Person person : persons) {
+        boolean isNew = plan.find(person.getFirstName(), person.getLastName()).isEmpty();
+        if (isNew) {
+          plan.save(person);
+          accepted.add(person);
+        }
+        inserted.add(isNew);
+      }
+      return accepted.stream().map(JournalEntry::savePerson).toList();
+    }, () -> {
+      if (accepted.isEmpty()) {
+        return;
+      }
+      dataStore.update(snapshot -> {
+        PersonTable.Builder builder = snapshot.getPersons().toBuilder();
+        accepted.forEach(builder::save);
+        return snapshot.withPersons(builder.build(), accepted.stream().map(Person::getAddress).toList());
+      });
+    });
+    return inserted;
   }
 
   /**
@@ -64,9 +95,8 @@ public class PersonRepositoryImplJson implements PersonRepository {
    */
   @Override
   public void update(Person person) {
-    persons.replaceAll(existingPerson ->
-            isPersonDtoEqualPerson(existingPerson, new PersonSearch(person.getFirstName(), person.getLastName())) ? person : existingPerson
-    );
+    journal.record(JournalEntry.updatePerson(person),
+            () -> mutate(person.getFirstName(), person.getLastName(), persons -> persons.withUpdated(person)));
   }
 
   /**
@@ -77,9 +107,7 @@ public class PersonRepositoryImplJson implements PersonRepository {
    */
   @Override
   public Optional<Person> findByFirstNameAndLastName(PersonSearch personSearch) {
-    return persons.stream()
-            .filter(person -> isPersonDtoEqualPerson(person, personSearch))
-            .findFirst();
+    return persons().find(personSearch.getFirstName(), personSearch.getLastName());
   }
 
   /**
@@ -89,7 +117,8 @@ public class PersonRepositoryImplJson implements PersonRepository {
    */
   @Override
   public void delete(PersonSearch personSearch) {
-    persons.removeIf(person -> isPersonDtoEqualPerson(person, personSearch));
+    journal.record(JournalEntry.deletePerson(personSearch), () -> mutate(personSearch.getFirstName(),
+            personSearch.getLastName(), persons -> persons.withDeleted(personSearch.getFirstName(), personSearch.getLastName())));
   }
 
   /**
@@ -100,31 +129,46 @@ public class PersonRepositoryImplJson implements PersonRepository {
    */
   @Override
   public boolean exists(PersonSearch personSearch) {
-    return persons.stream().anyMatch(person -> isPersonDtoEqualPerson(person, personSearch));
+    return persons().contains(personSearch.getFirstName(), personSearch.getLastName());
   }
 
   /**
    * Finds all persons living at a specific address.
+   * Addresses are compared ignoring case and extra whitespace, through the household index.
    *
    * @param address the address to search for
    * @return a list of persons living at the specified address
    */
   @Override
   public List<Person> findPersonsByAddress(String address) {
-    return persons.stream()
-            .filter(person -> person.getAddress().equalsIgnoreCase(address))
-            .toList();
+    return persons().findByAddress(address);
   }
 
   /**
-   * Checks if a person matches the given DTO.
+   * Publishes the next snapshot with a mutation applied to the persons, refreshing the coverage and
+   * child alert of the household the person left, if any, and of the one the person now lives in.
+   * The mutation may be applied more than once if another snapshot is published meanwhile.
    *
-   * @param person       the person to check
-   * @param personSearch the DTO containing the first and last name
-   * @return true if the person matches the DTO, false otherwise
+   * @param firstName the first name of the person
+   * @param lastName  the last name of the person
+   * @param mutation  the mutation to apply
+   */
+  private void mutate(String firstName, String lastName, UnaryOperator<PersonTable> mutation) {
+    dataStore.update(snapshot -> {
+      PersonTable persons = mutation.apply(snapshot.getPersons());
+      List<String> addresses = new ArrayList<>(2);
+      snapshot.getPersons().find(firstName, lastName).ifPresent(person -> addresses.add(person.getAddress()));
+      persons.find(firstName, lastName).ifPresent(person -> addresses.add(person.getAddress()));
+      return snapshot.withPersons(persons, addresses);
+    });
+  }
+
+  /**
+   * Returns the persons of the current snapshot.
+   *
+   * @return the persons currently published
    */
-  private boolean isPersonDtoEqualPerson(Person person, PersonSearch personSearch) {
-    return person.getFirstName().equals(personSearch.getFirstName()) &&
-            person.getLastName().equals(personSearch.getLastName());
+  private PersonTable persons() {
+    return dataStore.current().getPersons();
   }
 }
@@ -0,0 +1,319 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.Person;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The persons of a {@link DataSnapshot}, indexed on their first and last name and on their address.
+ * <p>
+ * The persons are kept in a {@link PersistentMap} keyed on the name pair, so lookups, updates and
+ * deletes by name take a few node reads whatever the size of the data. Each person keeps its
+ * insertion order, so the listing order is the order of the data file. A person saved with the
+ * name of an existing one replaces it, keeping its position.
+ * </p>
+ * <p>
+ * A second index groups the households by {@link AddressKey}, so the residents of an address are
+ * found in time proportional to their number, whatever the size of the data.
+ * </p>
+ * A table never changes: a mutation returns a new table sharing most of its structure with this one,
+ * so readers holding this table need no lock.
+ */
+public class PersonTable {
+
+  private final PersistentMap<NameKey, Ordered<Person>> byName;
+  private final PersistentMap<AddressKey, List<Person>> byAddress;
+  private final long nextOrder;
+
+  /**
+   * Creates a table holding the given persons.
+   *
+   * @param persons the persons, a later person replaces an earlier one with the same name
+   */
+  public PersonTable(List<Person> persons) {
+    Builder builder = new Builder(PersistentMap.empty(), PersistentMap.empty(), 0);
+    persons.forEach(builder::save);
+    PersonTable table = builder.build();
+    this.byName = table.byName;
+    this.byAddress = table.byAddress;
+    this.nextOrder = table.nextOrder;
+  }
+
+  /**
+   * Creates a table from its indexes.
+   *
+   * @param byName    the persons by name
+   * @param byAddress the households by address
+   * @param nextOrder the order of the next person added
+   */
+  private PersonTable(PersistentMap<NameKey, Ordered<Person>> byName,
+                      PersistentMap<AddressKey, List<Person>> byAddress, long nextOrder) {
+    this.byName = byName;
+    this.byAddress = byAddress;
+    this.nextOrder = nextOrder;
+  }
+
+  /**
+   * Returns the number of persons.
+   *
+   * @return the number of persons
+   */
+  public int size() {
+    return byName.size();
+  }
+
+  /**
+   * Returns all the persons, in insertion order.
+   *
+   * @return an unmodifiable list of the persons
+   */
+  public List<Person> findAll() {
+    return List.copyOf(Ordered.values(byName));
+  }
+
+  /**
+   * Finds a person by name.
+   *
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return the person, or empty if none has this name
+   */
+  public Optional<Person> find(String firstName, String lastName) {
+    Ordered<Person> entry = byName.get(new NameKey(firstName, lastName));
+    return entry == null ? Optional.empty() : Optional.of(entry.value());
+  }
+
+  /**
+   * Checks whether a person has this name.
+   *
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return true if a person has this name, false otherwise
+   */
+  public boolean contains(String firstName, String lastName) {
+    return byName.containsKey(new NameKey(firstName, lastName));
+  }
+
+  /**
+   * Finds the persons living at an address, compared with {@link AddressKey}.
+   *
+   * @param address the address
+   * @return the persons living at the address, in the order they moved in
+   */
+  public List<Person> findByAddress(String address) {
+    List<Person> household = byAddress.get(AddressKey.of(address));
+    return household == null ? List.of() : household;
+  }
+
+  /**
+   * Performs an action on the residents of every address, in no particular order.
+   *
+   * @param action the action receiving the residents of one address
+   */
+  public void forEachHousehold(Consumer<List<Person>> action) {
+    byAddress.forEach((address, household) -> action.accept(household));
+  }
+
+  /**
+   * Returns a table with a person added, replacing the one with the same name if any.
+   *
+   * @param person the person to add
+   * @return the new table
+   */
+  public PersonTable withSaved(Person person) {
+    return toBuilder().save(person).build();
+  }
+
+  /**
+   * Returns a table with the person of the same name replaced. The table is unchanged if there is none.
+   *
+   * @param person the updated person
+   * @return the new table
+   */
+  public PersonTable withUpdated(Person person) {
+    return toBuilder().update(person).build();
+  }
+
+  /**
+   * Returns a table without the person of this name. The table is unchanged if there is none.
+   *
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return the new table
+   */
+  public PersonTable withDeleted(String firstName, String lastName) {
+    return toBuilder().delete(firstName, lastName).build();
+  }
+
+  /**
+   * Returns a builder applying several mutations to this table at once.
+   *
+   * @return a new builder
+   */
+  Builder toBuilder() {
+    return new Builder(byName, byAddress, nextOrder);
+  }
+
+  /**
+   * Builds the index key of a person.
+   *
+   * @param person the person
+   * @return the key of the person
+   */
+  private static NameKey key(Person person) {
+    return new NameKey(person.getFirstName(), person.getLastName());
+  }
+
+  /**
+   * Applies mutations to a table. The households touched are copied once and frozen by {@link #build()}.
+   * A builder is meant to be used by a single thread.
+   */
+  static final class Builder {
+
+    private final PersistentMap.Builder<NameKey, Ordered<Person>> byName;
+    private final PersistentMap.Builder<AddressKey, List<Person>> byAddress;
+    private final Map<AddressKey, List<Person>> households = new HashMap<>();
+    private long nextOrder;
+
+    /**
+     * Creates a builder.
+     *
+     * @param byName    the persons by name
+     * @param byAddress the households by address
+     * @param nextOrder the order of the next person added
+     */
+    private Builder(PersistentMap<NameKey, Ordered<Person>> byName,
+                    PersistentMap<AddressKey, List<Person>> byAddress, long nextOrder) {
+      this.byName = byName.toBuilder();
+      this.byAddress = byAddress.toBuilder();
+      this.nextOrder = nextOrder;
+    }
+
+    /**
+     * Finds a person by name, including the mutations applied so far.
+     *
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @return the person, or empty if none has this name
+     */
+    Optional<Person> find(String firstName, String lastName) {
+      Ordered<Person> entry = byName.get(new NameKey(firstName, lastName));
+      return entry == null ? Optional.empty() : Optional.of(entry.value());
+    }
+
+    /**
+     * Adds a person, replacing the one with the same name if any.
+     *
+     * @param person the person to add
+     * @return this builder
+     */
+    Builder save(Person person) {
+      NameKey key = key(person);
+      Ordered<Person> previous = byName.get(key);
+      byName.put(key, new Ordered<>(previous == null ? nextOrder++ : previous.order(), person));
+      index(key, previous == null ? null : previous.value(), person);
+      return this;
+    }
+
+    /**
+     * Replaces the person with the same name. Does nothing if there is none.
+     *
+     * @param person the updated person
+     * @return this builder
+     */
+    Builder update(Person person) {
+      NameKey key = key(person);
+      Ordered<Person> previous = byName.get(key);
+      if (previous != null) {
+        byName.put(key, new Ordered<>(previous.order(), person));
+        index(key, previous.value(), person);
+      }
+      return this;
+    }
+
+    /**
+     * Removes the person with this name. Does nothing if there is none.
+     *
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @return this builder
+     */
+    Builder delete(String firstName, String lastName) {
+      NameKey key = new NameKey(firstName, lastName);
+      Ordered<Person> previous = byName.get(key);
+      if (previous != null) {
+        byName.remove(key);
+        unindex(key, previous.value());
+      }
+      return this;
+    }
+
+    /**
+     * Returns the table holding the mutations applied so far.
+     *
+     * @return the new table
+     */
+    PersonTable build() {
+      households.forEach((address, household) -> {
+        if (household.isEmpty()) {
+          byAddress.remove(address);
+        } else {
+          byAddress.put(address, List.copyOf(household));
+        }
+      });
+      households.clear();
+      return new PersonTable(byName.build(), byAddress.build(), nextOrder);
+    }
+
+    /**
+     * Moves a person from the household of its previous version to its own.
+     * A person staying at the same address keeps its place in the household.
+     *
+     * @param key      the name key of the person
+     * @param previous the previous version of the person, null if it is new
+     * @param person   the current version of the person
+     */
+    private void index(NameKey key, Person previous, Person person) {
+      AddressKey address = AddressKey.of(person.getAddress());
+      if (previous != null && !AddressKey.of(previous.getAddress()).equals(address)) {
+        unindex(key, previous);
+      }
+      List<Person> household = household(address);
+      for (int i = 0; i < household.size(); i++) {
+        if (key(household.get(i)).equals(key)) {
+          household.set(i, person);
+          return;
+        }
+      }
+      household.add(person);
+    }
+
+    /**
+     * Removes a person from its household, the household being dropped once empty.
+     *
+     * @param key    the name key of the person
+     * @param person the person to remove
+     */
+    private void unindex(NameKey key, Person person) {
+      household(AddressKey.of(person.getAddress())).removeIf(resident -> key(resident).equals(key));
+    }
+
+    /**
+     * Returns the copy of a household being modified, making it on the first mutation.
+     *
+     * @param address the key of the address
+     * @return the modifiable residents of the address
+     */
+    private List<Person> household(AddressKey address) {
+      return households.computeIfAbsent(address, key -> {
+        List<Person> household = byAddress.get(key);
+        return household == null ? new ArrayList<>(1) : new ArrayList<>(household);
+      });
+    }
+  }
+}
@@ -1,31 +1,23 @@
 package com.mr486.safetynet.service;
 
 import com.mr486.safetynet.dto.response.FireStationCoverage;
-import com.mr486.safetynet.dto.response.PersonInfo;
-import com.mr486.safetynet.dto.search.MedicalRecordSearch;
-import com.mr486.safetynet.model.FireStation;
-import com.mr486.safetynet.model.MedicalRecord;
-import com.mr486.safetynet.model.Person;
-import com.mr486.safetynet.repository.PersonRepository;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.repository.CoverageRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
 /**
  * Service to handle fire station coverage logic.
  * It retrieves the coverage information for a specific fire station number,
  * including the list of persons covered and their age distribution.
+ * The coverage is maintained by the repositories as the data changes, so it is not rebuilt per request.
  */
 @Service
 @RequiredArgsConstructor
 public class FireStationCoverageService {
 
-  private final FireStationService fireStationService;
-  private final PersonRepository personRepository;
-  private final MedicalRecordService medicalRecordService;
+  private final CoverageRepository coverageRepository;
 
   /**
    * Retrieves the coverage information for a specific fire station number.
@@ -36,38 +28,33 @@ public class FireStationCoverageService {
    * @return FireStationCoverage containing person information and counts
    */
   public FireStationCoverage getCoverageByStationNumber(Integer stationNumber) {
-    List<FireStation> stations = fireStationService.getAllFireStationsByStationNumber(stationNumber);
-    List<String> addresses = stations.stream().map(FireStation::getAddress).toList();
-
-    List<PersonInfo> personInfos = new ArrayList<>();
-    long adultCount = 0;
-    long childCount = 0;
-
-    // Iterate through each address and gather person information
-    for (String address : addresses) {
-      // Find all persons at the current address
-      List<Person> personsAtAddress = personRepository.findPersonsByAddress(address);
-      // For each person, check their medical record to determine if they are an adult or a child
-      for (Person person : personsAtAddress) {
-        Optional<MedicalRecord> medicalOpt = medicalRecordService.getMedicalRecordByFirstNameAndLastName(
-                new MedicalRecordSearch(person.getFirstName(), person.getLastName())
-        );
-
-        // Determine if the person is an adult or a child based on their medical record
-        boolean isAdult = medicalOpt.map(medicalRecordService::isAdult).orElse(true);
-        if (isAdult) adultCount++;
-        else childCount++;
+    return coverageRepository.getCoverageByStationNumber(stationNumber);
+  }
 
-        // Add the person's information to the list
-        PersonInfo personInfo = new PersonInfo();
-        personInfo.setFirstName(person.getFirstName());
-        personInfo.setLastName(person.getLastName());
-        personInfo.setAddress(person.getAddress());
-        personInfo.setPhone(person.getPhone());
-        personInfos.add(personInfo);
-      }
-    }
+  /**
+   * Retrieves the tag of the coverage information for a specific fire station number.
+   * It only changes when the coverage may have, and is never reused by other data after a reload or
+   * a restart, so a client holding the coverage of a tag does not need to read it again.
+   *
+   * @param stationNumber the fire station number to get the tag for
+   * @return the tag of the coverage
+   */
+  public String getCoverageTag(Integer stationNumber) {
+    return coverageRepository.getCoverageTag(stationNumber);
+  }
 
-    return new FireStationCoverage(personInfos, adultCount, childCount);
+  /**
+   * Retrieves a page of the coverage information for a specific fire station number.
+   * The next pages are read from the same data as the first one, whatever writes happened since.
+   *
+   * @param stationNumber the fire station number to get coverage for
+   * @param cursor        the cursor returned with the previous page, null for the first page
+   * @param limit         the largest number of persons of the page
+   * @return FireStationCoveragePage containing the persons of the page, the counts and the next cursor
+   */
+  public FireStationCoveragePage getCoveragePageByStationNumber(Integer stationNumber, String cursor, int limit) {
+    PageCursor.checkLimit(limit);
+    return coverageRepository.getCoveragePageByStationNumber(stationNumber,
+            cursor == null ? null : PageCursor.decode(cursor), limit);
   }
 }
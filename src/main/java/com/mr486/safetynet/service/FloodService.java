@@ -0,0 +1,47 @@
+package com.mr486.safetynet.service;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.repository.FloodRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service for handling flood alert operations.
+ * Provides the households covered by several fire stations, with the medical history of their residents.
+ */
+@Service
+@RequiredArgsConstructor
+public class FloodService {
+
+  private final FloodRepository floodRepository;
+
+  /**
+   * Retrieves the households covered by some fire stations.
+   * An address covered by several of the stations is listed once.
+   *
+   * @param stationNumbers the station numbers
+   * @return the households by address, in the order of the stations
+   */
+  public List<FloodHouseholdDto> getHouseholdsByStations(List<Integer> stationNumbers) {
+    return floodRepository.findHouseholdsByStations(stationNumbers);
+  }
+
+  /**
+   * Retrieves a page of the households covered by some fire stations.
+   * The next pages are read from the same data as the first one, whatever writes happened since.
+   *
+   * @param stationNumbers the station numbers
+   * @param cursor         the cursor returned with the previous page, null for the first page
+   * @param limit          the largest number of households of the page
+   * @return the households of the page and the cursor of the next one
+   */
+  public Page<FloodHouseholdDto> getHouseholdsByStations(List<Integer> stationNumbers, String cursor, int limit) {
+    PageCursor.checkLimit(limit);
+    return floodRepository.findHouseholdsByStations(stationNumbers,
+            cursor == null ? null : PageCursor.decode(cursor), limit);
+  }
+}
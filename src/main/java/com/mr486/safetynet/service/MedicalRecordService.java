@@ -1,20 +1,30 @@
 package com.mr486.safetynet.service;
 
 import com.mr486.safetynet.configuration.AppConfiguration;
+import com.mr486.safetynet.dto.response.BulkImportError;
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.exeption.EntityAlreadyExistsException;
 import com.mr486.safetynet.exeption.EntityNotFoundException;
+import com.mr486.safetynet.exeption.WrongDateFormatException;
 import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
 import com.mr486.safetynet.repository.MedicalRecordRepository;
+import com.mr486.safetynet.tools.AgeCalculator;
+import com.mr486.safetynet.tools.RecordStreamReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.Period;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service class for managing medical records.
@@ -26,6 +36,14 @@ import java.util.Optional;
 public class MedicalRecordService {
 
   private final MedicalRecordRepository medicalRecordRepository;
+  private final AgeCalculator ageCalculator;
+  private final RecordStreamReader recordStreamReader;
+
+  /**
+   * Number of medical records applied together by a bulk upsert or delete.
+   */
+  @Value("${medical-record.bulk.batch-size:1000}")
+  int bulkBatchSize = 1000;
 
   /**
    * Retrieves a medical record by first name and last name.
@@ -37,12 +55,27 @@ public class MedicalRecordService {
     return medicalRecordRepository.findByFirstNameAndLastName(medicalRecordSearch);
   }
 
+  /**
+   * Retrieves the medical records of several persons in one lookup, typically the residents of a household.
+   *
+   * @param persons the persons whose medical records are wanted
+   * @return the medical records found, keyed by first name and last name; persons without a record are absent
+   */
+  public Map<MedicalRecordSearch, MedicalRecord> getMedicalRecordsOfPersons(List<Person> persons) {
+    List<MedicalRecordSearch> medicalRecordSearches = persons.stream()
+            .map(person -> new MedicalRecordSearch(person.getFirstName(), person.getLastName()))
+            .toList();
+    return medicalRecordRepository.findAllByFirstNameAndLastName(medicalRecordSearches);
+  }
+
   /**
    * Retrieves a medical record by first name and last name.
    *
    * @param medicalRecord the MedicalRecord object containing first name and last name
+   * @throws WrongDateFormatException if the birthdate is not in AppConfiguration.DATE_FORMAT
    */
   public void saveMedicalRecord(MedicalRecord medicalRecord) {
+    checkBirthdate(medicalRecord);
     MedicalRecordSearch medicalRecordSearch = new MedicalRecordSearch(medicalRecord.getFirstName(), medicalRecord.getLastName());
     if (medicalRecordRepository.exists(medicalRecordSearch)) {
       String message = "Medical record for first name [" + medicalRecord.getFirstName() + "] and last name [" + medicalRecord.getLastName() + "] already exists!";
@@ -55,8 +88,10 @@ public class MedicalRecordService {
    * Updates an existing medical record.
    *
    * @param medicalRecord the MedicalRecord object containing updated information
+   * @throws WrongDateFormatException if the birthdate is not in AppConfiguration.DATE_FORMAT
    */
   public void updateMedicalRecord(MedicalRecord medicalRecord) {
+    checkBirthdate(medicalRecord);
     MedicalRecordSearch medicalRecordSearch = new MedicalRecordSearch(medicalRecord.getFirstName(), medicalRecord.getLastName());
     if (!medicalRecordRepository.exists(medicalRecordSearch)) {
       String message = "Medical record for first name [" + medicalRecord.getFirstName() + "] and last name [" + medicalRecord.getLastName() + "] does not exist!";
@@ -78,6 +113,136 @@ public class MedicalRecordService {
     medicalRecordRepository.delete(medicalRecordSearch);
   }
 
+  /**
+   * Saves the medical records of a JSON array or NDJSON body, inserting the new ones and replacing the existing ones.
+   * The records are read one at a time and applied in chunks, each chunk being journaled and
+   * published atomically. A record is rejected if it is malformed, invalid or has a birthdate in a wrong format.
+   *
+   * @param body the request body
+   * @return the counts of the import and the reason of each rejection
+   * @throws IOException if the body cannot be read
+   */
+  public BulkImportResponse upsertMedicalRecords(InputStream body) throws IOException {
+    return applyInChunks(body, MedicalRecord.class, this::checkBirthdate, (indexes, chunk, summary) -> {
+      for (boolean inserted : medicalRecordRepository.upsertAll(chunk)) {
+        if (inserted) {
+          summary.setInserted(summary.getInserted() + 1);
+        } else {
+          summary.setUpdated(summary.getUpdated() + 1);
+        }
+      }
+    });
+  }
+
+  /**
+   * Deletes the medical records named in a JSON array or NDJSON body.
+   * The names are read one at a time and applied in chunks, each chunk being journaled and
+   * published atomically. A name is rejected if it is malformed, invalid or has no medical record.
+   *
+   * @param body the request body
+   * @return the counts of the deletion and the reason of each rejection
+   * @throws IOException if the body cannot be read
+   */
+  public BulkImportResponse deleteMedicalRecords(InputStream body) throws IOException {
+    BulkImportResponse summary = applyInChunks(body, MedicalRecordSearch.class, search -> {
+    }, (indexes, chunk, response) -> {
+      List<Boolean> deleted = medicalRecordRepository.deleteAll(chunk);
+      for (int i = 0; i < chunk.size(); i++) {
+        if (deleted.get(i)) {
+          response.setDeleted(response.getDeleted() + 1);
+        } else {
+          response.reject(indexes.get(i), "Medical record for first name [" + chunk.get(i).getFirstName()
+                  + "] and last name [" + chunk.get(i).getLastName() + "] does not exist!");
+        }
+      }
+    });
+    summary.getErrors().sort(Comparator.comparingInt(BulkImportError::getIndex));
+    return summary;
+  }
+
+  /**
+   * Applies a chunk of valid records read from a bulk request body.
+   *
+   * @param <T> the type of the records
+   */
+  private interface ChunkWriter<T> {
+
+    /**
+     * Applies a chunk and counts its outcome.
+     *
+     * @param indexes the position of each record in the body
+     * @param chunk   the records
+     * @param summary the summary of the request
+     */
+    void write(List<Integer> indexes, List<T> chunk, BulkImportResponse summary);
+  }
+
+  /**
+   * Reads the records of a bulk request body and hands the valid ones over in chunks of {@link #bulkBatchSize}.
+   * A record the check throws a {@link WrongDateFormatException} for is rejected with its message.
+   *
+   * @param body   the request body
+   * @param type   the type of the records
+   * @param check  the check of each record bound and validated
+   * @param writer the writer applying each chunk
+   * @param <T>    the type of the records
+   * @return the summary of the request
+   * @throws IOException if the body cannot be read
+   */
+  private <T> BulkImportResponse applyInChunks(InputStream body, Class<T> type, Consumer<T> check,
+                                               ChunkWriter<T> writer) throws IOException {
+    BulkImportResponse summary = new BulkImportResponse();
+    List<Integer> indexes = new ArrayList<>();
+    List<T> chunk = new ArrayList<>();
+    recordStreamReader.read(body, type, new RecordStreamReader.Handler<>() {
+      @Override
+      public void accept(int index, T record) {
+        summary.setReceived(summary.getReceived() + 1);
+        try {
+          check.accept(record);
+        } catch (WrongDateFormatException e) {
+          summary.reject(index, e.getMessage());
+          return;
+        }
+        indexes.add(index);
+        chunk.add(record);
+        if (chunk.size() >= bulkBatchSize) {
+          flush();
+        }
+      }
+
+      @Override
+      public void reject(int index, String message) {
+        summary.setReceived(summary.getReceived() + 1);
+        summary.reject(index, message);
+      }
+
+      private void flush() {
+        writer.write(List.copyOf(indexes), List.copyOf(chunk), summary);
+        indexes.clear();
+        chunk.clear();
+      }
+    });
+    if (!chunk.isEmpty()) {
+      writer.write(List.copyOf(indexes), List.copyOf(chunk), summary);
+    }
+    return summary;
+  }
+
+  /**
+   * Checks that the birthdate of a medical record, parsed when it was set, is in AppConfiguration.DATE_FORMAT.
+   *
+   * @param medicalRecord the MedicalRecord object to check
+   * @throws WrongDateFormatException if the birthdate is missing or in another format
+   */
+  private void checkBirthdate(MedicalRecord medicalRecord) {
+    if (medicalRecord.getBirthEpochDay() == MedicalRecord.INVALID_BIRTHDATE) {
+      throw new WrongDateFormatException("birthdate [" + medicalRecord.getBirthdate() + "] of first name ["
+              + medicalRecord.getFirstName() + "] and last name [" + medicalRecord.getLastName()
+              + "] is not in the format " + AppConfiguration.DATE_FORMAT);
+    }
+  }
+
   /**
    * Checks if a medical record belongs to an adult based on the birthdate.
    *
@@ -86,7 +251,7 @@ public class MedicalRecordService {
    */
   public Boolean isAdult(MedicalRecord medicalRecord) {
     try {
-      int age = calculateAge(medicalRecord.getBirthdate());
+      int age = calculateAge(medicalRecord);
       return age >= AppConfiguration.AGE_ADULT;
     } catch (IllegalArgumentException e) {
       log.error("Invalid birthdate format for medical record: {}", medicalRecord, e);
@@ -94,6 +259,17 @@ public class MedicalRecordService {
     }
   }
 
+  /**
+   * Calculates the age of the person of a medical record.
+   * The birthdate parsed when the record was stored is used, no date is parsed here.
+   *
+   * @param medicalRecord the MedicalRecord object holding the birthdate
+   * @return the age in years
+   */
+  public int calculateAge(MedicalRecord medicalRecord) {
+    return calculateAge(medicalRecord.getBirthEpochDay());
+  }
+
   /**
    * Calculates the age based on the provided birthdate.
    *
@@ -101,13 +277,20 @@ public class MedicalRecordService {
    * @return the age in years
    */
   public int calculateAge(String birthdate) {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(AppConfiguration.DATE_FORMAT);
-    try {
-      LocalDate now = LocalDate.now();
-      return Period.between(LocalDate.parse(birthdate, formatter), now).getYears();
-    } catch (DateTimeParseException e) {
-      throw new IllegalArgumentException("Invalid birthdate format. Expected format is: "+ AppConfiguration.DATE_FORMAT, e);
+    return calculateAge(MedicalRecord.parseBirthdate(birthdate));
+  }
+
+  /**
+   * Calculates the age from a birthdate parsed into an epoch day.
+   *
+   * @param birthEpochDay the birthdate as a number of days since 1970-01-01
+   * @return the age in years
+   */
+  private int calculateAge(int birthEpochDay) {
+    if (birthEpochDay == MedicalRecord.INVALID_BIRTHDATE) {
+      throw new IllegalArgumentException("Invalid birthdate format. Expected format is: "+ AppConfiguration.DATE_FORMAT);
     }
+    return ageCalculator.age(birthEpochDay);
   }
 
 }
@@ -1,13 +1,22 @@
 package com.mr486.safetynet.service;
 
+import com.mr486.safetynet.dto.response.BulkImportError;
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.PersonSearch;
 import com.mr486.safetynet.exeption.EntityAlreadyExistsException;
 import com.mr486.safetynet.exeption.EntityNotFoundException;
 import com.mr486.safetynet.model.Person;
 import com.mr486.safetynet.repository.PersonRepository;
+import com.mr486.safetynet.tools.RecordStreamReader;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,6 +28,13 @@ import java.util.Optional;
 public class PersonService {
 
   private final PersonRepository personRepository;
+  private final RecordStreamReader recordStreamReader;
+
+  /**
+   * Number of persons saved together by a bulk import.
+   */
+  @Value("${person.bulk.batch-size:1000}")
+  int bulkBatchSize = 1000;
 
   /**
    * Retrieves a person by their first name and last name.
@@ -73,4 +89,65 @@ public class PersonService {
     }
     personRepository.delete(personSearch);
   }
+
+  /**
+   * Imports the persons of a JSON array or NDJSON body.
+   * The persons are read one at a time and inserted in batches, each batch being journaled and
+   * published at once. A person is rejected if it is malformed, invalid, already exists, or appears
+   * twice in the body; the other persons are saved. Whether a person already exists is decided by
+   * {@link PersonRepository#insertAll(List)} while no other mutation can be applied.
+   *
+   * @param body the request body
+   * @return the counts of the import and the reason of each rejection
+   * @throws IOException if the body cannot be read
+   */
+  public BulkImportResponse importPersons(InputStream body) throws IOException {
+    BulkImportResponse summary = new BulkImportResponse();
+    List<Integer> indexes = new ArrayList<>();
+    List<Person> batch = new ArrayList<>();
+    recordStreamReader.read(body, Person.class, new RecordStreamReader.Handler<>() {
+      @Override
+      public void accept(int index, Person person) {
+        summary.setReceived(summary.getReceived() + 1);
+        indexes.add(index);
+        batch.add(person);
+        if (batch.size() >= bulkBatchSize) {
+          flush(indexes, batch, summary);
+        }
+      }
+
+      @Override
+      public void reject(int index, String message) {
+        summary.setReceived(summary.getReceived() + 1);
+        summary.reject(index, message);
+      }
+    });
+    flush(indexes, batch, summary);
+    summary.getErrors().sort(Comparator.comparingInt(BulkImportError::getIndex));
+    return summary;
+  }
+
+  /**
+   * Inserts a batch of imported persons, rejects the ones already existing and starts the next batch.
+   *
+   * @param indexes the position of each person of the batch in the body
+   * @param batch   the persons of the batch
+   * @param summary the summary counting the inserted and rejected persons
+   */
+  private void flush(List<Integer> indexes, List<Person> batch, BulkImportResponse summary) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<Boolean> inserted = personRepository.insertAll(List.copyOf(batch));
+    for (int i = 0; i < batch.size(); i++) {
+      if (inserted.get(i)) {
+        summary.setInserted(summary.getInserted() + 1);
+      } else {
+        summary.reject(indexes.get(i), "Person with first name [" + batch.get(i).getFirstName()
+                + "] and last name [" + batch.get(i).getLastName() + "] already exists!");
+      }
+    }
+    indexes.clear();
+    batch.clear();
+  }
 }
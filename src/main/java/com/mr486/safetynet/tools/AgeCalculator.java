@@ -0,0 +1,132 @@
+package com.mr486.safetynet.tools;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Component computing ages from birthdates stored as epoch days.
+ * <p>
+ * For the current day, it keeps the epoch day of the same date 0 to {@value #MAX_AGE} years ago.
+ * A person born on or before the date k years ago is at least k years old, so an age is found
+ * by a binary search on these ints, with the same result as {@link Period#between}.
+ * The table is rebuilt by the first call after midnight, in the zone of the clock.
+ * </p>
+ */
+@Component
+public class AgeCalculator {
+
+  /**
+   * Oldest age computed with the table, older persons fall back to {@link Period}.
+   */
+  static final int MAX_AGE = 150;
+
+  private final Clock clock;
+  private volatile Today today;
+
+  /**
+   * Creates a calculator using the system clock in the default time zone.
+   */
+  public AgeCalculator() {
+    this(Clock.systemDefaultZone());
+  }
+
+  /**
+   * Creates a calculator using the given clock.
+   *
+   * @param clock the clock giving the current day
+   */
+  AgeCalculator(Clock clock) {
+    this.clock = clock;
+    this.today = Today.of(LocalDate.now(clock), clock);
+  }
+
+  /**
+   * Computes the age in years of a person born on the given day.
+   *
+   * @param birthEpochDay the birthdate as a number of days since 1970-01-01
+   * @return the age in years
+   */
+  public int age(int birthEpochDay) {
+    int[] yearsAgo = today().yearsAgo;
+    if (birthEpochDay > yearsAgo[0] || birthEpochDay < yearsAgo[MAX_AGE]) {
+      return Period.between(LocalDate.ofEpochDay(birthEpochDay), LocalDate.now(clock)).getYears();
+    }
+    // largest k such that yearsAgo[k] >= birthEpochDay, yearsAgo being decreasing
+    int low = 0;
+    int high = MAX_AGE;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (yearsAgo[middle] >= birthEpochDay) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the first day a person born on the given day reaches an age,
+   * the day after the 28th of February for a person born on the 29th when the year is not a leap year.
+   *
+   * @param birthEpochDay the birthdate as a number of days since 1970-01-01
+   * @param years         the age
+   * @return the first day the person is at least that old, as a number of days since 1970-01-01
+   */
+  public static int epochDayReachingAge(int birthEpochDay, int years) {
+    LocalDate birth = LocalDate.ofEpochDay(birthEpochDay);
+    LocalDate day = birth.plusYears(years);
+    return (int) (day.minusYears(years).isBefore(birth) ? day.plusDays(1) : day).toEpochDay();
+  }
+
+  /**
+   * Returns the current day.
+   *
+   * @return the current day as a number of days since 1970-01-01
+   */
+  public int todayEpochDay() {
+    return today().yearsAgo[0];
+  }
+
+  /**
+   * Returns the table of the current day, rebuilding it once midnight has passed.
+   *
+   * @return the table of the current day
+   */
+  private Today today() {
+    Today current = today;
+    if (clock.millis() >= current.nextMidnightMillis) {
+      current = Today.of(LocalDate.now(clock), clock);
+      today = current;
+    }
+    return current;
+  }
+
+  /**
+   * The table of a day.
+   *
+   * @param yearsAgo           the epoch day of the same date k years ago, at index k
+   * @param nextMidnightMillis the instant the day ends, in milliseconds since the epoch
+   */
+  private record Today(int[] yearsAgo, long nextMidnightMillis) {
+
+    /**
+     * Builds the table of a day.
+     *
+     * @param date  the day
+     * @param clock the clock whose zone defines midnight
+     * @return the table of the day
+     */
+    static Today of(LocalDate date, Clock clock) {
+      int[] yearsAgo = new int[MAX_AGE + 1];
+      for (int years = 0; years <= MAX_AGE; years++) {
+        yearsAgo[years] = (int) date.minusYears(years).toEpochDay();
+      }
+      long nextMidnightMillis = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+      return new Today(yearsAgo, nextMidnightMillis);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Component writing a {@link FireStationCoverage} as JSON one person at a time, without building the whole body.
+ * <p>
+ * The body has the same fields as the regular response, the persons first and the adult and child counts
+ * last, as a trailer. Only the buffer of the generator is held: once it is full, it is written to the stream,
+ * so the memory used does not grow with the number of persons.
+ * </p>
+ * The stream is flushed at the end but not closed, it belongs to the caller.
+ */
+@Component
+@RequiredArgsConstructor
+public class CoverageStreamWriter {
+
+  private final ObjectMapper mapper;
+
+  /**
+   * Writes a coverage to a stream.
+   *
+   * @param coverage the coverage to write
+   * @param out      the stream, typically the output stream of the response
+   * @throws IOException if the stream cannot be written
+   */
+  public void write(FireStationCoverage coverage, OutputStream out) throws IOException {
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("persons");
+      for (PersonInfo person : coverage.getPersons()) {
+        generator.writeStartObject();
+        generator.writeStringField("firstName", person.getFirstName());
+        generator.writeStringField("lastName", person.getLastName());
+        generator.writeStringField("address", person.getAddress());
+        generator.writeStringField("phone", person.getPhone());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeNumberField("adultCount", coverage.getAdultCount());
+      generator.writeNumberField("childCount", coverage.getChildCount());
+      generator.writeEndObject();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.mr486.safetynet.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Identity of the JSON file a snapshot was built on, recorded in the snapshot.
+ * <p>
+ * The content digest decides whether two files are the same base, so touching the file does not
+ * change its identity. The size and modification time only let {@link #matches(Path)} skip the digest
+ * when they are unchanged. A file modified less than {@value #RACY_MILLIS} ms before its identity is taken
+ * could be modified again without its time changing, so its time is not recorded and it is always digested.
+ * </p>
+ *
+ * @param size         the size of the file in bytes
+ * @param lastModified the modification time of the file in milliseconds, {@link #UNKNOWN_TIME} if not recorded
+ * @param digest       the SHA-256 of the content of the file, in hexadecimal
+ */
+public record DataFileIdentity(long size, long lastModified, String digest) {
+
+  /**
+   * Modification time recorded for a file whose time cannot be trusted.
+   */
+  public static final long UNKNOWN_TIME = -1;
+
+  /**
+   * Delay after a modification during which the modification time of a file is not trusted,
+   * covering the coarsest time granularity of the usual file systems.
+   */
+  static final long RACY_MILLIS = 2_000;
+
+  /**
+   * Computes the identity of a file. The size and time are read first, so a file changed while
+   * it is digested is never recorded with the time of its new content.
+   *
+   * @param file the file
+   * @return the identity of the file
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public static DataFileIdentity of(Path file) {
+    try {
+      long size = Files.size(file);
+      long lastModified = Files.getLastModifiedTime(file).toMillis();
+      if (System.currentTimeMillis() - lastModified < RACY_MILLIS) {
+        lastModified = UNKNOWN_TIME;
+      }
+      return new DataFileIdentity(size, lastModified, digest(file));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot identify data file:" + file + " message: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Checks whether a file still has this identity: same size and time, or else same content.
+   *
+   * @param file the file
+   * @return true if the file has the same content, false if it differs or cannot be read
+   */
+  public boolean matches(Path file) {
+    try {
+      if (Files.size(file) != size) {
+        return false;
+      }
+      return (lastModified != UNKNOWN_TIME && Files.getLastModifiedTime(file).toMillis() == lastModified)
+              || digest(file).equals(digest);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Computes the SHA-256 of the content of a file.
+   *
+   * @param file the file
+   * @return the digest in hexadecimal
+   * @throws IOException if the file cannot be read
+   */
+  private static String digest(Path file) throws IOException {
+    MessageDigest sha256;
+    try {
+      sha256 = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    byte[] buffer = new byte[1 << 16];
+    try (InputStream in = Files.newInputStream(file)) {
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        sha256.update(buffer, 0, read);
+      }
+    }
+    return HexFormat.of().formatHex(sha256.digest());
+  }
+}
@@ -0,0 +1,298 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.repository.DataSnapshot;
+import com.mr486.safetynet.repository.DataStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component responsible for loading the data file into the repositories.
+ * The three sections are built off to the side and published together
+ * through the {@link DataStore}, so requests never see a partially loaded data set.
+ * The mutations recorded in the {@link Journal} after the base data are replayed before publication.
+ * The time spent reading each section is kept so it can be reported.
+ * <p>
+ * Writing a snapshot drops the journal segments it includes, so once a snapshot exists it is the base:
+ * it records the identity of the JSON file it was built on and is used as long as that file is unchanged.
+ * The JSON file is parsed only when there is no snapshot yet. A snapshot that cannot be read is refused rather
+ * than replaying part of the journal on the JSON file. A JSON file changed since the snapshot was written
+ * becomes the new base when it is reloaded, since the change was detected on purpose; at startup it is refused
+ * unless rebasing on a changed JSON file is enabled, as nobody chose to drop the mutations of the snapshot.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataLoader {
+
+  private final JsonDataReader jsonDataReader;
+  private final SnapshotFile snapshotFile;
+  private final DataStore dataStore;
+  private final Journal journal;
+
+  /**
+   * Whether a snapshot is written after the data has been loaded from the JSON file.
+   */
+  @Value("${snapshot.write-after-load:true}")
+  boolean writeSnapshotAfterLoad;
+
+  /**
+   * Whether a JSON file changed since the snapshot was written becomes the new base at startup, discarding the
+   * mutations recorded since the previous one. When disabled, the application refuses to start on such a file.
+   * A reload always rebases.
+   */
+  @Value("${snapshot.rebase-on-json-change:false}")
+  boolean rebaseOnJsonChange;
+
+  /**
+   * Identity of the JSON file the current data is based on, null if unknown.
+   */
+  private volatile DataFileIdentity base;
+
+  /**
+   * Load time in milliseconds of each section of the last load, in file order.
+   */
+  private volatile Map<String, Long> loadTimes = Map.of();
+
+  /**
+   * Loads the data when the application starts.
+   * This method is called automatically after the bean is constructed.
+   */
+  @PostConstruct
+  void init() {
+    load();
+  }
+
+  /**
+   * Loads the data into the repositories, from the snapshot if one was written, otherwise from the JSON file.
+   * If the JSON file cannot be read, the repositories are left untouched.
+   *
+   * @throws IllegalStateException if the snapshot cannot be read, or the JSON file changed since it was
+   *                               written and rebasing is disabled: starting would lose the mutations it holds
+   */
+  public void load() {
+    if (snapshotFile.exists()) {
+      loadFromBase(rebaseOnJsonChange);
+      return;
+    }
+
+    try {
+      loadFromJsonAndJournal();
+    } catch (Exception e) {
+      log.error("❌ {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Loads the data again and publishes it in place of the current data, like {@link #load()} except that
+   * a JSON file changed since the snapshot was written always becomes the new base: reloading it is how a new
+   * data file is deployed. The data is read while the previous data keeps serving requests, then the journal is
+   * replayed on top of it and the three sections are swapped at once.
+   *
+   * @return the published snapshot
+   * @throws IllegalStateException if the snapshot cannot be read, the current data is then left untouched
+   * @throws RuntimeException      if the data cannot be read, the current data is then left untouched
+   */
+  public DataSnapshot reload() {
+    return snapshotFile.exists() ? loadFromBase(true) : loadFromJsonAndJournal();
+  }
+
+  /**
+   * Writes the current content of the repositories to the snapshot file and compacts the journal.
+   * <p>
+   * While no mutation can be recorded, the current snapshot is taken and the journal is rotated,
+   * so the snapshot and the closed segment describe the same point in time. A snapshot never changes,
+   * so it is then listed, encoded and written without holding the lock, and the segments it
+   * includes are deleted once it is on the disk.
+   * </p>
+   *
+   * @return the data written to the snapshot
+   * @throws RuntimeException if the snapshot cannot be written, the journal segments are then kept
+   */
+  public DataBinding writeSnapshot() {
+    long start = System.nanoTime();
+    Rotation rotation = journal.locked(() -> new Rotation(dataStore.current(), journal.rotate(), base));
+    DataSnapshot snapshot = rotation.snapshot();
+    DataBinding data = new DataBinding(
+            snapshot.getPersons().findAll(),
+            snapshot.getFireStations().findAll(),
+            snapshot.getMedicalRecords().findAll());
+    snapshotFile.write(data, rotation.journalSequence(), rotation.base());
+    int deleted = journal.deleteSegmentsUpTo(rotation.journalSequence());
+    log.warn("✅ Snapshot written in {} ms, journal sequence: {}, segments deleted: {}",
+            (System.nanoTime() - start) / 1_000_000, rotation.journalSequence(), deleted);
+    return data;
+  }
+
+  /**
+   * Returns the load time in milliseconds of each section of the last load.
+   *
+   * @return an unmodifiable view of the load times, keyed by section name
+   */
+  public Map<String, Long> getLoadTimes() {
+    return loadTimes;
+  }
+
+  /**
+   * Loads the snapshot and replays the journal recorded since, or rebases on a changed JSON file.
+   *
+   * @param rebase whether a changed JSON file becomes the new base, otherwise it is refused
+   * @return the published snapshot
+   * @throws IllegalStateException if the snapshot cannot be read, or the JSON file changed and rebase is false
+   */
+  private DataSnapshot loadFromBase(boolean rebase) {
+    Map<String, Long> times = new LinkedHashMap<>();
+    SnapshotCodec.Content content;
+    try {
+      content = loadFromSnapshot(times);
+    } catch (RuntimeException e) {
+      throw new IllegalStateException(e.getMessage() + ". The mutations compacted into the snapshot are not "
+              + "in the journal anymore: restore the snapshot, or delete it with the journal to start over "
+              + "from the JSON file", e);
+    }
+
+    Path dataFile = Path.of(jsonDataReader.getDataFilePath());
+    if (content.base() == null) {
+      log.warn("Snapshot without the identity of its JSON file, used as the base");
+    }
+    if (content.base() == null || !Files.exists(dataFile) || content.base().matches(dataFile)) {
+      return publish(content.data(), content.journalSequence(), content.base(), times);
+    }
+    if (!rebase) {
+      throw new IllegalStateException("JSON file:" + dataFile + " changed since the snapshot was written. "
+              + "Replaying the journal on it would lose the mutations compacted into the snapshot: restore the "
+              + "file, or set snapshot.rebase-on-json-change=true to rebase on it");
+    }
+    return rebase(dataFile, content.journalSequence(), times);
+  }
+
+  /**
+   * Parses the JSON file, replays the whole journal on it and writes a first snapshot if enabled.
+   * Only used while no snapshot exists, so the journal still holds every mutation.
+   *
+   * @return the published snapshot
+   * @throws RuntimeException if the JSON file cannot be read
+   */
+  private DataSnapshot loadFromJsonAndJournal() {
+    Map<String, Long> times = new LinkedHashMap<>();
+    DataFileIdentity identity = DataFileIdentity.of(Path.of(jsonDataReader.getDataFilePath()));
+    DataSnapshot snapshot = publish(loadFromJson(times), 0, identity, times);
+
+    if (writeSnapshotAfterLoad) {
+      try {
+        writeSnapshot();
+      } catch (Exception e) {
+        log.error("❌ {}", e.getMessage());
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Makes a changed JSON file the new base. The mutations recorded since the previous base, whether compacted
+   * into the snapshot or still in the journal, are discarded. The new snapshot is written before the data is
+   * published, so a restart never goes back to the previous base.
+   *
+   * @param dataFile         the JSON file
+   * @param snapshotSequence the sequence of the last journal entry included in the previous snapshot
+   * @param times            the map receiving the load times
+   * @return the published snapshot
+   * @throws RuntimeException if the JSON file cannot be read or the snapshot cannot be written,
+   *                          the current data is then left untouched
+   */
+  private DataSnapshot rebase(Path dataFile, long snapshotSequence, Map<String, Long> times) {
+    DataFileIdentity identity = DataFileIdentity.of(dataFile);
+    DataBinding data = loadFromJson(times);
+    return journal.locked(() -> {
+      int discarded = journal.replay(snapshotSequence).size();
+      long sequence = journal.getLastSequence();
+      snapshotFile.write(data, sequence, identity);
+      journal.deleteSegmentsUpTo(sequence);
+      log.warn("❌ Rebased on the changed JSON file:{}, discarding the mutations of the previous snapshot "
+              + "and {} journal entries", dataFile, discarded);
+      return publish(data, sequence, identity, times);
+    });
+  }
+
+  /**
+   * Reads the binary snapshot.
+   *
+   * @param times the map receiving the load time
+   * @return the content of the snapshot
+   */
+  private SnapshotCodec.Content loadFromSnapshot(Map<String, Long> times) {
+    log.warn("Data loading from snapshot file");
+    long start = System.nanoTime();
+    SnapshotCodec.Content content = snapshotFile.read();
+    times.put("snapshot", (System.nanoTime() - start) / 1_000_000);
+    return content;
+  }
+
+  /**
+   * Streams the JSON file once.
+   * Records go straight from the parser into the lists later published,
+   * so no second copy of the data is built and nothing is visible before the whole file is read.
+   *
+   * @param times the map receiving the load time of each section
+   * @return the data read from the JSON file
+   */
+  private DataBinding loadFromJson(Map<String, Long> times) {
+    log.warn("Data loading from json file");
+    DataBinding data = new DataBinding();
+    times.putAll(jsonDataReader.streamData(
+            data.getPersons()::add,
+            data.getFirestations()::add,
+            data.getMedicalrecords()::add));
+    return data;
+  }
+
+  /**
+   * Replays the journal on the data and publishes the three sections at once.
+   * No mutation can be recorded in between, so none is lost or applied twice.
+   *
+   * @param data            the base data
+   * @param journalSequence the sequence of the last journal entry already included in the base data
+   * @param identity        the identity of the JSON file the base data comes from, null if unknown
+   * @param times           the load times of the data
+   * @return the published snapshot
+   */
+  private DataSnapshot publish(DataBinding data, long journalSequence, DataFileIdentity identity,
+                               Map<String, Long> times) {
+    DataSnapshot snapshot = journal.locked(() -> {
+      long start = System.nanoTime();
+      List<JournalEntry> entries = journal.replay(journalSequence);
+      entries.forEach(entry -> entry.applyTo(data));
+      times.put("journal", (System.nanoTime() - start) / 1_000_000);
+      log.warn("✅ Journal replayed successfully, count: {}", entries.size());
+      base = identity;
+      return dataStore.publish(data.getPersons(), data.getFirestations(), data.getMedicalrecords());
+    });
+    loadTimes = Collections.unmodifiableMap(times);
+    log.warn("✅ Persons data loaded successfully, count: {}", data.getPersons().size());
+    log.warn("✅ Fire stations data loaded successfully, count: {}", data.getFirestations().size());
+    log.warn("✅ MedicalRecords data loaded successfully, count: {}", data.getMedicalrecords().size());
+    log.warn("Data load times (ms): {}", times);
+    return snapshot;
+  }
+
+  /**
+   * The snapshot taken when the journal was rotated.
+   *
+   * @param snapshot        the snapshot published at the rotation
+   * @param journalSequence the sequence of the last journal entry included in the snapshot
+   * @param base            the identity of the JSON file the snapshot is based on
+   */
+  private record Rotation(DataSnapshot snapshot, long journalSequence, DataFileIdentity base) {
+  }
+}
@@ -0,0 +1,219 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.repository.DataSnapshot;
+import com.mr486.safetynet.repository.DataStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Component watching the JSON file and reloading the data when it changes.
+ * <p>
+ * A daemon thread waits for file system events on the directory of the JSON file. Once the file
+ * has stopped changing for the configured delay, it is parsed on that thread while the previous
+ * data keeps serving requests, then published in one swap by the {@link DataLoader}.
+ * Once a snapshot was written, a file whose content changed becomes the new base,
+ * and a file only touched reloads the snapshot.
+ * </p>
+ * The reload duration, the reload failures and the record counts are exposed as metrics.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataReloader {
+
+  /**
+   * Name of the timer measuring the reloads.
+   */
+  public static final String RELOAD_TIMER = "safetynet.data.reload";
+
+  /**
+   * Name of the counter of failed reloads.
+   */
+  public static final String RELOAD_FAILURES = "safetynet.data.reload.failures";
+
+  /**
+   * Name of the gauges reporting the number of records of each section.
+   */
+  public static final String RECORDS_GAUGE = "safetynet.data.records";
+
+  private final DataLoader dataLoader;
+  private final JsonDataReader jsonDataReader;
+  private final DataStore dataStore;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Whether the JSON file is watched for changes.
+   */
+  @Value("${json.file.watch:false}")
+  boolean watch;
+
+  /**
+   * Time in milliseconds the JSON file must stay unchanged before it is reloaded.
+   */
+  @Value("${json.file.watch-delay-ms:500}")
+  long watchDelayMs;
+
+  private Timer reloadTimer;
+  private Counter reloadFailures;
+  private WatchService watchService;
+  private Thread watcher;
+
+  /**
+   * Registers the metrics and starts watching the JSON file when enabled.
+   * This method is called automatically after the bean is constructed.
+   */
+  @PostConstruct
+  void init() {
+    reloadTimer = Timer.builder(RELOAD_TIMER)
+            .description("Time spent reloading the JSON file")
+            .register(meterRegistry);
+    reloadFailures = Counter.builder(RELOAD_FAILURES)
+            .description("Number of reloads of the JSON file that failed")
+            .register(meterRegistry);
+    registerRecordsGauge(JsonDataReader.PERSONS, snapshot -> snapshot.getPersons().size());
+    registerRecordsGauge(JsonDataReader.FIRE_STATIONS, snapshot -> snapshot.getFireStations().size());
+    registerRecordsGauge(JsonDataReader.MEDICAL_RECORDS, snapshot -> snapshot.getMedicalRecords().size());
+
+    if (watch) {
+      try {
+        start();
+      } catch (IOException e) {
+        log.error("❌ Cannot watch json file:{} message: {}", jsonDataReader.getDataFilePath(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Reloads the JSON file and records the outcome in the metrics.
+   * A failed reload leaves the current data untouched and is logged with its cause.
+   *
+   * @return true if the data was reloaded, false otherwise
+   */
+  public boolean reload() {
+    long start = System.nanoTime();
+    try {
+      DataSnapshot snapshot = dataLoader.reload();
+      long duration = System.nanoTime() - start;
+      reloadTimer.record(duration, TimeUnit.NANOSECONDS);
+      log.warn("✅ Data reloaded in {} ms, version: {}", duration / 1_000_000, snapshot.getVersion());
+      return true;
+    } catch (Exception e) {
+      reloadFailures.increment();
+      log.error("❌ Reload of json file:{} failed, the current data is kept: {}",
+              jsonDataReader.getDataFilePath(), e.getMessage(), e);
+      return false;
+    }
+  }
+
+  /**
+   * Starts the thread watching the directory of the JSON file.
+   *
+   * @throws IOException if the directory cannot be watched
+   */
+  void start() throws IOException {
+    Path dataFile = Path.of(jsonDataReader.getDataFilePath()).toAbsolutePath();
+    watchService = FileSystems.getDefault().newWatchService();
+    dataFile.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+    watcher = new Thread(() -> watch(dataFile), "json-file-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+    log.warn("✅ Watching json file: {}", dataFile);
+  }
+
+  /**
+   * Stops watching the JSON file.
+   * This method is called automatically when the application shuts down.
+   */
+  @PreDestroy
+  void stop() {
+    if (watchService == null) {
+      return;
+    }
+    try {
+      watchService.close();
+      watcher.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (IOException e) {
+      log.error("❌ {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits for changes of the JSON file and reloads it once it has stopped changing,
+   * so a file written in several chunks is parsed only once and complete.
+   *
+   * @param dataFile the JSON file
+   */
+  private void watch(Path dataFile) {
+    try {
+      while (true) {
+        if (!isDataFileEvent(watchService.take(), dataFile)) {
+          continue;
+        }
+        WatchKey next;
+        while ((next = watchService.poll(watchDelayMs, TimeUnit.MILLISECONDS)) != null) {
+          isDataFileEvent(next, dataFile);
+        }
+        if (Files.isRegularFile(dataFile)) {
+          reload();
+        }
+      }
+    } catch (ClosedWatchServiceException | InterruptedException e) {
+      log.warn("Json file watcher stopped");
+    }
+  }
+
+  /**
+   * Consumes the events of a watch key and resets it.
+   *
+   * @param key      the signalled key
+   * @param dataFile the JSON file
+   * @return true if one of the events concerns the JSON file, false otherwise
+   */
+  private static boolean isDataFileEvent(WatchKey key, Path dataFile) {
+    boolean dataFileChanged = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (dataFile.getFileName().equals(event.context())) {
+        dataFileChanged = true;
+      }
+    }
+    key.reset();
+    return dataFileChanged;
+  }
+
+  /**
+   * Registers the gauge reporting the number of records of a section of the current snapshot.
+   *
+   * @param section the name of the section
+   * @param count   the function counting the records of the section
+   */
+  private void registerRecordsGauge(String section, ToDoubleFunction<DataSnapshot> count) {
+    Gauge.builder(RECORDS_GAUGE, dataStore, store -> count.applyAsDouble(store.current()))
+            .description("Number of records currently loaded")
+            .tag("section", section)
+            .register(meterRegistry);
+  }
+}
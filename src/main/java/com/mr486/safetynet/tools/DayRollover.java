@@ -0,0 +1,90 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.repository.DataStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component moving the views of the published snapshot to the new day after midnight.
+ * The move is a write like any mutation, done on a dedicated thread, so a request only ever reads
+ * the snapshot it pinned: its body and its version come from the same snapshot, even at midnight.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DayRollover {
+
+  private final DataStore dataStore;
+
+  /**
+   * Whether the views are moved to the new day in the background.
+   */
+  @Value("${views.roll-over.enabled:true}")
+  boolean enabled;
+
+  /**
+   * Interval in milliseconds between two checks of the day, bounding how long after midnight
+   * the views are still on the previous day.
+   */
+  @Value("${views.roll-over.check-interval-ms:1000}")
+  long checkIntervalMs;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Starts checking the day when enabled.
+   * This method is called automatically after the bean is constructed.
+   */
+  @PostConstruct
+  void init() {
+    if (!enabled) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "day-rollover");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::rollOverIfNeeded, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background roll over.
+   * This method is called automatically when the application shuts down.
+   */
+  @PreDestroy
+  void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Publishes the snapshot moved to the current day if its views are still on another day.
+   *
+   * @return true if a snapshot was published, false otherwise
+   */
+  public boolean rollOverIfNeeded() {
+    try {
+      int previousDay = dataStore.current().getCoverage().getDay();
+      int day = dataStore.rollOver().getCoverage().getDay();
+      if (day == previousDay) {
+        return false;
+      }
+      log.info("✅ Views moved to {}", LocalDate.ofEpochDay(day));
+      return true;
+    } catch (Exception e) {
+      log.error("❌ {}", e.getMessage());
+      return false;
+    }
+  }
+}
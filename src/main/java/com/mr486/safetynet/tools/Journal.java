@@ -0,0 +1,776 @@
+package com.mr486.safetynet.tools;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the mutations made through the repositories.
+ * <p>
+ * Every save, update and delete is appended to the journal file before it is applied in memory,
+ * both under the same lock so the order of the journal is the order of the mutations. If the mutation
+ * then fails in memory, its frames are removed before the lock is released, so the journal only
+ * holds what the data holds.
+ * On boot the entries are replayed on top of the JSON file or the snapshot.
+ * </p>
+ * <p>
+ * Frame layout: body length, body (sequence number then the entry), CRC32 of the body.
+ * A frame that is incomplete or fails its checksum marks the end of the journal: it is the
+ * trace of a crash during a write and is truncated before new entries are appended.
+ * </p>
+ * <p>
+ * Compaction rotates the active file into a segment named after its last sequence, writes a
+ * snapshot including it, then deletes the segment, so replay only reads what was recorded since.
+ * </p>
+ * The fsync policy is configurable: after every entry, once per group of concurrent entries,
+ * at a fixed interval, or left to the system.
+ * <p>
+ * With group commit, a writer appends its frame under the lock, then waits outside of it until
+ * its frame is on the disk. The first waiter becomes the leader: it lets the batch grow until
+ * every writer in progress has appended, the configured window elapses or the byte budget is
+ * reached, then forces the file once for every frame written so far, while the next writers keep
+ * appending. A lone writer does not wait for the window. The mutations of a batch are visible before
+ * it is forced, so if the fsync fails they cannot be taken back: the writers of the batch get the error,
+ * and the journal refuses every later write until the application is restarted on what the disk holds.
+ * </p>
+ * Every wait goes through {@link ReentrantLock} and its conditions, never through a monitor, so a writer
+ * running on a virtual thread unmounts from its carrier while it waits for the lock or for its fsync.
+ */
+@Slf4j
+@Component
+public class Journal {
+
+  /**
+   * When the journal file is forced to the disk.
+   */
+  public enum FsyncPolicy {
+    /**
+     * After every entry, before the mutation is acknowledged.
+     */
+    ALWAYS,
+    /**
+     * Once per group of concurrent entries, before the mutations are acknowledged.
+     */
+    GROUP,
+    /**
+     * At a fixed interval, a crash may lose the entries of the last interval.
+     */
+    INTERVAL,
+    /**
+     * Left to the operating system.
+     */
+    NEVER
+  }
+
+  /**
+   * Upper bound of the body of a frame, anything larger is treated as corruption.
+   */
+  static final int MAX_FRAME_LENGTH = 16 << 20;
+
+  /**
+   * Whether mutations are journaled.
+   */
+  @Value("${journal.enabled:true}")
+  boolean enabled;
+
+  /**
+   * The path to the journal file, injected from application properties.
+   */
+  @Value("${journal.file.path:data/data.journal}")
+  String journalFilePath;
+
+  /**
+   * When the journal file is forced to the disk.
+   */
+  @Value("${journal.fsync:always}")
+  FsyncPolicy fsync = FsyncPolicy.ALWAYS;
+
+  /**
+   * Interval in milliseconds between two fsyncs with the {@link FsyncPolicy#INTERVAL} policy.
+   */
+  @Value("${journal.fsync-interval-ms:1000}")
+  long fsyncIntervalMs;
+
+  /**
+   * Time in microseconds a group commit waits for more entries before forcing the file.
+   */
+  @Value("${journal.group-commit.window-micros:200}")
+  long groupCommitWindowMicros;
+
+  /**
+   * Number of bytes written that triggers a group commit before the end of the window.
+   */
+  @Value("${journal.group-commit.max-bytes:65536}")
+  long groupCommitMaxBytes = 65536;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile FileChannel channel;
+  private volatile long lastSequence;
+  private volatile boolean dirty;
+  private ScheduledExecutorService syncer;
+
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private final Condition synced = syncLock.newCondition();
+  private final Condition batchFull = syncLock.newCondition();
+  private long durableSequence;
+  private long failedSequence;
+  private String failure;
+  private volatile String syncFailure;
+  private boolean flushing;
+  private long pendingBytes;
+  private int pendingWriters;
+  private final AtomicInteger activeWriters = new AtomicInteger();
+  private final AtomicLong syncCount = new AtomicLong();
+
+  /**
+   * Starts the periodic fsync when the {@link FsyncPolicy#INTERVAL} policy is used.
+   * This method is called automatically after the bean is constructed.
+   */
+  @PostConstruct
+  void init() {
+    if (enabled && fsync == FsyncPolicy.INTERVAL) {
+      syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-fsync");
+        thread.setDaemon(true);
+        return thread;
+      });
+      syncer.scheduleWithFixedDelay(this::syncIfDirty, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Appends the entry to the journal, then applies the mutation in memory.
+   * If the entry cannot be written, the mutation is not applied; if the mutation fails, the entry is removed.
+   * With group commit, the method returns once the batch holding the entry is on the disk;
+   * the mutation is visible to other requests slightly before.
+   *
+   * @param entry    the entry describing the mutation
+   * @param mutation the in-memory mutation
+   * @throws RuntimeException if the journal file cannot be written or forced, or a previous fsync failed
+   */
+  public void record(JournalEntry entry, Runnable mutation) {
+    recordAll(List.of(entry), mutation);
+  }
+
+  /**
+   * Appends several entries to the journal in a single write, then applies the mutation applying them all in memory.
+   * If the entries cannot be written, none is kept and the mutation is not applied; if the mutation fails,
+   * they are all removed.
+   * A crash during the write may leave the first entries of the batch in the journal: the
+   * entries must be independent, so replaying a prefix of them is correct.
+   * With group commit, the method returns once the last entry is on the disk.
+   *
+   * @param entries  the entries describing the mutations, in order
+   * @param mutation the in-memory mutation
+   * @throws RuntimeException if the journal file cannot be written or forced, or a previous fsync failed
+   */
+  public void recordAll(List<JournalEntry> entries, Runnable mutation) {
+    recordAll(() -> entries, mutation);
+  }
+
+  /**
+   * Like {@link #recordAll(List, Runnable)}, with entries planned while no other mutation can be recorded.
+   * The planner runs just before the entries are written and the mutation applied, so it can decide
+   * the entries from the data the mutation will apply to, for instance whether a record is inserted or updated.
+   *
+   * @param planner  the planner returning the entries describing the mutations, in order
+   * @param mutation the in-memory mutation
+   * @throws RuntimeException if the journal file cannot be written or forced, or a previous fsync failed
+   */
+  public void recordAll(Supplier<List<JournalEntry>> planner, Runnable mutation) {
+    boolean groupCommit = enabled && fsync == FsyncPolicy.GROUP;
+    if (groupCommit) {
+      activeWriters.incrementAndGet();
+    }
+    try {
+      long sequence = 0;
+      lock.lock();
+      try {
+        if (syncFailure != null) {
+          throw new RuntimeException("Journal file:" + journalFilePath
+                  + " could not be forced, writes are refused until restart. message: " + syncFailure);
+        }
+        List<JournalEntry> entries = planner.get();
+        long position = -1;
+        if (enabled && !entries.isEmpty()) {
+          position = append(entries);
+          sequence = lastSequence;
+        }
+        try {
+          mutation.run();
+        } catch (RuntimeException | Error e) {
+          if (position >= 0) {
+            abort(position);
+          }
+          throw e;
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (groupCommit && sequence > 0) {
+        awaitDurable(sequence);
+      }
+    } finally {
+      if (groupCommit) {
+        activeWriters.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Runs the action while no mutation can be recorded, to read the data and the journal
+   * position at the same point.
+   *
+   * @param action the action to run
+   * @param <T>    the type of the result
+   * @return the result of the action
+   */
+  public <T> T locked(Supplier<T> action) {
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads the entries recorded after the given sequence number and prepares the journal for appending.
+   * A damaged tail is truncated.
+   *
+   * @param afterSequence the sequence of the last entry already included in the base data
+   * @return the entries to replay, in order
+   * @throws RuntimeException if the journal file cannot be read
+   */
+  public List<JournalEntry> replay(long afterSequence) {
+    lock.lock();
+    try {
+      if (!enabled) {
+        return List.of();
+      }
+      return scan(afterSequence);
+    } catch (IOException e) {
+      throw new RuntimeException("Error reading journal file:" + journalFilePath + " message: " + e.getMessage());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the sequence number of the last entry recorded.
+   *
+   * @return the last sequence number, 0 if nothing was recorded
+   */
+  public long getLastSequence() {
+    return locked(() -> lastSequence);
+  }
+
+  /**
+   * Closes the active journal file as a segment and starts a new one, so the entries recorded
+   * up to now can be dropped once a snapshot including them is written.
+   * Must be called from {@link #locked(Supplier)}, together with the read of the data.
+   *
+   * @return the sequence of the last entry of the closed segment
+   * @throws RuntimeException if the journal file cannot be rotated
+   */
+  public long rotate() {
+    lock.lock();
+    syncLock.lock();
+    try {
+      if (!enabled || channel == null || channel.size() == 0) {
+        return lastSequence;
+      }
+      while (flushing) {
+        synced.awaitUninterruptibly();
+      }
+      force();
+      channel.close();
+      channel = null;
+      durableSequence = Math.max(durableSequence, lastSequence);
+      synced.signalAll();
+      Path path = Path.of(journalFilePath).toAbsolutePath();
+      Files.move(path, path.resolveSibling(path.getFileName() + "." + lastSequence), StandardCopyOption.ATOMIC_MOVE);
+      channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      return lastSequence;
+    } catch (IOException e) {
+      throw new RuntimeException("Error rotating journal file:" + journalFilePath + " message: " + e.getMessage());
+    } finally {
+      syncLock.unlock();
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Deletes the rotated segments whose entries are all included in a snapshot.
+   *
+   * @param sequence the sequence of the last entry included in the snapshot
+   * @return the number of segments deleted
+   */
+  public int deleteSegmentsUpTo(long sequence) {
+    if (!enabled) {
+      return 0;
+    }
+    int deleted = 0;
+    try {
+      for (Map.Entry<Long, Path> segment : segments().headMap(sequence + 1).entrySet()) {
+        Files.deleteIfExists(segment.getValue());
+        deleted++;
+      }
+    } catch (IOException e) {
+      log.error("❌ Error deleting journal segments:{} message: {}", journalFilePath, e.getMessage());
+    }
+    return deleted;
+  }
+
+  /**
+   * Returns the size of the active journal file, the part replayed on top of the last snapshot.
+   *
+   * @return the size in bytes, 0 if the file is not open
+   */
+  public long getActiveSize() {
+    try {
+      FileChannel current = channel;
+      return current == null ? 0 : current.size();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Forces and closes the journal file.
+   * This method is called automatically when the application shuts down.
+   */
+  @PreDestroy
+  void close() {
+    if (syncer != null) {
+      syncer.shutdownNow();
+    }
+    lock.lock();
+    try {
+      if (channel != null) {
+        channel.force(false);
+        channel.close();
+        channel = null;
+      }
+    } catch (IOException e) {
+      log.error("❌ Error closing journal file:{} message: {}", journalFilePath, e.getMessage());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of times the journal file was forced to the disk.
+   *
+   * @return the number of fsyncs since startup
+   */
+  long getSyncCount() {
+    return syncCount.get();
+  }
+
+  /**
+   * Writes the frames of some entries at the end of the journal, in a single write.
+   *
+   * @param entries the entries to write
+   * @return the position the frames were written at
+   * @throws RuntimeException if the frames cannot be written, the journal is then left as before
+   */
+  private long append(List<JournalEntry> entries) {
+    long position = -1;
+    try {
+      if (channel == null) {
+        scan(Long.MAX_VALUE);
+      }
+      ByteBuffer frames = encode(lastSequence + 1, entries);
+      position = channel.position();
+      while (frames.hasRemaining()) {
+        channel.write(frames);
+      }
+      if (fsync == FsyncPolicy.ALWAYS) {
+        force();
+      } else {
+        dirty = true;
+      }
+      lastSequence += entries.size();
+      if (fsync == FsyncPolicy.GROUP) {
+        addPendingBytes(channel.position() - position);
+      }
+      return position;
+    } catch (IOException e) {
+      discardFrom(position);
+      throw new RuntimeException("Error writing journal file:" + journalFilePath + " message: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Removes the frames of a mutation that failed in memory, so a replay never applies what the data never held.
+   * The file is forced again if the frames may already be on the disk. Their sequence numbers are not reused,
+   * since a group commit may already count them as durable.
+   *
+   * @param position the position the frames were written at
+   */
+  private void abort(long position) {
+    discardFrom(position);
+    if (fsync == FsyncPolicy.ALWAYS || fsync == FsyncPolicy.GROUP) {
+      try {
+        force();
+      } catch (IOException e) {
+        refuseWrites(e);
+      }
+    }
+  }
+
+  /**
+   * Counts the frames waiting for the next group commit and wakes the leader when the batch is complete.
+   *
+   * @param bytes the size of the frame written
+   */
+  private void addPendingBytes(long bytes) {
+    syncLock.lock();
+    try {
+      pendingBytes += bytes;
+      pendingWriters++;
+      if (isBatchComplete()) {
+        batchFull.signal();
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  /**
+   * Waits until the entry with the given sequence is on the disk, forcing the file if no other
+   * writer is already doing it.
+   *
+   * @param sequence the sequence of the entry
+   * @throws RuntimeException if the file cannot be forced or the thread is interrupted
+   */
+  private void awaitDurable(long sequence) {
+    syncLock.lock();
+    try {
+      while (durableSequence < sequence) {
+        if (failedSequence >= sequence) {
+          throw new RuntimeException("Error writing journal file:" + journalFilePath + " message: " + failure);
+        }
+        if (flushing) {
+          synced.await();
+          continue;
+        }
+        flushing = true;
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(groupCommitWindowMicros);
+        long remaining;
+        while (!isBatchComplete() && (remaining = deadline - System.nanoTime()) > 0) {
+          batchFull.awaitNanos(remaining);
+        }
+        long target = lastSequence;
+        pendingBytes = 0;
+        pendingWriters = 0;
+        IOException error = null;
+        syncLock.unlock();
+        try {
+          force();
+        } catch (IOException e) {
+          error = e;
+        } finally {
+          syncLock.lock();
+          flushing = false;
+        }
+        if (error == null) {
+          durableSequence = Math.max(durableSequence, target);
+        } else {
+          failedSequence = Math.max(failedSequence, target);
+          failure = error.getMessage();
+          refuseWrites(error);
+        }
+        synced.signalAll();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Error writing journal file:" + journalFilePath + " message: interrupted");
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  /**
+   * Forces the journal file to the disk.
+   *
+   * @throws IOException if the file cannot be forced
+   */
+  void force() throws IOException {
+    channel.force(false);
+    syncCount.incrementAndGet();
+  }
+
+  /**
+   * Refuses every later write after an fsync failure: mutations already visible in memory may not be on the disk,
+   * so acknowledging more writes on top of them would only add to what a restart loses.
+   *
+   * @param error the fsync failure
+   */
+  private void refuseWrites(IOException error) {
+    if (syncFailure == null) {
+      syncFailure = error.getMessage();
+      log.error("❌ Error syncing journal file:{}, writes are refused until restart. message: {}",
+              journalFilePath, error.getMessage());
+    }
+  }
+
+  /**
+   * Checks whether the leader can stop waiting for more frames. Called with the sync lock held.
+   *
+   * @return true if the byte budget is reached or every writer in progress has appended its frame
+   */
+  private boolean isBatchComplete() {
+    return pendingBytes >= groupCommitMaxBytes || pendingWriters >= activeWriters.get();
+  }
+
+  /**
+   * Removes a partially written frame so the next one is appended right after the last valid frame.
+   *
+   * @param position the end of the last valid frame, negative if nothing was written
+   */
+  private void discardFrom(long position) {
+    if (position < 0) {
+      return;
+    }
+    try {
+      channel.truncate(position);
+      channel.position(position);
+    } catch (IOException e) {
+      log.error("❌ Cannot truncate journal file:{} message: {}", journalFilePath, e.getMessage());
+    }
+  }
+
+  /**
+   * Reads the rotated segments and the active journal file, truncates a damaged tail of the
+   * active file and opens it for appending.
+   * Segments holding only entries up to the given sequence are not read.
+   *
+   * @param afterSequence the entries up to this sequence are skipped
+   * @return the entries recorded after the given sequence
+   * @throws IOException if a file cannot be read
+   */
+  private List<JournalEntry> scan(long afterSequence) throws IOException {
+    Path path = Path.of(journalFilePath).toAbsolutePath();
+    Files.createDirectories(path.getParent());
+    List<JournalEntry> entries = new ArrayList<>();
+    long highestSequence = afterSequence == Long.MAX_VALUE ? 0 : afterSequence;
+
+    for (Map.Entry<Long, Path> segment : segments().entrySet()) {
+      highestSequence = Math.max(highestSequence, segment.getKey());
+      if (segment.getKey() > afterSequence) {
+        ScanResult result = readFrames(segment.getValue(), afterSequence, entries);
+        if (result.validLength() < Files.size(segment.getValue())) {
+          log.warn("❌ Journal segment:{} damaged after {} valid bytes", segment.getValue(), result.validLength());
+        }
+      }
+    }
+
+    ScanResult result = Files.exists(path) ? readFrames(path, afterSequence, entries) : new ScanResult(0, 0);
+    highestSequence = Math.max(highestSequence, result.highestSequence());
+    if (channel == null) {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+    if (channel.size() > result.validLength()) {
+      log.warn("❌ Journal file:{} truncated after {} valid bytes", journalFilePath, result.validLength());
+      channel.truncate(result.validLength());
+    }
+    channel.position(result.validLength());
+    lastSequence = Math.max(lastSequence, highestSequence);
+    return entries;
+  }
+
+  /**
+   * Reads the valid frames of a journal file, up to the first incomplete or corrupted one.
+   *
+   * @param path          the file to read
+   * @param afterSequence the entries up to this sequence are skipped
+   * @param entries       the list receiving the entries recorded after the given sequence
+   * @return the length of the valid frames and the highest sequence read
+   * @throws IOException if the file cannot be read
+   */
+  private static ScanResult readFrames(Path path, long afterSequence, List<JournalEntry> entries) throws IOException {
+    long validLength = 0;
+    long highestSequence = 0;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+      while (true) {
+        int length;
+        try {
+          length = in.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        if (length <= Long.BYTES || length > MAX_FRAME_LENGTH) {
+          break;
+        }
+        byte[] body = new byte[length];
+        int crc;
+        try {
+          in.readFully(body);
+          crc = in.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        if (crc != checksum(body)) {
+          break;
+        }
+        DataInputStream bodyIn = new DataInputStream(new ByteArrayInputStream(body));
+        long sequence = bodyIn.readLong();
+        JournalEntry entry;
+        try {
+          entry = JournalEntry.read(bodyIn);
+        } catch (IOException e) {
+          break;
+        }
+        if (sequence > afterSequence) {
+          entries.add(entry);
+        }
+        highestSequence = Math.max(highestSequence, sequence);
+        validLength += Integer.BYTES + length + Integer.BYTES;
+      }
+    }
+    return new ScanResult(validLength, highestSequence);
+  }
+
+  /**
+   * Lists the rotated segments next to the active journal file.
+   * A segment is named after the active file followed by the sequence of its last entry.
+   *
+   * @return the segments, keyed and ordered by the sequence of their last entry
+   * @throws IOException if the directory cannot be listed
+   */
+  private SortedMap<Long, Path> segments() throws IOException {
+    Path path = Path.of(journalFilePath).toAbsolutePath();
+    String prefix = path.getFileName() + ".";
+    SortedMap<Long, Path> segments = new TreeMap<>();
+    try (Stream<Path> files = Files.list(path.getParent())) {
+      files.forEach(file -> {
+        String name = file.getFileName().toString();
+        if (name.startsWith(prefix) && name.length() > prefix.length()
+                && name.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+          segments.put(Long.parseLong(name.substring(prefix.length())), file);
+        }
+      });
+    }
+    return segments;
+  }
+
+  /**
+   * Length of the valid frames of a journal file and the highest sequence they hold.
+   *
+   * @param validLength     the length in bytes of the valid frames
+   * @param highestSequence the highest sequence read, 0 if none
+   */
+  private record ScanResult(long validLength, long highestSequence) {
+  }
+
+  /**
+   * Encodes an entry into a frame.
+   *
+   * @param sequence the sequence number of the entry
+   * @param entry    the entry to encode
+   * @return the frame, ready to be written
+   * @throws IOException if the entry cannot be encoded
+   */
+  static ByteBuffer encode(long sequence, JournalEntry entry) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeLong(sequence);
+    entry.write(out);
+    out.flush();
+    byte[] body = bytes.toByteArray();
+    return ByteBuffer.allocate(Integer.BYTES + body.length + Integer.BYTES)
+            .putInt(body.length)
+            .put(body)
+            .putInt(checksum(body))
+            .flip();
+  }
+
+  /**
+   * Encodes consecutive entries into frames, one after the other.
+   *
+   * @param firstSequence the sequence number of the first entry
+   * @param entries       the entries to encode
+   * @return the frames, ready to be written
+   * @throws IOException if an entry cannot be encoded
+   */
+  static ByteBuffer encode(long firstSequence, List<JournalEntry> entries) throws IOException {
+    if (entries.size() == 1) {
+      return encode(firstSequence, entries.get(0));
+    }
+    List<ByteBuffer> frames = new ArrayList<>(entries.size());
+    int length = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      ByteBuffer frame = encode(firstSequence + i, entries.get(i));
+      frames.add(frame);
+      length += frame.remaining();
+    }
+    ByteBuffer all = ByteBuffer.allocate(length);
+    frames.forEach(all::put);
+    return all.flip();
+  }
+
+  /**
+   * Computes the CRC32 of a frame body.
+   *
+   * @param body the body of the frame
+   * @return the checksum, truncated to an int
+   */
+  private static int checksum(byte[] body) {
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Forces the journal file to the disk if entries were appended since the last fsync.
+   */
+  private void syncIfDirty() {
+    if (!dirty) {
+      return;
+    }
+    dirty = false;
+    try {
+      FileChannel current = channel;
+      if (current != null) {
+        current.force(false);
+        syncCount.incrementAndGet();
+      }
+    } catch (IOException e) {
+      dirty = true;
+      log.error("❌ Error syncing journal file:{} message: {}", journalFilePath, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.mr486.safetynet.tools;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component compacting the journal in the background.
+ * When the active journal file grows past the configured size, a new snapshot is written by the
+ * {@link DataLoader} and the journal entries it includes are deleted, so the replay on restart
+ * stays bounded however long the application has been running.
+ * The work is done on a dedicated thread, request threads are only held while the data is copied.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JournalCompactor {
+
+  private final DataLoader dataLoader;
+  private final Journal journal;
+
+  /**
+   * Whether the journal is compacted in the background.
+   */
+  @Value("${journal.compaction.enabled:true}")
+  boolean enabled;
+
+  /**
+   * Size in bytes of the active journal file that triggers a compaction.
+   */
+  @Value("${journal.compaction.max-bytes:67108864}")
+  long maxBytes;
+
+  /**
+   * Interval in milliseconds between two checks of the journal size.
+   */
+  @Value("${journal.compaction.check-interval-ms:10000}")
+  long checkIntervalMs;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Starts checking the journal size when enabled.
+   * This method is called automatically after the bean is constructed.
+   */
+  @PostConstruct
+  void init() {
+    if (!enabled) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "journal-compactor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::compactIfNeeded, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background compaction.
+   * This method is called automatically when the application shuts down.
+   */
+  @PreDestroy
+  void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Compacts the journal if the active file has grown past the configured size.
+   *
+   * @return true if the journal was compacted, false otherwise
+   */
+  public boolean compactIfNeeded() {
+    long size = journal.getActiveSize();
+    if (size < maxBytes) {
+      return false;
+    }
+    log.warn("Journal compaction started, journal size: {} bytes", size);
+    try {
+      dataLoader.writeSnapshot();
+      return true;
+    } catch (Exception e) {
+      log.error("❌ {}", e.getMessage());
+      return false;
+    }
+  }
+}
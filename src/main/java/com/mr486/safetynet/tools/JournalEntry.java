@@ -0,0 +1,293 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.dto.search.MedicalRecordSearch;
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.repository.AddressKey;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A mutation recorded in the {@link Journal}.
+ * The value depends on the operation: the saved or updated entity, or the key of the deleted one.
+ *
+ * @param operation the mutation performed
+ * @param value     the entity or key the mutation applies to
+ */
+public record JournalEntry(Operation operation, Object value) {
+
+  /**
+   * The mutations recorded in the journal. The ordinal is written in the journal, new operations
+   * must be added at the end.
+   */
+  public enum Operation {
+    SAVE_PERSON,
+    UPDATE_PERSON,
+    DELETE_PERSON,
+    SAVE_FIRE_STATION,
+    UPDATE_FIRE_STATION,
+    DELETE_FIRE_STATION,
+    SAVE_MEDICAL_RECORD,
+    UPDATE_MEDICAL_RECORD,
+    DELETE_MEDICAL_RECORD
+  }
+
+  /**
+   * Creates the entry of a saved person.
+   *
+   * @param person the saved person
+   * @return the journal entry
+   */
+  public static JournalEntry savePerson(Person person) {
+    return new JournalEntry(Operation.SAVE_PERSON, person);
+  }
+
+  /**
+   * Creates the entry of an updated person.
+   *
+   * @param person the updated person
+   * @return the journal entry
+   */
+  public static JournalEntry updatePerson(Person person) {
+    return new JournalEntry(Operation.UPDATE_PERSON, person);
+  }
+
+  /**
+   * Creates the entry of a deleted person.
+   *
+   * @param personSearch the first and last name of the deleted person
+   * @return the journal entry
+   */
+  public static JournalEntry deletePerson(PersonSearch personSearch) {
+    return new JournalEntry(Operation.DELETE_PERSON, personSearch);
+  }
+
+  /**
+   * Creates the entry of a saved fire station.
+   *
+   * @param fireStation the saved fire station
+   * @return the journal entry
+   */
+  public static JournalEntry saveFireStation(FireStation fireStation) {
+    return new JournalEntry(Operation.SAVE_FIRE_STATION, fireStation);
+  }
+
+  /**
+   * Creates the entry of an updated fire station.
+   *
+   * @param fireStation the updated fire station
+   * @return the journal entry
+   */
+  public static JournalEntry updateFireStation(FireStation fireStation) {
+    return new JournalEntry(Operation.UPDATE_FIRE_STATION, fireStation);
+  }
+
+  /**
+   * Creates the entry of a deleted fire station.
+   *
+   * @param address the address of the deleted fire station
+   * @return the journal entry
+   */
+  public static JournalEntry deleteFireStation(String address) {
+    return new JournalEntry(Operation.DELETE_FIRE_STATION, address);
+  }
+
+  /**
+   * Creates the entry of a saved medical record.
+   *
+   * @param medicalRecord the saved medical record
+   * @return the journal entry
+   */
+  public static JournalEntry saveMedicalRecord(MedicalRecord medicalRecord) {
+    return new JournalEntry(Operation.SAVE_MEDICAL_RECORD, medicalRecord);
+  }
+
+  /**
+   * Creates the entry of an updated medical record.
+   *
+   * @param medicalRecord the updated medical record
+   * @return the journal entry
+   */
+  public static JournalEntry updateMedicalRecord(MedicalRecord medicalRecord) {
+    return new JournalEntry(Operation.UPDATE_MEDICAL_RECORD, medicalRecord);
+  }
+
+  /**
+   * Creates the entry of a deleted medical record.
+   *
+   * @param medicalRecordSearch the first and last name of the deleted medical record
+   * @return the journal entry
+   */
+  public static JournalEntry deleteMedicalRecord(MedicalRecordSearch medicalRecordSearch) {
+    return new JournalEntry(Operation.DELETE_MEDICAL_RECORD, medicalRecordSearch);
+  }
+
+  /**
+   * Replays the mutation on data read from the JSON file or the snapshot,
+   * with the same matching rules as the repositories: persons and medical records by exact names,
+   * fire stations by {@link AddressKey}, an update replacing the first mapping of the address.
+   *
+   * @param data the data to modify
+   */
+  public void applyTo(DataBinding data) {
+    switch (operation) {
+      case SAVE_PERSON -> data.getPersons().add((Person) value);
+      case UPDATE_PERSON -> {
+        Person person = (Person) value;
+        data.getPersons().replaceAll(existing -> isSamePerson(existing, person.getFirstName(), person.getLastName())
+                ? person : existing);
+      }
+      case DELETE_PERSON -> {
+        PersonSearch personSearch = (PersonSearch) value;
+        data.getPersons().removeIf(existing ->
+                isSamePerson(existing, personSearch.getFirstName(), personSearch.getLastName()));
+      }
+      case SAVE_FIRE_STATION -> data.getFirestations().add((FireStation) value);
+      case UPDATE_FIRE_STATION -> {
+        FireStation fireStation = (FireStation) value;
+        AddressKey key = AddressKey.of(fireStation.getAddress());
+        List<FireStation> fireStations = data.getFirestations();
+        for (int i = 0; i < fireStations.size(); i++) {
+          FireStation existing = fireStations.get(i);
+          if (AddressKey.of(existing.getAddress()).equals(key)) {
+            fireStations.set(i, new FireStation(existing.getAddress(), fireStation.getStation()));
+            break;
+          }
+        }
+      }
+      case DELETE_FIRE_STATION -> {
+        AddressKey key = AddressKey.of((String) value);
+        data.getFirestations().removeIf(existing -> AddressKey.of(existing.getAddress()).equals(key));
+      }
+      case SAVE_MEDICAL_RECORD -> data.getMedicalrecords().add((MedicalRecord) value);
+      case UPDATE_MEDICAL_RECORD -> {
+        MedicalRecord medicalRecord = (MedicalRecord) value;
+        data.getMedicalrecords().replaceAll(existing ->
+                isSameMedicalRecord(existing, medicalRecord.getFirstName(), medicalRecord.getLastName())
+                        ? medicalRecord : existing);
+      }
+      case DELETE_MEDICAL_RECORD -> {
+        MedicalRecordSearch medicalRecordSearch = (MedicalRecordSearch) value;
+        data.getMedicalrecords().removeIf(existing -> isSameMedicalRecord(existing,
+                medicalRecordSearch.getFirstName(), medicalRecordSearch.getLastName()));
+      }
+    }
+  }
+
+  /**
+   * Writes the entry in the compact binary form used by the journal.
+   *
+   * @param out the stream to write to
+   * @throws IOException if the stream cannot be written
+   */
+  void write(DataOutputStream out) throws IOException {
+    out.writeByte(operation.ordinal());
+    switch (operation) {
+      case SAVE_PERSON, UPDATE_PERSON -> {
+        Person person = (Person) value;
+        SnapshotCodec.writeString(out, person.getFirstName());
+        SnapshotCodec.writeString(out, person.getLastName());
+        SnapshotCodec.writeString(out, person.getAddress());
+        SnapshotCodec.writeString(out, person.getCity());
+        SnapshotCodec.writeString(out, person.getZip());
+        SnapshotCodec.writeString(out, person.getPhone());
+        SnapshotCodec.writeString(out, person.getEmail());
+      }
+      case DELETE_PERSON -> {
+        PersonSearch personSearch = (PersonSearch) value;
+        SnapshotCodec.writeString(out, personSearch.getFirstName());
+        SnapshotCodec.writeString(out, personSearch.getLastName());
+      }
+      case SAVE_FIRE_STATION, UPDATE_FIRE_STATION -> {
+        FireStation fireStation = (FireStation) value;
+        SnapshotCodec.writeString(out, fireStation.getAddress());
+        SnapshotCodec.writeVarInt(out, fireStation.getStation() == null ? 0 : fireStation.getStation() + 1);
+      }
+      case DELETE_FIRE_STATION -> SnapshotCodec.writeString(out, (String) value);
+      case SAVE_MEDICAL_RECORD, UPDATE_MEDICAL_RECORD -> {
+        MedicalRecord medicalRecord = (MedicalRecord) value;
+        SnapshotCodec.writeString(out, medicalRecord.getFirstName());
+        SnapshotCodec.writeString(out, medicalRecord.getLastName());
+        SnapshotCodec.writeString(out, medicalRecord.getBirthdate());
+        SnapshotCodec.writeStrings(out, medicalRecord.getMedications());
+        SnapshotCodec.writeStrings(out, medicalRecord.getAllergies());
+      }
+      case DELETE_MEDICAL_RECORD -> {
+        MedicalRecordSearch medicalRecordSearch = (MedicalRecordSearch) value;
+        SnapshotCodec.writeString(out, medicalRecordSearch.getFirstName());
+        SnapshotCodec.writeString(out, medicalRecordSearch.getLastName());
+      }
+    }
+  }
+
+  /**
+   * Reads an entry written by {@link #write(DataOutputStream)}.
+   *
+   * @param in the stream to read from
+   * @return the entry read
+   * @throws IOException if the stream cannot be read or the operation is unknown
+   */
+  static JournalEntry read(DataInputStream in) throws IOException {
+    int ordinal = in.readUnsignedByte();
+    if (ordinal >= Operation.values().length) {
+      throw new IOException("unknown journal operation " + ordinal);
+    }
+    Operation operation = Operation.values()[ordinal];
+    Object value = switch (operation) {
+      case SAVE_PERSON, UPDATE_PERSON -> new Person(
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in));
+      case DELETE_PERSON -> new PersonSearch(SnapshotCodec.readString(in), SnapshotCodec.readString(in));
+      case SAVE_FIRE_STATION, UPDATE_FIRE_STATION -> {
+        String address = SnapshotCodec.readString(in);
+        int station = SnapshotCodec.readVarInt(in);
+        yield new FireStation(address, station == 0 ? null : station - 1);
+      }
+      case DELETE_FIRE_STATION -> SnapshotCodec.readString(in);
+      case SAVE_MEDICAL_RECORD, UPDATE_MEDICAL_RECORD -> new MedicalRecord(
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readString(in),
+              SnapshotCodec.readStrings(in),
+              SnapshotCodec.readStrings(in));
+      case DELETE_MEDICAL_RECORD ->
+              new MedicalRecordSearch(SnapshotCodec.readString(in), SnapshotCodec.readString(in));
+    };
+    return new JournalEntry(operation, value);
+  }
+
+  /**
+   * Checks if a person has the given first and last name.
+   *
+   * @param person    the person to compare
+   * @param firstName the first name
+   * @param lastName  the last name
+   * @return true if both names match, false otherwise
+   */
+  private static boolean isSamePerson(Person person, String firstName, String lastName) {
+    return person.getFirstName().equals(firstName) && person.getLastName().equals(lastName);
+  }
+
+  /**
+   * Checks if a medical record has the given first and last name.
+   *
+   * @param medicalRecord the medical record to compare
+   * @param firstName     the first name
+   * @param lastName      the last name
+   * @return true if both names match, false otherwise
+   */
+  private static boolean isSameMedicalRecord(MedicalRecord medicalRecord, String firstName, String lastName) {
+    return medicalRecord.getFirstName().equals(firstName) && medicalRecord.getLastName().equals(lastName);
+  }
+}
@@ -1,7 +1,13 @@
 package com.mr486.safetynet.tools;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,10 +15,30 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Component responsible for loading data from a JSON file.
- * Utilizes Jackson's ObjectMapper to deserialize JSON into a DataBinding object.
+ * Utilizes Jackson's ObjectMapper to deserialize JSON into a DataBinding object,
+ * or Jackson's streaming JsonParser to read the file record by record.
  */
 @Slf4j
 @Data
@@ -32,6 +58,41 @@ public class JsonDataReader {
   @Value("${json.file.path}")
   String dataFilePath;
 
+  /**
+   * Whether the JSON file is memory-mapped instead of being read through a file stream.
+   * When enabled, the parser reads directly from the kernel page cache.
+   */
+  @Value("${json.file.memory-mapped:false}")
+  boolean memoryMapped;
+
+  /**
+   * Whether the sections of the JSON file are deserialized at the same time on a bounded executor.
+   */
+  @Value("${json.file.parallel:false}")
+  boolean parallel;
+
+  /**
+   * Name of the section holding the persons.
+   */
+  public static final String PERSONS = "persons";
+
+  /**
+   * Name of the section holding the fire stations.
+   */
+  public static final String FIRE_STATIONS = "firestations";
+
+  /**
+   * Name of the section holding the medical records.
+   */
+  public static final String MEDICAL_RECORDS = "medicalrecords";
+
+  private static final Set<String> SECTIONS = Set.of(PERSONS, FIRE_STATIONS, MEDICAL_RECORDS);
+
+  /**
+   * Maximum size of a single mapped region, a MappedByteBuffer being limited to 2 GB.
+   */
+  static final long MAX_MAPPED_REGION = Integer.MAX_VALUE;
+
   /**
    * Loads data from a specified JSON file path and maps it to a DataBinding object.
    *
@@ -41,10 +102,256 @@ public class JsonDataReader {
   public DataBinding loadData() {
 
     try {
+      if (memoryMapped) {
+        try (JsonParser parser = createParser()) {
+          return mapper.readValue(parser, DataBinding.class);
+        }
+      }
       File file = new File(dataFilePath);
       return mapper.readValue(file, DataBinding.class);
     } catch (Exception e) {
       throw new RuntimeException("Error reading json file:" + dataFilePath + " message: " + e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Reads the JSON file section by section and hands each record to the matching consumer
+   * as soon as it is parsed, without building an intermediate DataBinding.
+   * In parallel mode the sections are read at the same time, each consumer being called
+   * from a single thread. Unknown sections are skipped.
+   *
+   * @param personConsumer        receives each person of the "persons" section
+   * @param fireStationConsumer   receives each fire station of the "firestations" section
+   * @param medicalRecordConsumer receives each medical record of the "medicalrecords" section
+   * @return the time in milliseconds spent reading each section, in file order
+   * @throws RuntimeException if the file is not found or an error occurs while reading the file
+   */
+  public Map<String, Long> streamData(Consumer<Person> personConsumer,
+                                      Consumer<FireStation> fireStationConsumer,
+                                      Consumer<MedicalRecord> medicalRecordConsumer) {
+    try {
+      if (parallel) {
+        return readSectionsInParallel(personConsumer, fireStationConsumer, medicalRecordConsumer);
+      }
+      try (JsonParser parser = createParser()) {
+        return readSections(parser, personConsumer, fireStationConsumer, medicalRecordConsumer);
+      }
+    } catch (Exception e) {
+      throw new RuntimeException("Error reading json file:" + dataFilePath + " message: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Creates a parser over the JSON file, memory-mapped or not depending on the configuration.
+   *
+   * @return a parser positioned before the first token of the file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  JsonParser createParser() throws IOException {
+    if (!memoryMapped) {
+      return mapper.getFactory().createParser(new File(dataFilePath));
+    }
+    Path path = Path.of(dataFilePath);
+    return mapper.getFactory().createParser(openMapped(path, 0, Files.size(path)));
+  }
+
+  /**
+   * Creates a parser over a byte range of the JSON file.
+   * The parser does not stop at the end of the range, the caller stops reading there.
+   *
+   * @param range the byte range to read
+   * @return a parser positioned before the first token of the range
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  JsonParser createParser(SectionRange range) throws IOException {
+    Path path = Path.of(dataFilePath);
+    if (memoryMapped) {
+      return mapper.getFactory().createParser(openMapped(path, range.start(), range.end() - range.start()));
+    }
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    channel.position(range.start());
+    return mapper.getFactory().createParser(Channels.newInputStream(channel));
+  }
+
+  /**
+   * Maps a region of a file read-only into memory and exposes it as an input stream.
+   * Regions larger than 2 GB are mapped as several consecutive buffers.
+   * The mapping stays valid after the channel is closed.
+   *
+   * @param path     the file to map
+   * @param position the offset of the region in the file
+   * @param length   the length of the region in bytes
+   * @return an input stream reading the mapped buffers in order
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  static InputStream openMapped(Path path, long position, long length) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long end = position + length;
+      List<InputStream> regions = new ArrayList<>();
+      for (long offset = position; offset < end; offset += MAX_MAPPED_REGION) {
+        long size = Math.min(MAX_MAPPED_REGION, end - offset);
+        regions.add(new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, offset, size)));
+      }
+      return regions.size() == 1 ? regions.get(0) : new SequenceInputStream(Collections.enumeration(regions));
+    }
+  }
+
+  /**
+   * Walks the root object of the JSON document and dispatches each known section.
+   *
+   * @param parser                the parser positioned before the root object
+   * @param personConsumer        receives each person
+   * @param fireStationConsumer   receives each fire station
+   * @param medicalRecordConsumer receives each medical record
+   * @return the time in milliseconds spent reading each section
+   * @throws IOException if the document is malformed or cannot be read
+   */
+  Map<String, Long> readSections(JsonParser parser,
+                                 Consumer<Person> personConsumer,
+                                 Consumer<FireStation> fireStationConsumer,
+                                 Consumer<MedicalRecord> medicalRecordConsumer) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("root element is not a JSON object");
+    }
+    Map<String, Long> sectionTimes = new LinkedHashMap<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String section = parser.currentName();
+      parser.nextToken();
+      long start = System.nanoTime();
+      if (readSection(parser, section, personConsumer, fireStationConsumer, medicalRecordConsumer)) {
+        sectionTimes.put(section, (System.nanoTime() - start) / 1_000_000);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return sectionTimes;
+  }
+
+  /**
+   * Locates the known sections with a first scan that skips over their content,
+   * then deserializes them at the same time on a bounded executor.
+   * Returns once every section has been read.
+   *
+   * @param personConsumer        receives each person
+   * @param fireStationConsumer   receives each fire station
+   * @param medicalRecordConsumer receives each medical record
+   * @return the time in milliseconds spent reading each section
+   * @throws IOException          if the document is malformed or cannot be read
+   * @throws InterruptedException if the loading thread is interrupted while waiting for the sections
+   */
+  Map<String, Long> readSectionsInParallel(Consumer<Person> personConsumer,
+                                           Consumer<FireStation> fireStationConsumer,
+                                           Consumer<MedicalRecord> medicalRecordConsumer)
+          throws IOException, InterruptedException {
+    Map<String, SectionRange> ranges = locateSections();
+    if (ranges.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    int threads = Math.min(ranges.size(), Runtime.getRuntime().availableProcessors());
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      Map<String, Future<Long>> futures = new LinkedHashMap<>();
+      ranges.forEach((section, range) -> futures.put(section, executor.submit(() -> {
+        long start = System.nanoTime();
+        try (JsonParser parser = createParser(range)) {
+          parser.nextToken();
+          readSection(parser, section, personConsumer, fireStationConsumer, medicalRecordConsumer);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+      })));
+      Map<String, Long> sectionTimes = new LinkedHashMap<>();
+      for (Map.Entry<String, Future<Long>> future : futures.entrySet()) {
+        sectionTimes.put(future.getKey(), future.getValue().get());
+      }
+      return sectionTimes;
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Scans the JSON document without deserializing it and returns the byte range of each known section.
+   *
+   * @return the byte range of each known section, in file order
+   * @throws IOException if the document is malformed, cannot be read, or holds a section twice
+   */
+  Map<String, SectionRange> locateSections() throws IOException {
+    try (JsonParser parser = createParser()) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("root element is not a JSON object");
+      }
+      Map<String, SectionRange> ranges = new LinkedHashMap<>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String section = parser.currentName();
+        parser.nextToken();
+        long start = parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        long end = parser.currentLocation().getByteOffset();
+        if (SECTIONS.contains(section) && ranges.put(section, new SectionRange(start, end)) != null) {
+          throw new IOException("section " + section + " appears more than once");
+        }
+      }
+      return ranges;
+    }
+  }
+
+  /**
+   * Reads one section if it is known.
+   *
+   * @param parser                the parser positioned on the start of the section
+   * @param section               the name of the section
+   * @param personConsumer        receives each person
+   * @param fireStationConsumer   receives each fire station
+   * @param medicalRecordConsumer receives each medical record
+   * @return true if the section is known and has been read, false otherwise
+   * @throws IOException if the section is malformed or cannot be read
+   */
+  private boolean readSection(JsonParser parser,
+                              String section,
+                              Consumer<Person> personConsumer,
+                              Consumer<FireStation> fireStationConsumer,
+                              Consumer<MedicalRecord> medicalRecordConsumer) throws IOException {
+    switch (section) {
+      case PERSONS -> readArray(parser, section, Person.class, personConsumer);
+      case FIRE_STATIONS -> readArray(parser, section, FireStation.class, fireStationConsumer);
+      case MEDICAL_RECORDS -> readArray(parser, section, MedicalRecord.class, medicalRecordConsumer);
+      default -> {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads a JSON array of objects and hands each deserialized element to the consumer.
+   *
+   * @param parser   the parser positioned on the start of the array
+   * @param section  the name of the section, used in error messages
+   * @param type     the type of the elements
+   * @param consumer receives each element
+   * @param <T>      the type of the elements
+   * @throws IOException if the array is malformed or cannot be read
+   */
+  private <T> void readArray(JsonParser parser, String section, Class<T> type, Consumer<T> consumer) throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      throw new IOException("section " + section + " is not a JSON array");
+    }
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      consumer.accept(mapper.readValue(parser, type));
+    }
+    if (parser.currentToken() != JsonToken.END_ARRAY) {
+      throw new IOException("section " + section + " contains an element that is not a JSON object");
+    }
+  }
+
+  /**
+   * Byte range of a section in the JSON file, from its opening bracket to just after its closing bracket.
+   *
+   * @param start the offset of the opening bracket
+   * @param end   the offset just after the closing bracket
+   */
+  record SectionRange(long start, long end) {
+  }
+}
@@ -0,0 +1,171 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+/**
+ * Component reading the records of a bulk request body one at a time, without loading the whole body.
+ * <p>
+ * The body is either a JSON array of records or NDJSON, one record per line; a body starting with
+ * {@code [} is read as an array. Each record is bound and validated like a {@code @Valid @RequestBody},
+ * and either handed over or rejected with its position in the body.
+ * </p>
+ * A malformed NDJSON line only rejects that line. A malformed array cannot be read any further:
+ * the record at fault is rejected and reading stops.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecordStreamReader {
+
+  private final ObjectMapper mapper;
+  private final Validator validator;
+
+  /**
+   * Receives the records of a body as they are read.
+   *
+   * @param <T> the type of the records
+   */
+  public interface Handler<T> {
+
+    /**
+     * Receives a valid record.
+     *
+     * @param index  the position of the record in the body, starting at 0
+     * @param record the record
+     */
+    void accept(int index, T record);
+
+    /**
+     * Receives the rejection of a record.
+     *
+     * @param index   the position of the record in the body, starting at 0
+     * @param message the reason of the rejection
+     */
+    void reject(int index, String message);
+  }
+
+  /**
+   * Reads the records of a body.
+   *
+   * @param body    the request body
+   * @param type    the type of the records
+   * @param handler the handler receiving each record or rejection, in the order of the body
+   * @param <T>     the type of the records
+   * @throws IOException if the body cannot be read
+   */
+  public <T> void read(InputStream body, Class<T> type, Handler<T> handler) throws IOException {
+    BufferedInputStream in = new BufferedInputStream(body);
+    in.mark(1);
+    int first = in.read();
+    while (first != -1 && Character.isWhitespace(first)) {
+      in.mark(1);
+      first = in.read();
+    }
+    if (first == -1) {
+      return;
+    }
+    in.reset();
+    if (first == '[') {
+      readArray(in, type, handler);
+    } else {
+      readLines(in, type, handler);
+    }
+  }
+
+  /**
+   * Reads a JSON array, one element at a time.
+   *
+   * @param in      the body, positioned on the array
+   * @param type    the type of the records
+   * @param handler the handler receiving each record or rejection
+   * @param <T>     the type of the records
+   * @throws IOException if the body cannot be read
+   */
+  private <T> void readArray(InputStream in, Class<T> type, Handler<T> handler) throws IOException {
+    int index = 0;
+    try (JsonParser parser = mapper.getFactory().createParser(in)) {
+      parser.nextToken();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        JsonNode node = mapper.readTree(parser);
+        bind(index++, node, type, handler);
+      }
+    } catch (JsonProcessingException e) {
+      handler.reject(index, "malformed JSON: " + e.getOriginalMessage());
+    }
+  }
+
+  /**
+   * Reads NDJSON, one line at a time. Blank lines are ignored.
+   *
+   * @param in      the body
+   * @param type    the type of the records
+   * @param handler the handler receiving each record or rejection
+   * @param <T>     the type of the records
+   * @throws IOException if the body cannot be read
+   */
+  private <T> void readLines(InputStream in, Class<T> type, Handler<T> handler) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    int index = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      JsonNode node;
+      try {
+        node = mapper.readTree(line);
+      } catch (JsonProcessingException e) {
+        handler.reject(index++, "malformed JSON: " + e.getOriginalMessage());
+        continue;
+      }
+      bind(index++, node, type, handler);
+    }
+  }
+
+  /**
+   * Binds and validates a record, then hands it over or rejects it.
+   *
+   * @param index   the position of the record in the body
+   * @param node    the record as read
+   * @param type    the type of the records
+   * @param handler the handler receiving the record or its rejection
+   * @param <T>     the type of the records
+   */
+  private <T> void bind(int index, JsonNode node, Class<T> type, Handler<T> handler) {
+    T record;
+    try {
+      record = mapper.treeToValue(node, type);
+    } catch (JsonProcessingException e) {
+      handler.reject(index, "invalid record: " + e.getOriginalMessage());
+      return;
+    }
+    if (record == null) {
+      handler.reject(index, "invalid record: null");
+      return;
+    }
+    String violations = validator.validate(record).stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    if (violations.isEmpty()) {
+      handler.accept(index, record);
+    } else {
+      handler.reject(index, violations);
+    }
+  }
+}
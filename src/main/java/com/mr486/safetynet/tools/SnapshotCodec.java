@@ -0,0 +1,313 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Utility class encoding a DataBinding into a compact binary snapshot and back.
+ * <p>
+ * Layout: magic "SNET", format version, sequence of the last journal entry included,
+ * identity of the JSON file the data is based on, string dictionary, persons, fire stations, medical records, then a CRC32 of everything before it. Strings are length-prefixed UTF-8,
+ * lengths and counts are unsigned variable-length integers. Cities, zip codes and addresses
+ * repeat across records and are written once in the dictionary, records refer to them by index.
+ * </p>
+ */
+public class SnapshotCodec {
+
+  /**
+   * Magic number at the start of every snapshot ("SNET").
+   */
+  static final int MAGIC = 0x534E4554;
+
+  /**
+   * Current version of the snapshot format.
+   */
+  public static final int FORMAT_VERSION = 3;
+
+  /**
+   * Previous version of the snapshot format, without the identity of the JSON file. Still read.
+   */
+  static final int FORMAT_VERSION_WITHOUT_BASE = 2;
+
+  /**
+   * The content of a snapshot.
+   *
+   * @param data            the persons, fire stations and medical records
+   * @param journalSequence the sequence of the last journal entry included in the data, 0 if none
+   * @param base            the identity of the JSON file the data is based on, null if unknown
+   */
+  public record Content(DataBinding data, long journalSequence, DataFileIdentity base) {
+  }
+
+  private SnapshotCodec() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * Writes the data as a binary snapshot.
+   *
+   * @param data            the data to write
+   * @param journalSequence the sequence of the last journal entry included in the data
+   * @param base            the identity of the JSON file the data is based on, null if unknown
+   * @param out             the stream to write to, left open
+   * @throws IOException if the snapshot cannot be written
+   */
+  public static void write(DataBinding data, long journalSequence, DataFileIdentity base, OutputStream out)
+          throws IOException {
+    BufferedOutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+    CRC32 crc = new CRC32();
+    DataOutputStream body = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+
+    Map<String, Integer> dictionary = buildDictionary(data);
+    body.writeInt(MAGIC);
+    body.writeInt(FORMAT_VERSION);
+    body.writeLong(journalSequence);
+    body.writeBoolean(base != null);
+    if (base != null) {
+      body.writeLong(base.size());
+      body.writeLong(base.lastModified());
+      writeString(body, base.digest());
+    }
+    writeVarInt(body, dictionary.size());
+    for (String value : dictionary.keySet()) {
+      writeString(body, value);
+    }
+
+    writeVarInt(body, data.getPersons().size());
+    for (Person person : data.getPersons()) {
+      writeString(body, person.getFirstName());
+      writeString(body, person.getLastName());
+      writeVarInt(body, dictionary.get(person.getAddress()));
+      writeVarInt(body, dictionary.get(person.getCity()));
+      writeVarInt(body, dictionary.get(person.getZip()));
+      writeString(body, person.getPhone());
+      writeString(body, person.getEmail());
+    }
+
+    writeVarInt(body, data.getFirestations().size());
+    for (FireStation fireStation : data.getFirestations()) {
+      writeVarInt(body, dictionary.get(fireStation.getAddress()));
+      writeVarInt(body, fireStation.getStation() == null ? 0 : fireStation.getStation() + 1);
+    }
+
+    writeVarInt(body, data.getMedicalrecords().size());
+    for (MedicalRecord medicalRecord : data.getMedicalrecords()) {
+      writeString(body, medicalRecord.getFirstName());
+      writeString(body, medicalRecord.getLastName());
+      writeString(body, medicalRecord.getBirthdate());
+      writeStrings(body, medicalRecord.getMedications());
+      writeStrings(body, medicalRecord.getAllergies());
+    }
+
+    body.flush();
+    new DataOutputStream(buffered).writeLong(crc.getValue());
+    buffered.flush();
+  }
+
+  /**
+   * Reads a binary snapshot.
+   *
+   * @param in the stream to read from, left open
+   * @return the content of the snapshot
+   * @throws IOException if the snapshot cannot be read, is corrupted or has an unsupported version
+   */
+  public static Content read(InputStream in) throws IOException {
+    BufferedInputStream buffered = new BufferedInputStream(in, 1 << 16);
+    CRC32 crc = new CRC32();
+    DataInputStream body = new DataInputStream(new CheckedInputStream(buffered, crc));
+
+    if (body.readInt() != MAGIC) {
+      throw new IOException("not a snapshot file");
+    }
+    int version = body.readInt();
+    if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_BASE) {
+      throw new IOException("unsupported snapshot version " + version + ", expected " + FORMAT_VERSION);
+    }
+    long journalSequence = body.readLong();
+    DataFileIdentity base = null;
+    if (version == FORMAT_VERSION && body.readBoolean()) {
+      base = new DataFileIdentity(body.readLong(), body.readLong(), readString(body));
+    }
+    String[] dictionary = new String[readVarInt(body)];
+    for (int i = 0; i < dictionary.length; i++) {
+      dictionary[i] = readString(body);
+    }
+
+    int personCount = readVarInt(body);
+    List<Person> persons = new ArrayList<>(personCount);
+    for (int i = 0; i < personCount; i++) {
+      persons.add(new Person(
+              readString(body),
+              readString(body),
+              dictionary[readVarInt(body)],
+              dictionary[readVarInt(body)],
+              dictionary[readVarInt(body)],
+              readString(body),
+              readString(body)));
+    }
+
+    int fireStationCount = readVarInt(body);
+    List<FireStation> fireStations = new ArrayList<>(fireStationCount);
+    for (int i = 0; i < fireStationCount; i++) {
+      String address = dictionary[readVarInt(body)];
+      int station = readVarInt(body);
+      fireStations.add(new FireStation(address, station == 0 ? null : station - 1));
+    }
+
+    int medicalRecordCount = readVarInt(body);
+    List<MedicalRecord> medicalRecords = new ArrayList<>(medicalRecordCount);
+    for (int i = 0; i < medicalRecordCount; i++) {
+      medicalRecords.add(new MedicalRecord(
+              readString(body),
+              readString(body),
+              readString(body),
+              readStrings(body),
+              readStrings(body)));
+    }
+
+    long expected = crc.getValue();
+    if (new DataInputStream(buffered).readLong() != expected) {
+      throw new IOException("snapshot checksum mismatch");
+    }
+    return new Content(new DataBinding(persons, fireStations, medicalRecords), journalSequence, base);
+  }
+
+  /**
+   * Collects the cities, zip codes and addresses of the data, each value once.
+   *
+   * @param data the data to scan
+   * @return the index of each value in the dictionary, in insertion order
+   */
+  private static Map<String, Integer> buildDictionary(DataBinding data) {
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    for (Person person : data.getPersons()) {
+      dictionary.putIfAbsent(person.getAddress(), dictionary.size());
+      dictionary.putIfAbsent(person.getCity(), dictionary.size());
+      dictionary.putIfAbsent(person.getZip(), dictionary.size());
+    }
+    for (FireStation fireStation : data.getFirestations()) {
+      dictionary.putIfAbsent(fireStation.getAddress(), dictionary.size());
+    }
+    return dictionary;
+  }
+
+  /**
+   * Writes a list of strings, null being written as an empty list.
+   *
+   * @param out    the stream to write to
+   * @param values the strings to write
+   * @throws IOException if the stream cannot be written
+   */
+  static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+    if (values == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+    writeVarInt(out, values.size());
+    for (String value : values) {
+      writeString(out, value);
+    }
+  }
+
+  /**
+   * Reads a list of strings.
+   *
+   * @param in the stream to read from
+   * @return the strings read
+   * @throws IOException if the stream cannot be read
+   */
+  static ArrayList<String> readStrings(DataInputStream in) throws IOException {
+    int count = readVarInt(in);
+    ArrayList<String> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(readString(in));
+    }
+    return values;
+  }
+
+  /**
+   * Writes a length-prefixed UTF-8 string. The prefix is the byte length plus one, zero meaning null.
+   *
+   * @param out   the stream to write to
+   * @param value the string to write, may be null
+   * @throws IOException if the stream cannot be written
+   */
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length + 1);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a length-prefixed UTF-8 string.
+   *
+   * @param in the stream to read from
+   * @return the string read, may be null
+   * @throws IOException if the stream cannot be read
+   */
+  static String readString(DataInputStream in) throws IOException {
+    int length = readVarInt(in);
+    if (length == 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length - 1];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes an unsigned integer on one to five bytes, seven bits per byte.
+   *
+   * @param out   the stream to write to
+   * @param value the value to write, must not be negative
+   * @throws IOException if the stream cannot be written
+   */
+  static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  /**
+   * Reads an unsigned integer written by {@link #writeVarInt(DataOutputStream, int)}.
+   *
+   * @param in the stream to read from
+   * @return the value read
+   * @throws IOException if the stream cannot be read or the value is malformed
+   */
+  static int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("malformed variable-length integer");
+  }
+}
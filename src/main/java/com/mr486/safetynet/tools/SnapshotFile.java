@@ -0,0 +1,78 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Component responsible for the binary snapshot file written next to the JSON file.
+ * The snapshot is encoded with {@link SnapshotCodec} and replaced atomically on every write.
+ */
+@Slf4j
+@Data
+@Component
+public class SnapshotFile {
+
+  /**
+   * The path to the snapshot file, injected from application properties.
+   */
+  @Value("${snapshot.file.path}")
+  String snapshotFilePath;
+
+  /**
+   * Checks whether a snapshot was written. Writing a snapshot drops the journal segments it includes,
+   * so once it exists it is the only copy of the mutations recorded before it.
+   *
+   * @return true if the snapshot file exists, false otherwise
+   */
+  public boolean exists() {
+    return Files.isRegularFile(Path.of(snapshotFilePath));
+  }
+
+  /**
+   * Reads the snapshot file.
+   *
+   * @return the content of the snapshot
+   * @throws RuntimeException if the file is not found, is corrupted or cannot be read
+   */
+  public SnapshotCodec.Content read() {
+    try (InputStream in = Files.newInputStream(Path.of(snapshotFilePath))) {
+      return SnapshotCodec.read(in);
+    } catch (Exception e) {
+      throw new RuntimeException("Error reading snapshot file:" + snapshotFilePath + " message: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes the data to the snapshot file.
+   * The snapshot is first written and synced to a temporary file, then moved over the previous one,
+   * so a crash during the write never leaves a truncated snapshot behind.
+   *
+   * @param data            the data to write
+   * @param journalSequence the sequence of the last journal entry included in the data
+   * @param base            the identity of the JSON file the data is based on, null if unknown
+   * @throws RuntimeException if the file cannot be written
+   */
+  public void write(DataBinding data, long journalSequence, DataFileIdentity base) {
+    Path snapshot = Path.of(snapshotFilePath).toAbsolutePath();
+    Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+    try {
+      Files.createDirectories(snapshot.getParent());
+      try (FileOutputStream out = new FileOutputStream(temporary.toFile())) {
+        SnapshotCodec.write(data, journalSequence, base, out);
+        out.getFD().sync();
+      }
+      Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (Exception e) {
+      throw new RuntimeException("Error writing snapshot file:" + snapshotFilePath + " message: " + e.getMessage());
+    }
+  }
+}
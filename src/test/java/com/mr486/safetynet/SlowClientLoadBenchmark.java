@@ -0,0 +1,139 @@
+package com.mr486.safetynet;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load benchmark of the whole application with many slow clients.
+ * <p>
+ * Each client posts a person {@value #ROUNDS} times in a row, sending the second half of each body
+ * {@value #PAUSE_MILLIS} ms after the first one. Reading the body blocks the thread serving the request,
+ * so with the platform worker pool only {@code server.tomcat.threads.max} clients progress at a time,
+ * while with virtual threads they all wait together. The clients are driven by a single thread over
+ * non-blocking sockets, so the client side does not compete with the server for threads.
+ * </p>
+ * Not part of the regular test run. Compare the platform pool and virtual threads with:
+ * <pre>
+ * mvn test -Dtest=SlowClientLoadBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * mvn test -Pjava21 -Dtest=SlowClientLoadBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dspring.profiles.active=virtual-threads
+ * </pre>
+ * The number of clients is set with {@code -Dbenchmark.clients}, 10000 by default. The clients and the server share
+ * the JVM, so each client takes two file descriptors: 10000 clients need an open file limit above 20000.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "journal.enabled=false",
+        "json.file.watch=false",
+        "snapshot.write-after-load=false",
+        "journal.compaction.enabled=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=1000",
+        "logging.level.com.mr486.safetynet.configuration=WARN"})
+class SlowClientLoadBenchmark {
+
+  private static final int ROUNDS = 3;
+  private static final long PAUSE_MILLIS = 1_000;
+
+  @LocalServerPort
+  private int port;
+
+  /**
+   * A client and the request it is sending.
+   */
+  private static final class Client {
+    final int id;
+    int round;
+    SocketChannel channel;
+    ByteBuffer secondHalf;
+    long dueNanos;
+    final ByteBuffer status = ByteBuffer.allocate(12);
+
+    Client(int id) {
+      this.id = id;
+    }
+  }
+
+  @Test
+  void measureSlowClients() throws IOException {
+    int clients = Integer.getInteger("benchmark.clients", 10_000);
+    PriorityQueue<Client> pending = new PriorityQueue<>(Comparator.comparingLong(client -> client.dueNanos));
+    int created = 0;
+    int finished = 0;
+
+    long start = System.nanoTime();
+    try (Selector selector = Selector.open()) {
+      for (int id = 0; id < clients; id++) {
+        pending.add(send(new Client(id), selector));
+      }
+      ByteBuffer sink = ByteBuffer.allocate(8192);
+      while (finished < clients) {
+        long now = System.nanoTime();
+        while (!pending.isEmpty() && pending.peek().dueNanos <= now) {
+          Client client = pending.poll();
+          client.channel.write(client.secondHalf);
+        }
+        long waitMillis = pending.isEmpty() ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(pending.peek().dueNanos - now));
+        selector.select(waitMillis);
+        for (SelectionKey key : selector.selectedKeys()) {
+          Client client = (Client) key.attachment();
+          int read = client.status.hasRemaining() ? client.channel.read(client.status) : client.channel.read(sink.clear());
+          if (read >= 0) {
+            continue;
+          }
+          key.cancel();
+          client.channel.close();
+          if (new String(client.status.array(), StandardCharsets.US_ASCII).endsWith("201")) {
+            created++;
+          }
+          if (++client.round < ROUNDS) {
+            pending.add(send(client, selector));
+          } else {
+            finished++;
+          }
+        }
+        selector.selectedKeys().clear();
+      }
+    }
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    System.out.printf("Java %d, %d slow clients x %d rounds: %d created in %d ms%n",
+            Runtime.version().feature(), clients, ROUNDS, created, elapsedMillis);
+  }
+
+  /**
+   * Opens a connection for the next request of a client and sends its headers and the first half of its body.
+   *
+   * @param client   the client
+   * @param selector the selector notified of the response
+   * @return the client, with its second half due after the pause
+   * @throws IOException if the connection fails
+   */
+  private Client send(Client client, Selector selector) throws IOException {
+    byte[] body = ("{\"firstName\":\"Slow" + client.id + "_" + client.round + "\",\"lastName\":\"Client\","
+            + "\"address\":\"1509 Culver St\",\"city\":\"Culver\",\"zip\":\"97451\",\"phone\":\"841-874-6512\","
+            + "\"email\":\"slow@email.com\"}").getBytes(StandardCharsets.UTF_8);
+    byte[] headers = ("POST /person HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+            + "Content-Length: " + body.length + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    client.channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+    client.channel.write(ByteBuffer.wrap(headers));
+    client.channel.write(ByteBuffer.wrap(body, 0, body.length / 2));
+    client.channel.configureBlocking(false);
+    client.channel.register(selector, SelectionKey.OP_READ, client);
+    client.secondHalf = ByteBuffer.wrap(body, body.length / 2, body.length - body.length / 2);
+    client.status.clear();
+    client.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PAUSE_MILLIS);
+    return client;
+  }
+}
@@ -2,6 +2,7 @@ package com.mr486.safetynet.configuration;
 
 import com.mr486.safetynet.exeption.EntityAlreadyExistsException;
 import com.mr486.safetynet.exeption.EntityNotFoundException;
+import com.mr486.safetynet.exeption.InvalidPageException;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
@@ -103,4 +104,19 @@ class GlobalExceptionHandlerTest {
     assertEquals(404, response.getStatusCodeValue());
     assertEquals("❌ Page not found: Page1", response.getBody());
   }
-}
\ No newline at end of file
+
+  /**
+   * Verifies that handleInvalidPageException returns a 400 Bad Request
+   * with the appropriate error message.
+   */
+  @Test
+  void handleInvalidPageException_shouldReturnBadRequestWithErrorMessage() {
+    InvalidPageException exception = new InvalidPageException("cursor expired, restart from the first page");
+
+    GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    ResponseEntity<String> response = handler.handleInvalidPageException(exception);
+
+    assertEquals(400, response.getStatusCodeValue());
+    assertEquals("❌ Invalid page: cursor expired, restart from the first page", response.getBody());
+  }
+}
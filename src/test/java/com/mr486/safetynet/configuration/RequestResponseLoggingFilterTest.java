@@ -6,8 +6,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -29,6 +32,8 @@ class RequestResponseLoggingFilterTest {
   @BeforeEach
   void setUp() {
     filter = new RequestResponseLoggingFilter();
+    filter.streamedRequestPaths = Set.of("/person/bulk");
+    filter.streamedResponsePaths = Set.of("/firestation/stream");
     mockFilterChain = mock(FilterChain.class);
   }
 
@@ -82,4 +87,101 @@ class RequestResponseLoggingFilterTest {
     verify(mockFilterChain).doFilter(any(), any());
     assertEquals(200, response.getStatus());
   }
-}
\ No newline at end of file
+
+  /**
+   * Verifies that the body of a bulk request reaches the controller unwrapped.
+   *
+   * @throws ServletException if an error occurs during filter processing
+   * @throws IOException      if an I/O error occurs
+   */
+  @Test
+  void testDoFilterInternal_doesNotCacheBulkRequestBody() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setMethod("POST");
+    request.setRequestURI("/person/bulk");
+    request.setContent("{}".getBytes());
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(request, response, mockFilterChain);
+
+    verify(mockFilterChain).doFilter(eq(request), any());
+    assertEquals(200, response.getStatus());
+  }
+
+  /**
+   * Verifies that a streamed response reaches the client unwrapped.
+   *
+   * @throws ServletException if an error occurs during filter processing
+   * @throws IOException      if an I/O error occurs
+   */
+  @Test
+  void testDoFilterInternal_doesNotCacheStreamedResponseBody() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setMethod("GET");
+    request.setRequestURI("/firestation/stream");
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(request, response, mockFilterChain);
+
+    verify(mockFilterChain).doFilter(any(), eq(response));
+  }
+
+  /**
+   * Verifies that the body of a path ending with /bulk but not configured is cached.
+   *
+   * @throws ServletException if an error occurs during filter processing
+   * @throws IOException      if an I/O error occurs
+   */
+  @Test
+  void testDoFilterInternal_cachesRequestOfPathNotConfigured() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setMethod("POST");
+    request.setRequestURI("/notes/bulk");
+    request.setContent("{}".getBytes());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(request, response, mockFilterChain);
+
+    verify(mockFilterChain).doFilter(argThat(wrapped -> wrapped instanceof ContentCachingRequestWrapper), any());
+  }
+
+  /**
+   * Verifies that the response of a path ending with /stream but not configured is cached.
+   *
+   * @throws ServletException if an error occurs during filter processing
+   * @throws IOException      if an I/O error occurs
+   */
+  @Test
+  void testDoFilterInternal_cachesResponseOfPathNotConfigured() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setMethod("GET");
+    request.setRequestURI("/flood/stream");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(request, response, mockFilterChain);
+
+    verify(mockFilterChain).doFilter(any(), argThat(wrapped -> wrapped instanceof ContentCachingResponseWrapper));
+  }
+
+  /**
+   * Verifies that a configured path is matched within the context path of the application.
+   *
+   * @throws ServletException if an error occurs during filter processing
+   * @throws IOException      if an I/O error occurs
+   */
+  @Test
+  void testDoFilterInternal_matchesConfiguredPathsWithinContextPath() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setMethod("POST");
+    request.setContextPath("/safetynet");
+    request.setRequestURI("/safetynet/person/bulk");
+    request.setContent("{}".getBytes());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilterInternal(request, response, mockFilterChain);
+
+    verify(mockFilterChain).doFilter(eq(request), any());
+  }
+}
@@ -0,0 +1,52 @@
+package com.mr486.safetynet.configuration;
+
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.repository.DataSnapshot;
+import com.mr486.safetynet.repository.DataStore;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SnapshotPinningFilter} class.
+ */
+class SnapshotPinningFilterTest {
+
+  private final DataStore dataStore = new DataStore();
+  private final SnapshotPinningFilter filter = new SnapshotPinningFilter(dataStore);
+
+  /**
+   * Verifies that a GET request keeps reading the snapshot current when it started.
+   */
+  @Test
+  void doFilter_shouldPinSnapshotForGetRequest() throws ServletException, IOException {
+    DataSnapshot initial = dataStore.current();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/person");
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+      dataStore.publish(List.of(new Person()), List.of(), List.of());
+      assertSame(initial, dataStore.current());
+    });
+
+    assertEquals(1, dataStore.current().getVersion());
+  }
+
+  /**
+   * Verifies that a mutating request sees the snapshots published while it runs.
+   */
+  @Test
+  void doFilter_shouldNotPinSnapshotForPostRequest() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/person");
+
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+      DataSnapshot published = dataStore.publish(List.of(new Person()), List.of(), List.of());
+      assertSame(published, dataStore.current());
+    });
+  }
+}
@@ -0,0 +1,47 @@
+package com.mr486.safetynet.controller;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.tools.DataLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the AdminController class.
+ */
+class AdminControllerTest {
+
+  @Mock
+  private DataLoader mockDataLoader;
+
+  @InjectMocks
+  private AdminController adminController;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  /**
+   * Tests that the snapshot endpoint writes the snapshot and reports the record counts.
+   */
+  @Test
+  void writeSnapshot_shouldReportRecordCounts() {
+    when(mockDataLoader.writeSnapshot())
+            .thenReturn(new DataBinding(List.of(), List.of(new FireStation("1509 Culver St", 3)), List.of()));
+
+    ResponseEntity<String> responseEntity = adminController.writeSnapshot();
+
+    assertEquals(201, responseEntity.getStatusCode().value());
+    assertEquals("Snapshot written successfully: 0 persons, 1 fire stations, 0 medical records", responseEntity.getBody());
+  }
+}
@@ -0,0 +1,74 @@
+package com.mr486.safetynet.controller;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import com.mr486.safetynet.dto.response.ChildDto;
+import com.mr486.safetynet.dto.response.OtherHouseholdMemberDto;
+import com.mr486.safetynet.service.ChildAlertService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the ChildAlertController.
+ * Tests the endpoint for retrieving the children living at an address.
+ */
+class ChildAlertControllerTest {
+
+  private ChildAlertService childAlertService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    childAlertService = Mockito.mock(ChildAlertService.class);
+    ChildAlertController controller = new ChildAlertController(childAlertService);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  /**
+   * Tests the getChildAlert endpoint with an address where children live.
+   * Expects a 200 OK response with the children and the other members.
+   */
+  @Test
+  void getChildAlert_shouldReturnOkWithBody() throws Exception {
+    // GIVEN
+    ChildAlertResponse responseDto = new ChildAlertResponse(
+            List.of(new ChildDto("Tenley", "Boyd", 12)), List.of(new OtherHouseholdMemberDto("John", "Boyd")));
+    when(childAlertService.getChildrenAtAddress("1509 Culver St")).thenReturn(Optional.of(responseDto));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/childAlert")
+                    .param("address", "1509 Culver St")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.children[0].firstName").value("Tenley"))
+            .andExpect(jsonPath("$.children[0].age").value(12))
+            .andExpect(jsonPath("$.otherMembers[0].firstName").value("John"));
+  }
+
+  /**
+   * Tests the getChildAlert endpoint with an address where no child lives.
+   * Expects a 204 No Content response.
+   */
+  @Test
+  void getChildAlert_shouldReturnNoContentWhenNoChild() throws Exception {
+    // GIVEN
+    when(childAlertService.getChildrenAtAddress("29 15th St")).thenReturn(Optional.empty());
+
+    // WHEN / THEN
+    mockMvc.perform(get("/childAlert")
+                    .param("address", "29 15th St")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+  }
+}
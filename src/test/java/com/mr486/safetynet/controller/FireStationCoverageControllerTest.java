@@ -1,8 +1,11 @@
 package com.mr486.safetynet.controller;
 
 import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
 import com.mr486.safetynet.dto.response.PersonInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mr486.safetynet.service.FireStationCoverageService;
+import com.mr486.safetynet.tools.CoverageStreamWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -12,8 +15,12 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,7 +36,8 @@ class FireStationCoverageControllerTest {
   @BeforeEach
   void setup() {
     fireStationCoverageService = Mockito.mock(FireStationCoverageService.class);
-    FireStationCoverageController controller = new FireStationCoverageController(fireStationCoverageService);
+    FireStationCoverageController controller = new FireStationCoverageController(fireStationCoverageService,
+            new CoverageStreamWriter(new ObjectMapper()));
     mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
   }
 
@@ -71,4 +79,107 @@ class FireStationCoverageControllerTest {
                     .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isNoContent());
   }
+
+  /**
+   * Tests the streamCoverageByStation endpoint with a valid station number.
+   * Expects a 200 OK response with the persons and the counts after them.
+   */
+  @Test
+  void streamCoverageByStation_shouldReturnOkWithBody() throws Exception {
+    // GIVEN
+    PersonInfo person = new PersonInfo("John", "Doe", "123 Main St", "111-111-1111");
+    when(fireStationCoverageService.getCoverageByStationNumber(1))
+            .thenReturn(new FireStationCoverage(List.of(person), 1, 0));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/firestation/stream")
+                    .param("stationNumber", "1")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string("{\"persons\":[{\"firstName\":\"John\",\"lastName\":\"Doe\","
+                    + "\"address\":\"123 Main St\",\"phone\":\"111-111-1111\"}],\"adultCount\":1,\"childCount\":0}"));
+  }
+
+  /**
+   * Tests the streamCoverageByStation endpoint with a station covering no one.
+   * Expects a 204 No Content response.
+   */
+  @Test
+  void streamCoverageByStation_shouldReturnNoContentWhenEmpty() throws Exception {
+    // GIVEN
+    when(fireStationCoverageService.getCoverageByStationNumber(9)).thenReturn(new FireStationCoverage(List.of(), 0, 0));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/firestation/stream")
+                    .param("stationNumber", "9")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+  }
+
+  /**
+   * Tests the getCoveragePageByStation endpoint with a limit.
+   * Expects a 200 OK response with the page, the counts and the cursor of the next one.
+   */
+  @Test
+  void getCoveragePageByStation_shouldReturnOkWithPage() throws Exception {
+    // GIVEN
+    PersonInfo person = new PersonInfo("John", "Doe", "123 Main St", "111-111-1111");
+    when(fireStationCoverageService.getCoveragePageByStationNumber(1, null, 1))
+            .thenReturn(new FireStationCoveragePage(List.of(person), 1, 1, "abc"));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/firestation")
+                    .param("stationNumber", "1")
+                    .param("limit", "1")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.persons[0].firstName").value("John"))
+            .andExpect(jsonPath("$.childCount").value(1))
+            .andExpect(jsonPath("$.nextCursor").value("abc"));
+  }
+
+  /**
+   * Tests that the getCoverageByStation endpoint returns the tag of the coverage as ETag.
+   */
+  @Test
+  void getCoverageByStation_shouldReturnTagAsETag() throws Exception {
+    // GIVEN
+    PersonInfo person = new PersonInfo("John", "Doe", "123 Main St", "111-111-1111");
+    when(fireStationCoverageService.getCoverageTag(1)).thenReturn("a1-7");
+    when(fireStationCoverageService.getCoverageByStationNumber(1)).thenReturn(new FireStationCoverage(List.of(person), 1, 0));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/firestation")
+                    .param("stationNumber", "1")
+                    .header("If-None-Match", "\"a1-6\"")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"a1-7\""))
+            .andExpect(jsonPath("$.persons[0].firstName").value("John"));
+  }
+
+  /**
+   * Tests that the getCoverageByStation endpoint answers 304 Not Modified to the current tag,
+   * without reading the coverage.
+   */
+  @Test
+  void getCoverageByStation_shouldReturnNotModifiedForCurrentTag() throws Exception {
+    // GIVEN
+    when(fireStationCoverageService.getCoverageTag(1)).thenReturn("a1-7");
+
+    // WHEN / THEN
+    mockMvc.perform(get("/firestation")
+                    .param("stationNumber", "1")
+                    .header("If-None-Match", "\"a1-7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"a1-7\""))
+            .andExpect(content().string(""));
+    mockMvc.perform(get("/firestation/stream")
+                    .param("stationNumber", "1")
+                    .header("If-None-Match", "\"a1-7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    verify(fireStationCoverageService, never()).getCoverageByStationNumber(1);
+  }
 }
@@ -0,0 +1,94 @@
+package com.mr486.safetynet.controller;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.FloodResidentDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.service.FloodService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the FloodController.
+ * Tests the endpoint for retrieving the households covered by several fire stations.
+ */
+class FloodControllerTest {
+
+  private FloodService floodService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    floodService = Mockito.mock(FloodService.class);
+    FloodController controller = new FloodController(floodService);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  /**
+   * Tests the getHouseholdsByStations endpoint with stations covering households.
+   * Expects a 200 OK response with the households and their residents.
+   */
+  @Test
+  void getHouseholdsByStations_shouldReturnOkWithBody() throws Exception {
+    // GIVEN
+    when(floodService.getHouseholdsByStations(List.of(1, 2, 3))).thenReturn(List.of(
+            new FloodHouseholdDto("1509 Culver St", List.of(3), List.of(new FloodResidentDto(
+                    "Tenley", "Boyd", "841-874-6512", 12, List.of(), List.of("peanut"))))));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/flood/stations")
+                    .param("stations", "1,2,3")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].address").value("1509 Culver St"))
+            .andExpect(jsonPath("$[0].residents[0].age").value(12))
+            .andExpect(jsonPath("$[0].residents[0].allergies[0]").value("peanut"));
+  }
+
+  /**
+   * Tests the getHouseholdsByStations endpoint with stations covering no one.
+   * Expects a 204 No Content response.
+   */
+  @Test
+  void getHouseholdsByStations_shouldReturnNoContentWhenNoHousehold() throws Exception {
+    // GIVEN
+    when(floodService.getHouseholdsByStations(List.of(9))).thenReturn(List.of());
+
+    // WHEN / THEN
+    mockMvc.perform(get("/flood/stations")
+                    .param("stations", "9")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+  }
+
+  /**
+   * Tests the getHouseholdPageByStations endpoint with a limit.
+   * Expects a 200 OK response with the page and the cursor of the next one.
+   */
+  @Test
+  void getHouseholdPageByStations_shouldReturnOkWithPage() throws Exception {
+    // GIVEN
+    when(floodService.getHouseholdsByStations(List.of(1, 2), "abc", 1)).thenReturn(new Page<>(
+            List.of(new FloodHouseholdDto("1509 Culver St", List.of(1), List.of())), "def"));
+
+    // WHEN / THEN
+    mockMvc.perform(get("/flood/stations")
+                    .param("stations", "1,2")
+                    .param("limit", "1")
+                    .param("cursor", "abc")
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].address").value("1509 Culver St"))
+            .andExpect(jsonPath("$.nextCursor").value("def"));
+  }
+}
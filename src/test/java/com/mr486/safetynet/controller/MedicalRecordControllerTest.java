@@ -1,5 +1,6 @@
 package com.mr486.safetynet.controller;
 
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.model.MedicalRecord;
 import com.mr486.safetynet.service.MedicalRecordService;
@@ -10,9 +11,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for the MedicalRecordController class.
@@ -100,4 +106,35 @@ class MedicalRecordControllerTest {
     assertEquals("Medical record deleted successfully", responseEntity.getBody());
   }
 
-}
\ No newline at end of file
+  /**
+   * Tests the upsertMedicalRecords method of the MedicalRecordController.
+   * It verifies that the body is handed to the service and that its summary is returned.
+   */
+  @Test
+  void upsertMedicalRecords_shouldReturnSummary() throws Exception {
+    InputStream body = new ByteArrayInputStream(new byte[0]);
+    BulkImportResponse summary = new BulkImportResponse(3, 1, 1, 0, 1, List.of());
+    when(medicalRecordService.upsertMedicalRecords(body)).thenReturn(summary);
+
+    ResponseEntity<BulkImportResponse> responseEntity = medicalRecordController.upsertMedicalRecords(body);
+
+    assertEquals(200, responseEntity.getStatusCodeValue());
+    assertEquals(summary, responseEntity.getBody());
+  }
+
+  /**
+   * Tests the deleteMedicalRecords method of the MedicalRecordController.
+   * It verifies that the body is handed to the service and that its summary is returned.
+   */
+  @Test
+  void deleteMedicalRecords_shouldReturnSummary() throws Exception {
+    InputStream body = new ByteArrayInputStream(new byte[0]);
+    BulkImportResponse summary = new BulkImportResponse(2, 0, 0, 2, 0, List.of());
+    when(medicalRecordService.deleteMedicalRecords(body)).thenReturn(summary);
+
+    ResponseEntity<BulkImportResponse> responseEntity = medicalRecordController.deleteMedicalRecords(body);
+
+    assertEquals(200, responseEntity.getStatusCodeValue());
+    assertEquals(summary, responseEntity.getBody());
+  }
+}
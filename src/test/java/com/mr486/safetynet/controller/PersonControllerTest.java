@@ -1,6 +1,7 @@
 package com.mr486.safetynet.controller;
 
 
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.PersonSearch;
 import com.mr486.safetynet.model.Person;
 import com.mr486.safetynet.service.PersonService;
@@ -11,8 +12,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -91,4 +97,20 @@ class PersonControllerTest {
     assertEquals("Person deleted successfully", responseEntity.getBody());
   }
 
-}
\ No newline at end of file
+  /**
+   * Tests the addPersons method of the PersonController.
+   * It verifies that the body is handed to the service and that its summary is returned.
+   */
+  @Test
+  void addPersons_shouldReturnImportSummary() throws Exception {
+    InputStream body = new ByteArrayInputStream(new byte[0]);
+    BulkImportResponse summary = new BulkImportResponse(2, 1, 0, 0, 0, List.of());
+    when(mockPersonService.importPersons(body)).thenReturn(summary);
+
+    ResponseEntity<BulkImportResponse> responseEntity = personController.addPersons(body);
+
+    assertEquals(200, responseEntity.getStatusCodeValue());
+    assertEquals(summary, responseEntity.getBody());
+  }
+
+}
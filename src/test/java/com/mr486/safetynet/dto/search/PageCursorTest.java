@@ -0,0 +1,38 @@
+package com.mr486.safetynet.dto.search;
+
+import com.mr486.safetynet.exeption.InvalidPageException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PageCursor} record.
+ */
+class PageCursorTest {
+
+  @Test
+  void decode_shouldReadEncodedCursor() {
+    PageCursor cursor = new PageCursor(42, (3L << 32) | 17);
+
+    String encoded = cursor.encode();
+
+    assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    assertEquals(cursor, PageCursor.decode(encoded));
+  }
+
+  @Test
+  void decode_shouldRejectMalformedCursor() {
+    assertThrows(InvalidPageException.class, () -> PageCursor.decode("not a cursor!"));
+    assertThrows(InvalidPageException.class, () -> PageCursor.decode("AAAA"));
+    assertThrows(InvalidPageException.class, () -> PageCursor.decode(new PageCursor(1, -1).encode()));
+  }
+
+  @Test
+  void checkLimit_shouldAcceptLimitsUpToMax() {
+    PageCursor.checkLimit(1);
+    PageCursor.checkLimit(PageCursor.MAX_LIMIT);
+
+    assertThrows(InvalidPageException.class, () -> PageCursor.checkLimit(0));
+    assertThrows(InvalidPageException.class, () -> PageCursor.checkLimit(PageCursor.MAX_LIMIT + 1));
+  }
+}
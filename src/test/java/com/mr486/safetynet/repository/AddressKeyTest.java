@@ -0,0 +1,29 @@
+package com.mr486.safetynet.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AddressKey} record.
+ */
+class AddressKeyTest {
+
+  @Test
+  void of_shouldFoldCaseAndCollapseWhitespace() {
+    assertEquals(new AddressKey("1509 culver st"), AddressKey.of("  1509 \t Culver   ST\n"));
+    assertEquals(AddressKey.of("1509 Culver St"), AddressKey.of("1509 CULVER ST"));
+  }
+
+  @Test
+  void of_shouldKeepDistinctAddressesApart() {
+    assertNotEquals(AddressKey.of("1509 Culver St"), AddressKey.of("1509 Culver Street"));
+    assertNotEquals(AddressKey.of("15 09 Culver St"), AddressKey.of("1509 Culver St"));
+  }
+
+  @Test
+  void of_shouldMapNullToEmptyKey() {
+    assertEquals(new AddressKey(""), AddressKey.of(null));
+    assertEquals(AddressKey.of("   "), AddressKey.of(null));
+  }
+}
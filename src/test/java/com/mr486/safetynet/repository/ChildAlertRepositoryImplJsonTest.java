@@ -0,0 +1,86 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import com.mr486.safetynet.dto.response.ChildDto;
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+import com.mr486.safetynet.tools.Journal;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ChildAlertRepositoryImplJson} class.
+ * Verifies that the child alerts follow the mutations of the other repositories and the change of day.
+ */
+class ChildAlertRepositoryImplJsonTest {
+
+  private final AgeCalculator ageCalculator = mock(AgeCalculator.class);
+  private final DataStore dataStore = new DataStore(ageCalculator);
+  private final ChildAlertRepositoryImplJson childAlertRepository = new ChildAlertRepositoryImplJson(dataStore);
+
+  private static Person person(String firstName, String address) {
+    return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  private static MedicalRecord medicalRecord(String firstName, LocalDate birthdate) {
+    return new MedicalRecord(firstName, "Boyd", String.format("%02d/%02d/%04d",
+            birthdate.getMonthValue(), birthdate.getDayOfMonth(), birthdate.getYear()));
+  }
+
+  /**
+   * Verifies that the mutations made through the repositories are visible in the child alerts.
+   */
+  @Test
+  void findChildAlertByAddress_shouldFollowMutations() {
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(List.of(person("John", "1509 Culver St")), List.of(),
+            List.of(medicalRecord("John", LocalDate.now().minusYears(40))));
+    PersonRepositoryImplJson personRepository = new PersonRepositoryImplJson(dataStore, new Journal());
+    MedicalRecordRepositoryImplJson medicalRecordRepository = new MedicalRecordRepositoryImplJson(dataStore, new Journal());
+    assertTrue(childAlertRepository.findChildAlertByAddress("1509 Culver St").isEmpty());
+
+    personRepository.save(person("Tenley", "1509 Culver St"));
+    assertTrue(childAlertRepository.findChildAlertByAddress("1509 Culver St").isEmpty());
+
+    medicalRecordRepository.save(medicalRecord("Tenley", LocalDate.now().minusYears(12)));
+    ChildAlertResponse alert = childAlertRepository.findChildAlertByAddress("1509 Culver St").orElseThrow();
+    assertEquals(List.of(new ChildDto("Tenley", "Boyd", 12)), alert.getChildren());
+    assertEquals(1, alert.getOtherMembers().size());
+
+    personRepository.update(person("Tenley", "29 15th St"));
+    assertTrue(childAlertRepository.findChildAlertByAddress("1509 Culver St").isEmpty());
+    assertTrue(childAlertRepository.findChildAlertByAddress("29 15th St").isPresent());
+
+    personRepository.delete(new PersonSearch("Tenley", "Boyd"));
+    assertTrue(childAlertRepository.findChildAlertByAddress("29 15th St").isEmpty());
+  }
+
+  /**
+   * Verifies that a read of a new day does not publish anything, and that the roll over of the store
+   * moves the view to that day.
+   */
+  @Test
+  void findChildAlertByAddress_shouldRollOverAtNewDay() {
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(List.of(person("Tenley", "1509 Culver St")), List.of(),
+            List.of(medicalRecord("Tenley", LocalDate.now().minusYears(19).plusDays(1))));
+    assertTrue(childAlertRepository.findChildAlertByAddress("1509 Culver St").isPresent());
+
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().plusDays(1).toEpochDay());
+    DataSnapshot published = dataStore.current();
+    assertTrue(childAlertRepository.findChildAlertByAddress("1509 Culver St").isPresent());
+    assertSame(published, dataStore.current());
+
+    dataStore.rollOver();
+
+    assertTrue(childAlertRepository.findChildAlertByAddress("1509 Culver St").isEmpty());
+    assertEquals(LocalDate.now().plusDays(1).toEpochDay(), dataStore.current().getChildAlerts().getDay());
+  }
+}
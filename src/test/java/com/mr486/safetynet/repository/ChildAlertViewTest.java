@@ -0,0 +1,115 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import com.mr486.safetynet.dto.response.ChildDto;
+import com.mr486.safetynet.dto.response.OtherHouseholdMemberDto;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ChildAlertView} class.
+ * Verifies the classification of the residents and that the view follows the changes of the tables and of the day.
+ */
+class ChildAlertViewTest {
+
+  private static final LocalDate TODAY = LocalDate.now();
+
+  private final PersonTable persons = new PersonTable(List.of(
+          person("John", "1509 Culver St"),
+          person("Tenley", "1509 Culver St"),
+          person("Unknown", "1509 Culver St"),
+          person("Jacob", "29 15th St"),
+          person("Roger", "748 Townings Dr")));
+  private final MedicalRecordTable medicalRecords = new MedicalRecordTable(List.of(
+          medicalRecord("John", TODAY.minusYears(40)),
+          medicalRecord("Tenley", TODAY.minusYears(10)),
+          medicalRecord("Jacob", TODAY.minusYears(30)),
+          medicalRecord("Roger", TODAY.minusYears(19).plusDays(1))));
+  private final ChildAlertView view = new ChildAlertView(persons, medicalRecords, (int) TODAY.toEpochDay());
+
+  private static Person person(String firstName, String address) {
+    return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  private static MedicalRecord medicalRecord(String firstName, LocalDate birthdate) {
+    return new MedicalRecord(firstName, "Boyd", String.format("%02d/%02d/%04d",
+            birthdate.getMonthValue(), birthdate.getDayOfMonth(), birthdate.getYear()));
+  }
+
+  @Test
+  void constructor_shouldClassifyResidents() {
+    ChildAlertResponse alert = view.find(" 1509 CULVER st").orElseThrow();
+
+    assertEquals(List.of(new ChildDto("Tenley", "Boyd", 10)), alert.getChildren());
+    assertEquals(List.of(new OtherHouseholdMemberDto("John", "Boyd")), alert.getOtherMembers());
+    assertEquals(List.of(new ChildDto("Roger", "Boyd", 18)), view.find("748 Townings Dr").orElseThrow().getChildren());
+    assertTrue(view.find("29 15th St").isEmpty());
+    assertTrue(view.find("unknown address").isEmpty());
+  }
+
+  @Test
+  void refresh_shouldFollowPersonMovingOut() {
+    PersonTable moved = persons.withUpdated(person("Tenley", "29 15th St"));
+    ChildAlertView refreshed = view.refresh(moved, medicalRecords, List.of("1509 Culver St", "29 15th St"));
+
+    assertTrue(refreshed.find("1509 Culver St").isEmpty());
+    ChildAlertResponse alert = refreshed.find("29 15th St").orElseThrow();
+    assertEquals(List.of(new ChildDto("Tenley", "Boyd", 10)), alert.getChildren());
+    assertEquals(List.of(new OtherHouseholdMemberDto("Jacob", "Boyd")), alert.getOtherMembers());
+    assertTrue(view.find("1509 Culver St").isPresent());
+
+    refreshed = refreshed.refresh(moved.withDeleted("Roger", "Boyd"), medicalRecords, List.of("748 Townings Dr"));
+    assertTrue(refreshed.find("748 Townings Dr").isEmpty());
+  }
+
+  @Test
+  void refresh_shouldFollowMedicalRecordChanges() {
+    MedicalRecordTable records = medicalRecords.withSaved(medicalRecord("Unknown", TODAY.minusYears(2)));
+    ChildAlertView refreshed = view.refresh(persons, records, List.of("1509 Culver St"));
+    assertEquals(2, refreshed.find("1509 Culver St").orElseThrow().getChildren().size());
+
+    records = records.withUpdated(new MedicalRecord("Unknown", "Boyd", "invalid-date"));
+    refreshed = refreshed.refresh(persons, records, List.of("1509 Culver St"));
+    assertEquals(new ChildDto("Unknown", "Boyd", null), refreshed.find("1509 Culver St").orElseThrow().getChildren().get(1));
+
+    records = records.withDeleted("Tenley", "Boyd").withDeleted("Unknown", "Boyd");
+    refreshed = refreshed.refresh(persons, records, List.of("1509 Culver St"));
+    assertTrue(refreshed.find("1509 Culver St").isEmpty());
+    assertEquals(1, view.find("1509 Culver St").orElseThrow().getChildren().size());
+  }
+
+  @Test
+  void rollOver_shouldRebuildHouseholdsWithBirthdays() {
+    ChildAlertResponse untouched = view.find("1509 Culver St").orElseThrow();
+
+    ChildAlertView tomorrow = view.rollOver((int) TODAY.plusDays(1).toEpochDay());
+
+    assertTrue(tomorrow.find("748 Townings Dr").isEmpty());
+    assertSame(untouched, tomorrow.find("1509 Culver St").orElseThrow());
+    assertTrue(view.find("748 Townings Dr").isPresent());
+    assertSame(tomorrow, tomorrow.rollOver(tomorrow.getDay()));
+
+    ChildAlertView nextYear = tomorrow.rollOver((int) TODAY.plusYears(1).toEpochDay());
+
+    assertEquals(11, nextYear.find("1509 Culver St").orElseThrow().getChildren().get(0).getAge());
+
+    ChildAlertView back = nextYear.rollOver((int) TODAY.toEpochDay());
+
+    assertEquals(10, back.find("1509 Culver St").orElseThrow().getChildren().get(0).getAge());
+    assertEquals(18, back.find("748 Townings Dr").orElseThrow().getChildren().get(0).getAge());
+  }
+
+  @Test
+  void rollOver_shouldRebuildEveryHouseholdAfterLongJump() {
+    ChildAlertView later = view.rollOver((int) TODAY.plusYears(5).toEpochDay());
+
+    assertEquals(15, later.find("1509 Culver St").orElseThrow().getChildren().get(0).getAge());
+    assertTrue(later.find("748 Townings Dr").isEmpty());
+  }
+}
@@ -0,0 +1,201 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.exeption.InvalidPageException;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+import com.mr486.safetynet.tools.Journal;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CoverageRepositoryImplJson} class.
+ * Verifies that the coverage follows the mutations of the other repositories and the change of day.
+ */
+class CoverageRepositoryImplJsonTest {
+
+  private final AgeCalculator ageCalculator = mock(AgeCalculator.class);
+  private final DataStore dataStore = new DataStore(ageCalculator);
+  private final CoverageRepositoryImplJson coverageRepository = new CoverageRepositoryImplJson(dataStore);
+
+  private static Person person(String firstName, String address) {
+    return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  /**
+   * Verifies that the mutations made through the repositories are visible in the coverage.
+   */
+  @Test
+  void getCoverageByStationNumber_shouldFollowMutations() {
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(List.of(person("John", "1509 Culver St")), List.of(new FireStation("1509 Culver St", 3)), List.of());
+    PersonRepositoryImplJson personRepository = new PersonRepositoryImplJson(dataStore, new Journal());
+    FireStationRepositoryImplJson fireStationRepository = new FireStationRepositoryImplJson(dataStore, new Journal());
+    MedicalRecordRepositoryImplJson medicalRecordRepository = new MedicalRecordRepositoryImplJson(dataStore, new Journal());
+
+    personRepository.save(person("Tenley", "1509 Culver St"));
+    medicalRecordRepository.save(new MedicalRecord("Tenley", "Boyd", "02/18/2012"));
+    fireStationRepository.saveFireStation(new FireStation("29 15th St", 3));
+    personRepository.save(person("Jacob", "29 15th St"));
+    personRepository.delete(new PersonSearch("John", "Boyd"));
+
+    FireStationCoverage coverage = coverageRepository.getCoverageByStationNumber(3);
+    assertEquals(List.of("Tenley", "Jacob"), coverage.getPersons().stream().map(PersonInfo::getFirstName).toList());
+    assertEquals(1, coverage.getAdultCount());
+    assertEquals(1, coverage.getChildCount());
+
+    fireStationRepository.updateFireStation(new FireStation("29 15th St", 2));
+    assertEquals(1, coverageRepository.getCoverageByStationNumber(3).getPersons().size());
+    assertEquals(1, coverageRepository.getCoverageByStationNumber(2).getPersons().size());
+  }
+
+  /**
+   * Verifies that a read of a new day does not publish anything, and that the roll over of the store
+   * moves the view to that day with a new version for the recounted station.
+   */
+  @Test
+  void getCoverageByStationNumber_shouldRollOverAtNewDay() {
+    LocalDate birthday = LocalDate.now().minusYears(18).plusDays(1);
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(
+            List.of(person("Tenley", "1509 Culver St")),
+            List.of(new FireStation("1509 Culver St", 3)),
+            List.of(new MedicalRecord("Tenley", "Boyd", String.format("%02d/%02d/%04d",
+                    birthday.getMonthValue(), birthday.getDayOfMonth(), birthday.getYear()))));
+    assertEquals(1, coverageRepository.getCoverageByStationNumber(3).getChildCount());
+    long version = coverageRepository.getCoverageVersion(3);
+
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().plusDays(1).toEpochDay());
+    DataSnapshot published = dataStore.current();
+    assertEquals(1, coverageRepository.getCoverageByStationNumber(3).getChildCount());
+    assertSame(published, dataStore.current());
+
+    dataStore.rollOver();
+
+    assertEquals(1, coverageRepository.getCoverageByStationNumber(3).getAdultCount());
+    assertTrue(coverageRepository.getCoverageVersion(3) > version);
+    assertEquals(LocalDate.now().plusDays(1).toEpochDay(), dataStore.current().getCoverage().getDay());
+  }
+
+  /**
+   * Verifies that a request pinning its snapshot reads the version and the coverage of a station from it,
+   * even if the views are moved to a new day in between.
+   */
+  @Test
+  void getCoverageVersion_shouldMatchCoverageOfPinnedSnapshotAcrossRollOver() {
+    LocalDate birthday = LocalDate.now().minusYears(18).plusDays(1);
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(
+            List.of(person("Tenley", "1509 Culver St")),
+            List.of(new FireStation("1509 Culver St", 3)),
+            List.of(new MedicalRecord("Tenley", "Boyd", String.format("%02d/%02d/%04d",
+                    birthday.getMonthValue(), birthday.getDayOfMonth(), birthday.getYear()))));
+    long version = coverageRepository.getCoverageVersion(3);
+
+    DataStore.Pin pin = dataStore.pin();
+    try {
+      assertEquals(version, coverageRepository.getCoverageVersion(3));
+      when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().plusDays(1).toEpochDay());
+      dataStore.rollOver();
+
+      assertEquals(1, coverageRepository.getCoverageByStationNumber(3).getChildCount());
+      assertEquals(version, coverageRepository.getCoverageVersion(3));
+    } finally {
+      pin.close();
+    }
+    assertEquals(1, coverageRepository.getCoverageByStationNumber(3).getAdultCount());
+  }
+
+  /**
+   * Verifies that the pages of a coverage are read from the snapshot of the first page, despite writes in between.
+   */
+  @Test
+  void getCoveragePageByStationNumber_shouldReadNextPagesFromSameSnapshot() {
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(List.of(person("John", "1509 Culver St"), person("Jacob", "1509 Culver St"),
+            person("Tenley", "1509 Culver St")), List.of(new FireStation("1509 Culver St", 3)), List.of());
+    PersonRepositoryImplJson personRepository = new PersonRepositoryImplJson(dataStore, new Journal());
+
+    FireStationCoveragePage first = coverageRepository.getCoveragePageByStationNumber(3, null, 2);
+    personRepository.delete(new PersonSearch("John", "Boyd"));
+    FireStationCoveragePage second = coverageRepository.getCoveragePageByStationNumber(3,
+            PageCursor.decode(first.getNextCursor()), 2);
+
+    assertEquals(List.of("John", "Jacob"), first.getPersons().stream().map(PersonInfo::getFirstName).toList());
+    assertEquals(3, first.getAdultCount());
+    assertEquals(List.of("Tenley"), second.getPersons().stream().map(PersonInfo::getFirstName).toList());
+    assertNull(second.getNextCursor());
+    assertEquals(2, coverageRepository.getCoveragePageByStationNumber(3, null, 2).getPersons().size());
+  }
+
+  /**
+   * Verifies that a cursor whose snapshot is no longer retained, as after a reload, is rejected.
+   */
+  @Test
+  void getCoveragePageByStationNumber_shouldRejectExpiredCursor() {
+    PageCursor cursor = new PageCursor(dataStore.current().getVersion(), 1);
+    dataStore.publish(List.of(), List.of(), List.of());
+
+    assertThrows(InvalidPageException.class, () -> coverageRepository.getCoveragePageByStationNumber(3, cursor, 2));
+  }
+
+  /**
+   * Verifies that the version of a station changes with the mutations touching it, and only with them.
+   */
+  @Test
+  void getCoverageVersion_shouldChangeWithMutationsTouchingStation() {
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    dataStore.publish(List.of(person("John", "1509 Culver St"), person("Jacob", "29 15th St")),
+            List.of(new FireStation("1509 Culver St", 3), new FireStation("29 15th St", 2)), List.of());
+    PersonRepositoryImplJson personRepository = new PersonRepositoryImplJson(dataStore, new Journal());
+    MedicalRecordRepositoryImplJson medicalRecordRepository = new MedicalRecordRepositoryImplJson(dataStore, new Journal());
+    long station3 = coverageRepository.getCoverageVersion(3);
+    long station2 = coverageRepository.getCoverageVersion(2);
+
+    personRepository.save(person("Tenley", "1509 Culver St"));
+    assertTrue(coverageRepository.getCoverageVersion(3) > station3);
+    assertEquals(station2, coverageRepository.getCoverageVersion(2));
+
+    station3 = coverageRepository.getCoverageVersion(3);
+    medicalRecordRepository.save(new MedicalRecord("Jacob", "Boyd", "02/18/2012"));
+    assertEquals(station3, coverageRepository.getCoverageVersion(3));
+    assertTrue(coverageRepository.getCoverageVersion(2) > station2);
+    assertEquals(0, coverageRepository.getCoverageVersion(9));
+  }
+
+  /**
+   * Verifies that the tag of a station is never matched by a new store at the same version, as after a restart,
+   * nor by a reload, while the mutations not touching the station keep it.
+   */
+  @Test
+  void getCoverageTag_shouldNotMatchTagOfPreviousStoreOrLoad() {
+    when(ageCalculator.todayEpochDay()).thenReturn((int) LocalDate.now().toEpochDay());
+    List<Person> persons = List.of(person("John", "1509 Culver St"), person("Jacob", "29 15th St"));
+    List<FireStation> fireStations = List.of(new FireStation("1509 Culver St", 3), new FireStation("29 15th St", 2));
+    dataStore.publish(persons, fireStations, List.of());
+    String tag = coverageRepository.getCoverageTag(3);
+
+    new PersonRepositoryImplJson(dataStore, new Journal()).save(person("Tenley", "29 15th St"));
+    assertEquals(tag, coverageRepository.getCoverageTag(3));
+
+    DataStore restarted = new DataStore(ageCalculator);
+    restarted.publish(persons, fireStations, List.of());
+    CoverageRepositoryImplJson restartedRepository = new CoverageRepositoryImplJson(restarted);
+    assertEquals(coverageRepository.getCoverageVersion(3), restartedRepository.getCoverageVersion(3));
+    assertNotEquals(tag, restartedRepository.getCoverageTag(3));
+
+    dataStore.publish(persons, fireStations, List.of());
+    assertNotEquals(tag, coverageRepository.getCoverageTag(3));
+  }
+}
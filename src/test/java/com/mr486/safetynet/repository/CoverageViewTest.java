@@ -0,0 +1,175 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CoverageView} class.
+ * Verifies the counts of adults and children and that the view follows the changes of the tables.
+ */
+class CoverageViewTest {
+
+  private static final LocalDate TODAY = LocalDate.now();
+
+  private final PersonTable persons = new PersonTable(List.of(
+          person("John", "1509 Culver St"),
+          person("Tenley", "1509 Culver St"),
+          person("Jacob", "29 15th St"),
+          person("Roger", "748 Townings Dr")));
+  private final FireStationTable fireStations = new FireStationTable(List.of(
+          new FireStation("1509 Culver St", 3),
+          new FireStation("29 15th St", 2),
+          new FireStation("748 Townings Dr", 3),
+          new FireStation("748 Townings Dr", 4)));
+  private final MedicalRecordTable medicalRecords = new MedicalRecordTable(List.of(
+          medicalRecord("John", TODAY.minusYears(40)),
+          medicalRecord("Tenley", TODAY.minusYears(10)),
+          medicalRecord("Roger", TODAY.minusYears(18).plusDays(1))));
+  private final CoverageView view = new CoverageView(persons, fireStations, medicalRecords, (int) TODAY.toEpochDay(), 1);
+
+  private static Person person(String firstName, String address) {
+    return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  private static MedicalRecord medicalRecord(String firstName, LocalDate birthdate) {
+    return new MedicalRecord(firstName, "Boyd", String.format("%02d/%02d/%04d",
+            birthdate.getMonthValue(), birthdate.getDayOfMonth(), birthdate.getYear()));
+  }
+
+  private static List<String> names(FireStationCoverage coverage) {
+    return coverage.getPersons().stream().map(PersonInfo::getFirstName).toList();
+  }
+
+  @Test
+  void constructor_shouldCountAdultsAndChildren() {
+    FireStationCoverage coverage = view.find(3);
+
+    assertEquals(List.of("John", "Tenley", "Roger"), names(coverage));
+    assertEquals(1, coverage.getAdultCount());
+    assertEquals(2, coverage.getChildCount());
+    assertEquals(List.of("Roger"), names(view.find(4)));
+    assertEquals(List.of("Jacob"), names(view.find(2)));
+    assertEquals(1, view.find(2).getAdultCount());
+    assertTrue(view.find(9).getPersons().isEmpty());
+    assertTrue(view.find(null).getPersons().isEmpty());
+  }
+
+  @Test
+  void refresh_shouldFollowPersonMovingOut() {
+    PersonTable moved = persons.withUpdated(person("Tenley", "29 15th St"));
+    CoverageView refreshed = view.refresh(moved, fireStations, medicalRecords, List.of("1509 Culver St", "29 15th St"), 2);
+
+    assertEquals(List.of("John", "Roger"), names(refreshed.find(3)));
+    assertEquals(List.of("Jacob", "Tenley"), names(refreshed.find(2)));
+    assertEquals(1, refreshed.find(2).getChildCount());
+    assertEquals(List.of("John", "Tenley", "Roger"), names(view.find(3)));
+    assertSame(view.find(4), refreshed.find(4));
+  }
+
+  @Test
+  void refresh_shouldFollowFireStationUpdateAndDelete() {
+    FireStationTable updated = fireStations.withUpdated(new FireStation("1509 Culver St", 2));
+    CoverageView refreshed = view.refresh(persons, updated, medicalRecords, List.of("1509 Culver St"), 2);
+
+    assertEquals(List.of("Roger"), names(refreshed.find(3)));
+    assertEquals(List.of("Jacob", "John", "Tenley"), names(refreshed.find(2)));
+
+    refreshed = refreshed.refresh(persons, updated.withDeleted("748 Townings Dr"), medicalRecords,
+            List.of("748 Townings Dr"), 3);
+
+    assertTrue(refreshed.find(3).getPersons().isEmpty());
+    assertTrue(refreshed.find(4).getPersons().isEmpty());
+  }
+
+  @Test
+  void refresh_shouldFollowMedicalRecordChanges() {
+    MedicalRecordTable records = medicalRecords.withUpdated(medicalRecord("Tenley", TODAY.minusYears(30)));
+    CoverageView refreshed = view.refresh(persons, fireStations, records, List.of("1509 Culver St"), 2);
+    assertEquals(2, refreshed.find(3).getAdultCount());
+
+    records = records.withUpdated(new MedicalRecord("Tenley", "Boyd", "invalid-date"));
+    refreshed = refreshed.refresh(persons, fireStations, records, List.of("1509 Culver St"), 3);
+    assertEquals(1, refreshed.find(3).getAdultCount());
+
+    records = records.withDeleted("Tenley", "Boyd");
+    refreshed = refreshed.refresh(persons, fireStations, records, List.of("1509 Culver St"), 4);
+    assertEquals(2, refreshed.find(3).getAdultCount());
+  }
+
+  @Test
+  void rollOver_shouldCountChildComingOfAge() {
+    CoverageView tomorrow = view.rollOver((int) TODAY.plusDays(1).toEpochDay(), 2);
+
+    assertEquals(2, tomorrow.find(3).getAdultCount());
+    assertEquals(1, tomorrow.find(4).getAdultCount());
+    assertSame(view.find(2), tomorrow.find(2));
+    assertEquals(1, view.find(3).getAdultCount());
+    assertSame(tomorrow, tomorrow.rollOver(tomorrow.getDay(), 3));
+
+    CoverageView back = tomorrow.rollOver((int) TODAY.toEpochDay(), 3);
+
+    assertEquals(1, back.find(3).getAdultCount());
+    assertEquals(0, back.find(4).getAdultCount());
+  }
+
+  @Test
+  void findVersion_shouldChangeOnlyForRebuiltStations() {
+    assertEquals(1, view.findVersion(3));
+    assertEquals(0, view.findVersion(9));
+    assertEquals(0, view.findVersion(null));
+
+    PersonTable moved = persons.withUpdated(person("Tenley", "29 15th St"));
+    CoverageView refreshed = view.refresh(moved, fireStations, medicalRecords, List.of("1509 Culver St", "29 15th St"), 2);
+
+    assertEquals(2, refreshed.findVersion(3));
+    assertEquals(2, refreshed.findVersion(2));
+    assertEquals(1, refreshed.findVersion(4));
+    assertEquals(1, view.findVersion(3));
+
+    CoverageView tomorrow = refreshed.rollOver((int) TODAY.plusDays(1).toEpochDay(), 3);
+
+    assertEquals(3, tomorrow.findVersion(3));
+    assertEquals(3, tomorrow.findVersion(4));
+    assertEquals(2, tomorrow.findVersion(2));
+  }
+
+  @Test
+  void rollOver_shouldKeepVersionOfStationWhoseCountsDidNotChange() {
+    MedicalRecordTable records = medicalRecords.withDeleted("Roger", "Boyd");
+    CoverageView refreshed = view.refresh(persons, fireStations, records, List.of("748 Townings Dr"), 2);
+    assertEquals(1, refreshed.find(4).getAdultCount());
+
+    CoverageView tomorrow = refreshed.rollOver((int) TODAY.plusDays(1).toEpochDay(), 3);
+
+    assertEquals(2, tomorrow.findVersion(4));
+    assertSame(refreshed.find(4), tomorrow.find(4));
+    assertEquals(2, tomorrow.findVersion(3));
+    assertEquals(2, tomorrow.find(3).getAdultCount());
+  }
+
+  @Test
+  void refresh_shouldApplyCountsOfChangedHouseholdsOnly() {
+    PersonTable added = persons.withSaved(person("Felicia", "1509 Culver St"));
+    CoverageView refreshed = view.refresh(added, fireStations, medicalRecords, List.of("1509 Culver St"), 2);
+
+    assertEquals(List.of("John", "Tenley", "Felicia", "Roger"), names(refreshed.find(3)));
+    assertEquals(2, refreshed.find(3).getAdultCount());
+    assertEquals(2, refreshed.find(3).getChildCount());
+
+    PersonTable emptied = added.withDeleted("John", "Boyd").withDeleted("Tenley", "Boyd").withDeleted("Felicia", "Boyd");
+    refreshed = refreshed.refresh(emptied, fireStations, medicalRecords, List.of("1509 Culver St"), 3);
+
+    assertEquals(List.of("Roger"), names(refreshed.find(3)));
+    assertEquals(0, refreshed.find(3).getAdultCount());
+    assertEquals(1, refreshed.find(3).getChildCount());
+  }
+}
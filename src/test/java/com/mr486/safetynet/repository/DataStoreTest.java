@@ -0,0 +1,211 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DataStore} class.
+ */
+class DataStoreTest {
+
+  private final DataStore dataStore = new DataStore();
+
+  /**
+   * Verifies that the store starts with an empty snapshot.
+   */
+  @Test
+  void current_shouldBeEmptyInitially() {
+    DataSnapshot snapshot = dataStore.current();
+
+    assertEquals(0, snapshot.getVersion());
+    assertTrue(snapshot.getPersons().findAll().isEmpty());
+    assertEquals(0, snapshot.getFireStations().size());
+    assertEquals(0, snapshot.getMedicalRecords().size());
+  }
+
+  /**
+   * Verifies that publishing replaces the three sections at once and leaves the previous snapshot intact.
+   */
+  @Test
+  void publish_shouldSwapAllSectionsAndIncrementVersion() {
+    DataSnapshot previous = dataStore.current();
+    List<Person> persons = new ArrayList<>(List.of(new Person()));
+
+    DataSnapshot published = dataStore.publish(
+            persons,
+            List.of(new FireStation("1 Main St", 1)),
+            List.of(new MedicalRecord("John", "Doe", "01/01/1990")));
+
+    assertSame(published, dataStore.current());
+    assertEquals(previous.getVersion() + 1, published.getVersion());
+    assertEquals(1, published.getPersons().size());
+    assertEquals(1, published.getFireStations().size());
+    assertEquals(1, published.getMedicalRecords().size());
+    assertTrue(previous.getPersons().findAll().isEmpty());
+    persons.clear();
+    assertEquals(1, published.getPersons().size());
+  }
+
+  /**
+   * Verifies that replacing one section keeps the others.
+   */
+  @Test
+  void update_shouldReplaceOneSection() {
+    dataStore.publish(List.of(new Person()), List.of(new FireStation("1 Main St", 1)), List.of());
+
+    DataSnapshot updated = dataStore.update(snapshot -> snapshot.withPersons(new PersonTable(List.of()), List.of()));
+
+    assertEquals(2, updated.getVersion());
+    assertTrue(updated.getPersons().findAll().isEmpty());
+    assertEquals(1, updated.getFireStations().size());
+  }
+
+  /**
+   * Verifies that an incremental mutation refreshes the views of the next snapshot only.
+   */
+  @Test
+  void withPersons_shouldRefreshViewsOfTouchedAddresses() {
+    Person person = new Person("John", "Boyd", "1 Main St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+    DataSnapshot previous = dataStore.publish(List.of(), List.of(new FireStation("1 Main St", 1)),
+            List.of(new MedicalRecord("John", "Boyd", "01/01/2020")));
+
+    DataSnapshot updated = dataStore.update(snapshot ->
+            snapshot.withPersons(snapshot.getPersons().withSaved(person), List.of(person.getAddress())));
+
+    assertEquals(previous.getVersion() + 1, updated.getVersion());
+    assertEquals(1, updated.getCoverage().find(1).getChildCount());
+    assertTrue(updated.getChildAlerts().find("1 Main St").isPresent());
+    assertTrue(previous.getCoverage().find(1).getPersons().isEmpty());
+    assertTrue(previous.getChildAlerts().find("1 Main St").isEmpty());
+    assertSame(previous.getFireStations(), updated.getFireStations());
+  }
+
+  /**
+   * Verifies that moving the views to another day keeps the tables and increments the version.
+   */
+  @Test
+  void withDay_shouldKeepTablesAndIncrementVersion() {
+    DataSnapshot snapshot = dataStore.publish(List.of(), List.of(), List.of());
+    int day = snapshot.getCoverage().getDay();
+
+    DataSnapshot tomorrow = snapshot.withDay(day + 1);
+
+    assertSame(snapshot, snapshot.withDay(day));
+    assertEquals(snapshot.getVersion() + 1, tomorrow.getVersion());
+    assertSame(snapshot.getPersons(), tomorrow.getPersons());
+    assertEquals(day + 1, tomorrow.getCoverage().getDay());
+    assertEquals(day + 1, tomorrow.getChildAlerts().getDay());
+  }
+
+  /**
+   * Verifies that reads run through read() all see the snapshot pinned when it started.
+   */
+  @Test
+  void read_shouldPinSnapshotUntilDone() {
+    DataSnapshot initial = dataStore.current();
+
+    long version = dataStore.read(() -> {
+      dataStore.publish(List.of(new Person()), List.of(), List.of());
+      assertSame(initial, dataStore.current());
+      return dataStore.read(() -> dataStore.current().getVersion());
+    });
+
+    assertEquals(0, version);
+    assertEquals(1, dataStore.current().getVersion());
+  }
+
+  /**
+   * Verifies that a pin only applies to the thread holding it.
+   */
+  @Test
+  void pin_shouldNotAffectOtherThreads() throws InterruptedException {
+    DataSnapshot[] seen = new DataSnapshot[1];
+    DataStore.Pin pin = dataStore.pin();
+    try {
+      DataSnapshot published = dataStore.publish(List.of(), List.of(), List.of());
+      Thread thread = new Thread(() -> seen[0] = dataStore.current());
+      thread.start();
+      thread.join();
+      assertSame(published, seen[0]);
+      assertEquals(0, dataStore.current().getVersion());
+    } finally {
+      pin.close();
+    }
+    assertEquals(1, dataStore.current().getVersion());
+  }
+
+  /**
+   * Verifies that the versions replaced by writes can be found again, however many writes happened since.
+   */
+  @Test
+  void find_shouldReturnVersionsReplacedWithinRetention() {
+    DataSnapshot first = dataStore.publish(List.of(), List.of(), List.of());
+
+    for (int i = 0; i < 500; i++) {
+      dataStore.update(snapshot -> snapshot.withPersons(snapshot.getPersons(), List.of()));
+    }
+
+    assertSame(first, dataStore.find(first.getVersion()).orElseThrow());
+    assertSame(dataStore.current(), dataStore.find(dataStore.current().getVersion()).orElseThrow());
+    assertTrue(dataStore.find(dataStore.current().getVersion() + 1).isEmpty());
+  }
+
+  /**
+   * Verifies that the versions replaced longer than the retention ago are dropped.
+   */
+  @Test
+  void find_shouldDropVersionsReplacedBeforeRetention() {
+    dataStore.retentionMs = 0;
+    DataSnapshot first = dataStore.publish(List.of(), List.of(), List.of());
+
+    dataStore.update(snapshot -> snapshot.withPersons(snapshot.getPersons(), List.of()));
+
+    assertTrue(dataStore.find(first.getVersion()).isEmpty());
+    assertSame(dataStore.current(), dataStore.find(dataStore.current().getVersion()).orElseThrow());
+  }
+
+  /**
+   * Verifies that a publication drops the versions of the previous data.
+   */
+  @Test
+  void find_shouldDropVersionsOfPreviousPublication() {
+    DataSnapshot first = dataStore.publish(List.of(), List.of(), List.of());
+    DataSnapshot updated = dataStore.update(snapshot -> snapshot.withPersons(snapshot.getPersons(), List.of()));
+
+    dataStore.publish(List.of(), List.of(), List.of());
+
+    assertTrue(dataStore.find(first.getVersion()).isEmpty());
+    assertTrue(dataStore.find(updated.getVersion()).isEmpty());
+  }
+
+  /**
+   * Verifies that the version of a snapshot seen current can always be found, even while writes replace it.
+   */
+  @Test
+  void find_shouldReturnVersionSeenCurrentDuringWrites() throws InterruptedException {
+    dataStore.publish(List.of(), List.of(), List.of());
+    AtomicBoolean missed = new AtomicBoolean();
+    Thread reader = new Thread(() -> {
+      for (int i = 0; i < 100_000 && !missed.get(); i++) {
+        if (dataStore.find(dataStore.current().getVersion()).isEmpty()) {
+          missed.set(true);
+        }
+      }
+    });
+    reader.start();
+    while (reader.isAlive()) {
+      dataStore.update(snapshot -> snapshot.withPersons(snapshot.getPersons(), List.of()));
+    }
+    reader.join();
+
+    assertFalse(missed.get());
+  }
+}
@@ -2,17 +2,13 @@ package com.mr486.safetynet.repository;
 
 import com.mr486.safetynet.dto.DataBinding;
 import com.mr486.safetynet.model.FireStation;
-import com.mr486.safetynet.tools.JsonDataReader;
+import com.mr486.safetynet.tools.Journal;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for the {@link FireStationRepositoryImplJson} class.
@@ -24,60 +20,35 @@ import static org.mockito.Mockito.when;
  */
 class FireStationRepositoryImplJsonTest {
 
-  /**
-   * Mocked instance of {@link JsonDataReader} to simulate JSON data loading.
-   */
-  @Mock
-  private JsonDataReader mockJsonDataReader;
+  private final DataStore dataStore = new DataStore();
 
   /**
-   * Instance of {@link FireStationRepositoryImplJson} with injected mocks.
+   * Instance of {@link FireStationRepositoryImplJson} under test.
    */
-  @InjectMocks
-  private FireStationRepositoryImplJson fireStationRepository;
+  private final FireStationRepositoryImplJson fireStationRepository = new FireStationRepositoryImplJson(dataStore, new Journal());
 
   /**
-   * Tests that the init method correctly loads fire stations from the JSON file.
+   * Tests that the fire stations published with the data store are found by the repository.
    */
   @Test
-  void init_shouldLoadFireStationsFromJson() {
-    MockitoAnnotations.openMocks(this);
+  void publish_shouldMakeFireStationsFindable() {
     FireStation station = new FireStation("Address1", 1);
     DataBinding dataBinding = new DataBinding();
     dataBinding.setFirestations(List.of(station));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    fireStationRepository.init();
+    dataStore.publish(List.of(), dataBinding.getFirestations(), List.of());
 
     List<FireStation> fireStations = fireStationRepository.getAllFireStationsByStationNumber(1);
     assertEquals(1, fireStations.size());
     assertEquals("Address1", fireStations.get(0).getAddress());
   }
 
-  /**
-   * Tests that the init method handles exceptions and keeps the fire stations list empty.
-   */
-  @Test
-  void init_shouldHandleExceptionAndKeepFireStationsEmpty() {
-    MockitoAnnotations.openMocks(this);
-    when(mockJsonDataReader.loadData()).thenThrow(new RuntimeException("JSON error"));
-
-    fireStationRepository.init();
-
-    Optional<FireStation> result = fireStationRepository.getFireStationByAddress("NonExistentAddress");
-    assertTrue(result.isEmpty());
-  }
-
   /**
    * Tests that getAllFireStationsByStationNumber returns an empty list if no stations match the given number.
    */
   @Test
   void getAllFireStationsByStationNumber_shouldReturnEmptyListIfNoMatch() {
-    MockitoAnnotations.openMocks(this);
     FireStation station = new FireStation("Address1", 1);
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-
-    fireStationRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     fireStationRepository.saveFireStation(station);
     List<FireStation> result = fireStationRepository.getAllFireStationsByStationNumber(2);
     assertTrue(result.isEmpty());
@@ -88,7 +59,6 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void getFireStationByAddress_shouldReturnEmptyIfNotExists() {
-    MockitoAnnotations.openMocks(this);
     Optional<FireStation> result = fireStationRepository.getFireStationByAddress("Unknown");
     assertTrue(result.isEmpty());
   }
@@ -98,11 +68,8 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void saveFireStation_shouldAddNewFireStation() {
-    MockitoAnnotations.openMocks(this);
     FireStation station = new FireStation("Address1", 1);
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-
-    fireStationRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     fireStationRepository.saveFireStation(station);
 
     Optional<FireStation> result = fireStationRepository.getFireStationByAddress("Address1");
@@ -114,10 +81,8 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void updateFireStation_shouldModifyStationNumberIfExists() {
-    MockitoAnnotations.openMocks(this);
     FireStation station = new FireStation("Address1", 1);
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    fireStationRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     fireStationRepository.saveFireStation(station);
 
     FireStation updatedStation = new FireStation("Address1", 2);
@@ -132,7 +97,6 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void updateFireStation_shouldDoNothingIfAddressNotExists() {
-    MockitoAnnotations.openMocks(this);
     fireStationRepository.updateFireStation(new FireStation("Unknown", 7));
     assertFalse(fireStationRepository.existsByAddress("Unknown"));
   }
@@ -142,13 +106,10 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void deleteFireStationByAddress_shouldRemoveFireStation() {
-    MockitoAnnotations.openMocks(this);
     FireStation station = new FireStation("Address1", 1);
     DataBinding dataBinding = new DataBinding();
     dataBinding.setFirestations(List.of(station));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    fireStationRepository.init();
+    dataStore.publish(List.of(), dataBinding.getFirestations(), List.of());
     fireStationRepository.deleteFireStationByAddress("Address1");
     assertFalse(fireStationRepository.existsByAddress("Address1"));
   }
@@ -158,12 +119,10 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void deleteFireStationByAddress_shouldDoNothingIfAddressNotExists() {
-    MockitoAnnotations.openMocks(this);
     FireStation station = new FireStation("Address1", 1);
     DataBinding dataBinding = new DataBinding();
     dataBinding.setFirestations(List.of(station));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-    fireStationRepository.init();
+    dataStore.publish(List.of(), dataBinding.getFirestations(), List.of());
     fireStationRepository.deleteFireStationByAddress("NonExistentAddress");
     assertTrue(fireStationRepository.existsByAddress("Address1"));
   }
@@ -173,7 +132,18 @@ class FireStationRepositoryImplJsonTest {
    */
   @Test
   void existsByAddress_shouldReturnFalseIfFireStationDoesNotExist() {
-    MockitoAnnotations.openMocks(this);
     assertFalse(fireStationRepository.existsByAddress("NonExistent"));
   }
-}
\ No newline at end of file
+
+  /**
+   * Verifies that findAll returns an unmodifiable copy of the repository content.
+   */
+  @Test
+  void findAll_shouldReturnUnmodifiableCopy() {
+    dataStore.publish(List.of(), List.of(new FireStation("Address1", 1), new FireStation("Address2", 2)), List.of());
+
+    List<FireStation> result = fireStationRepository.findAll();
+    assertEquals(2, result.size());
+    assertThrows(UnsupportedOperationException.class, () -> result.add(new FireStation("Address3", 3)));
+  }
+}
@@ -0,0 +1,124 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.FireStation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FireStationTable} class.
+ * Verifies that the address and station number indexes stay consistent through every mutation.
+ */
+class FireStationTableTest {
+
+  private static List<String> addresses(List<FireStation> fireStations) {
+    return fireStations.stream().map(FireStation::getAddress).toList();
+  }
+
+  @Test
+  void constructor_shouldIndexByStationInOrder() {
+    FireStationTable table = new FireStationTable(List.of(
+            new FireStation("1509 Culver St", 3),
+            new FireStation("29 15th St", 2),
+            new FireStation("834 Binoc Ave", 3)));
+
+    assertEquals(3, table.size());
+    assertEquals(List.of("1509 Culver St", "834 Binoc Ave"), addresses(table.findByStation(3)));
+    assertEquals(List.of("29 15th St"), addresses(table.findByStation(2)));
+    assertEquals(List.of(), table.findByStation(4));
+    assertEquals(List.of(), table.findByStation(null));
+  }
+
+  @Test
+  void findByAddress_shouldNormalizeAddress() {
+    FireStationTable table = new FireStationTable(List.of(new FireStation("1509 Culver St", 3)));
+
+    assertEquals(3, table.findByAddress("  1509  CULVER st ").orElseThrow().getStation());
+    assertTrue(table.contains("1509 culver st"));
+    assertFalse(table.contains("29 15th St"));
+    assertEquals(Optional.empty(), table.findByAddress("29 15th St"));
+  }
+
+  @Test
+  void findByAddress_shouldReturnFirstMappingOfDuplicateAddress() {
+    FireStationTable table = new FireStationTable(List.of(
+            new FireStation("748 Townings Dr", 3),
+            new FireStation("29 15th St", 2),
+            new FireStation("748 Townings Dr", 4)));
+
+    assertEquals(3, table.findByAddress("748 Townings Dr").orElseThrow().getStation());
+    assertEquals(List.of("748 Townings Dr"), addresses(table.findByStation(4)));
+    assertEquals(List.of("748 Townings Dr", "748 Townings Dr", "29 15th St"), addresses(table.findAll()));
+  }
+
+  @Test
+  void update_shouldMoveAddressToNewStation() {
+    FireStation original = new FireStation("1509 Culver St", 3);
+    FireStationTable table = new FireStationTable(List.of(original, new FireStation("834 Binoc Ave", 3)));
+
+    table = table.withUpdated(new FireStation("1509 culver st", 2));
+    table = table.withUpdated(new FireStation("Unknown", 2));
+
+    assertEquals(List.of("834 Binoc Ave"), addresses(table.findByStation(3)));
+    assertEquals(List.of("1509 Culver St"), addresses(table.findByStation(2)));
+    assertEquals(2, table.findByAddress("1509 Culver St").orElseThrow().getStation());
+    assertEquals(3, original.getStation());
+    assertFalse(table.contains("Unknown"));
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  void update_shouldOnlyMoveFirstMappingOfDuplicateAddress() {
+    FireStationTable table = new FireStationTable(List.of(
+            new FireStation("748 Townings Dr", 3),
+            new FireStation("748 Townings Dr", 4)));
+
+    table = table.withUpdated(new FireStation("748 Townings Dr", 4));
+
+    assertEquals(List.of(), table.findByStation(3));
+    assertEquals(2, table.findByStation(4).size());
+  }
+
+  @Test
+  void delete_shouldRemoveAllMappingsOfAddress() {
+    FireStationTable table = new FireStationTable(List.of(
+            new FireStation("748 Townings Dr", 3),
+            new FireStation("29 15th St", 2),
+            new FireStation("748 Townings Dr", 4)));
+
+    table = table.withDeleted("748 TOWNINGS DR");
+    table = table.withDeleted("748 Townings Dr");
+
+    assertEquals(1, table.size());
+    assertEquals(List.of(), table.findByStation(3));
+    assertEquals(List.of(), table.findByStation(4));
+    assertFalse(table.contains("748 Townings Dr"));
+  }
+
+  @Test
+  void save_shouldKeepMappingWithoutStationOutOfStationIndex() {
+    FireStationTable table = new FireStationTable(List.of());
+
+    table = table.withSaved(new FireStation("1509 Culver St", null));
+    table = table.withUpdated(new FireStation("1509 Culver St", 1));
+
+    assertEquals(List.of("1509 Culver St"), addresses(table.findByStation(1)));
+  }
+
+  @Test
+  void withMutations_shouldLeaveOriginalTableUnchanged() {
+    FireStationTable table = new FireStationTable(List.of(new FireStation("1509 Culver St", 3)));
+
+    FireStationTable updated = table.withUpdated(new FireStation("1509 Culver St", 2))
+            .withSaved(new FireStation("29 15th St", 2));
+
+    assertEquals(List.of("1509 Culver St"), addresses(table.findByStation(3)));
+    assertEquals(List.of(), table.findByStation(2));
+    assertEquals(List.of("1509 Culver St", "29 15th St"), addresses(updated.findByStation(2)));
+    assertEquals(0, updated.withDeleted("1509 Culver St").withDeleted("29 15th St").size());
+    assertEquals(2, updated.size());
+  }
+}
@@ -0,0 +1,150 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.FloodResidentDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.AgeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FloodRepositoryImplJson} class.
+ * Verifies the households listed for several stations and the deduplication of their addresses.
+ */
+class FloodRepositoryImplJsonTest {
+
+  private final DataStore dataStore = new DataStore();
+  private final FloodRepositoryImplJson floodRepository = new FloodRepositoryImplJson(dataStore, new AgeCalculator());
+
+  private static Person person(String firstName, String address) {
+    return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  private static MedicalRecord medicalRecord(String firstName, LocalDate birthdate, String medication, String allergy) {
+    return new MedicalRecord(firstName, "Boyd", String.format("%02d/%02d/%04d",
+            birthdate.getMonthValue(), birthdate.getDayOfMonth(), birthdate.getYear()),
+            new ArrayList<>(List.of(medication)), new ArrayList<>(List.of(allergy)));
+  }
+
+  /**
+   * Verifies that the households are grouped by address, with the age and medical history of each resident.
+   */
+  @Test
+  void findHouseholdsByStations_shouldGroupResidentsByAddress() {
+    dataStore.publish(
+            List.of(person("John", "1509 Culver St"), person("Tenley", "1509 Culver St"), person("Roger", "29 15th St")),
+            List.of(new FireStation("1509 Culver St", 3), new FireStation("29 15th St", 2)),
+            List.of(medicalRecord("John", LocalDate.now().minusYears(40), "aznol:350mg", "nillacilan"),
+                    medicalRecord("Tenley", LocalDate.now().minusYears(12), "hydrapermazol:100mg", "peanut")));
+
+    List<FloodHouseholdDto> households = floodRepository.findHouseholdsByStations(List.of(3, 2));
+
+    assertEquals(List.of(
+            new FloodHouseholdDto("1509 Culver St", List.of(3), List.of(
+                    new FloodResidentDto("John", "Boyd", "841-874-6512", 40, List.of("aznol:350mg"), List.of("nillacilan")),
+                    new FloodResidentDto("Tenley", "Boyd", "841-874-6512", 12, List.of("hydrapermazol:100mg"), List.of("peanut")))),
+            new FloodHouseholdDto("29 15th St", List.of(2), List.of(
+                    new FloodResidentDto("Roger", "Boyd", "841-874-6512", null, List.of(), List.of())))), households);
+  }
+
+  /**
+   * Verifies that an address covered by several requested stations is listed once, with all of them.
+   */
+  @Test
+  void findHouseholdsByStations_shouldListSharedAddressOnce() {
+    dataStore.publish(
+            List.of(person("John", "1509 Culver St"), person("Roger", "29 15th St")),
+            List.of(new FireStation("1509 Culver St", 3), new FireStation("29 15th St", 2),
+                    new FireStation("1509 CULVER ST", 2), new FireStation("644 Gershwin Cir", 1)),
+            List.of());
+
+    List<FloodHouseholdDto> households = floodRepository.findHouseholdsByStations(List.of(2, 3, 2, 1, 9));
+
+    assertEquals(List.of("29 15th St", "1509 CULVER ST"), households.stream().map(FloodHouseholdDto::getAddress).toList());
+    assertEquals(List.of(2, 3), households.get(1).getStations());
+    assertEquals(1, households.get(1).getResidents().size());
+  }
+
+  /**
+   * Verifies that the households of many stations built in parallel keep the order of the stations.
+   */
+  @Test
+  void findHouseholdsByStations_shouldKeepStationOrderWhenBuiltInParallel() {
+    List<Person> persons = new ArrayList<>();
+    List<FireStation> fireStations = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      persons.add(person("First" + i, i + " Culver St"));
+      fireStations.add(new FireStation(i + " Culver St", i % 20));
+    }
+    dataStore.publish(persons, fireStations, List.of());
+    List<Integer> stations = new ArrayList<>();
+    for (int station = 19; station >= 0; station--) {
+      stations.add(station);
+    }
+
+    List<FloodHouseholdDto> households = floodRepository.findHouseholdsByStations(stations);
+
+    assertEquals(2_000, households.size());
+    for (int i = 0; i < households.size(); i++) {
+      assertEquals(19 - i / 100, households.get(i).getStations().get(0));
+    }
+  }
+
+  /**
+   * Verifies that the pages list the same households, in the same order, as the whole result.
+   */
+  @Test
+  void findHouseholdsByStationsPage_shouldListSameHouseholdsAsWholeResult() {
+    List<Person> persons = new ArrayList<>();
+    List<FireStation> fireStations = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      persons.add(person("First" + i, i + " Culver St"));
+      fireStations.add(new FireStation(i + " Culver St", i % 4));
+      if (i % 3 == 0) {
+        fireStations.add(new FireStation(i + " CULVER ST", (i + 1) % 4));
+      }
+    }
+    fireStations.add(new FireStation("Nobody St", 2));
+    dataStore.publish(persons, fireStations, List.of());
+    List<Integer> stations = List.of(2, 0, 2, 3);
+
+    List<FloodHouseholdDto> paged = new ArrayList<>();
+    PageCursor cursor = null;
+    do {
+      Page<FloodHouseholdDto> page = floodRepository.findHouseholdsByStations(stations, cursor, 7);
+      assertTrue(page.getItems().size() <= 7);
+      paged.addAll(page.getItems());
+      cursor = page.getNextCursor() == null ? null : PageCursor.decode(page.getNextCursor());
+    } while (cursor != null);
+
+    assertEquals(floodRepository.findHouseholdsByStations(stations), paged);
+  }
+
+  /**
+   * Verifies that the next pages are read from the snapshot of the first page.
+   */
+  @Test
+  void findHouseholdsByStationsPage_shouldReadNextPagesFromSameSnapshot() {
+    dataStore.publish(List.of(person("John", "1509 Culver St"), person("Roger", "29 15th St")),
+            List.of(new FireStation("1509 Culver St", 3), new FireStation("29 15th St", 3)), List.of());
+
+    Page<FloodHouseholdDto> first = floodRepository.findHouseholdsByStations(List.of(3), null, 1);
+    dataStore.update(snapshot -> snapshot.withPersons(new PersonTable(List.of()),
+            List.of("1509 Culver St", "29 15th St")));
+    Page<FloodHouseholdDto> second = floodRepository.findHouseholdsByStations(List.of(3),
+            PageCursor.decode(first.getNextCursor()), 1);
+
+    assertEquals("1509 Culver St", first.getItems().get(0).getAddress());
+    assertEquals("29 15th St", second.getItems().get(0).getAddress());
+    assertNull(second.getNextCursor());
+  }
+}
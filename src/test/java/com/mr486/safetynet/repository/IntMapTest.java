@@ -0,0 +1,56 @@
+package com.mr486.safetynet.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link IntMap} class.
+ */
+class IntMapTest {
+
+  @Test
+  void plus_shouldReplaceValueWithoutChangingOriginal() {
+    IntMap<String> empty = new IntMap<>();
+
+    IntMap<String> first = empty.plus(3, "a");
+    IntMap<String> second = first.plus(3, "b");
+
+    assertEquals("a", first.get(3));
+    assertEquals("b", second.get(3));
+    assertEquals(1, second.size());
+    assertNull(second.get(4));
+    assertEquals(0, empty.size());
+    assertNull(empty.get(3));
+  }
+
+  @Test
+  void plus_shouldKeepEntriesWhenGrowing() {
+    IntMap<Integer> map = new IntMap<>();
+
+    for (int key = -500; key < 500; key++) {
+      map = map.plus(key, key * 2);
+    }
+
+    assertEquals(1000, map.size());
+    for (int key = -500; key < 500; key++) {
+      assertEquals(key * 2, map.get(key));
+    }
+    assertNull(map.get(500));
+    assertEquals(0, map.get(0));
+  }
+
+  @Test
+  void forEachValue_shouldVisitEveryValue() {
+    IntMap<String> map = new IntMap<String>().plus(1, "a").plus(2, "b").plus(1, "c");
+    List<String> values = new ArrayList<>();
+
+    map.forEachValue(values::add);
+
+    assertEquals(2, values.size());
+    assertTrue(values.containsAll(List.of("b", "c")));
+  }
+}
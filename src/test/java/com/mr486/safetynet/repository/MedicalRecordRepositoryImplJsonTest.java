@@ -3,40 +3,26 @@ package com.mr486.safetynet.repository;
 import com.mr486.safetynet.dto.DataBinding;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.model.MedicalRecord;
-import com.mr486.safetynet.tools.JsonDataReader;
-import org.junit.jupiter.api.BeforeEach;
+import com.mr486.safetynet.tools.Journal;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 
 class MedicalRecordRepositoryImplJsonTest {
 
-  @Mock
-  private JsonDataReader mockJsonDataReader; // Mocked JsonDataReader to simulate data loading.
+  private final DataStore dataStore = new DataStore();
 
-  @InjectMocks
-  private MedicalRecordRepositoryImplJson medicalRecordRepository; // Repository under test.
+  private final MedicalRecordRepositoryImplJson medicalRecordRepository = new MedicalRecordRepositoryImplJson(dataStore, new Journal()); // Repository under test.
 
   /**
-   * Initializes mocks and sets up the repository before each test.
-   */
-  @BeforeEach
-  void setUp() {
-    MockitoAnnotations.openMocks(this);
-  }
-
-  /**
-   * Tests that the repository initializes correctly and loads medical records from JSON.
+   * Tests that the medical records published with the data store are found by the repository.
    */
   @Test
-  void init_shouldLoadMedicalRecordsFromJson() {
+  void publish_shouldMakeMedicalRecordsFindable() {
     MedicalRecord medicalRecord = new MedicalRecord(
             "John",
             "Doe",
@@ -45,9 +31,7 @@ class MedicalRecordRepositoryImplJsonTest {
     MedicalRecordSearch medicalRecordSearch = new MedicalRecordSearch(medicalRecord);
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
 
     Optional<MedicalRecord> result = medicalRecordRepository.findByFirstNameAndLastName(medicalRecordSearch);
     assertTrue(result.isPresent());
@@ -55,20 +39,6 @@ class MedicalRecordRepositoryImplJsonTest {
     assertEquals("Doe", result.get().getLastName());
   }
 
-  /**
-   * Tests that the repository initializes with an empty list when no medical records are present in JSON.
-   */
-  @Test
-  void init_shouldHandleExceptionAndKeepFireStationsEmpty() {
-    when(mockJsonDataReader.loadData()).thenThrow(new RuntimeException("Error loading data"));
-
-    medicalRecordRepository.init();
-
-    Optional<MedicalRecord> result = medicalRecordRepository.findByFirstNameAndLastName(new MedicalRecordSearch("John", "Doe"));
-    assertTrue(result.isEmpty());
-
-  }
-
   /**
    * Tests that the repository can save a medical record successfully.
    */
@@ -81,9 +51,7 @@ class MedicalRecordRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     Optional<MedicalRecord> result = medicalRecordRepository.findByFirstNameAndLastName(new MedicalRecordSearch("John", "Doe"));
@@ -105,9 +73,7 @@ class MedicalRecordRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     MedicalRecord updatedMedicalRecord = new MedicalRecord(
@@ -134,9 +100,7 @@ class MedicalRecordRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     Optional<MedicalRecord> result = medicalRecordRepository.findByFirstNameAndLastName(new MedicalRecordSearch("John", "Doe"));
@@ -158,9 +122,7 @@ class MedicalRecordRepositoryImplJsonTest {
     MedicalRecordSearch medicalRecordSearch = new MedicalRecordSearch(medicalRecord);
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     medicalRecordRepository.delete(medicalRecordSearch);
@@ -190,9 +152,7 @@ class MedicalRecordRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     boolean exists = medicalRecordRepository.exists(new MedicalRecordSearch("John", "Doe"));
@@ -214,9 +174,7 @@ class MedicalRecordRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     Optional<MedicalRecord> result = medicalRecordRepository.findByFirstNameAndLastName(new MedicalRecordSearch("John", "Smith"));
@@ -235,9 +193,7 @@ class MedicalRecordRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setMedicalrecords(List.of(medicalRecord));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    medicalRecordRepository.init();
+    dataStore.publish(List.of(), List.of(), dataBinding.getMedicalrecords());
     medicalRecordRepository.save(medicalRecord);
 
     MedicalRecord nonExistentRecord = new MedicalRecord(
@@ -252,4 +208,71 @@ class MedicalRecordRepositoryImplJsonTest {
     assertEquals("01/01/1990", result.get().getBirthdate());
   }
 
-}
\ No newline at end of file
+  /**
+   * Verifies that findAll returns an unmodifiable copy of the repository content.
+   */
+  @Test
+  void findAll_shouldReturnUnmodifiableCopy() {
+    MedicalRecord medicalRecord = new MedicalRecord("John", "Doe", "01/01/1990");
+    dataStore.publish(List.of(), List.of(), List.of(medicalRecord));
+
+    List<MedicalRecord> result = medicalRecordRepository.findAll();
+    assertEquals(List.of(medicalRecord), result);
+    assertThrows(UnsupportedOperationException.class, () -> result.add(medicalRecord));
+  }
+
+  /**
+   * Verifies that the batch lookup returns the records found, keyed by search, and skips unknown persons.
+   */
+  @Test
+  void findAllByFirstNameAndLastName_shouldReturnRecordsFound() {
+    MedicalRecord john = new MedicalRecord("John", "Doe", "01/01/1990");
+    MedicalRecord jane = new MedicalRecord("Jane", "Doe", "01/01/2015");
+    dataStore.publish(List.of(), List.of(), List.of(john, jane));
+
+    Map<MedicalRecordSearch, MedicalRecord> result = medicalRecordRepository.findAllByFirstNameAndLastName(List.of(
+            new MedicalRecordSearch("John", "Doe"),
+            new MedicalRecordSearch("Jane", "Doe"),
+            new MedicalRecordSearch("john", "Doe")));
+
+    assertEquals(Map.of(new MedicalRecordSearch("John", "Doe"), john, new MedicalRecordSearch("Jane", "Doe"), jane), result);
+  }
+
+  /**
+   * Tests that an upsert inserts the new records and replaces the existing ones in one snapshot.
+   */
+  @Test
+  void upsertAll_shouldInsertOrReplaceInOneSnapshot() {
+    DataStore dataStore = new DataStore();
+    MedicalRecordRepositoryImplJson repository = new MedicalRecordRepositoryImplJson(dataStore, new Journal());
+    repository.save(new MedicalRecord("John", "Doe", "01/01/1990"));
+    long version = dataStore.current().getVersion();
+
+    List<Boolean> inserted = repository.upsertAll(List.of(
+            new MedicalRecord("Jane", "Doe", "02/02/1992"),
+            new MedicalRecord("John", "Doe", "03/03/1993"),
+            new MedicalRecord("Jane", "Doe", "04/04/1994")));
+
+    assertEquals(List.of(true, false, false), inserted);
+    assertEquals(version + 1, dataStore.current().getVersion());
+    assertEquals(List.of("03/03/1993", "04/04/1994"),
+            repository.findAll().stream().map(MedicalRecord::getBirthdate).toList());
+  }
+
+  /**
+   * Tests that a batch delete removes the existing records and reports the missing ones.
+   */
+  @Test
+  void deleteAll_shouldDeleteExistingRecordsAndReportMissingOnes() {
+    medicalRecordRepository.save(new MedicalRecord("John", "Doe", "01/01/1990"));
+    medicalRecordRepository.save(new MedicalRecord("Jane", "Doe", "02/02/1992"));
+
+    List<Boolean> deleted = medicalRecordRepository.deleteAll(List.of(
+            new MedicalRecordSearch("John", "Doe"),
+            new MedicalRecordSearch("Jim", "Doe"),
+            new MedicalRecordSearch("John", "Doe")));
+
+    assertEquals(List.of(true, false, false), deleted);
+    assertEquals(List.of("Jane"), medicalRecordRepository.findAll().stream().map(MedicalRecord::getFirstName).toList());
+  }
+}
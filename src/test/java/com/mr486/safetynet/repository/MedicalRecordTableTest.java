@@ -0,0 +1,78 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.MedicalRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MedicalRecordTable} class.
+ * Verifies that the name index stays consistent through every mutation.
+ */
+class MedicalRecordTableTest {
+
+  @Test
+  void constructor_shouldIndexRecordsInOrder() {
+    MedicalRecordTable table = new MedicalRecordTable(List.of(
+            new MedicalRecord("John", "Boyd", "03/06/1984"),
+            new MedicalRecord("Jacob", "Boyd", "03/06/1989")));
+
+    assertEquals(2, table.size());
+    assertEquals(List.of("John", "Jacob"), table.findAll().stream().map(MedicalRecord::getFirstName).toList());
+    assertTrue(table.contains("John", "Boyd"));
+    assertFalse(table.contains("john", "Boyd"));
+  }
+
+  @Test
+  void constructor_shouldKeepLastRecordWithSameName() {
+    MedicalRecordTable table = new MedicalRecordTable(List.of(
+            new MedicalRecord("John", "Boyd", "03/06/1984"),
+            new MedicalRecord("John", "Boyd", "03/06/1985")));
+
+    assertEquals(1, table.size());
+    assertEquals("03/06/1985", table.find("John", "Boyd").orElseThrow().getBirthdate());
+  }
+
+  @Test
+  void update_shouldReplaceRecordInPlace() {
+    MedicalRecordTable table = new MedicalRecordTable(List.of(
+            new MedicalRecord("John", "Boyd", "03/06/1984"),
+            new MedicalRecord("Jacob", "Boyd", "03/06/1989")));
+
+    table = table.withUpdated(new MedicalRecord("John", "Boyd", "03/06/1985"));
+    table = table.withUpdated(new MedicalRecord("Unknown", "Boyd", "03/06/1985"));
+
+    assertEquals(List.of("John", "Jacob"), table.findAll().stream().map(MedicalRecord::getFirstName).toList());
+    assertEquals("03/06/1985", table.find("John", "Boyd").orElseThrow().getBirthdate());
+    assertFalse(table.contains("Unknown", "Boyd"));
+  }
+
+  @Test
+  void delete_shouldRemoveFromIndex() {
+    MedicalRecordTable table = new MedicalRecordTable(List.of(new MedicalRecord("John", "Boyd", "03/06/1984")));
+
+    table = table.withDeleted("John", "Boyd");
+    table = table.withDeleted("John", "Boyd");
+
+    assertEquals(Optional.empty(), table.find("John", "Boyd"));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  void withMutations_shouldLeaveOriginalTableUnchanged() {
+    MedicalRecordTable table = new MedicalRecordTable(List.of(new MedicalRecord("John", "Boyd", "03/06/1984")));
+
+    MedicalRecordTable updated = table.withUpdated(new MedicalRecord("John", "Boyd", "03/06/1985"))
+            .withSaved(new MedicalRecord("Jacob", "Boyd", "03/06/1989"));
+
+    assertEquals(1, table.size());
+    assertEquals("03/06/1984", table.find("John", "Boyd").orElseThrow().getBirthdate());
+    assertEquals(2, updated.size());
+    assertEquals("03/06/1985", updated.find("John", "Boyd").orElseThrow().getBirthdate());
+    assertEquals(0, updated.withDeleted("John", "Boyd").withDeleted("Jacob", "Boyd").size());
+    assertEquals(2, updated.size());
+  }
+}
@@ -0,0 +1,111 @@
+package com.mr486.safetynet.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PersistentMap} class.
+ * Verifies the map against a {@link HashMap} and that earlier versions never change.
+ */
+class PersistentMapTest {
+
+  /**
+   * A key whose hash code is given, to force collisions.
+   */
+  private record Key(String name, int hash) {
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static <K, V> void assertSameContent(Map<K, V> expected, PersistentMap<K, V> map) {
+    assertEquals(expected.size(), map.size());
+    Map<K, V> actual = new HashMap<>();
+    map.forEach(actual::put);
+    assertEquals(expected, actual);
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+  }
+
+  @Test
+  void plusAndMinus_shouldBehaveLikeHashMap() {
+    Random random = new Random(42);
+    Map<Integer, Integer> expected = new HashMap<>();
+    PersistentMap<Integer, Integer> map = PersistentMap.empty();
+
+    for (int i = 0; i < 20_000; i++) {
+      int key = random.nextInt(2_000) - 1_000;
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.minus(key);
+      } else {
+        expected.put(key, i);
+        map = map.plus(key, i);
+      }
+    }
+
+    assertSameContent(expected, map);
+    assertFalse(map.containsKey(5_000));
+    assertNull(map.get(5_000));
+  }
+
+  @Test
+  void plusAndMinus_shouldKeepCollidingKeys() {
+    PersistentMap<Key, String> map = PersistentMap.<Key, String>empty()
+            .plus(new Key("a", 7), "a")
+            .plus(new Key("b", 7), "b")
+            .plus(new Key("c", 7 + (1 << 20)), "c");
+
+    assertEquals(3, map.size());
+    assertEquals("b", map.get(new Key("b", 7)));
+
+    PersistentMap<Key, String> removed = map.minus(new Key("a", 7));
+
+    assertEquals(2, removed.size());
+    assertNull(removed.get(new Key("a", 7)));
+    assertEquals("b", removed.get(new Key("b", 7)));
+    assertEquals("c", removed.get(new Key("c", 7 + (1 << 20))));
+    assertEquals("a", map.get(new Key("a", 7)));
+  }
+
+  @Test
+  void plusAndMinus_shouldLeaveEarlierVersionsUnchanged() {
+    PersistentMap<Integer, String> first = PersistentMap.<Integer, String>empty().plus(1, "a").plus(33, "b");
+
+    PersistentMap<Integer, String> second = first.plus(1, "c").minus(33).plus(65, "d");
+
+    assertSameContent(Map.of(1, "a", 33, "b"), first);
+    assertSameContent(Map.of(1, "c", 65, "d"), second);
+    assertSame(first, first.minus(2));
+    assertSame(first, first.plus(1, "a"));
+  }
+
+  @Test
+  void builder_shouldNotChangeMapItWasMadeFrom() {
+    PersistentMap<Integer, Integer> map = PersistentMap.empty();
+    for (int key = 0; key < 1_000; key++) {
+      map = map.plus(key, key);
+    }
+
+    PersistentMap.Builder<Integer, Integer> builder = map.toBuilder();
+    for (int key = 0; key < 1_000; key += 2) {
+      builder.remove(key);
+      builder.put(key + 1, -key);
+    }
+    PersistentMap<Integer, Integer> built = builder.build();
+    builder.put(5_000, 0);
+
+    assertEquals(1_000, map.size());
+    assertEquals(0, map.get(0));
+    assertEquals(500, built.size());
+    assertNull(built.get(0));
+    assertEquals(-2, built.get(3));
+    assertNull(built.get(5_000));
+    assertEquals(501, builder.build().size());
+  }
+}
@@ -3,18 +3,17 @@ package com.mr486.safetynet.repository;
 import com.mr486.safetynet.dto.DataBinding;
 import com.mr486.safetynet.dto.search.PersonSearch;
 import com.mr486.safetynet.model.Person;
-import com.mr486.safetynet.tools.JsonDataReader;
-import org.junit.jupiter.api.BeforeEach;
+import com.mr486.safetynet.tools.Journal;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for the PersonRepositoryImplJson class.
@@ -23,25 +22,15 @@ import static org.mockito.Mockito.when;
  */
 class PersonRepositoryImplJsonTest {
 
-  @Mock
-  private JsonDataReader mockJsonDataReader; // Mocked JsonDataReader to simulate data loading.
+  private final DataStore dataStore = new DataStore();
 
-  @InjectMocks
-  private PersonRepositoryImplJson personRepository; // Repository under test.
+  private final PersonRepositoryImplJson personRepository = new PersonRepositoryImplJson(dataStore, new Journal()); // Repository under test.
 
   /**
-   * Initializes mocks and sets up the repository before each test.
-   */
-  @BeforeEach
-  void setUp() {
-    MockitoAnnotations.openMocks(this);
-  }
-
-  /**
-   * Verifies that the repository correctly loads persons from JSON data during initialization.
+   * Verifies that the persons published with the data store are found by the repository.
    */
   @Test
-  void init_shouldLoadPersonsFromJson() {
+  void publish_shouldMakePersonsFindable() {
     Person person = new Person("John",
             "Doe",
             "123 Main St",
@@ -52,9 +41,7 @@ class PersonRepositoryImplJsonTest {
     );
     DataBinding dataBinding = new DataBinding();
     dataBinding.setPersons(List.of(person));
-    when(mockJsonDataReader.loadData()).thenReturn(dataBinding);
-
-    personRepository.init();
+    dataStore.publish(dataBinding.getPersons(), List.of(), List.of());
 
     Optional<Person> result = personRepository.findByFirstNameAndLastName(new PersonSearch("John", "Doe"));
     assertTrue(result.isPresent());
@@ -62,20 +49,6 @@ class PersonRepositoryImplJsonTest {
     assertEquals("Doe", result.get().getLastName());
   }
 
-  /**
-   * Verifies that the repository initializes with an empty list of persons if no data is loaded.
-   */
-  @Test
-  void init_shouldHandleExceptionAndKeepFireStationsEmpty() {
-    MockitoAnnotations.openMocks(this);
-    when(mockJsonDataReader.loadData()).thenThrow(new RuntimeException("JSON error"));
-
-    personRepository.init();
-
-    Optional<Person> result = personRepository.findByFirstNameAndLastName(new PersonSearch("NonExistent", "Person"));
-    assertTrue(result.isEmpty());
-  }
-
   /**
    * Verifies that a person can be successfully saved to the repository.
    */
@@ -89,8 +62,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
 
     Optional<Person> result = personRepository.findByFirstNameAndLastName(new PersonSearch("John", "Doe"));
@@ -111,8 +83,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
 
     Person updatedPerson = new Person("John",
@@ -143,8 +114,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "jane.smith@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
 
     Optional<Person> result = personRepository.findByFirstNameAndLastName(new PersonSearch("Jane", "Smith"));
@@ -166,8 +136,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
 
     personRepository.delete(new PersonSearch("Alice", "Brown"));
@@ -198,8 +167,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
 
     assertTrue(personRepository.exists(new PersonSearch("Bob", "White")));
@@ -219,8 +187,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
     Optional<Person> result = personRepository.findByFirstNameAndLastName(new PersonSearch("John", "Smith"));
     assertTrue(result.isEmpty(), "Expected no person found with first name 'John' and last name 'Smith'");
@@ -240,8 +207,7 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
 
     Person updatedPerson = new Person("Alice",
@@ -272,10 +238,74 @@ class PersonRepositoryImplJsonTest {
             "123-456-7890",
             "john.doe@test.com"
     );
-    when(mockJsonDataReader.loadData()).thenReturn(new DataBinding());
-    personRepository.init();
+    dataStore.publish(List.of(), List.of(), List.of());
     personRepository.save(person);
     List<Person> personsAtAddress = personRepository.findPersonsByAddress("123 Main St");
     assertFalse(personsAtAddress.isEmpty(), "Expected to find persons at address '123 Main St'");
   }
-}
\ No newline at end of file
+
+  /**
+   * Verifies that findAll returns an unmodifiable copy of the repository content.
+   */
+  @Test
+  void findAll_shouldReturnUnmodifiableCopy() {
+    Person person = new Person("John", "Doe", "123 Main St", "Cityville", "12345", "123-456-7890", "john.doe@test.com");
+    dataStore.publish(List.of(person), List.of(), List.of());
+
+    List<Person> result = personRepository.findAll();
+    assertEquals(List.of(person), result);
+    assertThrows(UnsupportedOperationException.class, () -> result.add(person));
+  }
+
+  /**
+   * Verifies that inserting several persons publishes the new ones in one snapshot,
+   * and skips the existing and repeated ones.
+   */
+  @Test
+  void insertAll_shouldInsertNewPersonsInOneSnapshot() {
+    DataStore dataStore = new DataStore();
+    PersonRepositoryImplJson repository = new PersonRepositoryImplJson(dataStore, new Journal());
+    repository.save(new Person("Alice", "Brown", "1 Main St", "City", "12345", "111", "alice@test.com"));
+    long version = dataStore.current().getVersion();
+
+    List<Boolean> inserted = repository.insertAll(List.of(
+            new Person("Alice", "Brown", "2 Main St", "City", "12345", "111", "alice@test.com"),
+            new Person("Bob", "Brown", "2 Main St", "City", "12345", "222", "bob@test.com"),
+            new Person("Bob", "Brown", "3 Main St", "City", "12345", "333", "bob@test.com")));
+
+    assertEquals(List.of(false, true, false), inserted);
+    assertEquals(version + 1, dataStore.current().getVersion());
+    assertEquals(2, repository.findAll().size());
+    assertEquals(1, repository.findPersonsByAddress("1 Main St").size());
+    assertEquals(List.of("Bob"), repository.findPersonsByAddress("2 Main St").stream().map(Person::getFirstName).toList());
+
+    assertEquals(List.of(false), repository.insertAll(List.of(
+            new Person("Bob", "Brown", "3 Main St", "City", "12345", "333", "bob@test.com"))));
+    assertEquals(version + 1, dataStore.current().getVersion());
+  }
+
+  /**
+   * Verifies that concurrent imports of the same person insert it once.
+   */
+  @Test
+  void insertAll_shouldInsertSamePersonOnceUnderConcurrentImports() throws Exception {
+    DataStore dataStore = new DataStore();
+    PersonRepositoryImplJson repository = new PersonRepositoryImplJson(dataStore, new Journal());
+    Person person = new Person("Alice", "Brown", "1 Main St", "City", "12345", "111", "alice@test.com");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<Boolean>>> imports = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        imports.add(executor.submit(() -> repository.insertAll(List.of(person))));
+      }
+      long insertedCount = 0;
+      for (Future<List<Boolean>> result : imports) {
+        insertedCount += result.get().stream().filter(Boolean::booleanValue).count();
+      }
+      assertEquals(1, insertedCount);
+      assertEquals(1, repository.findAll().size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PersonTable} class.
+ * Verifies that the name index stays consistent through every mutation.
+ */
+class PersonTableTest {
+
+  private static Person person(String firstName, String address) {
+    return new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  @Test
+  void constructor_shouldIndexPersonsInOrder() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St"), person("Jacob", "1509 Culver St")));
+
+    assertEquals(2, table.size());
+    assertEquals(List.of("John", "Jacob"), table.findAll().stream().map(Person::getFirstName).toList());
+    assertTrue(table.contains("John", "Boyd"));
+    assertFalse(table.contains("john", "Boyd"));
+  }
+
+  @Test
+  void constructor_shouldKeepLastPersonWithSameName() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St"), person("John", "29 15th St")));
+
+    assertEquals(1, table.size());
+    assertEquals("29 15th St", table.find("John", "Boyd").orElseThrow().getAddress());
+  }
+
+  @Test
+  void update_shouldReplacePersonInPlace() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St"), person("Jacob", "1509 Culver St")));
+
+    table = table.withUpdated(person("John", "29 15th St"));
+    table = table.withUpdated(person("Unknown", "29 15th St"));
+
+    assertEquals(List.of("John", "Jacob"), table.findAll().stream().map(Person::getFirstName).toList());
+    assertEquals("29 15th St", table.find("John", "Boyd").orElseThrow().getAddress());
+    assertFalse(table.contains("Unknown", "Boyd"));
+  }
+
+  @Test
+  void delete_shouldRemoveFromIndex() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St")));
+
+    table = table.withDeleted("John", "Boyd");
+    table = table.withDeleted("John", "Boyd");
+
+    assertEquals(Optional.empty(), table.find("John", "Boyd"));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  void save_shouldAddToIndex() {
+    PersonTable table = new PersonTable(List.of());
+
+    table = table.withSaved(person("John", "1509 Culver St"));
+
+    assertEquals("1509 Culver St", table.find("John", "Boyd").orElseThrow().getAddress());
+    assertEquals(1, table.findByAddress("1509 CULVER ST").size());
+  }
+
+  @Test
+  void findAll_shouldReturnUnmodifiableCopy() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St")));
+
+    List<Person> persons = table.findAll();
+    table = table.withDeleted("John", "Boyd");
+
+    assertEquals(1, persons.size());
+    assertThrows(UnsupportedOperationException.class, () -> persons.add(person("Jacob", "1509 Culver St")));
+  }
+
+  @Test
+  void findByAddress_shouldMatchNormalizedAddress() {
+    PersonTable table = new PersonTable(List.of(
+            person("John", "1509 Culver St"),
+            person("Jacob", "1509 Culver St"),
+            person("Tessa", "29 15th St")));
+
+    assertEquals(List.of("John", "Jacob"),
+            table.findByAddress("  1509   CULVER st ").stream().map(Person::getFirstName).toList());
+    assertTrue(table.findByAddress("1 Unknown St").isEmpty());
+  }
+
+  @Test
+  void update_shouldMovePersonToNewHousehold() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St"), person("Jacob", "1509 Culver St")));
+
+    table = table.withUpdated(person("John", "29 15th St"));
+    table = table.withUpdated(person("Jacob", "1509 culver st"));
+
+    assertEquals(List.of("Jacob"), table.findByAddress("1509 Culver St").stream().map(Person::getFirstName).toList());
+    assertEquals("1509 culver st", table.findByAddress("1509 Culver St").get(0).getAddress());
+    assertEquals(List.of("John"), table.findByAddress("29 15th St").stream().map(Person::getFirstName).toList());
+  }
+
+  @Test
+  void saveAndDelete_shouldMaintainHouseholds() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St")));
+
+    table = table.withSaved(person("John", "29 15th St"));
+    assertTrue(table.findByAddress("1509 Culver St").isEmpty());
+    assertEquals(1, table.findByAddress("29 15th St").size());
+
+    table = table.withDeleted("John", "Boyd");
+    assertTrue(table.findByAddress("29 15th St").isEmpty());
+  }
+
+  @Test
+  void withMutations_shouldLeaveOriginalTableUnchanged() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St"), person("Jacob", "1509 Culver St")));
+
+    PersonTable updated = table.withUpdated(person("John", "29 15th St"))
+            .withSaved(person("Tessa", "1509 Culver St"))
+            .withDeleted("Jacob", "Boyd");
+
+    assertEquals(List.of("John", "Jacob"), table.findAll().stream().map(Person::getFirstName).toList());
+    assertEquals(List.of("John", "Jacob"), table.findByAddress("1509 Culver St").stream().map(Person::getFirstName).toList());
+    assertTrue(table.findByAddress("29 15th St").isEmpty());
+    assertEquals(List.of("John", "Tessa"), updated.findAll().stream().map(Person::getFirstName).toList());
+    assertEquals(List.of("Tessa"), updated.findByAddress("1509 Culver St").stream().map(Person::getFirstName).toList());
+  }
+
+  @Test
+  void builder_shouldApplyMutationsInOneTable() {
+    PersonTable table = new PersonTable(List.of(person("John", "1509 Culver St")));
+
+    PersonTable.Builder builder = table.toBuilder()
+            .save(person("Jacob", "1509 Culver St"))
+            .update(person("John", "29 15th St"))
+            .delete("Unknown", "Boyd");
+
+    assertEquals("29 15th St", builder.find("John", "Boyd").orElseThrow().getAddress());
+    PersonTable built = builder.build();
+    assertEquals(List.of("John", "Jacob"), built.findAll().stream().map(Person::getFirstName).toList());
+    assertEquals(List.of("Jacob"), built.findByAddress("1509 Culver St").stream().map(Person::getFirstName).toList());
+    assertEquals(1, table.size());
+  }
+}
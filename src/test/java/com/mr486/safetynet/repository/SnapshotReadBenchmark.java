@@ -0,0 +1,77 @@
+package com.mr486.safetynet.repository;
+
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.tools.Journal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput benchmark of the reads of {@link PersonRepositoryImplJson} with 1 to N reader threads,
+ * while one writer keeps updating persons. Reads take no lock, so the throughput should grow with the readers.
+ * Not part of the regular test run, launch it with:
+ * {@code mvn test -Dtest=SnapshotReadBenchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+@Tag("benchmark")
+class SnapshotReadBenchmark {
+
+  private static final int PERSON_COUNT = 100_000;
+  private static final long DURATION_MILLIS = 2_000;
+
+  @Test
+  void measureReadScaling() throws InterruptedException {
+    List<Person> persons = new ArrayList<>(PERSON_COUNT);
+    for (int i = 0; i < PERSON_COUNT; i++) {
+      persons.add(person(i, i / 4 + " Culver St"));
+    }
+    DataStore dataStore = new DataStore();
+    dataStore.publish(persons, List.of(new FireStation("0 Culver St", 1)), List.<MedicalRecord>of());
+    PersonRepositoryImplJson repository = new PersonRepositoryImplJson(dataStore, new Journal());
+
+    for (int readers = 1; readers <= Runtime.getRuntime().availableProcessors(); readers *= 2) {
+      LongAdder reads = new LongAdder();
+      LongAdder writes = new LongAdder();
+      AtomicBoolean running = new AtomicBoolean(true);
+      CountDownLatch done = new CountDownLatch(readers + 1);
+      for (int reader = 0; reader < readers; reader++) {
+        new Thread(() -> {
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          while (running.get()) {
+            int i = random.nextInt(PERSON_COUNT);
+            repository.findByFirstNameAndLastName(new PersonSearch("First" + i, "Boyd"));
+            repository.findPersonsByAddress(i / 4 + " Culver St");
+            reads.increment();
+          }
+          done.countDown();
+        }).start();
+      }
+      new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+          int i = random.nextInt(PERSON_COUNT);
+          repository.update(person(i, random.nextInt(PERSON_COUNT / 4) + " Culver St"));
+          writes.increment();
+        }
+        done.countDown();
+      }).start();
+      Thread.sleep(DURATION_MILLIS);
+      running.set(false);
+      done.await();
+      System.out.printf("%d readers: %d reads/s, %d writes/s%n", readers,
+              reads.sum() * 1_000 / DURATION_MILLIS, writes.sum() * 1_000 / DURATION_MILLIS);
+    }
+  }
+
+  private static Person person(int i, String address) {
+    return new Person("First" + i, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+}
@@ -0,0 +1,56 @@
+package com.mr486.safetynet.service;
+
+import com.mr486.safetynet.dto.response.ChildAlertResponse;
+import com.mr486.safetynet.dto.response.ChildDto;
+import com.mr486.safetynet.dto.response.OtherHouseholdMemberDto;
+import com.mr486.safetynet.repository.ChildAlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ChildAlertService class.
+ * The classification of the residents itself is tested with the ChildAlertView class.
+ */
+class ChildAlertServiceTest {
+
+  private ChildAlertRepository childAlertRepository;
+  private ChildAlertService childAlertService;
+
+  @BeforeEach
+  void setUp() {
+    childAlertRepository = mock(ChildAlertRepository.class);
+    childAlertService = new ChildAlertService(childAlertRepository);
+  }
+
+  /**
+   * Tests that the child alert maintained by the repository is returned as is.
+   */
+  @Test
+  void returnsChildrenAndOtherMembers() {
+    ChildAlertResponse alert = new ChildAlertResponse(
+            List.of(new ChildDto("Jane", "Doe", 10)), List.of(new OtherHouseholdMemberDto("John", "Doe")));
+    when(childAlertRepository.findChildAlertByAddress("123 Main St")).thenReturn(Optional.of(alert));
+
+    Optional<ChildAlertResponse> result = childAlertService.getChildrenAtAddress("123 Main St");
+
+    assertTrue(result.isPresent());
+    assertSame(alert, result.get());
+    verify(childAlertRepository, times(1)).findChildAlertByAddress("123 Main St");
+  }
+
+  /**
+   * Tests that an address without children returns an empty result.
+   */
+  @Test
+  void returnsEmptyWhenNoChildren() {
+    when(childAlertRepository.findChildAlertByAddress("123 Main St")).thenReturn(Optional.empty());
+
+    assertTrue(childAlertService.getChildrenAtAddress("123 Main St").isEmpty());
+  }
+}
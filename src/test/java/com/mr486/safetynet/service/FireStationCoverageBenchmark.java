@@ -0,0 +1,58 @@
+package com.mr486.safetynet.service;
+
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.repository.CoverageRepositoryImplJson;
+import com.mr486.safetynet.repository.DataStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency benchmark of {@link FireStationCoverageService} on the real repository, with one large
+ * station covering a tenth of the households and the other households spread over small stations.
+ * Not part of the regular test run, launch it with:
+ * {@code mvn test -Dtest=FireStationCoverageBenchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+@Tag("benchmark")
+class FireStationCoverageBenchmark {
+
+  private static final int PERSONS_PER_HOUSEHOLD = 4;
+  private static final int ROUNDS = 200;
+
+  @ParameterizedTest
+  @ValueSource(ints = {10_000, 100_000})
+  void measureLargestStation(int personCount) {
+    List<Person> persons = new ArrayList<>(personCount);
+    List<MedicalRecord> medicalRecords = new ArrayList<>(personCount);
+    List<FireStation> fireStations = new ArrayList<>();
+    int households = personCount / PERSONS_PER_HOUSEHOLD;
+    for (int household = 0; household < households; household++) {
+      String address = household + " Culver St";
+      fireStations.add(new FireStation(address, household % 10 == 0 ? 1 : 2 + household % 50));
+      for (int i = 0; i < PERSONS_PER_HOUSEHOLD; i++) {
+        String firstName = "First" + household + "_" + i;
+        persons.add(new Person(firstName, "Boyd", address, "Culver", "97451", "841-874-6512", "jaboyd@email.com"));
+        medicalRecords.add(new MedicalRecord(firstName, "Boyd", i < 2 ? "03/06/1984" : "03/06/2014"));
+      }
+    }
+    DataStore dataStore = new DataStore();
+    dataStore.publish(persons, fireStations, medicalRecords);
+    FireStationCoverageService service = new FireStationCoverageService(
+            new CoverageRepositoryImplJson(dataStore));
+
+    long best = Long.MAX_VALUE;
+    int covered = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      covered = service.getCoverageByStationNumber(1).getPersons().size();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("%d persons, station 1 covers %d: best of %d = %d ns%n",
+            personCount, covered, ROUNDS, best);
+  }
+}
@@ -1,131 +1,73 @@
 package com.mr486.safetynet.service;
 
 import com.mr486.safetynet.dto.response.FireStationCoverage;
-import com.mr486.safetynet.model.FireStation;
-import com.mr486.safetynet.model.MedicalRecord;
-import com.mr486.safetynet.model.Person;
-import com.mr486.safetynet.repository.PersonRepository;
+import com.mr486.safetynet.dto.response.FireStationCoveragePage;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.exeption.InvalidPageException;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import com.mr486.safetynet.repository.CoverageRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for the FireStationCoverageService class.
  * Tests the functionality of retrieving coverage information for fire stations.
+ * The computation of the coverage itself is tested with the CoverageView class.
  */
 class FireStationCoverageServiceTest {
 
-  private FireStationService fireStationService;
-  private PersonRepository personRepository;
-  private MedicalRecordService medicalRecordService;
+  private CoverageRepository coverageRepository;
   private FireStationCoverageService fireStationCoverageService;
 
   @BeforeEach
   void setUp() {
-    fireStationService = mock(FireStationService.class);
-    personRepository = mock(PersonRepository.class);
-    medicalRecordService = mock(MedicalRecordService.class);
-    fireStationCoverageService = new FireStationCoverageService(fireStationService, personRepository, medicalRecordService);
+    coverageRepository = mock(CoverageRepository.class);
+    fireStationCoverageService = new FireStationCoverageService(coverageRepository);
   }
 
   /**
-   * Tests the getCoverageByStationNumber method for a valid station number.
-   * It checks if the method returns the correct coverage information including adult and child counts.
+   * Tests that the coverage maintained by the repository is returned as is.
    */
   @Test
   void returnsCoverageForValidStationNumber() {
-    Person person = new Person();
-    person.setFirstName("John");
-    person.setLastName("Doe");
-    person.setAddress("123 Main St");
-
-    when(fireStationService.getAllFireStationsByStationNumber(1))
-            .thenReturn(List.of(new FireStation("123 Main St", 1)));
-    when(personRepository.findPersonsByAddress("123 Main St"))
-            .thenReturn(List.of(person));
-    when(medicalRecordService.getMedicalRecordByFirstNameAndLastName(any()))
-            .thenReturn(Optional.of(new MedicalRecord("John", "Doe", "01/01/2000")));
-    when(medicalRecordService.isAdult(any()))
-            .thenReturn(true);
+    FireStationCoverage coverage = new FireStationCoverage(
+            List.of(new PersonInfo("John", "Doe", "123 Main St", "123-456-7890")), 1, 0);
+    when(coverageRepository.getCoverageByStationNumber(1)).thenReturn(coverage);
 
     FireStationCoverage result = fireStationCoverageService.getCoverageByStationNumber(1);
 
+    assertSame(coverage, result);
     assertEquals(1, result.getAdultCount());
-    assertEquals(0, result.getChildCount());
-    assertEquals(1, result.getPersons().size());
+    verify(coverageRepository, times(1)).getCoverageByStationNumber(1);
   }
 
   /**
-   * Tests the getCoverageByStationNumber method for a station number that does not exist.
-   * It checks if the method returns an empty coverage with zero counts.
+   * Tests that a page is asked to the repository with the decoded cursor, and that an invalid limit is rejected.
    */
   @Test
-  void returnsEmptyCoverageForNonExistentStationNumber() {
-    when(fireStationService.getAllFireStationsByStationNumber(99))
-            .thenReturn(List.of());
-
-    FireStationCoverage result = fireStationCoverageService.getCoverageByStationNumber(99);
+  void getCoveragePageByStationNumber_shouldDecodeCursorAndCheckLimit() {
+    FireStationCoveragePage page = new FireStationCoveragePage(List.of(), 0, 0, null);
+    when(coverageRepository.getCoveragePageByStationNumber(1, null, 10)).thenReturn(page);
 
-    assertEquals(0, result.getAdultCount());
-    assertEquals(0, result.getChildCount());
-    assertTrue(result.getPersons().isEmpty());
+    assertSame(page, fireStationCoverageService.getCoveragePageByStationNumber(1, null, 10));
+    assertThrows(InvalidPageException.class,
+            () -> fireStationCoverageService.getCoveragePageByStationNumber(1, null, PageCursor.MAX_LIMIT + 1));
   }
 
   /**
-   * Tests the getCoverageByStationNumber method when no persons are found at the station's address.
-   * It checks if the method returns an empty coverage with zero counts.
+   * Tests that the tag of the coverage is read from the repository.
    */
   @Test
-  void handlesMissingMedicalRecordGracefully() {
-    Person person = new Person();
-    person.setFirstName("Jane");
-    person.setLastName("Doe");
-    person.setAddress("123 Main St");
-
-    when(fireStationService.getAllFireStationsByStationNumber(1))
-            .thenReturn(List.of(new FireStation("123 Main St", 1)));
-    when(personRepository.findPersonsByAddress("123 Main St"))
-            .thenReturn(List.of(person));
-    when(medicalRecordService.getMedicalRecordByFirstNameAndLastName(any()))
-            .thenReturn(Optional.empty());
-
-    FireStationCoverage result = fireStationCoverageService.getCoverageByStationNumber(1);
-
-    assertEquals(1, result.getAdultCount());
-    assertEquals(0, result.getChildCount());
-    assertEquals(1, result.getPersons().size());
-  }
+  void getCoverageTag_shouldReturnRepositoryTag() {
+    when(coverageRepository.getCoverageTag(1)).thenReturn("a1-42");
 
-  /**
-   * Tests the getCoverageByStationNumber method with multiple persons at the same address.
-   * It checks if the method correctly counts adults and children.
-   */
-  @Test
-  void correctlyCountsAdultsAndChildren() {
-    when(fireStationService.getAllFireStationsByStationNumber(1))
-            .thenReturn(List.of(new FireStation("123 Main St", 1)));
-    when(personRepository.findPersonsByAddress("123 Main St"))
-            .thenReturn(List.of(
-                    new Person("John", "Doe", "123 Main St", "city", "zip", "123-456-7891", "email@test.fr"),
-                    new Person("Jane", "Doe", "123 Main St", "city", "zip", "123-456-7891", "email@test.fr")
-            ));
-    when(medicalRecordService.getMedicalRecordByFirstNameAndLastName(any()))
-            .thenReturn(Optional.of(new MedicalRecord("John", "Doe", "01/01/2000")))
-            .thenReturn(Optional.of(new MedicalRecord("Jane", "Doe", "01/01/2015")));
-    when(medicalRecordService.isAdult(any()))
-            .thenReturn(true)
-            .thenReturn(false);
-
-    FireStationCoverage result = fireStationCoverageService.getCoverageByStationNumber(1);
-
-    assertEquals(1, result.getAdultCount());
-    assertEquals(1, result.getChildCount());
-    assertEquals(2, result.getPersons().size());
+    assertEquals("a1-42", fireStationCoverageService.getCoverageTag(1));
   }
-}
\ No newline at end of file
+}
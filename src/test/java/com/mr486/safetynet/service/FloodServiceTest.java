@@ -0,0 +1,58 @@
+package com.mr486.safetynet.service;
+
+import com.mr486.safetynet.dto.response.FloodHouseholdDto;
+import com.mr486.safetynet.dto.response.FloodResidentDto;
+import com.mr486.safetynet.dto.response.Page;
+import com.mr486.safetynet.dto.search.PageCursor;
+import com.mr486.safetynet.exeption.InvalidPageException;
+import com.mr486.safetynet.repository.FloodRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the FloodService class.
+ * The grouping of the households itself is tested with the FloodRepositoryImplJson class.
+ */
+class FloodServiceTest {
+
+  private FloodRepository floodRepository;
+  private FloodService floodService;
+
+  @BeforeEach
+  void setUp() {
+    floodRepository = mock(FloodRepository.class);
+    floodService = new FloodService(floodRepository);
+  }
+
+  /**
+   * Tests that the households found by the repository are returned as is.
+   */
+  @Test
+  void returnsHouseholdsOfStations() {
+    List<FloodHouseholdDto> households = List.of(new FloodHouseholdDto("1509 Culver St", List.of(3),
+            List.of(new FloodResidentDto("John", "Boyd", "841-874-6512", 40, List.of(), List.of()))));
+    when(floodRepository.findHouseholdsByStations(List.of(3, 2))).thenReturn(households);
+
+    assertSame(households, floodService.getHouseholdsByStations(List.of(3, 2)));
+    verify(floodRepository, times(1)).findHouseholdsByStations(List.of(3, 2));
+  }
+
+  /**
+   * Tests that a page is asked to the repository with the decoded cursor.
+   */
+  @Test
+  void returnsPageOfHouseholds() {
+    Page<FloodHouseholdDto> page = new Page<>(List.of(), null);
+    PageCursor cursor = new PageCursor(4, 2);
+    when(floodRepository.findHouseholdsByStations(List.of(3), cursor, 10)).thenReturn(page);
+
+    assertSame(page, floodService.getHouseholdsByStations(List.of(3), cursor.encode(), 10));
+    assertThrows(InvalidPageException.class, () -> floodService.getHouseholdsByStations(List.of(3), null, 0));
+    assertThrows(InvalidPageException.class, () -> floodService.getHouseholdsByStations(List.of(3), "?", 10));
+  }
+}
@@ -1,15 +1,28 @@
 package com.mr486.safetynet.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.dto.response.BulkImportError;
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.MedicalRecordSearch;
 import com.mr486.safetynet.exeption.EntityAlreadyExistsException;
 import com.mr486.safetynet.exeption.EntityNotFoundException;
+import com.mr486.safetynet.exeption.WrongDateFormatException;
 import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
 import com.mr486.safetynet.repository.MedicalRecordRepository;
+import com.mr486.safetynet.tools.AgeCalculator;
+import com.mr486.safetynet.tools.RecordStreamReader;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,7 +39,8 @@ class MedicalRecordServiceTest {
   @BeforeEach
   void setUp() {
     medicalRecordRepository = mock(MedicalRecordRepository.class);
-    medicalRecordService = new MedicalRecordService(medicalRecordRepository);
+    medicalRecordService = new MedicalRecordService(medicalRecordRepository, new AgeCalculator(),
+            new RecordStreamReader(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator()));
   }
 
   /**
@@ -49,6 +63,24 @@ class MedicalRecordServiceTest {
     assertEquals("Doe", result.get().getLastName());
   }
 
+  /**
+   * Test for getting the medical records of a household in one lookup
+   */
+  @Test
+  void testGetMedicalRecordsOfPersons() {
+    MedicalRecord medicalRecord = new MedicalRecord("John", "Doe", "01/01/2000");
+    List<MedicalRecordSearch> medicalRecordSearches = List.of(new MedicalRecordSearch("John", "Doe"), new MedicalRecordSearch("Jane", "Doe"));
+    when(medicalRecordRepository.findAllByFirstNameAndLastName(medicalRecordSearches))
+            .thenReturn(Map.of(new MedicalRecordSearch("John", "Doe"), medicalRecord));
+
+    Map<MedicalRecordSearch, MedicalRecord> result = medicalRecordService.getMedicalRecordsOfPersons(List.of(
+            new Person("John", "Doe", "1 Main St", "City", "12345", "111", "john@test.com"),
+            new Person("Jane", "Doe", "1 Main St", "City", "12345", "222", "jane@test.com")));
+
+    assertEquals(Map.of(new MedicalRecordSearch("John", "Doe"), medicalRecord), result);
+    verify(medicalRecordRepository, times(1)).findAllByFirstNameAndLastName(any());
+  }
+
   /**
    * Test for getting a medical record by first name and last name when not found
    */
@@ -57,6 +89,7 @@ class MedicalRecordServiceTest {
     MedicalRecord medicalRecord = new MedicalRecord();
     medicalRecord.setFirstName("Jane");
     medicalRecord.setLastName("Smith");
+    medicalRecord.setBirthdate("01/01/2000");
 
     MedicalRecordSearch medicalRecordSearch1 = new MedicalRecordSearch(medicalRecord);
 
@@ -76,6 +109,7 @@ class MedicalRecordServiceTest {
     MedicalRecord medicalRecord = new MedicalRecord();
     medicalRecord.setFirstName("Jane");
     medicalRecord.setLastName("Smith");
+    medicalRecord.setBirthdate("01/01/2000");
 
     MedicalRecordSearch medicalRecordSearch1 = new MedicalRecordSearch(medicalRecord);
 
@@ -92,6 +126,7 @@ class MedicalRecordServiceTest {
     MedicalRecord medicalRecord = new MedicalRecord();
     medicalRecord.setFirstName("Jake");
     medicalRecord.setLastName("Johnson");
+    medicalRecord.setBirthdate("01/01/2000");
 
     MedicalRecordSearch medicalRecordSearch1 = new MedicalRecordSearch(medicalRecord);
 
@@ -111,6 +146,7 @@ class MedicalRecordServiceTest {
     MedicalRecord medicalRecord = new MedicalRecord();
     medicalRecord.setFirstName("Jake");
     medicalRecord.setLastName("Johnson");
+    medicalRecord.setBirthdate("01/01/2000");
 
     MedicalRecordSearch medicalRecordSearch1 = new MedicalRecordSearch(medicalRecord);
 
@@ -120,6 +156,18 @@ class MedicalRecordServiceTest {
     verify(medicalRecordRepository, never()).save(any());
   }
 
+  /**
+   * Test for saving and updating a medical record whose birthdate is in a wrong format
+   */
+  @Test
+  void saveAndUpdateMedicalRecord_wrongDateFormat() {
+    MedicalRecord medicalRecord = new MedicalRecord("Jake", "Johnson", "2000-01-01");
+
+    assertThrows(WrongDateFormatException.class, () -> medicalRecordService.saveMedicalRecord(medicalRecord));
+    assertThrows(WrongDateFormatException.class, () -> medicalRecordService.updateMedicalRecord(medicalRecord));
+    verifyNoInteractions(medicalRecordRepository);
+  }
+
   /**
    * Test for deleting a medical record that exists
    */
@@ -197,5 +245,79 @@ class MedicalRecordServiceTest {
     assertThrows(IllegalArgumentException.class, () -> medicalRecordService.calculateAge(medicalRecord.getBirthdate()));
   }
 
+  /**
+   * Test for calculating the age of a medical record from its parsed birthdate
+   */
+  @Test
+  void calculateAge_ofMedicalRecord() {
+    MedicalRecord medicalRecord = new MedicalRecord("John", "Doe", "01/01/2000");
+    int expectedAge = Period.between(LocalDate.of(2000, 1, 1), LocalDate.now()).getYears();
+
+    assertEquals(expectedAge, medicalRecordService.calculateAge(medicalRecord));
+    assertEquals(LocalDate.of(2000, 1, 1).toEpochDay(), medicalRecord.getBirthEpochDay());
+
+    medicalRecord.setBirthdate("invalid-date");
+    assertEquals(MedicalRecord.INVALID_BIRTHDATE, medicalRecord.getBirthEpochDay());
+    assertThrows(IllegalArgumentException.class, () -> medicalRecordService.calculateAge(medicalRecord));
+  }
+
+  private static ByteArrayInputStream body(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Test for a bulk upsert counting inserted, updated and rejected records per chunk
+   */
+  @Test
+  void testUpsertMedicalRecords_countsInsertedUpdatedAndRejected() throws IOException {
+    medicalRecordService.bulkBatchSize = 2;
+    when(medicalRecordRepository.upsertAll(anyList())).thenReturn(List.of(true, false), List.of(true));
+
+    BulkImportResponse response = medicalRecordService.upsertMedicalRecords(body("""
+            [{"firstName":"John","lastName":"Boyd","birthdate":"03/06/1984"},
+             {"firstName":"Jacob","lastName":"Boyd","birthdate":"03/06/1989"},
+             {"firstName":"","lastName":"Boyd","birthdate":"03/06/1989"},
+             {"firstName":"Tenley","lastName":"Boyd","birthdate":"02/18/2012","medications":["aznol:350mg"]}]"""));
+
+    assertEquals(new BulkImportResponse(4, 2, 1, 0, 1,
+            List.of(new BulkImportError(2, "firstname cannot be blank"))), response);
+    verify(medicalRecordRepository, times(2)).upsertAll(anyList());
+  }
+
+  /**
+   * Test for a bulk upsert rejecting the records whose birthdate is in a wrong format
+   */
+  @Test
+  void testUpsertMedicalRecords_rejectsWrongDateFormat() throws IOException {
+    when(medicalRecordRepository.upsertAll(anyList())).thenReturn(List.of(true));
+
+    BulkImportResponse response = medicalRecordService.upsertMedicalRecords(body("""
+            [{"firstName":"John","lastName":"Boyd","birthdate":"1984-03-06"},
+             {"firstName":"Jacob","lastName":"Boyd","birthdate":"03/06/1989"}]"""));
+
+    assertEquals(new BulkImportResponse(2, 1, 0, 0, 1, List.of(new BulkImportError(0,
+            "birthdate [1984-03-06] of first name [John] and last name [Boyd] is not in the format MM/dd/yyyy"))),
+            response);
+    verify(medicalRecordRepository).upsertAll(List.of(new MedicalRecord("Jacob", "Boyd", "03/06/1989")));
+  }
 
-}
\ No newline at end of file
+  /**
+   * Test for a bulk delete rejecting missing records in the order of the body
+   */
+  @Test
+  void testDeleteMedicalRecords_rejectsMissingRecordsInBodyOrder() throws IOException {
+    when(medicalRecordRepository.deleteAll(List.of(new MedicalRecordSearch("John", "Boyd"),
+            new MedicalRecordSearch("Jacob", "Boyd")))).thenReturn(List.of(false, true));
+
+    BulkImportResponse response = medicalRecordService.deleteMedicalRecords(body(
+            "{\"firstName\":\"John\",\"lastName\":\"Boyd\"}\n{\"lastName\":\"Boyd\"}\n"
+                    + "{\"firstName\":\"Jacob\",\"lastName\":\"Boyd\"}\n"));
+
+    assertEquals(3, response.getReceived());
+    assertEquals(1, response.getDeleted());
+    assertEquals(2, response.getRejected());
+    assertEquals(List.of(
+            new BulkImportError(0, "Medical record for first name [John] and last name [Boyd] does not exist!"),
+            new BulkImportError(1, "firstname cannot be blank")), response.getErrors());
+  }
+}
@@ -1,15 +1,25 @@
 package com.mr486.safetynet.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.dto.response.BulkImportError;
+import com.mr486.safetynet.dto.response.BulkImportResponse;
 import com.mr486.safetynet.dto.search.PersonSearch;
 import com.mr486.safetynet.exeption.EntityAlreadyExistsException;
 import com.mr486.safetynet.exeption.EntityNotFoundException;
 import com.mr486.safetynet.model.Person;
 import com.mr486.safetynet.repository.PersonRepository;
+import com.mr486.safetynet.tools.RecordStreamReader;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -25,7 +35,8 @@ class PersonServiceTest {
   @BeforeEach
   void setUp() {
     personRepository = mock(PersonRepository.class);
-    personService = new PersonService(personRepository);
+    personService = new PersonService(personRepository, new RecordStreamReader(new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator()));
   }
 
   /**
@@ -137,4 +148,49 @@ class PersonServiceTest {
   }
 
 
-}
\ No newline at end of file
+
+  private static String personLine(String firstName) {
+    return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Boyd\",\"address\":\"1509 Culver St\","
+            + "\"city\":\"Culver\",\"zip\":\"97451\",\"phone\":\"841-874-6512\",\"email\":\"jaboyd@email.com\"}\n";
+  }
+
+  /**
+   * Test for a bulk import saving the persons in batches
+   */
+  @Test
+  void testImportPersons_savesInBatches() throws IOException {
+    personService.bulkBatchSize = 2;
+    when(personRepository.insertAll(anyList())).thenReturn(List.of(true, true), List.of(true));
+    String body = personLine("John") + personLine("Jacob") + personLine("Tenley");
+
+    BulkImportResponse response = personService.importPersons(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(new BulkImportResponse(3, 3, 0, 0, 0, List.of()), response);
+    verify(personRepository).insertAll(argThat(persons -> persons.size() == 2));
+    verify(personRepository).insertAll(argThat(persons -> persons.size() == 1
+            && persons.get(0).getFirstName().equals("Tenley")));
+  }
+
+  /**
+   * Test for a bulk import rejecting invalid, existing and repeated persons
+   */
+  @Test
+  void testImportPersons_rejectsInvalidExistingAndRepeatedPersons() throws IOException {
+    when(personRepository.insertAll(anyList())).thenReturn(List.of(true, false, false));
+    String body = personLine("John") + personLine("Jacob") + personLine("John") + personLine("");
+
+    BulkImportResponse response = personService.importPersons(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(4, response.getReceived());
+    assertEquals(1, response.getInserted());
+    assertEquals(3, response.getRejected());
+    assertEquals(List.of(
+            new BulkImportError(1, "Person with first name [Jacob] and last name [Boyd] already exists!"),
+            new BulkImportError(2, "Person with first name [John] and last name [Boyd] already exists!"),
+            new BulkImportError(3, "firstname cannot be blank")), response.getErrors());
+    verify(personRepository, times(1)).insertAll(argThat(persons -> persons.size() == 3));
+    verify(personRepository, never()).exists(any());
+  }
+}
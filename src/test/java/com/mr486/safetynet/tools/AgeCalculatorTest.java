@@ -0,0 +1,92 @@
+package com.mr486.safetynet.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AgeCalculator} class.
+ * Verifies that the integer computation matches {@link Period} and that the current day rolls over at midnight.
+ */
+class AgeCalculatorTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Europe/Paris");
+
+  private static Clock clockAt(LocalDateTime dateTime) {
+    return Clock.fixed(dateTime.atZone(ZONE).toInstant(), ZONE);
+  }
+
+  /**
+   * Verifies the ages around birthdays, including the 29th of February, against {@link Period}.
+   */
+  @Test
+  void age_shouldMatchPeriod() {
+    for (LocalDate today = LocalDate.of(2023, 12, 25); today.isBefore(LocalDate.of(2024, 3, 5)); today = today.plusDays(1)) {
+      AgeCalculator calculator = new AgeCalculator(clockAt(today.atTime(12, 0)));
+      for (LocalDate birth = LocalDate.of(1870, 1, 1); birth.isBefore(today.plusDays(3)); birth = birth.plusDays(17)) {
+        assertEquals(Period.between(birth, today).getYears(), calculator.age((int) birth.toEpochDay()),
+                "born " + birth + " on " + today);
+      }
+      for (int years = 0; years <= 120; years += 4) {
+        LocalDate leapBirth = LocalDate.of(2024 - years, 2, 29);
+        assertEquals(Period.between(leapBirth, today).getYears(), calculator.age((int) leapBirth.toEpochDay()),
+                "born " + leapBirth + " on " + today);
+      }
+    }
+  }
+
+  /**
+   * Verifies that the current day changes at midnight in the zone of the clock.
+   */
+  @Test
+  void todayEpochDay_shouldRollOverAtMidnight() {
+    AtomicReference<Instant> now = new AtomicReference<>(LocalDateTime.of(2024, 3, 5, 23, 59).atZone(ZONE).toInstant());
+    Clock clock = new Clock() {
+      @Override
+      public ZoneId getZone() {
+        return ZONE;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+        return this;
+      }
+
+      @Override
+      public Instant instant() {
+        return now.get();
+      }
+    };
+    AgeCalculator calculator = new AgeCalculator(clock);
+    int birthday = (int) LocalDate.of(2006, 3, 6).toEpochDay();
+
+    assertEquals(LocalDate.of(2024, 3, 5).toEpochDay(), calculator.todayEpochDay());
+    assertEquals(17, calculator.age(birthday));
+
+    now.set(LocalDateTime.of(2024, 3, 6, 0, 0).atZone(ZONE).toInstant());
+
+    assertEquals(LocalDate.of(2024, 3, 6).toEpochDay(), calculator.todayEpochDay());
+    assertEquals(18, calculator.age(birthday));
+  }
+
+  /**
+   * Verifies the ages outside the precomputed years.
+   */
+  @Test
+  void age_shouldHandleFutureAndVeryOldBirthdates() {
+    AgeCalculator calculator = new AgeCalculator(Clock.fixed(Instant.parse("2024-03-05T12:00:00Z"), ZoneOffset.UTC));
+
+    assertEquals(0, calculator.age((int) LocalDate.of(2024, 6, 1).toEpochDay()));
+    assertEquals(-1, calculator.age((int) LocalDate.of(2025, 6, 1).toEpochDay()));
+    assertEquals(224, calculator.age((int) LocalDate.of(1800, 1, 1).toEpochDay()));
+  }
+}
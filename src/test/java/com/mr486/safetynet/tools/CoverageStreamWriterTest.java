@@ -0,0 +1,68 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.dto.response.FireStationCoverage;
+import com.mr486.safetynet.dto.response.PersonInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CoverageStreamWriter} class.
+ */
+class CoverageStreamWriterTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final CoverageStreamWriter writer = new CoverageStreamWriter(mapper);
+
+  @Test
+  void write_shouldWriteSameJsonAsRegularResponse() throws IOException {
+    FireStationCoverage coverage = new FireStationCoverage(List.of(
+            new PersonInfo("John", "Boyd", "1509 Culver St", "841-874-6512"),
+            new PersonInfo("Tenley", "Boyd", "1509 Culver St", null)), 1, 1);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    writer.write(coverage, out);
+
+    assertEquals(mapper.writeValueAsString(coverage), out.toString());
+    assertEquals(coverage, mapper.readValue(out.toByteArray(), FireStationCoverage.class));
+  }
+
+  @Test
+  void write_shouldWriteCountsAfterPersonsWithoutClosingStream() throws IOException {
+    List<PersonInfo> persons = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      persons.add(new PersonInfo("First" + i, "Boyd", i + " Culver St", "841-874-6512"));
+    }
+    List<Integer> writes = new ArrayList<>();
+    boolean[] closed = new boolean[1];
+    OutputStream out = new OutputStream() {
+      @Override
+      public void write(int b) {
+        writes.add(1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        writes.add(len);
+      }
+
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+    };
+
+    writer.write(new FireStationCoverage(persons, 6_000, 4_000), out);
+
+    assertTrue(writes.size() > 1, "the body should be written in several chunks");
+    assertTrue(writes.stream().allMatch(len -> len <= 16_000));
+    assertFalse(closed[0]);
+  }
+}
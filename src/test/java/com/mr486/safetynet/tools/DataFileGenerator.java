@@ -0,0 +1,88 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Test helper that writes synthetic data files with the same layout as data/data.json.
+ * Every household holds four persons and every ten households share a fire station.
+ */
+public final class DataFileGenerator {
+
+  private static final int PERSONS_PER_HOUSEHOLD = 4;
+  private static final int HOUSEHOLDS_PER_STATION = 10;
+
+  private DataFileGenerator() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * Writes a data file holding the given number of persons and their medical records.
+   *
+   * @param file        the file to write
+   * @param personCount the number of persons to generate
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path file, int personCount) throws IOException {
+    try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+      int households = (personCount + PERSONS_PER_HOUSEHOLD - 1) / PERSONS_PER_HOUSEHOLD;
+      generator.writeStartObject();
+
+      generator.writeArrayFieldStart("persons");
+      for (int i = 0; i < personCount; i++) {
+        generator.writeStartObject();
+        generator.writeStringField("firstName", "First" + i);
+        generator.writeStringField("lastName", "Last" + i / PERSONS_PER_HOUSEHOLD);
+        generator.writeStringField("address", address(i / PERSONS_PER_HOUSEHOLD));
+        generator.writeStringField("city", "Culver");
+        generator.writeStringField("zip", "97451");
+        generator.writeStringField("phone", "841-874-" + String.format("%04d", i % 10_000));
+        generator.writeStringField("email", "person" + i + "@email.com");
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+
+      generator.writeArrayFieldStart("firestations");
+      for (int h = 0; h < households; h++) {
+        generator.writeStartObject();
+        generator.writeStringField("address", address(h));
+        generator.writeStringField("station", String.valueOf(h / HOUSEHOLDS_PER_STATION + 1));
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+
+      generator.writeArrayFieldStart("medicalrecords");
+      for (int i = 0; i < personCount; i++) {
+        generator.writeStartObject();
+        generator.writeStringField("firstName", "First" + i);
+        generator.writeStringField("lastName", "Last" + i / PERSONS_PER_HOUSEHOLD);
+        generator.writeStringField("birthdate", String.format("%02d/%02d/%d", i % 12 + 1, i % 28 + 1, 1940 + i % 80));
+        generator.writeArrayFieldStart("medications");
+        generator.writeString("aznol:350mg");
+        generator.writeString("hydrapermazol:100mg");
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("allergies");
+        generator.writeString("nillacilan");
+        generator.writeEndArray();
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Returns the synthetic address of a household.
+   *
+   * @param household the household index
+   * @return the address of the household
+   */
+  public static String address(int household) {
+    return household + " Culver St";
+  }
+}
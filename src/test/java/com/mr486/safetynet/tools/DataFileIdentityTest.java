@@ -0,0 +1,60 @@
+package com.mr486.safetynet.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DataFileIdentity} record.
+ */
+class DataFileIdentityTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void of_shouldDigestContent() throws IOException {
+    Path file = Files.writeString(tempDir.resolve("data.json"), "test");
+
+    DataFileIdentity identity = DataFileIdentity.of(file);
+
+    assertEquals(4, identity.size());
+    assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", identity.digest());
+    assertThrows(UncheckedIOException.class, () -> DataFileIdentity.of(tempDir.resolve("missing.json")));
+  }
+
+  @Test
+  void matches_shouldCompareContentWhenFileIsTouched() throws IOException {
+    Path file = Files.writeString(tempDir.resolve("data.json"), "test");
+    DataFileIdentity identity = DataFileIdentity.of(file);
+    assertTrue(identity.matches(file));
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(identity.lastModified() + 60_000));
+    assertTrue(identity.matches(file));
+
+    Files.writeString(file, "tset");
+    assertFalse(identity.matches(file));
+    assertFalse(identity.matches(tempDir.resolve("missing.json")));
+  }
+
+  @Test
+  void of_shouldOnlyRecordTimeOfFileNotModifiedRecently() throws IOException {
+    Path file = Files.writeString(tempDir.resolve("data.json"), "test");
+    assertEquals(DataFileIdentity.UNKNOWN_TIME, DataFileIdentity.of(file).lastModified());
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+    DataFileIdentity identity = DataFileIdentity.of(file);
+    assertEquals(1_000_000, identity.lastModified());
+
+    Files.writeString(file, "tset");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+    assertTrue(identity.matches(file));
+  }
+}
@@ -0,0 +1,326 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.repository.DataSnapshot;
+import com.mr486.safetynet.repository.DataStore;
+import com.mr486.safetynet.repository.PersonRepositoryImplJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link DataLoader} class.
+ * Verifies that the JSON file is parsed once and the three sections are published together.
+ */
+class DataLoaderTest {
+
+  @Mock
+  private JsonDataReader mockJsonDataReader;
+
+  @Mock
+  private SnapshotFile mockSnapshotFile;
+
+  @Spy
+  private DataStore dataStore = new DataStore();
+
+  @Spy
+  private Journal journal = new Journal();
+
+  @InjectMocks
+  private DataLoader dataLoader;
+
+  @TempDir
+  Path tempDir;
+
+  private Path jsonFile;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    MockitoAnnotations.openMocks(this);
+    jsonFile = Files.writeString(tempDir.resolve("data.json"), "{}");
+    when(mockJsonDataReader.getDataFilePath()).thenReturn(jsonFile.toString());
+  }
+
+  private static Person person(String firstName) {
+    return new Person(firstName, "Doe", "1 Main St", "City", "12345", "111-111-1111", "john@test.com");
+  }
+
+  /**
+   * Verifies that the file is read once and the three sections are published in one snapshot.
+   */
+  @Test
+  void load_shouldParseOnceAndPublishSections() {
+    Person person = new Person("John", "Doe", "1 Main St", "City", "12345", "111-111-1111", "john@test.com");
+    FireStation fireStation = new FireStation("1 Main St", 1);
+    MedicalRecord medicalRecord = new MedicalRecord("John", "Doe", "01/01/1990");
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenAnswer(invocation -> {
+      invocation.<Consumer<Person>>getArgument(0).accept(person);
+      invocation.<Consumer<FireStation>>getArgument(1).accept(fireStation);
+      invocation.<Consumer<MedicalRecord>>getArgument(2).accept(medicalRecord);
+      return Map.of(JsonDataReader.PERSONS, 1L);
+    });
+
+    dataLoader.load();
+
+    verify(mockJsonDataReader, times(1)).streamData(any(), any(), any());
+    verify(dataStore, times(1)).publish(any(), any(), any());
+    DataSnapshot snapshot = dataStore.current();
+    assertEquals(1, snapshot.getVersion());
+    assertEquals(List.of(person), snapshot.getPersons().findAll());
+    assertEquals(List.of(fireStation), snapshot.getFireStations().findAll());
+    assertEquals(List.of(medicalRecord), snapshot.getMedicalRecords().findAll());
+    assertEquals(1L, dataLoader.getLoadTimes().get(JsonDataReader.PERSONS));
+    verify(journal).replay(0);
+    verify(mockSnapshotFile, never()).write(any(), anyLong(), any());
+  }
+
+  /**
+   * Verifies that a snapshot based on the current JSON file is used instead of the JSON file,
+   * even if the JSON file was touched since.
+   */
+  @Test
+  void load_shouldUseSnapshotBasedOnUnchangedJsonFile() throws IOException {
+    DataBinding data = new DataBinding(List.of(), List.of(new FireStation("1 Main St", 1)), List.of());
+    DataFileIdentity identity = DataFileIdentity.of(jsonFile);
+    Files.setLastModifiedTime(jsonFile, FileTime.fromMillis(identity.lastModified() + 60_000));
+    when(mockSnapshotFile.exists()).thenReturn(true);
+    when(mockSnapshotFile.read()).thenReturn(new SnapshotCodec.Content(data, 5, identity));
+
+    dataLoader.load();
+
+    verify(mockJsonDataReader, never()).streamData(any(), any(), any());
+    assertEquals(data.getFirestations(), dataStore.current().getFireStations().findAll());
+    assertTrue(dataLoader.getLoadTimes().containsKey("snapshot"));
+    verify(journal).replay(5);
+  }
+
+  /**
+   * Verifies that the application refuses to start when the snapshot cannot be read,
+   * instead of replaying only the journal written since the snapshot on the JSON file.
+   */
+  @Test
+  void load_shouldRefuseCorruptedSnapshot() {
+    when(mockSnapshotFile.exists()).thenReturn(true);
+    when(mockSnapshotFile.read()).thenThrow(new RuntimeException("snapshot checksum mismatch"));
+
+    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> dataLoader.load());
+
+    assertTrue(exception.getMessage().startsWith("snapshot checksum mismatch"));
+    verify(mockJsonDataReader, never()).streamData(any(), any(), any());
+    assertEquals(0, dataStore.current().getVersion());
+  }
+
+  /**
+   * Verifies that a JSON file changed since the snapshot was written is refused when rebasing is disabled.
+   */
+  @Test
+  void load_shouldRefuseJsonFileChangedSinceSnapshot() throws IOException {
+    DataFileIdentity identity = DataFileIdentity.of(jsonFile);
+    Files.writeString(jsonFile, "[]");
+    when(mockSnapshotFile.exists()).thenReturn(true);
+    when(mockSnapshotFile.read()).thenReturn(new SnapshotCodec.Content(new DataBinding(), 5, identity));
+
+    assertThrows(IllegalStateException.class, () -> dataLoader.load());
+    verify(mockJsonDataReader, never()).streamData(any(), any(), any());
+    assertEquals(0, dataStore.current().getVersion());
+  }
+
+  /**
+   * Verifies that a JSON file changed since the snapshot was written becomes the base at startup
+   * when rebasing is enabled.
+   */
+  @Test
+  void load_shouldRebaseOnJsonFileChangedSinceSnapshotWhenEnabled() throws IOException {
+    DataFileIdentity identity = DataFileIdentity.of(jsonFile);
+    Files.writeString(jsonFile, "[]");
+    dataLoader.rebaseOnJsonChange = true;
+    when(mockSnapshotFile.exists()).thenReturn(true);
+    when(mockSnapshotFile.read()).thenReturn(new SnapshotCodec.Content(new DataBinding(), 5, identity));
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenAnswer(invocation -> {
+      invocation.<Consumer<Person>>getArgument(0).accept(person("Jane"));
+      return Map.of();
+    });
+
+    dataLoader.load();
+
+    assertEquals(List.of(person("Jane")), dataStore.current().getPersons().findAll());
+    verify(mockSnapshotFile).write(any(), anyLong(), eq(DataFileIdentity.of(jsonFile)));
+  }
+
+  /**
+   * Verifies that a reloaded JSON file becomes the base even when rebasing at startup is disabled:
+   * the new snapshot is written before publication and the journal recorded up to now is not replayed.
+   */
+  @Test
+  void reload_shouldRebaseOnChangedJsonFile() throws IOException {
+    DataFileIdentity identity = DataFileIdentity.of(jsonFile);
+    Files.writeString(jsonFile, "[]");
+    when(mockSnapshotFile.exists()).thenReturn(true);
+    when(mockSnapshotFile.read()).thenReturn(new SnapshotCodec.Content(new DataBinding(), 5, identity));
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenAnswer(invocation -> {
+      invocation.<Consumer<Person>>getArgument(0).accept(person("Jane"));
+      return Map.of();
+    });
+    doReturn(List.of(JournalEntry.savePerson(person("John")))).when(journal).replay(5);
+    doReturn(9L).when(journal).getLastSequence();
+
+    DataSnapshot snapshot = dataLoader.reload();
+
+    assertEquals(List.of(person("Jane")), snapshot.getPersons().findAll());
+    verify(mockSnapshotFile).write(any(), eq(9L), eq(DataFileIdentity.of(jsonFile)));
+    verify(journal).deleteSegmentsUpTo(9L);
+    verify(journal).replay(9L);
+  }
+
+  /**
+   * Verifies that the mutations compacted into the snapshot survive a reload of a touched JSON file,
+   * with the journal, snapshot and JSON files on the disk.
+   */
+  @Test
+  void reload_shouldKeepCompactedMutationsWhenJsonFileIsTouched() throws IOException {
+    Files.writeString(jsonFile, "{\"persons\":[{\"firstName\":\"John\",\"lastName\":\"Doe\",\"address\":\"1 Main St\","
+            + "\"city\":\"City\",\"zip\":\"12345\",\"phone\":\"111-111-1111\",\"email\":\"john@test.com\"}],"
+            + "\"firestations\":[],\"medicalrecords\":[]}");
+    JsonDataReader jsonDataReader = new JsonDataReader(new ObjectMapper());
+    jsonDataReader.setDataFilePath(jsonFile.toString());
+    SnapshotFile snapshotFile = new SnapshotFile();
+    snapshotFile.setSnapshotFilePath(tempDir.resolve("data.snapshot").toString());
+    Journal fileJournal = new Journal();
+    fileJournal.enabled = true;
+    fileJournal.journalFilePath = tempDir.resolve("data.journal").toString();
+    DataStore store = new DataStore();
+    DataLoader loader = new DataLoader(jsonDataReader, snapshotFile, store, fileJournal);
+    PersonRepositoryImplJson personRepository = new PersonRepositoryImplJson(store, fileJournal);
+
+    loader.load();
+    personRepository.save(person("Jane"));
+    loader.writeSnapshot();
+    personRepository.save(person("Jack"));
+    Files.setLastModifiedTime(jsonFile, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+    DataSnapshot reloaded = loader.reload();
+
+    assertEquals(List.of("John", "Jane", "Jack"),
+            reloaded.getPersons().findAll().stream().map(Person::getFirstName).toList());
+  }
+
+  /**
+   * Verifies that the current data is left untouched when the file cannot be read.
+   */
+  @Test
+  void load_shouldHandleExceptionAndLeaveDataUntouched() {
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenThrow(new RuntimeException("JSON error"));
+
+    dataLoader.load();
+
+    verify(dataStore, never()).publish(any(), any(), any());
+    assertEquals(0, dataStore.current().getVersion());
+    assertTrue(dataLoader.getLoadTimes().isEmpty());
+  }
+
+  /**
+   * Verifies that a reload without snapshot reads the JSON file and replaces the current data in one swap.
+   */
+  @Test
+  void reload_shouldReadJsonAndSwapSnapshot() {
+    dataStore.publish(List.of(new Person()), List.of(), List.of());
+    DataSnapshot previous = dataStore.current();
+    FireStation fireStation = new FireStation("1 Main St", 2);
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenAnswer(invocation -> {
+      invocation.<Consumer<FireStation>>getArgument(1).accept(fireStation);
+      return Map.of();
+    });
+
+    DataSnapshot reloaded = dataLoader.reload();
+
+    assertSame(reloaded, dataStore.current());
+    assertEquals(previous.getVersion() + 1, reloaded.getVersion());
+    assertTrue(reloaded.getPersons().findAll().isEmpty());
+    assertEquals(List.of(fireStation), reloaded.getFireStations().findAll());
+    assertEquals(1, previous.getPersons().size());
+    verify(mockSnapshotFile, never()).read();
+  }
+
+  /**
+   * Verifies that a failed reload is reported to the caller and keeps the current data.
+   */
+  @Test
+  void reload_shouldThrowAndKeepCurrentDataWhenJsonIsInvalid() {
+    dataStore.publish(List.of(new Person()), List.of(), List.of());
+    DataSnapshot previous = dataStore.current();
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenThrow(new RuntimeException("JSON error"));
+
+    assertThrows(RuntimeException.class, () -> dataLoader.reload());
+    assertSame(previous, dataStore.current());
+  }
+
+  /**
+   * Verifies that the journal entries recorded after the base data are applied before publication.
+   */
+  @Test
+  void load_shouldReplayJournalBeforePublishing() {
+    Person person = new Person("John", "Doe", "1 Main St", "City", "12345", "111-111-1111", "john@test.com");
+    when(mockJsonDataReader.streamData(any(), any(), any())).thenAnswer(invocation -> {
+      invocation.<Consumer<Person>>getArgument(0).accept(person);
+      return Map.of();
+    });
+    doReturn(List.of(
+            JournalEntry.savePerson(new Person("Jane", "Doe", "1 Main St", "City", "12345", "222", "jane@test.com")),
+            JournalEntry.deletePerson(new PersonSearch("John", "Doe"))))
+            .when(journal).replay(0);
+
+    dataLoader.load();
+
+    verify(dataStore, times(1)).publish(any(), any(), any());
+    assertEquals(List.of("Jane"), dataStore.current().getPersons().findAll().stream().map(Person::getFirstName).toList());
+  }
+
+  /**
+   * Verifies that writing a snapshot rotates the journal and drops the segments it includes.
+   */
+  @Test
+  void writeSnapshot_shouldCompactJournal() {
+    doReturn(12L).when(journal).rotate();
+    dataStore.publish(List.of(new Person()), List.of(), List.of());
+
+    DataBinding data = dataLoader.writeSnapshot();
+
+    assertEquals(1, data.getPersons().size());
+    verify(mockSnapshotFile).write(data, 12L, null);
+    verify(journal).deleteSegmentsUpTo(12L);
+  }
+
+  /**
+   * Verifies that the journal segments are kept when the snapshot cannot be written.
+   */
+  @Test
+  void writeSnapshot_shouldKeepSegmentsWhenSnapshotFails() {
+    doThrow(new RuntimeException("Error writing snapshot file:")).when(mockSnapshotFile).write(any(), anyLong(), any());
+
+    assertThrows(RuntimeException.class, () -> dataLoader.writeSnapshot());
+    verify(journal, never()).deleteSegmentsUpTo(anyLong());
+  }
+}
@@ -0,0 +1,206 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.model.Person;
+import com.mr486.safetynet.repository.DataSnapshot;
+import com.mr486.safetynet.repository.DataStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link DataReloader} class.
+ * Verifies the metrics of a reload and that a change of the JSON file triggers a reload.
+ */
+class DataReloaderTest {
+
+  @Mock
+  private DataLoader mockDataLoader;
+
+  @Mock
+  private JsonDataReader mockJsonDataReader;
+
+  private final DataStore dataStore = new DataStore();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private DataReloader dataReloader;
+
+  @TempDir
+  Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    dataReloader = new DataReloader(mockDataLoader, mockJsonDataReader, dataStore, meterRegistry);
+    dataReloader.watchDelayMs = 50;
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataReloader.stop();
+  }
+
+  /**
+   * Verifies that a successful reload is timed.
+   */
+  @Test
+  void reload_shouldRecordDuration() {
+    dataReloader.init();
+    when(mockDataLoader.reload()).thenReturn(DataSnapshot.empty(0, 0));
+
+    assertTrue(dataReloader.reload());
+
+    assertEquals(1, meterRegistry.get(DataReloader.RELOAD_TIMER).timer().count());
+    assertEquals(0, meterRegistry.get(DataReloader.RELOAD_FAILURES).counter().count());
+  }
+
+  /**
+   * Verifies that a failed reload is counted and not thrown.
+   */
+  @Test
+  void reload_shouldCountFailures() {
+    dataReloader.init();
+    when(mockDataLoader.reload()).thenThrow(new RuntimeException("JSON error"));
+
+    assertFalse(dataReloader.reload());
+
+    assertEquals(0, meterRegistry.get(DataReloader.RELOAD_TIMER).timer().count());
+    assertEquals(1, meterRegistry.get(DataReloader.RELOAD_FAILURES).counter().count());
+  }
+
+  /**
+   * Verifies that the record gauges follow the current snapshot.
+   */
+  @Test
+  void init_shouldRegisterRecordGauges() {
+    dataReloader.init();
+    dataStore.publish(List.of(new Person("John", "Boyd", null, null, null, null, null), new Person("Jacob", "Boyd", null, null, null, null, null)), List.of(), List.of());
+
+    assertEquals(2, meterRegistry.get(DataReloader.RECORDS_GAUGE)
+            .tag("section", JsonDataReader.PERSONS).gauge().value());
+    assertEquals(0, meterRegistry.get(DataReloader.RECORDS_GAUGE)
+            .tag("section", JsonDataReader.FIRE_STATIONS).gauge().value());
+  }
+
+  /**
+   * Verifies that a JSON file edited after the snapshot was written is published by a reload,
+   * with the default properties keeping the startup from rebasing on it.
+   */
+  @Test
+  void reload_shouldPublishJsonFileEditedSinceSnapshot() throws Exception {
+    Path dataFile = tempDir.resolve("data.json");
+    Files.writeString(dataFile, personsJson("John"));
+    JsonDataReader jsonDataReader = jsonDataReader(dataFile);
+    DataLoader dataLoader = dataLoader(jsonDataReader);
+    dataLoader.load();
+    assertTrue(Files.exists(tempDir.resolve("data.snapshot")));
+    dataReloader = new DataReloader(dataLoader, jsonDataReader, dataStore, meterRegistry);
+    dataReloader.init();
+
+    Files.writeString(dataFile, personsJson("Jane"));
+
+    assertTrue(dataReloader.reload());
+    assertEquals(List.of("Jane"), dataStore.current().getPersons().findAll().stream()
+            .map(Person::getFirstName).toList());
+  }
+
+  /**
+   * Verifies that writing the watched file triggers a reload, and other files of the directory do not.
+   */
+  @Test
+  void watch_shouldReloadWhenDataFileChanges() throws Exception {
+    Path dataFile = tempDir.resolve("data.json");
+    Files.writeString(dataFile, "{}");
+    when(mockJsonDataReader.getDataFilePath()).thenReturn(dataFile.toString());
+    when(mockDataLoader.reload()).thenReturn(DataSnapshot.empty(0, 0));
+    dataReloader.watch = true;
+    dataReloader.init();
+
+    Files.writeString(tempDir.resolve("data.snapshot"), "ignored");
+    verify(mockDataLoader, after(300).never()).reload();
+
+    Files.writeString(dataFile, "{\"persons\": []}");
+    verify(mockDataLoader, timeout(10_000).times(1)).reload();
+  }
+
+  /**
+   * Verifies that with the default properties, once the first load wrote a snapshot,
+   * an edit of the watched file is published without a restart.
+   */
+  @Test
+  void watch_shouldPublishEditedJsonFileOnceSnapshotIsWritten() throws Exception {
+    Path dataFile = tempDir.resolve("data.json");
+    Files.writeString(dataFile, personsJson("John"));
+    JsonDataReader jsonDataReader = jsonDataReader(dataFile);
+    DataLoader dataLoader = dataLoader(jsonDataReader);
+    dataLoader.load();
+    dataReloader = new DataReloader(dataLoader, jsonDataReader, dataStore, meterRegistry);
+    dataReloader.watchDelayMs = 50;
+    dataReloader.watch = true;
+    dataReloader.init();
+
+    Files.writeString(dataFile, personsJson("Jane"));
+
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (dataStore.current().getPersons().findAll().get(0).getFirstName().equals("John")
+            && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertEquals("Jane", dataStore.current().getPersons().findAll().get(0).getFirstName());
+    assertEquals(0, meterRegistry.get(DataReloader.RELOAD_FAILURES).counter().count());
+  }
+
+  /**
+   * Verifies that the watcher thread stops with the application.
+   */
+  @Test
+  void stop_shouldEndWatcher() throws Exception {
+    when(mockJsonDataReader.getDataFilePath()).thenReturn(tempDir.resolve("data.json").toString());
+    dataReloader.watch = true;
+    dataReloader.init();
+
+    dataReloader.stop();
+    Files.writeString(tempDir.resolve("data.json"), "{}");
+
+    verify(mockDataLoader, after(300).never()).reload();
+  }
+
+  /**
+   * Builds a loader on real files with the default properties: a snapshot is written after the first load
+   * and a JSON file changed since is not rebased on at startup.
+   */
+  private DataLoader dataLoader(JsonDataReader jsonDataReader) {
+    SnapshotFile snapshotFile = new SnapshotFile();
+    snapshotFile.setSnapshotFilePath(tempDir.resolve("data.snapshot").toString());
+    Journal journal = new Journal();
+    journal.enabled = true;
+    journal.journalFilePath = tempDir.resolve("data.journal").toString();
+    DataLoader dataLoader = new DataLoader(jsonDataReader, snapshotFile, dataStore, journal);
+    dataLoader.writeSnapshotAfterLoad = true;
+    return dataLoader;
+  }
+
+  private static JsonDataReader jsonDataReader(Path dataFile) {
+    JsonDataReader jsonDataReader = new JsonDataReader(new ObjectMapper());
+    jsonDataReader.setDataFilePath(dataFile.toString());
+    return jsonDataReader;
+  }
+
+  private static String personsJson(String firstName) {
+    return "{\"persons\":[{\"firstName\":\"" + firstName + "\",\"lastName\":\"Doe\",\"address\":\"1 Main St\","
+            + "\"city\":\"City\",\"zip\":\"12345\",\"phone\":\"111-111-1111\",\"email\":\"doe@test.com\"}],"
+            + "\"firestations\":[],\"medicalrecords\":[]}";
+  }
+}
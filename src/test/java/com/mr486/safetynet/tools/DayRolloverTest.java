@@ -0,0 +1,48 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.repository.DataStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link DayRollover} class.
+ */
+class DayRolloverTest {
+
+  private final AgeCalculator mockAgeCalculator = mock(AgeCalculator.class);
+  private final DataStore dataStore = new DataStore(mockAgeCalculator);
+  private final DayRollover dayRollover = new DayRollover(dataStore);
+
+  @Test
+  void rollOverIfNeeded_shouldDoNothingOnSameDay() {
+    when(mockAgeCalculator.todayEpochDay()).thenReturn(20_000);
+    long version = dataStore.publish(List.of(), List.of(), List.of()).getVersion();
+
+    assertFalse(dayRollover.rollOverIfNeeded());
+    assertEquals(version, dataStore.current().getVersion());
+  }
+
+  @Test
+  void rollOverIfNeeded_shouldPublishViewsOfNewDay() {
+    when(mockAgeCalculator.todayEpochDay()).thenReturn(20_000);
+    long version = dataStore.publish(List.of(), List.of(), List.of()).getVersion();
+    when(mockAgeCalculator.todayEpochDay()).thenReturn(20_001);
+
+    assertTrue(dayRollover.rollOverIfNeeded());
+    assertEquals(version + 1, dataStore.current().getVersion());
+    assertEquals(20_001, dataStore.current().getCoverage().getDay());
+    assertEquals(20_001, dataStore.current().getChildAlerts().getDay());
+    assertFalse(dayRollover.rollOverIfNeeded());
+  }
+
+  @Test
+  void rollOverIfNeeded_shouldHandleFailure() {
+    when(mockAgeCalculator.todayEpochDay()).thenThrow(new IllegalStateException("clock failure"));
+
+    assertFalse(dayRollover.rollOverIfNeeded());
+  }
+}
@@ -0,0 +1,63 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Throughput benchmark comparing one fsync per write with group commit in {@link Journal},
+ * with concurrent writers standing for the Tomcat request threads.
+ * Not part of the regular test run, launch it with:
+ * {@code mvn test -Dtest=JournalBenchmark -Dsurefire.failIfNoSpecifiedTests=false}
+ * Results depend on the fsync latency of the disk holding the temporary directory.
+ */
+@Tag("benchmark")
+class JournalBenchmark {
+
+  private static final int WRITES = 4_000;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 8, 64})
+  void compareFsyncPolicies(int threads, @TempDir Path tempDir) throws Exception {
+    for (Journal.FsyncPolicy fsync : List.of(Journal.FsyncPolicy.ALWAYS, Journal.FsyncPolicy.GROUP)) {
+      Journal journal = new Journal();
+      journal.enabled = true;
+      journal.journalFilePath = tempDir.resolve(fsync + ".journal").toString();
+      journal.fsync = fsync;
+      journal.groupCommitWindowMicros = 200;
+      journal.replay(0);
+      Person person = new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      List<Future<?>> futures = new ArrayList<>();
+      long start = System.nanoTime();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < WRITES / threads; i++) {
+            journal.record(JournalEntry.savePerson(person), () -> {
+            });
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      long elapsed = System.nanoTime() - start;
+      executor.shutdown();
+      journal.close();
+
+      int writes = WRITES / threads * threads;
+      System.out.printf("%s, %d threads: %d writes in %d ms = %d writes/s, %d fsyncs%n",
+              fsync, threads, writes, elapsed / 1_000_000, writes * 1_000_000_000L / elapsed, journal.getSyncCount());
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.mr486.safetynet.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link JournalCompactor} class.
+ */
+class JournalCompactorTest {
+
+  @Mock
+  private DataLoader mockDataLoader;
+
+  @Mock
+  private Journal mockJournal;
+
+  @InjectMocks
+  private JournalCompactor journalCompactor;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    journalCompactor.maxBytes = 1024;
+  }
+
+  @Test
+  void compactIfNeeded_shouldDoNothingBelowThreshold() {
+    when(mockJournal.getActiveSize()).thenReturn(1023L);
+
+    assertFalse(journalCompactor.compactIfNeeded());
+    verify(mockDataLoader, never()).writeSnapshot();
+  }
+
+  @Test
+  void compactIfNeeded_shouldWriteSnapshotAboveThreshold() {
+    when(mockJournal.getActiveSize()).thenReturn(1024L);
+
+    assertTrue(journalCompactor.compactIfNeeded());
+    verify(mockDataLoader).writeSnapshot();
+  }
+
+  @Test
+  void compactIfNeeded_shouldHandleSnapshotFailure() {
+    when(mockJournal.getActiveSize()).thenReturn(4096L);
+    when(mockDataLoader.writeSnapshot()).thenThrow(new RuntimeException("Error writing snapshot file:"));
+
+    assertFalse(journalCompactor.compactIfNeeded());
+  }
+}
@@ -0,0 +1,105 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.dto.search.MedicalRecordSearch;
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link JournalEntry} class.
+ */
+class JournalEntryTest {
+
+  private static Person person() {
+    return new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  private static MedicalRecord medicalRecord() {
+    return new MedicalRecord("John", "Boyd", "03/06/1984",
+            new ArrayList<>(List.of("aznol:350mg")), new ArrayList<>(List.of("nillacilan")));
+  }
+
+  static Stream<JournalEntry> entries() {
+    return Stream.of(
+            JournalEntry.savePerson(person()),
+            JournalEntry.updatePerson(person()),
+            JournalEntry.deletePerson(new PersonSearch("John", "Boyd")),
+            JournalEntry.saveFireStation(new FireStation("1509 Culver St", 3)),
+            JournalEntry.updateFireStation(new FireStation("1509 Culver St", null)),
+            JournalEntry.deleteFireStation("1509 Culver St"),
+            JournalEntry.saveMedicalRecord(medicalRecord()),
+            JournalEntry.updateMedicalRecord(medicalRecord()),
+            JournalEntry.deleteMedicalRecord(new MedicalRecordSearch("John", "Boyd")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("entries")
+  void writeThenRead_shouldRestoreTheEntry(JournalEntry entry) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    entry.write(new DataOutputStream(bytes));
+
+    assertEquals(entry, JournalEntry.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+  }
+
+  @Test
+  void read_shouldRejectUnknownOperation() {
+    byte[] bytes = {(byte) JournalEntry.Operation.values().length};
+
+    IOException exception = assertThrows(IOException.class,
+            () -> JournalEntry.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+
+    assertTrue(exception.getMessage().contains("unknown journal operation"));
+  }
+
+  @Test
+  void applyTo_shouldReplayMutationsLikeTheRepositories() {
+    DataBinding data = new DataBinding();
+    data.getPersons().add(person());
+    data.getFirestations().add(new FireStation("1509 Culver St", 3));
+    data.getMedicalrecords().add(medicalRecord());
+    Person moved = new Person("John", "Boyd", "29 15th St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+
+    JournalEntry.updatePerson(moved).applyTo(data);
+    JournalEntry.savePerson(new Person("Jacob", "Boyd", "29 15th St", "Culver", "97451", "", "")).applyTo(data);
+    JournalEntry.updateFireStation(new FireStation("1509 CULVER ST", 2)).applyTo(data);
+    JournalEntry.saveFireStation(new FireStation("29 15th St", 2)).applyTo(data);
+    JournalEntry.deleteFireStation("29 15TH ST").applyTo(data);
+    JournalEntry.deleteMedicalRecord(new MedicalRecordSearch("John", "Boyd")).applyTo(data);
+    JournalEntry.deletePerson(new PersonSearch("Jacob", "Boyd")).applyTo(data);
+
+    assertEquals(List.of(moved), data.getPersons());
+    assertEquals(List.of(new FireStation("1509 Culver St", 2)), data.getFirestations());
+    assertTrue(data.getMedicalrecords().isEmpty());
+  }
+
+  @Test
+  void applyTo_shouldMatchFireStationAddressesLikeTheTable() {
+    FireStation mapping = new FireStation("1509 Culver St", 3);
+    DataBinding data = new DataBinding();
+    data.getFirestations().addAll(List.of(mapping, new FireStation("1509 Culver St", 4),
+            new FireStation("29 15th St", 2)));
+
+    JournalEntry.updateFireStation(new FireStation(" 1509  culver st", 1)).applyTo(data);
+    JournalEntry.deleteFireStation("\t29 15TH  st ").applyTo(data);
+
+    assertEquals(List.of(new FireStation("1509 Culver St", 1), new FireStation("1509 Culver St", 4)),
+            data.getFirestations());
+    assertEquals(3, mapping.getStation());
+  }
+}
@@ -0,0 +1,360 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.search.PersonSearch;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Journal} class.
+ * Verifies that recorded mutations survive a restart and that a damaged tail is discarded.
+ */
+class JournalTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path journalFile;
+
+  private final List<Journal> journals = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    journalFile = tempDir.resolve("data.journal");
+  }
+
+  @AfterEach
+  void tearDown() {
+    journals.forEach(Journal::close);
+  }
+
+  private Journal newJournal(Journal.FsyncPolicy fsync) {
+    Journal journal = new Journal();
+    journal.enabled = true;
+    journal.journalFilePath = journalFile.toString();
+    journal.fsync = fsync;
+    journal.fsyncIntervalMs = 10;
+    journal.init();
+    journals.add(journal);
+    return journal;
+  }
+
+  private static Person person(String firstName) {
+    return new Person(firstName, "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com");
+  }
+
+  @Test
+  void record_shouldApplyMutationAndSurviveRestart() {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.replay(0);
+    List<String> applied = new ArrayList<>();
+
+    journal.record(JournalEntry.savePerson(person("John")), () -> applied.add("save"));
+    journal.record(JournalEntry.updateFireStation(new FireStation("1509 Culver St", 4)), () -> applied.add("update"));
+    journal.record(JournalEntry.deletePerson(new PersonSearch("John", "Boyd")), () -> applied.add("delete"));
+    journal.close();
+
+    assertEquals(List.of("save", "update", "delete"), applied);
+    assertEquals(List.of(
+            JournalEntry.savePerson(person("John")),
+            JournalEntry.updateFireStation(new FireStation("1509 Culver St", 4)),
+            JournalEntry.deletePerson(new PersonSearch("John", "Boyd"))),
+            newJournal(Journal.FsyncPolicy.ALWAYS).replay(0));
+  }
+
+  @Test
+  void replay_shouldSkipEntriesIncludedInBaseAndContinueSequence() {
+    Journal journal = newJournal(Journal.FsyncPolicy.NEVER);
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    journal.record(JournalEntry.savePerson(person("Jacob")), () -> {
+    });
+    journal.close();
+
+    Journal restarted = newJournal(Journal.FsyncPolicy.NEVER);
+    assertEquals(List.of(JournalEntry.savePerson(person("Jacob"))), restarted.replay(1));
+    assertEquals(2, restarted.getLastSequence());
+  }
+
+  @Test
+  void replay_shouldContinueAfterSnapshotSequenceWhenJournalIsEmpty() {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+
+    assertTrue(journal.replay(10).isEmpty());
+    journal.record(JournalEntry.deleteFireStation("1509 Culver St"), () -> {
+    });
+
+    assertEquals(11, journal.getLastSequence());
+  }
+
+  @Test
+  void replay_shouldTruncateTornTailAndKeepAppending() throws Exception {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    journal.record(JournalEntry.savePerson(person("Jacob")), () -> {
+    });
+    journal.close();
+    try (RandomAccessFile file = new RandomAccessFile(journalFile.toFile(), "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    Journal restarted = newJournal(Journal.FsyncPolicy.ALWAYS);
+    assertEquals(List.of(JournalEntry.savePerson(person("John"))), restarted.replay(0));
+    restarted.record(JournalEntry.savePerson(person("Tenley")), () -> {
+    });
+    restarted.close();
+
+    assertEquals(List.of(JournalEntry.savePerson(person("John")), JournalEntry.savePerson(person("Tenley"))),
+            newJournal(Journal.FsyncPolicy.ALWAYS).replay(0));
+  }
+
+  @Test
+  void replay_shouldStopAtCorruptedFrame() throws Exception {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    journal.close();
+    long validLength = Files.size(journalFile);
+    journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.record(JournalEntry.savePerson(person("Jacob")), () -> {
+    });
+    journal.close();
+    try (RandomAccessFile file = new RandomAccessFile(journalFile.toFile(), "rw")) {
+      file.seek(validLength + 12);
+      file.write(file.read() ^ 0x01);
+    }
+
+    assertEquals(List.of(JournalEntry.savePerson(person("John"))), newJournal(Journal.FsyncPolicy.ALWAYS).replay(0));
+    assertEquals(validLength, Files.size(journalFile));
+  }
+
+  @Test
+  void record_shouldOnlyApplyMutationWhenDisabled() {
+    Journal journal = new Journal();
+    List<String> applied = new ArrayList<>();
+
+    journal.record(JournalEntry.savePerson(person("John")), () -> applied.add("save"));
+
+    assertEquals(List.of("save"), applied);
+    assertTrue(journal.replay(0).isEmpty());
+    assertFalse(Files.exists(journalFile));
+  }
+
+  @Test
+  void record_shouldWriteWithIntervalPolicy() {
+    Journal journal = newJournal(Journal.FsyncPolicy.INTERVAL);
+
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    journal.close();
+
+    assertEquals(List.of(JournalEntry.savePerson(person("John"))), newJournal(Journal.FsyncPolicy.INTERVAL).replay(0));
+  }
+
+  @Test
+  void record_shouldGroupConcurrentWritesIntoFewerFsyncs() throws Exception {
+    Journal journal = newJournal(Journal.FsyncPolicy.GROUP);
+    journal.groupCommitWindowMicros = 2_000;
+    journal.replay(0);
+    int threads = 8;
+    int writesPerThread = 25;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      String firstName = "Thread" + t;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < writesPerThread; i++) {
+          journal.record(JournalEntry.savePerson(person(firstName)), () -> {
+          });
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    assertTrue(journal.getSyncCount() < threads * writesPerThread);
+    journal.close();
+    assertEquals(threads * writesPerThread, newJournal(Journal.FsyncPolicy.GROUP).replay(0).size());
+  }
+
+  @Test
+  void record_shouldCommitImmediatelyWhenByteBudgetIsReached() {
+    Journal journal = newJournal(Journal.FsyncPolicy.GROUP);
+    journal.groupCommitWindowMicros = TimeUnit.SECONDS.toMicros(30);
+    journal.groupCommitMaxBytes = 1;
+    long start = System.nanoTime();
+
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    assertEquals(1, journal.getSyncCount());
+  }
+
+  @Test
+  void rotate_shouldMoveEntriesToSegmentAndContinueInNewFile() throws Exception {
+    Journal journal = newJournal(Journal.FsyncPolicy.GROUP);
+    journal.replay(0);
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    journal.record(JournalEntry.savePerson(person("Jacob")), () -> {
+    });
+
+    assertEquals(2, journal.rotate());
+    journal.record(JournalEntry.savePerson(person("Tenley")), () -> {
+    });
+    journal.close();
+
+    assertTrue(Files.exists(tempDir.resolve("data.journal.2")));
+    Journal restarted = newJournal(Journal.FsyncPolicy.GROUP);
+    assertEquals(List.of(JournalEntry.savePerson(person("Jacob")), JournalEntry.savePerson(person("Tenley"))),
+            restarted.replay(1));
+    assertEquals(3, restarted.getLastSequence());
+  }
+
+  @Test
+  void rotate_shouldKeepEmptyJournalInPlace() {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.replay(4);
+
+    assertEquals(4, journal.rotate());
+    assertFalse(Files.exists(tempDir.resolve("data.journal.4")));
+  }
+
+  @Test
+  void deleteSegmentsUpTo_shouldDropSegmentsIncludedInSnapshot() throws Exception {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    journal.rotate();
+    journal.record(JournalEntry.savePerson(person("Jacob")), () -> {
+    });
+    journal.rotate();
+    journal.record(JournalEntry.savePerson(person("Tenley")), () -> {
+    });
+
+    assertEquals(1, journal.deleteSegmentsUpTo(1));
+    journal.close();
+
+    assertFalse(Files.exists(tempDir.resolve("data.journal.1")));
+    assertTrue(Files.exists(tempDir.resolve("data.journal.2")));
+    assertEquals(List.of(JournalEntry.savePerson(person("Jacob")), JournalEntry.savePerson(person("Tenley"))),
+            newJournal(Journal.FsyncPolicy.ALWAYS).replay(1));
+  }
+
+  @Test
+  void recordAll_shouldWriteEntriesInOrderWithOneFsync() {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.replay(0);
+    List<String> applied = new ArrayList<>();
+
+    journal.recordAll(List.of(JournalEntry.savePerson(person("John")), JournalEntry.savePerson(person("Jacob"))),
+            () -> applied.add("batch"));
+    journal.record(JournalEntry.savePerson(person("Tenley")), () -> applied.add("single"));
+    journal.close();
+
+    assertEquals(List.of("batch", "single"), applied);
+    assertEquals(2, journal.getSyncCount());
+    Journal restarted = newJournal(Journal.FsyncPolicy.ALWAYS);
+    assertEquals(List.of(
+            JournalEntry.savePerson(person("John")),
+            JournalEntry.savePerson(person("Jacob")),
+            JournalEntry.savePerson(person("Tenley"))), restarted.replay(0));
+    assertEquals(3, restarted.getLastSequence());
+  }
+
+  @Test
+  void recordAll_shouldWriteEntriesPlannedUnderTheLock() {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.replay(0);
+    List<String> applied = new ArrayList<>();
+
+    journal.recordAll(() -> {
+      applied.add("plan");
+      return List.of(JournalEntry.deletePerson(new PersonSearch("John", "Boyd")));
+    }, () -> applied.add("apply"));
+    journal.recordAll(List::of, () -> applied.add("nothing to write"));
+    journal.close();
+
+    assertEquals(List.of("plan", "apply", "nothing to write"), applied);
+    assertEquals(List.of(JournalEntry.deletePerson(new PersonSearch("John", "Boyd"))),
+            newJournal(Journal.FsyncPolicy.ALWAYS).replay(0));
+  }
+
+  @Test
+  void record_shouldRemoveEntryOfFailedMutation() {
+    Journal journal = newJournal(Journal.FsyncPolicy.ALWAYS);
+    journal.replay(0);
+
+    journal.record(JournalEntry.savePerson(person("John")), () -> {
+    });
+    assertThrows(IllegalStateException.class, () -> journal.record(JournalEntry.savePerson(person("Jacob")), () -> {
+      throw new IllegalStateException("mutation failed");
+    }));
+    journal.record(JournalEntry.savePerson(person("Tenley")), () -> {
+    });
+    journal.close();
+
+    assertEquals(List.of(JournalEntry.savePerson(person("John")), JournalEntry.savePerson(person("Tenley"))),
+            newJournal(Journal.FsyncPolicy.ALWAYS).replay(0));
+  }
+
+  @Test
+  void recordAll_shouldRemoveEntriesOfFailedMutationWithGroupCommit() {
+    Journal journal = newJournal(Journal.FsyncPolicy.GROUP);
+    journal.replay(0);
+
+    assertThrows(IllegalStateException.class, () -> journal.recordAll(
+            List.of(JournalEntry.savePerson(person("John")), JournalEntry.savePerson(person("Jacob"))), () -> {
+              throw new IllegalStateException("mutation failed");
+            }));
+    journal.record(JournalEntry.savePerson(person("Tenley")), () -> {
+    });
+    journal.close();
+
+    assertEquals(List.of(JournalEntry.savePerson(person("Tenley"))), newJournal(Journal.FsyncPolicy.GROUP).replay(0));
+  }
+
+  @Test
+  void record_shouldRefuseWritesAfterFailedGroupCommit() {
+    Journal journal = new Journal() {
+      @Override
+      void force() throws IOException {
+        throw new IOException("disk full");
+      }
+    };
+    journal.enabled = true;
+    journal.journalFilePath = journalFile.toString();
+    journal.fsync = Journal.FsyncPolicy.GROUP;
+    journals.add(journal);
+    journal.replay(0);
+    List<String> applied = new ArrayList<>();
+
+    assertThrows(RuntimeException.class,
+            () -> journal.record(JournalEntry.savePerson(person("John")), () -> applied.add("John")));
+    RuntimeException refused = assertThrows(RuntimeException.class,
+            () -> journal.record(JournalEntry.savePerson(person("Jacob")), () -> applied.add("Jacob")));
+
+    assertEquals(List.of("John"), applied);
+    assertTrue(refused.getMessage().contains("writes are refused until restart"));
+  }
+}
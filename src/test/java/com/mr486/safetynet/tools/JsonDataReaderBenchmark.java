@@ -0,0 +1,75 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.dto.DataBinding;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Startup benchmark comparing the file stream, memory-mapped and parallel paths of {@link JsonDataReader},
+ * and the binary snapshot read by {@link SnapshotFile}.
+ * Not part of the regular test run, launch it with:
+ * {@code mvn test -Dtest=JsonDataReaderBenchmark -Dsurefire.failIfNoSpecifiedTests=false -DargLine=-Xmx4g}
+ * The 1 GB file needs a few GB of free disk space in the temporary directory and a 4 GB heap.
+ */
+@Tag("benchmark")
+class JsonDataReaderBenchmark {
+
+  /**
+   * Approximate size in bytes of one generated person with its medical record.
+   */
+  private static final int BYTES_PER_PERSON = 330;
+
+  private static final int ROUNDS = 3;
+
+  @ParameterizedTest
+  @ValueSource(longs = {100L << 20, 1L << 30})
+  void compareLoadModes(long targetSize, @TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    DataFileGenerator.write(file, (int) (targetSize / BYTES_PER_PERSON));
+    System.out.printf("File size: %d MB%n", Files.size(file) >> 20);
+
+    for (int mode = 0; mode < 8; mode++) {
+      boolean memoryMapped = (mode & 1) != 0;
+      boolean parallel = (mode & 2) != 0;
+      JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+      reader.setDataFilePath(file.toString());
+      reader.setMemoryMapped(memoryMapped);
+      reader.setParallel(parallel);
+      long best = Long.MAX_VALUE;
+      int records = 0;
+      for (int round = 0; round < ROUNDS; round++) {
+        DataBinding data = new DataBinding();
+        long start = System.nanoTime();
+        reader.streamData(data.getPersons()::add, data.getFirestations()::add, data.getMedicalrecords()::add);
+        best = Math.min(best, System.nanoTime() - start);
+        records = data.getPersons().size() + data.getFirestations().size() + data.getMedicalrecords().size();
+      }
+      System.out.printf("%s%s: %d records, best of %d = %d ms%n",
+              memoryMapped ? "memory-mapped" : "file stream", parallel ? " parallel" : "",
+              records, ROUNDS, best / 1_000_000);
+    }
+
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+    SnapshotFile snapshotFile = new SnapshotFile();
+    snapshotFile.setSnapshotFilePath(tempDir.resolve("data.snapshot").toString());
+    DataBinding data = new DataBinding();
+    reader.streamData(data.getPersons()::add, data.getFirestations()::add, data.getMedicalrecords()::add);
+    snapshotFile.write(data, 0, null);
+    data = null;
+    System.out.printf("Snapshot size: %d MB%n", Files.size(tempDir.resolve("data.snapshot")) >> 20);
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      snapshotFile.read();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("snapshot: best of %d = %d ms%n", ROUNDS, best / 1_000_000);
+  }
+}
@@ -2,12 +2,23 @@ package com.mr486.safetynet.tools;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -54,4 +65,120 @@ class JsonDataReaderTest {
 
     assertEquals("Error reading json file:test.json message: Invalid JSON", exception.getMessage());
   }
-}
\ No newline at end of file
+
+  @Test
+  void streamData_shouldHandEachRecordToItsConsumer(@TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    Files.writeString(file, """
+            {
+              "persons": [
+                { "firstName": "John", "lastName": "Doe", "address": "1 Main St", "city": "City",
+                  "zip": "12345", "phone": "111-111-1111", "email": "john@test.com" }
+              ],
+              "other": { "ignored": [1, 2, 3] },
+              "firestations": [ { "address": "1 Main St", "station": "3" } ],
+              "medicalrecords": [
+                { "firstName": "John", "lastName": "Doe", "birthdate": "01/01/1990",
+                  "medications": ["aznol:350mg"], "allergies": [] }
+              ]
+            }
+            """);
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+    List<Person> persons = new ArrayList<>();
+    List<FireStation> fireStations = new ArrayList<>();
+    List<MedicalRecord> medicalRecords = new ArrayList<>();
+
+    Map<String, Long> sectionTimes = reader.streamData(persons::add, fireStations::add, medicalRecords::add);
+
+    assertEquals(List.of("persons", "firestations", "medicalrecords"), List.copyOf(sectionTimes.keySet()));
+    assertEquals(1, persons.size());
+    assertEquals("Doe", persons.get(0).getLastName());
+    assertEquals(3, fireStations.get(0).getStation());
+    assertEquals(List.of("aznol:350mg"), medicalRecords.get(0).getMedications());
+  }
+
+  @Test
+  void streamData_shouldThrowRuntimeExceptionWhenSectionIsNotAnArray(@TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    Files.writeString(file, "{ \"persons\": { \"firstName\": \"John\" } }");
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+
+    RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reader.streamData(person -> { }, fireStation -> { }, medicalRecord -> { }));
+
+    assertTrue(exception.getMessage().contains("is not a JSON array"));
+  }
+
+  @Test
+  void streamData_shouldReadMemoryMappedFile(@TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    DataFileGenerator.write(file, 50);
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+    reader.setMemoryMapped(true);
+    List<Person> persons = new ArrayList<>();
+    List<FireStation> fireStations = new ArrayList<>();
+    List<MedicalRecord> medicalRecords = new ArrayList<>();
+
+    reader.streamData(persons::add, fireStations::add, medicalRecords::add);
+
+    assertEquals(50, persons.size());
+    assertEquals(50, medicalRecords.size());
+    assertFalse(fireStations.isEmpty());
+    assertEquals(50, reader.loadData().getPersons().size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void streamData_shouldReadSectionsInParallel(boolean memoryMapped, @TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    DataFileGenerator.write(file, 200);
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+    reader.setMemoryMapped(memoryMapped);
+    reader.setParallel(true);
+    List<Person> persons = new ArrayList<>();
+    List<FireStation> fireStations = new ArrayList<>();
+    List<MedicalRecord> medicalRecords = new ArrayList<>();
+
+    Map<String, Long> sectionTimes = reader.streamData(persons::add, fireStations::add, medicalRecords::add);
+
+    assertEquals(List.of("persons", "firestations", "medicalrecords"), List.copyOf(sectionTimes.keySet()));
+    assertEquals(200, persons.size());
+    assertEquals(50, fireStations.size());
+    assertEquals(200, medicalRecords.size());
+    assertEquals("First199", medicalRecords.get(199).getFirstName());
+  }
+
+  @Test
+  void locateSections_shouldReturnByteRangeOfEachKnownSection(@TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    String json = "{\"other\":[1],\"persons\":[],\"firestations\":[{\"address\":\"a\",\"station\":\"1\"}]}";
+    Files.writeString(file, json);
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+
+    Map<String, JsonDataReader.SectionRange> ranges = reader.locateSections();
+
+    assertEquals(List.of("persons", "firestations"), List.copyOf(ranges.keySet()));
+    JsonDataReader.SectionRange fireStations = ranges.get("firestations");
+    assertEquals("[{\"address\":\"a\",\"station\":\"1\"}]",
+            json.substring((int) fireStations.start(), (int) fireStations.end()));
+  }
+
+  @Test
+  void streamData_shouldRejectDuplicateSectionInParallelMode(@TempDir Path tempDir) throws Exception {
+    Path file = tempDir.resolve("data.json");
+    Files.writeString(file, "{\"persons\":[],\"persons\":[]}");
+    JsonDataReader reader = new JsonDataReader(new ObjectMapper());
+    reader.setDataFilePath(file.toString());
+    reader.setParallel(true);
+
+    RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reader.streamData(person -> { }, fireStation -> { }, medicalRecord -> { }));
+
+    assertTrue(exception.getMessage().contains("appears more than once"));
+  }
+}
@@ -0,0 +1,99 @@
+package com.mr486.safetynet.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mr486.safetynet.model.Person;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link RecordStreamReader} class.
+ */
+class RecordStreamReaderTest {
+
+  private static final String JOHN = "{\"firstName\":\"John\",\"lastName\":\"Boyd\",\"address\":\"1509 Culver St\","
+          + "\"city\":\"Culver\",\"zip\":\"97451\",\"phone\":\"841-874-6512\",\"email\":\"jaboyd@email.com\"}";
+  private static final String JACOB = JOHN.replace("John", "Jacob");
+
+  private final RecordStreamReader reader = new RecordStreamReader(new ObjectMapper(),
+          Validation.buildDefaultValidatorFactory().getValidator());
+
+  /**
+   * Collects what the reader hands over, as "index:firstName" or "index!message".
+   */
+  private List<String> read(String body) throws IOException {
+    List<String> events = new ArrayList<>();
+    reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), Person.class,
+            new RecordStreamReader.Handler<>() {
+              @Override
+              public void accept(int index, Person person) {
+                events.add(index + ":" + person.getFirstName());
+              }
+
+              @Override
+              public void reject(int index, String message) {
+                events.add(index + "!" + message);
+              }
+            });
+    return events;
+  }
+
+  @Test
+  void read_shouldReadJsonArray() throws IOException {
+    assertEquals(List.of("0:John", "1:Jacob"), read("  [" + JOHN + ",\n" + JACOB + "]"));
+  }
+
+  @Test
+  void read_shouldReadNdjsonSkippingBlankLines() throws IOException {
+    assertEquals(List.of("0:John", "1:Jacob"), read(JOHN + "\n\n" + JACOB + "\n"));
+  }
+
+  @Test
+  void read_shouldRejectMalformedLineAndContinue() throws IOException {
+    List<String> events = read(JOHN + "\n{\"firstName\":\n" + JACOB);
+
+    assertEquals(3, events.size());
+    assertTrue(events.get(1).startsWith("1!malformed JSON: "));
+    assertEquals("2:Jacob", events.get(2));
+  }
+
+  @Test
+  void read_shouldRejectInvalidRecordsWithTheirViolations() throws IOException {
+    List<String> events = read(JOHN.replace("jaboyd@email.com", "not an email").replace("97451", "") + "\n"
+            + "{\"firstName\":[1]}\nnull");
+
+    assertEquals("0!email should be valid, zip cannot be blank", events.get(0));
+    assertTrue(events.get(1).startsWith("1!invalid record: "));
+    assertEquals("2!invalid record: null", events.get(2));
+  }
+
+  @Test
+  void read_shouldStopAtTruncatedArray() throws IOException {
+    List<String> events = read("[" + JOHN);
+
+    assertEquals(2, events.size());
+    assertTrue(events.get(1).startsWith("1!malformed JSON: Unexpected end-of-input"));
+  }
+
+  @Test
+  void read_shouldStopAtMalformedArrayElement() throws IOException {
+    List<String> events = read("[" + JOHN + ", {\"firstName\" 1}, " + JACOB + "]");
+
+    assertEquals(2, events.size());
+    assertTrue(events.get(1).startsWith("1!malformed JSON: "));
+  }
+
+  @Test
+  void read_shouldIgnoreEmptyBody() throws IOException {
+    assertTrue(read(" \n ").isEmpty());
+    assertTrue(read("[]").isEmpty());
+  }
+}
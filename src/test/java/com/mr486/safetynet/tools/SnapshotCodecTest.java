@@ -0,0 +1,109 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.model.FireStation;
+import com.mr486.safetynet.model.MedicalRecord;
+import com.mr486.safetynet.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SnapshotCodec} class.
+ */
+class SnapshotCodecTest {
+
+  private static DataBinding sampleData() {
+    return new DataBinding(
+            List.of(new Person("John", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+                    new Person("Zoé", "Boyd", "1509 Culver St", "Culver", "97451", "841-874-6513", null)),
+            List.of(new FireStation("1509 Culver St", 3), new FireStation("29 15th St", null)),
+            List.of(new MedicalRecord("John", "Boyd", "03/06/1984",
+                    new ArrayList<>(List.of("aznol:350mg", "hydrapermazol:100mg")), new ArrayList<>(List.of("nillacilan"))),
+                    new MedicalRecord("Zoé", "Boyd", "03/06/2015", null, null))
+    );
+  }
+
+  @Test
+  void writeThenRead_shouldRestoreTheData() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    DataFileIdentity base = new DataFileIdentity(1234, 1_000_000, "9f86d081");
+    SnapshotCodec.write(sampleData(), 42, base, out);
+    SnapshotCodec.Content result = SnapshotCodec.read(new ByteArrayInputStream(out.toByteArray()));
+
+    DataBinding expected = sampleData();
+    expected.getMedicalrecords().get(1).setMedications(new ArrayList<>());
+    expected.getMedicalrecords().get(1).setAllergies(new ArrayList<>());
+    assertEquals(expected, result.data());
+    assertEquals(42, result.journalSequence());
+    assertEquals(base, result.base());
+  }
+
+  @Test
+  void read_shouldReadPreviousVersionWithoutBase() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SnapshotCodec.write(sampleData(), 42, null, out);
+    byte[] current = out.toByteArray();
+    int baseOffset = 2 * Integer.BYTES + Long.BYTES;
+    ByteBuffer previous = ByteBuffer.allocate(current.length - 1)
+            .put(current, 0, baseOffset)
+            .put(current, baseOffset + 1, current.length - Long.BYTES - baseOffset - 1)
+            .putInt(Integer.BYTES, SnapshotCodec.FORMAT_VERSION_WITHOUT_BASE);
+    CRC32 crc = new CRC32();
+    crc.update(previous.array(), 0, previous.position());
+    previous.putLong(crc.getValue());
+
+    SnapshotCodec.Content result = SnapshotCodec.read(new ByteArrayInputStream(previous.array()));
+
+    assertEquals(sampleData().getPersons(), result.data().getPersons());
+    assertEquals(42, result.journalSequence());
+    assertNull(result.base());
+  }
+
+  @Test
+  void write_shouldStoreRepeatedAddressesOnce() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    SnapshotCodec.write(sampleData(), 0, null, out);
+
+    String content = out.toString(java.nio.charset.StandardCharsets.UTF_8);
+    assertEquals(content.indexOf("1509 Culver St"), content.lastIndexOf("1509 Culver St"));
+  }
+
+  @Test
+  void read_shouldRejectCorruptedSnapshot() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SnapshotCodec.write(sampleData(), 0, null, out);
+    byte[] bytes = out.toByteArray();
+    bytes[bytes.length / 2] ^= 0x01;
+
+    assertThrows(IOException.class, () -> SnapshotCodec.read(new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  void read_shouldRejectUnsupportedVersion() {
+    byte[] bytes = ByteBuffer.allocate(8).putInt(SnapshotCodec.MAGIC).putInt(SnapshotCodec.FORMAT_VERSION + 1).array();
+
+    IOException exception = assertThrows(IOException.class, () -> SnapshotCodec.read(new ByteArrayInputStream(bytes)));
+
+    assertTrue(exception.getMessage().contains("unsupported snapshot version"));
+  }
+
+  @Test
+  void read_shouldRejectFileThatIsNotASnapshot() {
+    byte[] bytes = "{\"persons\":[]}".getBytes();
+
+    IOException exception = assertThrows(IOException.class, () -> SnapshotCodec.read(new ByteArrayInputStream(bytes)));
+
+    assertEquals("not a snapshot file", exception.getMessage());
+  }
+}
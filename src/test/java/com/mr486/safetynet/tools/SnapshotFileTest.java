@@ -0,0 +1,57 @@
+package com.mr486.safetynet.tools;
+
+import com.mr486.safetynet.dto.DataBinding;
+import com.mr486.safetynet.model.FireStation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SnapshotFile} class.
+ */
+class SnapshotFileTest {
+
+  @TempDir
+  Path tempDir;
+
+  private SnapshotFile snapshotFile;
+
+  @BeforeEach
+  void setUp() {
+    snapshotFile = new SnapshotFile();
+    snapshotFile.setSnapshotFilePath(tempDir.resolve("data.snapshot").toString());
+  }
+
+  @Test
+  void writeThenRead_shouldRestoreTheData() {
+    DataBinding data = new DataBinding(List.of(), List.of(new FireStation("1509 Culver St", 3)), List.of());
+
+    DataFileIdentity base = new DataFileIdentity(2, 1_000_000, "44136fa3");
+    snapshotFile.write(data, 7, base);
+
+    assertEquals(new SnapshotCodec.Content(data, 7, base), snapshotFile.read());
+    assertFalse(Files.exists(tempDir.resolve("data.snapshot.tmp")));
+  }
+
+  @Test
+  void read_shouldThrowRuntimeExceptionWhenFileNotFound() {
+    RuntimeException exception = assertThrows(RuntimeException.class, () -> snapshotFile.read());
+
+    assertTrue(exception.getMessage().startsWith("Error reading snapshot file:"));
+  }
+
+  @Test
+  void exists_shouldTellWhetherSnapshotWasWritten() {
+    assertFalse(snapshotFile.exists());
+
+    snapshotFile.write(new DataBinding(), 0, null);
+
+    assertTrue(snapshotFile.exists());
+  }
+}